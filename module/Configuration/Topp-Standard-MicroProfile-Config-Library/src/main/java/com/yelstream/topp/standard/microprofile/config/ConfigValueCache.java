@@ -0,0 +1,404 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.microprofile.config;
+
+import com.yelstream.topp.standard.microprofile.config.source.VersionedConfigSource;
+import lombok.Singular;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache of converted values of a configuration keyed by property name and target type.
+ * <p>
+ *     Values are converted by the configuration upon first access and kept until the version of one of the
+ *     versioned configuration-sources changes, at which point all cached values are dropped.
+ *     Configuration-sources not versioned are considered unchanging; use {@link #invalidate()} if they do change.
+ * </p>
+ * <p>
+ *     Accessors of {@code int}, {@code long}, {@code double} and {@code boolean} values read cached values
+ *     without boxing.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class ConfigValueCache {
+    /**
+     * Statistics of a cache.
+     * @param hitCount Number of lookups served from the cache.
+     * @param missCount Number of lookups converting a value.
+     * @param invalidationCount Number of times cached values have been dropped.
+     * @param size Number of cached values.
+     */
+    public record Statistics(long hitCount,
+                             long missCount,
+                             long invalidationCount,
+                             int size) {
+        /**
+         * Gets the ratio of lookups served from the cache.
+         * @return Hit ratio.
+         */
+        public double getHitRatio() {
+            long lookupCount=hitCount+missCount;
+            return lookupCount==0L?0.0:(double)hitCount/lookupCount;
+        }
+    }
+
+    /**
+     * Cached value.
+     * @param value Value.
+     *              This is {@code null} for properties not set.
+     * @param longValue Value as {@code long}, for numbers and booleans.
+     * @param doubleValue Value as {@code double}, for numbers.
+     */
+    private record Entry(Object value,
+                         long longValue,
+                         double doubleValue) {
+        private static final Entry ABSENT=new Entry(null,0L,0.0);
+
+        private static Entry of(Object value) {
+            if (value==null) {
+                return ABSENT;
+            } else if (value instanceof Number number) {
+                return new Entry(value,number.longValue(),number.doubleValue());
+            } else if (value instanceof Boolean bool) {
+                return new Entry(value,bool?1L:0L,0.0);
+            } else {
+                return new Entry(value,0L,0.0);
+            }
+        }
+
+        private Object requireValue(String propertyName) {
+            if (value==null) {
+                throw new NoSuchElementException("Failure to get value; property '%s' is not set!".formatted(propertyName));
+            }
+            return value;
+        }
+    }
+
+    private final Config config;
+
+    /**
+     * Configuration-sources whose versions invalidate cached values.
+     */
+    private final VersionedConfigSource[] versionedConfigSources;
+
+    /**
+     * Cached values by target type and property name.
+     */
+    private final ConcurrentMap<Class<?>,ConcurrentMap<String,Entry>> entries=new ConcurrentHashMap<>();
+
+    /**
+     * Cached lists of values by element type and property name.
+     * Kept apart from single values, to not collide with values of array types.
+     */
+    private final ConcurrentMap<Class<?>,ConcurrentMap<String,Entry>> valuesEntries=new ConcurrentHashMap<>();
+
+    /**
+     * Sum of the versions of the versioned configuration-sources of the cached values.
+     */
+    private volatile long version;
+
+    private final LongAdder hitCount=new LongAdder();
+    private final LongAdder missCount=new LongAdder();
+    private final LongAdder invalidationCount=new LongAdder();
+
+    private ConfigValueCache(Config config,
+                             VersionedConfigSource[] versionedConfigSources) {
+        this.config=config;
+        this.versionedConfigSources=versionedConfigSources;
+        this.version=getSourceVersion();
+    }
+
+    /**
+     * Creates a cache.
+     * @param config Configuration.
+     * @param configSources Configuration-sources whose versions invalidate cached values.
+     *                      The default is all configuration-sources of the configuration.
+     * @return Created cache.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static ConfigValueCache createByBuilder(Config config,
+                                                    @Singular List<ConfigSource> configSources) {
+        Objects.requireNonNull(config,"Failure to create cache; configuration is not set!");
+        Iterable<ConfigSource> sources=configSources.isEmpty()?config.getConfigSources():configSources;
+        List<VersionedConfigSource> versionedConfigSources=new ArrayList<>();
+        for (ConfigSource configSource: sources) {
+            if (configSource instanceof VersionedConfigSource versionedConfigSource) {
+                versionedConfigSources.add(versionedConfigSource);
+            }
+        }
+        return new ConfigValueCache(config,versionedConfigSources.toArray(VersionedConfigSource[]::new));
+    }
+
+    /**
+     * Creates a cache watching all configuration-sources of a configuration.
+     * @param config Configuration.
+     * @return Created cache.
+     */
+    public static ConfigValueCache of(Config config) {
+        return builder().config(config).build();
+    }
+
+    /**
+     * Gets a value.
+     * @param propertyName Name of property.
+     * @param propertyType Type of value.
+     * @return Value.
+     * @param <T> Type of value.
+     * @throws NoSuchElementException Thrown in case of the property not being set.
+     * @throws IllegalArgumentException Thrown in case of the value not being convertible.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getValue(String propertyName,
+                          Class<T> propertyType) {
+        return (T)getEntry(propertyName,propertyType).requireValue(propertyName);
+    }
+
+    /**
+     * Gets an optional value.
+     * @param propertyName Name of property.
+     * @param propertyType Type of value.
+     * @return Value.
+     * @param <T> Type of value.
+     * @throws IllegalArgumentException Thrown in case of the value not being convertible.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> getOptionalValue(String propertyName,
+                                            Class<T> propertyType) {
+        return Optional.ofNullable((T)getEntry(propertyName,propertyType).value());
+    }
+
+    /**
+     * Gets a list of values.
+     * @param propertyName Name of property.
+     * @param propertyType Type of values.
+     * @return Unmodifiable list of values.
+     * @param <T> Type of values.
+     * @throws NoSuchElementException Thrown in case of the property not being set.
+     * @throws IllegalArgumentException Thrown in case of the value not being convertible.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getValues(String propertyName,
+                                 Class<T> propertyType) {
+        return (List<T>)getValuesEntry(propertyName,propertyType).requireValue(propertyName);
+    }
+
+    /**
+     * Gets an optional list of values.
+     * @param propertyName Name of property.
+     * @param propertyType Type of values.
+     * @return Unmodifiable list of values.
+     * @param <T> Type of values.
+     * @throws IllegalArgumentException Thrown in case of the value not being convertible.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<List<T>> getOptionalValues(String propertyName,
+                                                   Class<T> propertyType) {
+        return Optional.ofNullable((List<T>)getValuesEntry(propertyName,propertyType).value());
+    }
+
+    /**
+     * Gets an {@code int} value.
+     * @param propertyName Name of property.
+     * @return Value.
+     * @throws NoSuchElementException Thrown in case of the property not being set.
+     */
+    public int getInt(String propertyName) {
+        Entry entry=getEntry(propertyName,Integer.class);
+        entry.requireValue(propertyName);
+        return (int)entry.longValue();
+    }
+
+    /**
+     * Gets an {@code int} value.
+     * @param propertyName Name of property.
+     * @param defaultValue Value in case of the property not being set.
+     * @return Value.
+     */
+    public int getInt(String propertyName,
+                      int defaultValue) {
+        Entry entry=getEntry(propertyName,Integer.class);
+        return entry.value()==null?defaultValue:(int)entry.longValue();
+    }
+
+    /**
+     * Gets a {@code long} value.
+     * @param propertyName Name of property.
+     * @return Value.
+     * @throws NoSuchElementException Thrown in case of the property not being set.
+     */
+    public long getLong(String propertyName) {
+        Entry entry=getEntry(propertyName,Long.class);
+        entry.requireValue(propertyName);
+        return entry.longValue();
+    }
+
+    /**
+     * Gets a {@code long} value.
+     * @param propertyName Name of property.
+     * @param defaultValue Value in case of the property not being set.
+     * @return Value.
+     */
+    public long getLong(String propertyName,
+                        long defaultValue) {
+        Entry entry=getEntry(propertyName,Long.class);
+        return entry.value()==null?defaultValue:entry.longValue();
+    }
+
+    /**
+     * Gets a {@code double} value.
+     * @param propertyName Name of property.
+     * @return Value.
+     * @throws NoSuchElementException Thrown in case of the property not being set.
+     */
+    public double getDouble(String propertyName) {
+        Entry entry=getEntry(propertyName,Double.class);
+        entry.requireValue(propertyName);
+        return entry.doubleValue();
+    }
+
+    /**
+     * Gets a {@code double} value.
+     * @param propertyName Name of property.
+     * @param defaultValue Value in case of the property not being set.
+     * @return Value.
+     */
+    public double getDouble(String propertyName,
+                            double defaultValue) {
+        Entry entry=getEntry(propertyName,Double.class);
+        return entry.value()==null?defaultValue:entry.doubleValue();
+    }
+
+    /**
+     * Gets a {@code boolean} value.
+     * @param propertyName Name of property.
+     * @return Value.
+     * @throws NoSuchElementException Thrown in case of the property not being set.
+     */
+    public boolean getBoolean(String propertyName) {
+        Entry entry=getEntry(propertyName,Boolean.class);
+        entry.requireValue(propertyName);
+        return entry.longValue()!=0L;
+    }
+
+    /**
+     * Gets a {@code boolean} value.
+     * @param propertyName Name of property.
+     * @param defaultValue Value in case of the property not being set.
+     * @return Value.
+     */
+    public boolean getBoolean(String propertyName,
+                              boolean defaultValue) {
+        Entry entry=getEntry(propertyName,Boolean.class);
+        return entry.value()==null?defaultValue:entry.longValue()!=0L;
+    }
+
+    /**
+     * Drops all cached values.
+     */
+    public void invalidate() {
+        synchronized (entries) {
+            entries.clear();
+            valuesEntries.clear();
+            invalidationCount.increment();
+        }
+    }
+
+    /**
+     * Gets the statistics of this cache.
+     * @return Statistics.
+     */
+    public Statistics getStatistics() {
+        int size=entries.values().stream().mapToInt(ConcurrentMap::size).sum()+
+                 valuesEntries.values().stream().mapToInt(ConcurrentMap::size).sum();
+        return new Statistics(hitCount.sum(),missCount.sum(),invalidationCount.sum(),size);
+    }
+
+    private Entry getEntry(String propertyName,
+                           Class<?> propertyType) {
+        return getEntry(entries,propertyName,propertyType,name->config.getOptionalValue(name,propertyType).orElse(null));
+    }
+
+    private Entry getValuesEntry(String propertyName,
+                                 Class<?> propertyType) {
+        return getEntry(valuesEntries,propertyName,propertyType,name->config.getOptionalValues(name,propertyType).map(List::copyOf).orElse(null));
+    }
+
+    private Entry getEntry(ConcurrentMap<Class<?>,ConcurrentMap<String,Entry>> entriesByType,
+                           String propertyName,
+                           Class<?> key,
+                           Function<String,Object> converter) {
+        long currentVersion=validate();
+        ConcurrentMap<String,Entry> typeEntries=entriesByType.computeIfAbsent(key,k->new ConcurrentHashMap<>());
+        Entry entry=typeEntries.get(propertyName);
+        if (entry!=null) {
+            hitCount.increment();
+            return entry;
+        }
+        missCount.increment();
+        entry=Entry.of(converter.apply(propertyName));
+        typeEntries.put(propertyName,entry);
+        if (version!=currentVersion) {
+            typeEntries.remove(propertyName,entry);  //Yes, the value may be stale and must not outlive the invalidation!
+        }
+        return entry;
+    }
+
+    /**
+     * Drops all cached values if the version of a versioned configuration-source has changed.
+     * @return Current version.
+     */
+    private long validate() {
+        long currentVersion=getSourceVersion();
+        if (currentVersion!=version) {
+            synchronized (entries) {
+                if (currentVersion!=version) {
+                    entries.clear();
+                    valuesEntries.clear();
+                    version=currentVersion;
+                    invalidationCount.increment();
+                }
+            }
+        }
+        return currentVersion;
+    }
+
+    private long getSourceVersion() {
+        long sum=0L;
+        for (VersionedConfigSource versionedConfigSource: versionedConfigSources) {
+            sum+=versionedConfigSource.getVersion();
+        }
+        return sum;
+    }
+}
@@ -43,6 +43,15 @@ public class Configs {
         return ConfigProvider.getConfig(classLoader);
     }
 
+    /**
+     * Creates a cache of converted values of a configuration.
+     * @param config Configuration.
+     * @return Created cache.
+     */
+    public static ConfigValueCache createValueCache(Config config) {
+        return ConfigValueCache.of(config);
+    }
+
     public static List<ConfigSource> getConfigSources(Config config) {
         Iterable<ConfigSource> iterable=config.getConfigSources();
         return Lists.of(iterable);
@@ -0,0 +1,73 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.microprofile.config.source;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Change of the properties of a configuration-source between two versions.
+ * <p>
+ *     A change may span several consecutive updates of the source, coalesced into one.
+ * </p>
+ * @param name Name of the configuration-source.
+ * @param previousVersion Version before the change.
+ * @param version Version after the change.
+ * @param addedPropertyNames Names of added properties.
+ * @param modifiedPropertyNames Names of properties whose value changed.
+ * @param removedPropertyNames Names of removed properties.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public record ConfigSourceChange(String name,
+                                 long previousVersion,
+                                 long version,
+                                 Set<String> addedPropertyNames,
+                                 Set<String> modifiedPropertyNames,
+                                 Set<String> removedPropertyNames) {
+    /**
+     * Constructor.
+     */
+    public ConfigSourceChange {
+        addedPropertyNames=Set.copyOf(addedPropertyNames);
+        modifiedPropertyNames=Set.copyOf(modifiedPropertyNames);
+        removedPropertyNames=Set.copyOf(removedPropertyNames);
+    }
+
+    /**
+     * Indicates, if no property changed.
+     * @return Indicates, if no property changed.
+     */
+    public boolean isEmpty() {
+        return addedPropertyNames.isEmpty() && modifiedPropertyNames.isEmpty() && removedPropertyNames.isEmpty();
+    }
+
+    /**
+     * Gets the names of all added, modified and removed properties.
+     * @return Names of changed properties.
+     */
+    public Set<String> getChangedPropertyNames() {
+        Set<String> propertyNames=new HashSet<>(addedPropertyNames);
+        propertyNames.addAll(modifiedPropertyNames);
+        propertyNames.addAll(removedPropertyNames);
+        return propertyNames;
+    }
+}
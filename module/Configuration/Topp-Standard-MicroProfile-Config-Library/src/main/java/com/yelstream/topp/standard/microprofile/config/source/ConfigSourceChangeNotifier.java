@@ -0,0 +1,198 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.microprofile.config.source;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Notifier of changes of the properties of a configuration-source.
+ * <p>
+ *     Each update is signalled with its version and properties.
+ *     Only the latest signalled update is kept until dispatched, so bursts of updates are coalesced into one change,
+ *     diffed by content against the properties last dispatched.
+ *     Properties are kept as signalled and must not be modified afterwards, or diffs are wrong.
+ *     Dispatching is serialized, so listeners see changes in order of versions.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class ConfigSourceChangeNotifier {
+    /**
+     * Properties of a version.
+     * @param version Version.
+     * @param properties Properties.
+     */
+    private record Content(long version,
+                           Map<String,String> properties) { }
+
+    private final Supplier<String> nameSupplier;
+    private final Executor executor;
+    private final List<ConfigSourceListener> listeners=new CopyOnWriteArrayList<>();
+    private final AtomicReference<Content> pending=new AtomicReference<>();
+    private final AtomicBoolean scheduled=new AtomicBoolean();
+
+    /**
+     * Content last dispatched.
+     * Accessed by the single, active dispatch only.
+     */
+    private Content dispatched;
+
+    /**
+     * Constructor.
+     * @param nameSupplier Supplier of the name of the configuration-source.
+     * @param executor Executor of dispatches.
+     * @param coalescingDelay Delay of dispatches, coalescing updates within the delay.
+     * @param version Initial version.
+     * @param properties Initial properties.
+     *                   These must not be modified afterwards.
+     */
+    private ConfigSourceChangeNotifier(Supplier<String> nameSupplier,
+                                       Executor executor,
+                                       Duration coalescingDelay,
+                                       long version,
+                                       Map<String,String> properties) {
+        this.nameSupplier=nameSupplier;
+        this.executor=coalescingDelay.isZero()?executor:CompletableFuture.delayedExecutor(coalescingDelay.toNanos(),TimeUnit.NANOSECONDS,executor);
+        this.dispatched=new Content(version,properties);
+    }
+
+    /**
+     * Creates a notifier.
+     * @param nameSupplier Supplier of the name of the configuration-source.
+     * @param executor Executor of dispatches.
+     *                 The default is the common fork-join pool.
+     * @param coalescingDelay Delay of dispatches, coalescing updates within the delay.
+     *                        The default is no delay.
+     * @param version Initial version.
+     * @param properties Initial properties.
+     *                   These must not be modified afterwards.
+     * @return Created notifier.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static ConfigSourceChangeNotifier createByBuilder(Supplier<String> nameSupplier,
+                                                              Executor executor,
+                                                              Duration coalescingDelay,
+                                                              long version,
+                                                              Map<String,String> properties) {
+        Objects.requireNonNull(nameSupplier,"Failure to create notifier; name supplier is not set!");
+        return new ConfigSourceChangeNotifier(nameSupplier,
+                                              executor==null?ForkJoinPool.commonPool():executor,
+                                              coalescingDelay==null?Duration.ZERO:coalescingDelay,
+                                              version,
+                                              properties==null?Map.of():properties);
+    }
+
+    /**
+     * Adds a listener.
+     * @param listener Listener.
+     */
+    public void addListener(ConfigSourceListener listener) {
+        listeners.add(Objects.requireNonNull(listener,"Failure to add listener; listener is not set!"));
+    }
+
+    /**
+     * Removes a listener.
+     * @param listener Listener.
+     */
+    public void removeListener(ConfigSourceListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Signals an update.
+     * @param version Version of the update.
+     * @param properties Properties of the update.
+     *                   These must not be modified afterwards.
+     */
+    public void signal(long version,
+                       Map<String,String> properties) {
+        pending.accumulateAndGet(new Content(version,properties),(current,update)->current==null || current.version()<update.version()?update:current);
+        if (scheduled.compareAndSet(false,true)) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    private void dispatch() {
+        Content content=pending.getAndSet(null);
+        if (content!=null && content.version()>dispatched.version()) {
+            ConfigSourceChange change=diff(dispatched,content);
+            dispatched=content;
+            if (!change.isEmpty()) {
+                notifyListeners(change);
+            }
+        }
+        scheduled.set(false);
+        if (pending.get()!=null && scheduled.compareAndSet(false,true)) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    private void notifyListeners(ConfigSourceChange change) {
+        for (ConfigSourceListener listener: listeners) {
+            try {
+                listener.onChange(change);
+            } catch (RuntimeException ex) {
+                log.warn("Failure to notify listener of change; configuration-source is '{}'!",change.name(),ex);
+            }
+        }
+    }
+
+    private ConfigSourceChange diff(Content previous,
+                                    Content current) {
+        Map<String,String> previousProperties=previous.properties();
+        Map<String,String> currentProperties=current.properties();
+        Set<String> added=new HashSet<>();
+        Set<String> modified=new HashSet<>();
+        Set<String> removed=new HashSet<>();
+        currentProperties.forEach((name,value)->{
+            if (!previousProperties.containsKey(name)) {
+                added.add(name);
+            } else if (!Objects.equals(previousProperties.get(name),value)) {
+                modified.add(name);
+            }
+        });
+        previousProperties.keySet().forEach(name->{
+            if (!currentProperties.containsKey(name)) {
+                removed.add(name);
+            }
+        });
+        return new ConfigSourceChange(nameSupplier.get(),previous.version(),current.version(),added,modified,removed);
+    }
+}
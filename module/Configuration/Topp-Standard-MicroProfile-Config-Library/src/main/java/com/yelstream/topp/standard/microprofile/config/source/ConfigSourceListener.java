@@ -0,0 +1,35 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.microprofile.config.source;
+
+/**
+ * Listener of changes of the properties of a configuration-source.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@FunctionalInterface
+public interface ConfigSourceListener {
+    /**
+     * Handles a change.
+     * @param change Change.
+     */
+    void onChange(ConfigSourceChange change);
+}
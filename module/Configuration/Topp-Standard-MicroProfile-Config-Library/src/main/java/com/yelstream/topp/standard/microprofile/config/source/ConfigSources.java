@@ -137,4 +137,14 @@ public class ConfigSources {
     public static ConfigSource createEmptyConfigSource() {
         return FixedMapConfigSource.of(createName(),DEFAULT_ORDINAL,null);
     }
+
+    /**
+     * Gets the version of the content of a configuration-source.
+     * @param configSource Configuration-source.
+     * @return Version.
+     *         This is {@link VersionedConfigSource#UNVERSIONED} for sources not versioned.
+     */
+    public static long getVersion(ConfigSource configSource) {
+        return configSource instanceof VersionedConfigSource versionedConfigSource?versionedConfigSource.getVersion():VersionedConfigSource.UNVERSIONED;
+    }
 }
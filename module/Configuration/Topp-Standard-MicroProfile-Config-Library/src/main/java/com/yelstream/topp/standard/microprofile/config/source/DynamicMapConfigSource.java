@@ -21,14 +21,15 @@ package com.yelstream.topp.standard.microprofile.config.source;
 
 import com.yelstream.topp.standard.util.MapBuilders;
 import com.yelstream.topp.standard.util.function.MemoizedIntSupplier;
-import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.Singular;
-import org.eclipse.microprofile.config.spi.ConfigSource;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
@@ -48,13 +49,17 @@ import java.util.function.Supplier;
  * <p>
  *     This may be thread-safe depending upon construction.
  * </p>
+ * <p>
+ *     Each replacement of properties increases the version, and listeners are notified of the names of added,
+ *     modified and removed properties.
+ *     Replacements in bursts may be coalesced into one notification.
+ * </p>
  *
  * @author Morten Sabroe Mortensen
  * @version 1.0
  * @since 2024-04-15
  */
-@AllArgsConstructor(staticName="of",access=AccessLevel.PRIVATE)
-public class DynamicMapConfigSource implements ConfigSource {
+public class DynamicMapConfigSource implements ObservableConfigSource {
     /**
      * Name.
      */
@@ -73,6 +78,43 @@ public class DynamicMapConfigSource implements ConfigSource {
      */
     private final AtomicReference<Map<String,String>> propertiesReference;
 
+    /**
+     * Version of properties.
+     */
+    private final AtomicLong version=new AtomicLong();
+
+    /**
+     * Lock serializing replacements of properties with the signalling of their versions.
+     */
+    private final Object replaceLock=new Object();
+
+    /**
+     * Notifier of changes.
+     */
+    private final ConfigSourceChangeNotifier changeNotifier;
+
+    private DynamicMapConfigSource(Supplier<String> nameSupplier,
+                                   IntSupplier ordinalSupplier,
+                                   AtomicReference<Map<String,String>> propertiesReference,
+                                   Executor changeExecutor,
+                                   Duration coalescingDelay) {
+        this.nameSupplier=nameSupplier;
+        this.ordinalSupplier=ordinalSupplier;
+        this.propertiesReference=propertiesReference;
+        this.changeNotifier=ConfigSourceChangeNotifier.builder()
+                                                      .nameSupplier(nameSupplier)
+                                                      .executor(changeExecutor)
+                                                      .coalescingDelay(coalescingDelay)
+                                                      .properties(propertiesReference.get())
+                                                      .build();
+    }
+
+    private static DynamicMapConfigSource of(Supplier<String> nameSupplier,
+                                             IntSupplier ordinalSupplier,
+                                             AtomicReference<Map<String,String>> propertiesReference) {
+        return new DynamicMapConfigSource(nameSupplier,ordinalSupplier,propertiesReference,null,null);
+    }
+
     @Override
     public String getName() {
         return nameSupplier.get();
@@ -98,15 +140,43 @@ public class DynamicMapConfigSource implements ConfigSource {
         return propertiesReference.get();
     }
 
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public void addListener(ConfigSourceListener listener) {
+        changeNotifier.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(ConfigSourceListener listener) {
+        changeNotifier.removeListener(listener);
+    }
+
     public void replaceProperties(Map<String,String> properties) {
-        propertiesReference.set(properties);
+        Map<String,String> copiedProperties=copyProperties(properties);
+        synchronized (replaceLock) {
+            propertiesReference.set(copiedProperties);
+            changeNotifier.signal(version.incrementAndGet(),copiedProperties);
+        }
+    }
+
+    /**
+     * Copies properties, to be unaffected by later changes made by the caller.
+     * @param properties Properties.
+     *                   This may be {@code null}.
+     * @return Unmodifiable copy of properties, carrying {@code null} values.
+     */
+    private static Map<String,String> copyProperties(Map<String,String> properties) {
+        return properties==null?Map.of():Collections.unmodifiableMap(new HashMap<>(properties));
     }
 
     public static DynamicMapConfigSource of(String name,
                                             int ordinal,
                                             Map<String,String> properties) {
-        properties=properties==null?Map.of():properties;
-        AtomicReference<Map<String,String>> propertiesReference=new AtomicReference<>(properties);
+        AtomicReference<Map<String,String>> propertiesReference=new AtomicReference<>(copyProperties(properties));
         return of(()->name,()->ordinal,propertiesReference);
     }
 
@@ -114,9 +184,11 @@ public class DynamicMapConfigSource implements ConfigSource {
     @lombok.Builder(builderClassName="Builder",toBuilder=false)  //Yes, no #toBuilder() wanted!
     private static DynamicMapConfigSource createInstance(Supplier<String> nameSupplier,
                                                          IntSupplier ordinalSupplier,
-                                                         @Singular Map<String,String> properties) {
+                                                         @Singular Map<String,String> properties,
+                                                         Executor changeExecutor,
+                                                         Duration coalescingDelay) {
         AtomicReference<Map<String,String>> propertiesReference=new AtomicReference<>(properties);
-        return of(nameSupplier,ordinalSupplier,propertiesReference);
+        return new DynamicMapConfigSource(nameSupplier,ordinalSupplier,propertiesReference,changeExecutor,coalescingDelay);
     }
 
     @SuppressWarnings({"java:S1068","java:S1450","unused","FieldCanBeLocal","UnusedReturnValue","FieldMayBeFinal"})
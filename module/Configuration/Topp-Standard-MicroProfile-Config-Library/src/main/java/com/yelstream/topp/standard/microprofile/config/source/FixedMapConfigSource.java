@@ -22,7 +22,6 @@ package com.yelstream.topp.standard.microprofile.config.source;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Singular;
-import org.eclipse.microprofile.config.spi.ConfigSource;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,7 +48,7 @@ import java.util.Set;
  * @since 2024-04-20
  */
 @AllArgsConstructor(access=AccessLevel.PRIVATE)
-public class FixedMapConfigSource implements ConfigSource {
+public class FixedMapConfigSource implements VersionedConfigSource {
     /**
      * Name.
      */
@@ -94,10 +93,20 @@ public class FixedMapConfigSource implements ConfigSource {
         return properties;
     }
 
+    /**
+     * Gets the version of the content.
+     * Being immutable, this is always zero.
+     * @return Version.
+     */
+    @Override
+    public long getVersion() {
+        return 0L;
+    }
+
     public static FixedMapConfigSource of(String name,
                                          int ordinal,
                                          Map<String,String> properties) {
-        properties=properties==null?Map.of():properties;
+        properties=properties==null?Map.of():new HashMap<>(properties);  //Note: Copied, to be unaffected by the caller!
         properties=Collections.unmodifiableMap(properties);
         return new FixedMapConfigSource(name,ordinal,properties);
     }
@@ -0,0 +1,44 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.microprofile.config.source;
+
+/**
+ * Versioned configuration-source notifying listeners of changes.
+ * <p>
+ *     Listeners are notified asynchronously and in order of versions, with bursts of updates possibly coalesced
+ *     into one change.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public interface ObservableConfigSource extends VersionedConfigSource {
+    /**
+     * Adds a listener.
+     * @param listener Listener.
+     */
+    void addListener(ConfigSourceListener listener);
+
+    /**
+     * Removes a listener.
+     * @param listener Listener.
+     */
+    void removeListener(ConfigSourceListener listener);
+}
@@ -25,11 +25,14 @@ import com.yelstream.topp.standard.util.stream.MapCollectors;
 import lombok.Singular;
 import org.eclipse.microprofile.config.spi.ConfigSource;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
@@ -46,12 +49,19 @@ import java.util.stream.Collectors;
  * <p>
  *     This may be thread-safe depending upon construction.
  * </p>
+ * <p>
+ *     When the wrapped configuration-source is versioned, the merged properties and property names are computed
+ *     once per version of the overriding properties and the wrapped source, and lookups resolve through a single,
+ *     immutable snapshot.
+ *     Otherwise, properties are merged upon each access, and changes of the wrapped source are not reflected by
+ *     the version of this.
+ * </p>
  *
  * @author Morten Sabroe Mortensen
  * @version 1.0
  * @since 2024-04-20
  */
-public class OverrideConfigSource extends ProxyConfigSource {
+public class OverrideConfigSource extends ProxyConfigSource implements VersionedConfigSource {
     /**
      * Name.
      * <p>
@@ -76,6 +86,31 @@ public class OverrideConfigSource extends ProxyConfigSource {
      */
     private final AtomicReference<Map<String,String>> propertiesReference;
 
+    /**
+     * Version of the overriding properties.
+     */
+    private final AtomicLong propertiesVersion=new AtomicLong();
+
+    /**
+     * Snapshot of merged properties.
+     * <p>
+     *     This is {@code null} until first access with a versioned wrapped configuration-source.
+     * </p>
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Merged properties and property names of a version of overriding properties and wrapped configuration-source.
+     * @param propertiesVersion Version of the overriding properties.
+     * @param configSourceVersion Version of the wrapped configuration-source.
+     * @param properties Merged properties.
+     * @param propertyNames Merged property names.
+     */
+    private record Snapshot(long propertiesVersion,
+                            long configSourceVersion,
+                            Map<String,String> properties,
+                            Set<String> propertyNames) { }
+
 //TO-DO: Add "remove properties"!
 
     @Override
@@ -98,6 +133,10 @@ public class OverrideConfigSource extends ProxyConfigSource {
 
     @Override
     public Set<String> getPropertyNames() {
+        Snapshot currentSnapshot=getSnapshot();
+        if (currentSnapshot!=null) {
+            return currentSnapshot.propertyNames();
+        }
         List<Set<String>> propertyNamesList=List.of(propertiesReference.get().keySet(),super.getPropertyNames());
         return propertyNamesList.stream()
             .filter(Objects::nonNull)
@@ -107,6 +146,15 @@ public class OverrideConfigSource extends ProxyConfigSource {
 
     @Override
     public String getValue(String propertyName) {
+        Snapshot currentSnapshot=getSnapshot();
+        if (currentSnapshot!=null) {
+            Map<String,String> properties=currentSnapshot.properties();
+            String value=properties.get(propertyName);
+            if (value==null && !properties.containsKey(propertyName)) {
+                value=super.getValue(propertyName);
+            }
+            return value;
+        }
         String value=null;
         Map<String,String> properties=propertiesReference.get();
         if (properties.containsKey(propertyName)) {
@@ -119,6 +167,10 @@ public class OverrideConfigSource extends ProxyConfigSource {
 
     @Override
     public Map<String,String> getProperties() {
+        Snapshot currentSnapshot=getSnapshot();
+        if (currentSnapshot!=null) {
+            return currentSnapshot.properties();
+        }
         List<Map<String,String>> propertiesList=List.of(propertiesReference.get(),super.getProperties());
         return propertiesList.stream()
             .filter(Objects::nonNull)
@@ -126,9 +178,86 @@ public class OverrideConfigSource extends ProxyConfigSource {
             .collect(MapCollectors.toHashMap(Map.Entry::getKey,Map.Entry::getValue));
     }
 
+    /**
+     * Gets the version of the content.
+     * <p>
+     *     This is the sum of the versions of the overriding properties and of the wrapped configuration-source.
+     *     If the wrapped configuration-source is not versioned, then neither is this.
+     * </p>
+     * @return Version.
+     */
+    @Override
+    public long getVersion() {
+        long configSourceVersion=ConfigSources.getVersion(getConfigSource());
+        if (configSourceVersion==UNVERSIONED) {
+            return UNVERSIONED;
+        }
+        return propertiesVersion.get()+configSourceVersion;
+    }
+
     @SuppressWarnings("unused")
     public void replaceProperties(Map<String,String> properties) {
-        propertiesReference.set(properties);
+        propertiesReference.set(copyProperties(properties));
+        propertiesVersion.incrementAndGet();
+    }
+
+    /**
+     * Copies overriding properties, to be unaffected by later changes made by the caller.
+     * @param properties Properties.
+     *                   This may be {@code null}.
+     * @return Unmodifiable copy of properties, carrying {@code null} values.
+     */
+    private static Map<String,String> copyProperties(Map<String,String> properties) {
+        return properties==null?Map.of():Collections.unmodifiableMap(new HashMap<>(properties));
+    }
+
+    /**
+     * Gets the snapshot of merged properties matching the current versions.
+     * @return Snapshot.
+     *         This is {@code null} when the wrapped configuration-source is not versioned.
+     */
+    private Snapshot getSnapshot() {
+        long configSourceVersion=ConfigSources.getVersion(getConfigSource());
+        if (configSourceVersion==UNVERSIONED) {
+            return null;
+        }
+        long version=propertiesVersion.get();
+        Snapshot currentSnapshot=snapshot;
+        if (currentSnapshot!=null && currentSnapshot.propertiesVersion()==version && currentSnapshot.configSourceVersion()==configSourceVersion) {
+            return currentSnapshot;
+        }
+        synchronized (this) {
+            currentSnapshot=snapshot;
+            if (currentSnapshot==null || currentSnapshot.propertiesVersion()!=version || currentSnapshot.configSourceVersion()!=configSourceVersion) {
+                currentSnapshot=createSnapshot(version,configSourceVersion);
+                snapshot=currentSnapshot;
+            }
+            return currentSnapshot;
+        }
+    }
+
+    /**
+     * Creates a snapshot of merged properties.
+     * <p>
+     *     Versions are read before the content, so a snapshot may hold content newer than its versions and is then
+     *     replaced upon the next access.
+     * </p>
+     * @param version Version of the overriding properties.
+     * @param configSourceVersion Version of the wrapped configuration-source.
+     * @return Created snapshot.
+     */
+    private Snapshot createSnapshot(long version,
+                                    long configSourceVersion) {
+        Map<String,String> overridingProperties=propertiesReference.get();
+        Map<String,String> configSourceProperties=super.getProperties();
+        Map<String,String> properties=new HashMap<>(configSourceProperties==null?Map.of():configSourceProperties);
+        properties.putAll(overridingProperties);
+        Set<String> configSourcePropertyNames=super.getPropertyNames();
+        Set<String> propertyNames=new HashSet<>(properties.keySet());
+        if (configSourcePropertyNames!=null) {
+            propertyNames.addAll(configSourcePropertyNames);
+        }
+        return new Snapshot(version,configSourceVersion,Collections.unmodifiableMap(properties),Collections.unmodifiableSet(propertyNames));
     }
 
     private OverrideConfigSource(ConfigSource configSource,
@@ -145,8 +274,7 @@ public class OverrideConfigSource extends ProxyConfigSource {
                                           Supplier<String> nameSupplier,
                                           IntSupplier ordinalSupplier,
                                           Map<String,String> properties) {
-        properties=properties==null?Map.of():properties;
-        AtomicReference<Map<String,String>> propertiesReference=new AtomicReference<>(properties);
+        AtomicReference<Map<String,String>> propertiesReference=new AtomicReference<>(copyProperties(properties));
         return new OverrideConfigSource(configSource,nameSupplier,ordinalSupplier,propertiesReference);
     }
 
@@ -47,6 +47,14 @@ public class ProxyConfigSource implements ConfigSource {
     @NonNull
     private final ConfigSource configSource;
 
+    /**
+     * Gets the wrapped configuration-source.
+     * @return Wrapped configuration-source.
+     */
+    protected ConfigSource getConfigSource() {
+        return configSource;
+    }
+
     @Override
     public String getName() {
         return configSource.getName();
@@ -0,0 +1,46 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.microprofile.config.source;
+
+import org.eclipse.microprofile.config.spi.ConfigSource;
+
+/**
+ * Configuration-source stamping its content with a version.
+ * <p>
+ *     The version increases monotonically and changes whenever the properties of the source change.
+ *     Caches of content derived from the source may be kept as long as the version is unchanged.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public interface VersionedConfigSource extends ConfigSource {
+    /**
+     * Version of sources not stamping their content with a version.
+     */
+    long UNVERSIONED=-1L;
+
+    /**
+     * Gets the version of the content.
+     * @return Version.
+     *         This is non-negative.
+     */
+    long getVersion();
+}
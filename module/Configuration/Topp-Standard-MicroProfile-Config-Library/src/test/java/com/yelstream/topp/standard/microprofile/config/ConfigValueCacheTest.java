@@ -0,0 +1,202 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.microprofile.config;
+
+import com.yelstream.topp.standard.microprofile.config.source.DynamicMapConfigSource;
+import io.smallrye.config.SmallRyeConfig;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Test of {@link ConfigValueCache},
+ * including a comparison of the cost of converting lookups and cached lookups of common types.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class ConfigValueCacheTest {
+
+    private static Map<String,String> createProperties() {
+        Map<String,String> properties=new HashMap<>();
+        properties.put("int","42");
+        properties.put("long","4200000000");
+        properties.put("double","4.2");
+        properties.put("boolean","true");
+        properties.put("duration","PT5S");
+        properties.put("uri","https://github.com/sabroe/Topp-Standard");
+        properties.put("list","a,b,c");
+        properties.put("enum","SECONDS");
+        properties.put("string","value");
+        return properties;
+    }
+
+    private static DynamicMapConfigSource createConfigSource() {
+        return DynamicMapConfigSource.builder().name("dynamic").ordinal(500).initializeProperties(createProperties()).build();
+    }
+
+    private static SmallRyeConfig createConfig(DynamicMapConfigSource configSource) {
+        return new SmallRyeConfigBuilder().withSources(configSource).build();
+    }
+
+    @Test
+    void valuesAreConverted() {
+        ConfigValueCache cache=ConfigValueCache.of(createConfig(createConfigSource()));
+
+        Assertions.assertEquals(42,cache.getInt("int"));
+        Assertions.assertEquals(4_200_000_000L,cache.getLong("long"));
+        Assertions.assertEquals(4.2,cache.getDouble("double"));
+        Assertions.assertTrue(cache.getBoolean("boolean"));
+        Assertions.assertEquals(Duration.ofSeconds(5),cache.getValue("duration",Duration.class));
+        Assertions.assertEquals(URI.create("https://github.com/sabroe/Topp-Standard"),cache.getValue("uri",URI.class));
+        Assertions.assertEquals(List.of("a","b","c"),cache.getValues("list",String.class));
+        Assertions.assertEquals(TimeUnit.SECONDS,cache.getValue("enum",TimeUnit.class));
+        Assertions.assertEquals("value",cache.getValue("string",String.class));
+    }
+
+    @Test
+    void missingValues() {
+        ConfigValueCache cache=ConfigValueCache.of(createConfig(createConfigSource()));
+
+        Assertions.assertThrows(NoSuchElementException.class,()->cache.getInt("missing"));
+        Assertions.assertThrows(NoSuchElementException.class,()->cache.getValue("missing",String.class));
+        Assertions.assertEquals(7,cache.getInt("missing",7));
+        Assertions.assertFalse(cache.getBoolean("missing",false));
+        Assertions.assertEquals(Optional.empty(),cache.getOptionalValue("missing",Duration.class));
+        Assertions.assertEquals(Optional.empty(),cache.getOptionalValues("missing",String.class));
+
+        ConfigValueCache.Statistics statistics=cache.getStatistics();
+        Assertions.assertEquals(1,statistics.hitCount());  //Yes, absence is cached too!
+        Assertions.assertEquals(5,statistics.missCount());
+    }
+
+    @Test
+    void valuesAreCachedPerType() {
+        ConfigValueCache cache=ConfigValueCache.of(createConfig(createConfigSource()));
+
+        for (int i=0; i<100; i++) {
+            Assertions.assertEquals(42,cache.getInt("int"));
+            Assertions.assertEquals("42",cache.getValue("int",String.class));
+        }
+
+        ConfigValueCache.Statistics statistics=cache.getStatistics();
+        Assertions.assertEquals(2,statistics.missCount());
+        Assertions.assertEquals(198,statistics.hitCount());
+        Assertions.assertEquals(2,statistics.size());
+        Assertions.assertEquals(0.99,statistics.getHitRatio(),0.001);
+    }
+
+    @Test
+    void valuesAndArraysAreCachedApart() {
+        ConfigValueCache cache=ConfigValueCache.of(createConfig(createConfigSource()));
+
+        Assertions.assertEquals(List.of("a","b","c"),cache.getValues("list",String.class));
+        Assertions.assertArrayEquals(new String[]{"a","b","c"},cache.getValue("list",String[].class));
+        Assertions.assertEquals(List.of("a","b","c"),cache.getValues("list",String.class));
+        Assertions.assertArrayEquals(new String[]{"a","b","c"},cache.getValue("list",String[].class));
+
+        ConfigValueCache.Statistics statistics=cache.getStatistics();
+        Assertions.assertEquals(2,statistics.missCount());
+        Assertions.assertEquals(2,statistics.size());
+    }
+
+    @Test
+    void versionChangeInvalidates() {
+        DynamicMapConfigSource configSource=createConfigSource();
+        ConfigValueCache cache=ConfigValueCache.of(createConfig(configSource));
+
+        Assertions.assertEquals(42,cache.getInt("int"));
+        Assertions.assertEquals(42,cache.getInt("int"));
+
+        Map<String,String> properties=createProperties();
+        properties.put("int","43");
+        configSource.replaceProperties(properties);
+        Assertions.assertEquals(43,cache.getInt("int"));
+
+        ConfigValueCache.Statistics statistics=cache.getStatistics();
+        Assertions.assertEquals(1,statistics.invalidationCount());
+        Assertions.assertEquals(2,statistics.missCount());
+    }
+
+    @Test
+    void invalidConversionIsNotCached() {
+        ConfigValueCache cache=ConfigValueCache.of(createConfig(createConfigSource()));
+
+        Assertions.assertThrows(IllegalArgumentException.class,()->cache.getInt("string"));
+        Assertions.assertThrows(IllegalArgumentException.class,()->cache.getInt("string"));
+        Assertions.assertEquals(0,cache.getStatistics().size());
+    }
+
+    private static long time(int count,
+                             Consumer<Integer> lookup) {
+        for (int i=0; i<count/10; i++) {
+            lookup.accept(i);
+        }
+        long start=System.nanoTime();
+        for (int i=0; i<count; i++) {
+            lookup.accept(i);
+        }
+        return System.nanoTime()-start;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings={"int","duration","uri","list","enum"})
+    void throughput(String propertyName) {
+        Config config=createConfig(createConfigSource());
+        ConfigValueCache cache=ConfigValueCache.of(config);
+        int count=200_000;
+        long[] sink=new long[1];
+        Consumer<Integer> raw=switch (propertyName) {
+            case "int" -> i->sink[0]+=config.getValue(propertyName,Integer.class);
+            case "duration" -> i->sink[0]+=config.getValue(propertyName,Duration.class).getSeconds();
+            case "uri" -> i->sink[0]+=config.getValue(propertyName,URI.class).getPort();
+            case "list" -> i->sink[0]+=config.getValues(propertyName,String.class).size();
+            default -> i->sink[0]+=config.getValue(propertyName,TimeUnit.class).ordinal();
+        };
+        Consumer<Integer> cached=switch (propertyName) {
+            case "int" -> i->sink[0]+=cache.getInt(propertyName);
+            case "duration" -> i->sink[0]+=cache.getValue(propertyName,Duration.class).getSeconds();
+            case "uri" -> i->sink[0]+=cache.getValue(propertyName,URI.class).getPort();
+            case "list" -> i->sink[0]+=cache.getValues(propertyName,String.class).size();
+            default -> i->sink[0]+=cache.getValue(propertyName,TimeUnit.class).ordinal();
+        };
+        long rawNanos=time(count,raw);
+        long cachedNanos=time(count,cached);
+        log.info("Lookup of '{}'; converting {} ns/lookup, cached {} ns/lookup, hit ratio {}.",
+                 propertyName,rawNanos/count,cachedNanos/count,cache.getStatistics().getHitRatio());
+        Assertions.assertNotEquals(0L,sink[0]);
+        Assertions.assertTrue(cache.getStatistics().getHitRatio()>0.99);
+    }
+}
@@ -23,8 +23,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.IntSupplier;
@@ -146,7 +155,25 @@ class DynamicMapConfigSourceTest {
         Map<String,String> properties2=new HashMap<>();
         configSource.replaceProperties(properties2);
         Assertions.assertNotSame(properties1,configSource.getProperties());
-        Assertions.assertSame(properties2,configSource.getProperties());
+        Assertions.assertEquals(properties2,configSource.getProperties());
+    }
+
+    @Test
+    void propertiesAreCopied() {
+        Map<String,String> properties=new HashMap<>();
+        properties.put("name-1","value-1");
+        DynamicMapConfigSource configSource=DynamicMapConfigSource.of("name-1",100,properties);
+        properties.put("name-2","value-2");
+        Assertions.assertEquals(Set.of("name-1"),configSource.getPropertyNames());
+        Assertions.assertNull(configSource.getValue("name-2"));
+
+        Map<String,String> replacement=new HashMap<>();
+        replacement.put("name-3","value-3");
+        configSource.replaceProperties(replacement);
+        replacement.put("name-4","value-4");
+        Assertions.assertEquals(Set.of("name-3"),configSource.getPropertyNames());
+        Assertions.assertNull(configSource.getValue("name-4"));
+        Assertions.assertThrows(UnsupportedOperationException.class,()->configSource.getProperties().put("name-5","value-5"));
     }
 
     @Test
@@ -161,4 +188,125 @@ class DynamicMapConfigSourceTest {
         Assertions.assertEquals(1,configSource.getPropertyNames().size());
         Assertions.assertNull(configSource.getValue("name-1"));
     }
+
+    @Test
+    void versionIncreases() {
+        DynamicMapConfigSource configSource=DynamicMapConfigSource.of("name-1",100,null);
+
+        Assertions.assertEquals(0L,configSource.getVersion());
+        configSource.replaceProperties(Map.of("name-1","value-1"));
+        Assertions.assertEquals(1L,configSource.getVersion());
+        configSource.replaceProperties(Map.of("name-1","value-1"));
+        Assertions.assertEquals(2L,configSource.getVersion());
+    }
+
+    @Test
+    void listenerReceivesDiff() throws InterruptedException {
+        DynamicMapConfigSource configSource=DynamicMapConfigSource.builder()
+                                                                  .name("name-1")
+                                                                  .property("name-1","value-1")
+                                                                  .property("name-2","value-2")
+                                                                  .build();
+        BlockingQueue<ConfigSourceChange> changes=new LinkedBlockingQueue<>();
+        configSource.addListener(changes::add);
+
+        configSource.replaceProperties(Map.of("name-1","value-1","name-2","value-20","name-3","value-3"));
+        ConfigSourceChange change=changes.poll(5,TimeUnit.SECONDS);
+        Assertions.assertNotNull(change);
+        Assertions.assertEquals("name-1",change.name());
+        Assertions.assertEquals(0L,change.previousVersion());
+        Assertions.assertEquals(1L,change.version());
+        Assertions.assertEquals(Set.of("name-3"),change.addedPropertyNames());
+        Assertions.assertEquals(Set.of("name-2"),change.modifiedPropertyNames());
+        Assertions.assertEquals(Set.of(),change.removedPropertyNames());
+
+        configSource.replaceProperties(Map.of("name-1","value-1","name-2","value-20"));
+        change=changes.poll(5,TimeUnit.SECONDS);
+        Assertions.assertNotNull(change);
+        Assertions.assertEquals(Set.of("name-3"),change.removedPropertyNames());
+        Assertions.assertEquals(Set.of("name-3"),change.getChangedPropertyNames());
+
+        configSource.replaceProperties(Map.of("name-1","value-1","name-2","value-20"));
+        Assertions.assertNull(changes.poll(200,TimeUnit.MILLISECONDS));  //Yes, no change of properties means no notification!
+    }
+
+    @Test
+    void listenerReceivesDiffOfMapModifiedInPlace() throws InterruptedException {
+        Map<String,String> properties=new HashMap<>();
+        properties.put("name-1","value-1");
+        DynamicMapConfigSource configSource=DynamicMapConfigSource.of("name-1",100,properties);
+        BlockingQueue<ConfigSourceChange> changes=new LinkedBlockingQueue<>();
+        configSource.addListener(changes::add);
+
+        properties.put("name-1","value-10");
+        properties.put("name-2","value-2");
+        configSource.replaceProperties(properties);
+        ConfigSourceChange change=changes.poll(5,TimeUnit.SECONDS);
+        Assertions.assertNotNull(change);
+        Assertions.assertEquals(Set.of("name-2"),change.addedPropertyNames());
+        Assertions.assertEquals(Set.of("name-1"),change.modifiedPropertyNames());
+
+        properties.remove("name-2");
+        configSource.replaceProperties(properties);
+        change=changes.poll(5,TimeUnit.SECONDS);
+        Assertions.assertNotNull(change);
+        Assertions.assertEquals(Set.of("name-2"),change.removedPropertyNames());
+    }
+
+    @Test
+    void burstIsCoalesced() throws InterruptedException {
+        DynamicMapConfigSource configSource=DynamicMapConfigSource.builder()
+                                                                  .property("name-0","value-0")
+                                                                  .coalescingDelay(Duration.ofMillis(100))
+                                                                  .build();
+        List<ConfigSourceChange> changes=new CopyOnWriteArrayList<>();
+        configSource.addListener(changes::add);
+
+        int updateCount=100;
+        for (int i=1; i<=updateCount; i++) {
+            Map<String,String> properties=new HashMap<>();
+            properties.put("name-0","value-"+i);
+            properties.put("name-"+i,"value-"+i);
+            configSource.replaceProperties(properties);
+        }
+
+        long deadline=System.nanoTime()+TimeUnit.SECONDS.toNanos(5);
+        while ((changes.isEmpty() || changes.get(changes.size()-1).version()<updateCount) && System.nanoTime()<deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertFalse(changes.isEmpty());
+        Assertions.assertTrue(changes.size()<updateCount);
+        ConfigSourceChange last=changes.get(changes.size()-1);
+        Assertions.assertEquals(updateCount,last.version());
+        Assertions.assertTrue(last.modifiedPropertyNames().contains("name-0"));
+        Assertions.assertTrue(last.addedPropertyNames().contains("name-"+updateCount));
+        for (int i=1; i<changes.size(); i++) {
+            Assertions.assertEquals(changes.get(i-1).version(),changes.get(i).previousVersion());
+        }
+    }
+
+    @Test
+    void updatePropagationLatency() throws InterruptedException {
+        DynamicMapConfigSource configSource=DynamicMapConfigSource.of("name-1",100,null);
+        BlockingQueue<Long> received=new LinkedBlockingQueue<>();
+        configSource.addListener(change->received.add(System.nanoTime()));
+
+        int updateCount=1_000;
+        List<Long> latencies=new ArrayList<>();
+        for (int i=0; i<updateCount; i++) {
+            long start=System.nanoTime();
+            configSource.replaceProperties(Map.of("name-1","value-"+i));
+            Long end=received.poll(5,TimeUnit.SECONDS);
+            Assertions.assertNotNull(end);
+            latencies.add(end-start);
+        }
+        long[] sorted=latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        log.info("Propagation of {} updates to listener; p50 {} us, p99 {} us, max {} us.",
+                 updateCount,
+                 TimeUnit.NANOSECONDS.toMicros(sorted[updateCount/2]),
+                 TimeUnit.NANOSECONDS.toMicros(sorted[updateCount*99/100]),
+                 TimeUnit.NANOSECONDS.toMicros(sorted[updateCount-1]));
+        Assertions.assertEquals(updateCount,configSource.getVersion());
+    }
 }
@@ -25,6 +25,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Test of {@link FixedMapConfigSource}.
@@ -118,6 +119,17 @@ class FixedMapConfigSourceTest {
         });
     }
 
+    @Test
+    void propertiesAreCopied() {
+        Map<String,String> properties=new HashMap<>();
+        properties.put("name-1","value-1");
+        FixedMapConfigSource configSource=FixedMapConfigSource.of("name",100,properties);
+        properties.put("name-1","value-2");
+        properties.put("name-2","value-2");
+        Assertions.assertEquals(Map.of("name-1","value-1"),configSource.getProperties());
+        Assertions.assertEquals(Set.of("name-1"),configSource.getPropertyNames());
+    }
+
     @Test
     void carriesNullPropertyValues() {
         FixedMapConfigSource.Builder builder=FixedMapConfigSource.builder();
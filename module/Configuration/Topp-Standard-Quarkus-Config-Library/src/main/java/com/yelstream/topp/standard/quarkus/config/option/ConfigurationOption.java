@@ -0,0 +1,47 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.quarkus.config.option;
+
+/**
+ * Configuration option of a family of options declared by an enumeration.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public interface ConfigurationOption {
+    /**
+     * Gets the property name.
+     * @return Property name.
+     */
+    String getPropertyName();
+
+    /**
+     * Gets the property type.
+     * @return Property type.
+     */
+    Class<?> getPropertyType();
+
+    /**
+     * Gets the default value, as text.
+     * @return Default value.
+     *         This may be {@code null}.
+     */
+    String getDefaultValue();
+}
@@ -28,16 +28,16 @@ import org.eclipse.microprofile.config.ConfigProvider;
 @Slf4j
 @AllArgsConstructor
 @SuppressWarnings({"LombokGetterMayBeUsed","java:S115"})
-public enum EclipseVertXHTTPConfigurationOption {
+public enum EclipseVertXHTTPConfigurationOption implements ConfigurationOption {
 
     //https://quarkus.io/guides/all-config#quarkus-vertx-http_quarkus-vertx-http-eclipse-vert-x-http
 
-    QuarkusHttpHost("quarkus.http.host",String.class),
-    QuarkusHttpPort("quarkus.http.port",String.class),
-    QuarkusHttpSslPort("quarkus.http.ssl-port",String.class),
-    QuarkusHttpTestHost("quarkus.http.test-host",String.class),
-    QuarkusHttpTestPort("quarkus.http.test-port",String.class),
-    QuarkusHttpTestSslPort("quarkus.http.test-ssl-port",String.class);
+    QuarkusHttpHost("quarkus.http.host",String.class,null),  //Default depends upon the launch mode!
+    QuarkusHttpPort("quarkus.http.port",String.class,"8080"),
+    QuarkusHttpSslPort("quarkus.http.ssl-port",String.class,"8443"),
+    QuarkusHttpTestHost("quarkus.http.test-host",String.class,"localhost"),
+    QuarkusHttpTestPort("quarkus.http.test-port",String.class,"8081"),
+    QuarkusHttpTestSslPort("quarkus.http.test-ssl-port",String.class,"8444");
 
     @Getter
     private final String propertyName;
@@ -45,11 +45,26 @@ public enum EclipseVertXHTTPConfigurationOption {
     @Getter
     private final Class<?> propertyType;
 
+    @Getter
+    private final String defaultValue;
+
     public OptionReader reader() {
         Config config=ConfigProvider.getConfig();
         return new OptionReader(this,config,propertyName,propertyType);
     }
 
+    public static OptionTable<EclipseVertXHTTPConfigurationOption> table() {
+        return OptionTable.of(EclipseVertXHTTPConfigurationOption.class);
+    }
+
+    public static OptionValues<EclipseVertXHTTPConfigurationOption> read(Config config) {
+        return table().read(config);
+    }
+
+    public static OptionValues<EclipseVertXHTTPConfigurationOption> read() {
+        return read(ConfigProvider.getConfig());
+    }
+
     public static void log() {
         for (var option: values()) {
             OptionReader reader=option.reader();
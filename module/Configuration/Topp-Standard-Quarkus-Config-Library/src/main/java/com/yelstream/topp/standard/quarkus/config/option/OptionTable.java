@@ -0,0 +1,273 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.quarkus.config.option;
+
+import org.eclipse.microprofile.config.Config;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Precomputed table of a family of configuration options declared by an enumeration.
+ * <p>
+ *     Options are found by property name through a perfect hash, default values are parsed once when the table
+ *     is created, and all options are read into one {@link OptionValues} in one pass over the table.
+ *     If no perfect hash is found within a bounded table size, as for property names of equal hash codes,
+ *     colliding options are placed by linear probing.
+ * </p>
+ * <p>
+ *     Property names must be unique within the enumeration.
+ * </p>
+ * <p>
+ *     Default values are parsed for the property types {@link String}, {@link Integer}, {@link Long},
+ *     {@link Boolean} and {@link List}, the latter as comma-separated strings.
+ * </p>
+ * <p>
+ *     This is immutable and thread-safe.
+ * </p>
+ * @param <E> Type of enumeration.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class OptionTable<E extends Enum<E> & ConfigurationOption> {
+    /**
+     * Tables by enumeration, created on first use.
+     */
+    private static final ClassValue<OptionTable<?>> TABLES=new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked","rawtypes"})
+        protected OptionTable<?> computeValue(Class<?> type) {
+            return new OptionTable(type);
+        }
+    };
+
+    /**
+     * Maximum number of seeds tried per table size when searching for a perfect hash.
+     */
+    private static final int MAX_SEED_COUNT=1<<12;
+
+    /**
+     * Maximum number of times the table size is doubled when searching for a perfect hash.
+     */
+    private static final int MAX_GROWTH_COUNT=3;
+
+    private final Class<E> enumerationType;
+
+    /**
+     * Options by ordinal.
+     */
+    private final E[] options;
+
+    /**
+     * Property names by ordinal.
+     */
+    private final String[] propertyNames;
+
+    /**
+     * Parsed default values by ordinal.
+     */
+    private final Object[] defaultValues;
+
+    /**
+     * Options by slot of the hash of their property names.
+     * At least half of the slots are empty.
+     */
+    private final E[] slots;
+
+    private final int seed;
+    private final int mask;
+
+    private OptionTable(Class<E> enumerationType) {
+        this.enumerationType=enumerationType;
+        this.options=enumerationType.getEnumConstants();
+        this.propertyNames=new String[options.length];
+        this.defaultValues=new Object[options.length];
+        Set<String> uniquePropertyNames=new HashSet<>();
+        for (E option: options) {
+            String propertyName=Objects.requireNonNull(option.getPropertyName(),"Failure to create option table; property name is not set, option is '%s'!".formatted(option));
+            if (!uniquePropertyNames.add(propertyName)) {
+                throw new IllegalArgumentException("Failure to create option table; property name is duplicated, property name is '%s'!".formatted(propertyName));
+            }
+            propertyNames[option.ordinal()]=propertyName;
+            defaultValues[option.ordinal()]=parse(option.getDefaultValue(),option.getPropertyType(),option);
+        }
+
+        int initialSize=Integer.highestOneBit(Math.max(1,options.length*2-1))<<1;
+        int size=initialSize;
+        int foundSeed=findSeed(propertyNames,size-1);
+        for (int growth=0; foundSeed<0 && growth<MAX_GROWTH_COUNT; growth++) {
+            size<<=1;
+            foundSeed=findSeed(propertyNames,size-1);
+        }
+        if (foundSeed<0) {
+            size=initialSize;
+            foundSeed=0;  //Note: Collisions are resolved by probing!
+        }
+        this.seed=foundSeed;
+        this.mask=size-1;
+        this.slots=Arrays.copyOf(options,size);
+        Arrays.fill(slots,null);
+        for (E option: options) {
+            int index=slot(option.getPropertyName().hashCode(),seed,mask);
+            while (slots[index]!=null) {
+                index=(index+1)&mask;
+            }
+            slots[index]=option;
+        }
+    }
+
+    /**
+     * Gets the table of a family of options.
+     * @param enumerationType Enumeration declaring the options.
+     * @param <E> Type of enumeration.
+     * @return Table.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E> & ConfigurationOption> OptionTable<E> of(Class<E> enumerationType) {
+        return (OptionTable<E>)TABLES.get(enumerationType);
+    }
+
+    private static int slot(int hash,
+                            int seed,
+                            int mask) {
+        int h=(hash^seed)*0x9E3779B9;
+        return (h^(h>>>16))&mask;
+    }
+
+    private static int findSeed(String[] propertyNames,
+                                int mask) {
+        boolean[] used=new boolean[mask+1];
+        for (int seed=0; seed<MAX_SEED_COUNT; seed++) {
+            Arrays.fill(used,false);
+            boolean collision=false;
+            for (String propertyName: propertyNames) {
+                int index=slot(propertyName.hashCode(),seed,mask);
+                if (used[index]) {
+                    collision=true;
+                    break;
+                }
+                used[index]=true;
+            }
+            if (!collision) {
+                return seed;
+            }
+        }
+        return -1;
+    }
+
+    private static Object parse(String value,
+                                Class<?> type,
+                                ConfigurationOption option) {
+        if (value==null) {
+            return null;
+        }
+        try {
+            if (type==String.class) {
+                return value;
+            } else if (type==Integer.class) {
+                return Integer.valueOf(value.trim());
+            } else if (type==Long.class) {
+                return Long.valueOf(value.trim());
+            } else if (type==Boolean.class) {
+                return Boolean.valueOf(value.trim());
+            } else if (type==List.class) {
+                return Arrays.stream(value.split(",")).map(String::trim).filter(s->!s.isEmpty()).toList();
+            }
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Failure to parse default value; option is '%s', value is '%s'!".formatted(option,value),ex);
+        }
+        throw new IllegalArgumentException("Failure to parse default value; option is '%s', type is '%s'!".formatted(option,type.getName()));
+    }
+
+    /**
+     * Gets the enumeration declaring the options.
+     * @return Enumeration.
+     */
+    public Class<E> getEnumerationType() {
+        return enumerationType;
+    }
+
+    /**
+     * Gets the options.
+     * @return Options, in declaration order.
+     */
+    public List<E> getOptions() {
+        return List.of(options);
+    }
+
+    /**
+     * Gets the option of a property name.
+     * @param propertyName Property name.
+     * @return Option.
+     */
+    public Optional<E> forPropertyName(String propertyName) {
+        int index=slot(propertyName.hashCode(),seed,mask);
+        E option=slots[index];
+        while (option!=null) {
+            if (propertyNames[option.ordinal()].equals(propertyName)) {
+                return Optional.of(option);
+            }
+            index=(index+1)&mask;
+            option=slots[index];
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the parsed default value of an option.
+     * @param option Option.
+     * @return Default value.
+     *         This may be {@code null}.
+     */
+    public Object getDefaultValue(E option) {
+        return defaultValues[option.ordinal()];
+    }
+
+    /**
+     * Reads all options from a configuration.
+     * Options not set in the configuration take their default values.
+     * @param config Configuration.
+     * @return Values of all options.
+     */
+    public OptionValues<E> read(Config config) {
+        Objects.requireNonNull(config,"Failure to read options; configuration is not set!");
+        Object[] values=new Object[options.length];
+        for (int index=0; index<options.length; index++) {
+            Object value=readValue(config,propertyNames[index],options[index].getPropertyType());
+            values[index]=value!=null?value:defaultValues[index];
+        }
+        return new OptionValues<>(this,values);
+    }
+
+    private static Object readValue(Config config,
+                                    String propertyName,
+                                    Class<?> propertyType) {
+        if (propertyType==List.class) {
+            return config.getOptionalValues(propertyName,String.class).map(List::copyOf).orElse(null);
+        } else {
+            return config.getOptionalValue(propertyName,propertyType).orElse(null);
+        }
+    }
+}
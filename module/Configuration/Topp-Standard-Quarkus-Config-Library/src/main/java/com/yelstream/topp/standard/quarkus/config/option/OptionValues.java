@@ -0,0 +1,100 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.quarkus.config.option;
+
+import java.util.Optional;
+
+/**
+ * Values of all options of a family read from a configuration at one time.
+ * <p>
+ *     This is immutable and thread-safe.
+ * </p>
+ * @param <E> Type of enumeration.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class OptionValues<E extends Enum<E> & ConfigurationOption> {
+    private final OptionTable<E> table;
+
+    /**
+     * Values by ordinal.
+     */
+    private final Object[] values;
+
+    OptionValues(OptionTable<E> table,
+                 Object[] values) {
+        this.table=table;
+        this.values=values;
+    }
+
+    /**
+     * Gets the table of the options.
+     * @return Table.
+     */
+    public OptionTable<E> getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the value of an option.
+     * @param option Option.
+     * @return Value.
+     *         This is empty for options neither set nor defaulted.
+     */
+    public Optional<Object> getOptionalValue(E option) {
+        return Optional.ofNullable(values[option.ordinal()]);
+    }
+
+    /**
+     * Gets the value of an option.
+     * @param option Option.
+     * @param type Type of value.
+     * @param <T> Type of value.
+     * @return Value.
+     *         This is empty for options neither set nor defaulted.
+     */
+    public <T> Optional<T> getOptionalValue(E option,
+                                            Class<T> type) {
+        return getOptionalValue(option).map(type::cast);
+    }
+
+    /**
+     * Gets the value of an option by property name.
+     * @param propertyName Property name.
+     * @return Value.
+     *         This is empty for property names not of an option, and for options neither set nor defaulted.
+     */
+    public Optional<Object> getOptionalValue(String propertyName) {
+        return table.forPropertyName(propertyName).flatMap(this::getOptionalValue);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb=new StringBuilder(table.getEnumerationType().getSimpleName()).append('[');
+        for (E option: table.getOptions()) {
+            if (option.ordinal()>0) {
+                sb.append(", ");
+            }
+            sb.append(option.getPropertyName()).append('=').append(values[option.ordinal()]);
+        }
+        return sb.append(']').toString();
+    }
+}
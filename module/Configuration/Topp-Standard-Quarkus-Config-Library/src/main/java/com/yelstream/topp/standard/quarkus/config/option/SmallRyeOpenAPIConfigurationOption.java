@@ -29,11 +29,11 @@ import java.util.List;
 
 @Slf4j
 @AllArgsConstructor
-public enum SmallRyeOpenAPIConfigurationOption {
+public enum SmallRyeOpenAPIConfigurationOption implements ConfigurationOption {
 
     //https://quarkus.io/guides/all-config#quarkus-smallrye-openapi_quarkus-smallrye-openapi-smallrye-openapi
 
-    QuarkusHttpTestSslPort("quarkus.smallrye-openapi.servers",List.class);  //List of String?
+    QuarkusHttpTestSslPort("quarkus.smallrye-openapi.servers",List.class,null);  //List of String?
 
     @Getter
     private final String propertyName;
@@ -41,11 +41,26 @@ public enum SmallRyeOpenAPIConfigurationOption {
     @Getter
     private final Class<?> propertyType;
 
+    @Getter
+    private final String defaultValue;
+
     public OptionReader reader() {
         Config config= ConfigProvider.getConfig();
         return new OptionReader(this,config,propertyName,propertyType);
     }
 
+    public static OptionTable<SmallRyeOpenAPIConfigurationOption> table() {
+        return OptionTable.of(SmallRyeOpenAPIConfigurationOption.class);
+    }
+
+    public static OptionValues<SmallRyeOpenAPIConfigurationOption> read(Config config) {
+        return table().read(config);
+    }
+
+    public static OptionValues<SmallRyeOpenAPIConfigurationOption> read() {
+        return read(ConfigProvider.getConfig());
+    }
+
     public static void log() {
         for (var option: values()) {
             OptionReader reader=option.reader();
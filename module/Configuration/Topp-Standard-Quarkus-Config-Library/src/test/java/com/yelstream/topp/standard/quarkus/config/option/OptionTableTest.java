@@ -0,0 +1,189 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.quarkus.config.option;
+
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.Config;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Test of {@link OptionTable} and {@link OptionValues}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class OptionTableTest {
+    @Getter
+    @AllArgsConstructor
+    @SuppressWarnings({"LombokGetterMayBeUsed","java:S115"})
+    private enum TestOption implements ConfigurationOption {
+        Name("test.name",String.class,"anonymous"),
+        Count("test.count",Integer.class,"7"),
+        Size("test.size",Long.class,null),
+        Enabled("test.enabled",Boolean.class,"true"),
+        Tags("test.tags",List.class,"a, b,c");
+
+        private final String propertyName;
+        private final Class<?> propertyType;
+        private final String defaultValue;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @SuppressWarnings({"LombokGetterMayBeUsed","java:S115"})
+    private enum CollidingOption implements ConfigurationOption {
+        First("Aa",String.class,null),
+        Second("BB",String.class,null),  //Yes, "Aa" and "BB" have equal hash codes!
+        Third("C#",String.class,null);
+
+        private final String propertyName;
+        private final Class<?> propertyType;
+        private final String defaultValue;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @SuppressWarnings({"LombokGetterMayBeUsed","java:S115"})
+    private enum DuplicateOption implements ConfigurationOption {
+        First("test.name",String.class,null),
+        Second("test.name",String.class,null);
+
+        private final String propertyName;
+        private final Class<?> propertyType;
+        private final String defaultValue;
+    }
+
+    private static Config createConfig(Map<String,String> properties) {
+        return new SmallRyeConfigBuilder().withSources(new PropertiesConfigSource(properties,"test",100)).build();
+    }
+
+    /**
+     * Tests lookup of options by property name.
+     */
+    @Test
+    void forPropertyName() {
+        OptionTable<TestOption> table=OptionTable.of(TestOption.class);
+        Assertions.assertSame(table,OptionTable.of(TestOption.class));
+        for (TestOption option: TestOption.values()) {
+            Assertions.assertEquals(Optional.of(option),table.forPropertyName(option.getPropertyName()));
+        }
+        Assertions.assertEquals(Optional.empty(),table.forPropertyName("test.other"));
+        Assertions.assertEquals(Optional.empty(),table.forPropertyName(""));
+
+        OptionTable<EclipseVertXHTTPConfigurationOption> httpTable=EclipseVertXHTTPConfigurationOption.table();
+        for (EclipseVertXHTTPConfigurationOption option: EclipseVertXHTTPConfigurationOption.values()) {
+            Assertions.assertEquals(Optional.of(option),httpTable.forPropertyName(option.getPropertyName()));
+        }
+    }
+
+    /**
+     * Tests lookup of options whose property names have equal hash codes.
+     */
+    @Test
+    void forPropertyNameWithEqualHashCodes() {
+        OptionTable<CollidingOption> table=OptionTable.of(CollidingOption.class);
+        for (CollidingOption option: CollidingOption.values()) {
+            Assertions.assertEquals(Optional.of(option),table.forPropertyName(option.getPropertyName()));
+        }
+        Assertions.assertEquals(Optional.empty(),table.forPropertyName("test.other"));
+    }
+
+    /**
+     * Tests that duplicated property names are rejected.
+     */
+    @Test
+    void duplicatePropertyNames() {
+        Assertions.assertThrows(IllegalArgumentException.class,()->OptionTable.of(DuplicateOption.class));
+    }
+
+    /**
+     * Tests that default values are parsed according to the property types.
+     */
+    @Test
+    void defaultValues() {
+        OptionTable<TestOption> table=OptionTable.of(TestOption.class);
+        Assertions.assertEquals("anonymous",table.getDefaultValue(TestOption.Name));
+        Assertions.assertEquals(7,table.getDefaultValue(TestOption.Count));
+        Assertions.assertNull(table.getDefaultValue(TestOption.Size));
+        Assertions.assertEquals(Boolean.TRUE,table.getDefaultValue(TestOption.Enabled));
+        Assertions.assertEquals(List.of("a","b","c"),table.getDefaultValue(TestOption.Tags));
+    }
+
+    /**
+     * Tests reading all options from a configuration.
+     */
+    @Test
+    void read() {
+        Config config=createConfig(Map.of("test.count","42","test.tags","x,y","quarkus.http.port","9090"));
+        OptionValues<TestOption> values=OptionTable.of(TestOption.class).read(config);
+        Assertions.assertEquals(Optional.of("anonymous"),values.getOptionalValue(TestOption.Name));
+        Assertions.assertEquals(Optional.of(42),values.getOptionalValue(TestOption.Count,Integer.class));
+        Assertions.assertEquals(Optional.empty(),values.getOptionalValue(TestOption.Size));
+        Assertions.assertEquals(Optional.of(List.of("x","y")),values.getOptionalValue("test.tags"));
+        Assertions.assertEquals(Optional.empty(),values.getOptionalValue("test.other"));
+
+        OptionValues<EclipseVertXHTTPConfigurationOption> httpValues=EclipseVertXHTTPConfigurationOption.read(config);
+        Assertions.assertEquals(Optional.of("9090"),httpValues.getOptionalValue(EclipseVertXHTTPConfigurationOption.QuarkusHttpPort));
+        Assertions.assertEquals(Optional.of("8081"),httpValues.getOptionalValue(EclipseVertXHTTPConfigurationOption.QuarkusHttpTestPort));
+        Assertions.assertEquals(Optional.empty(),httpValues.getOptionalValue(EclipseVertXHTTPConfigurationOption.QuarkusHttpHost));
+    }
+
+    /**
+     * Tests the throughput of reading full option sets compared to reading options one by one through readers.
+     */
+    @Test
+    void readThroughput() {
+        Config config=createConfig(Map.of("quarkus.http.host","0.0.0.0","quarkus.http.port","9090"));
+        EclipseVertXHTTPConfigurationOption[] options=EclipseVertXHTTPConfigurationOption.values();
+        int count=200_000;
+
+        long sink=0L;
+        long start=System.nanoTime();
+        for (int i=0; i<count; i++) {
+            for (EclipseVertXHTTPConfigurationOption option: options) {
+                OptionReader reader=new OptionReader(option,config,option.getPropertyName(),option.getPropertyType());
+                sink+=reader.getOptionalValue().map(String::length).orElse(0);
+            }
+        }
+        long readerNanos=System.nanoTime()-start;
+
+        OptionTable<EclipseVertXHTTPConfigurationOption> table=EclipseVertXHTTPConfigurationOption.table();
+        start=System.nanoTime();
+        for (int i=0; i<count; i++) {
+            OptionValues<EclipseVertXHTTPConfigurationOption> values=table.read(config);
+            sink+=values.getOptionalValue(EclipseVertXHTTPConfigurationOption.QuarkusHttpPort,String.class).map(String::length).orElse(0);
+        }
+        long tableNanos=System.nanoTime()-start;
+
+        log.info("Full option set reads per second; readers is {}, table is {}, sink is {}.",
+                 Math.round(count*1.0e9/readerNanos),Math.round(count*1.0e9/tableNanos),sink);
+        Assertions.assertTrue(sink>0L);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.smallrye.config;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Lock-free table of access counters keyed by property name.
+ * <p>
+ *     Names are placed in slots by open addressing and never removed; each slot has its own counter, so
+ *     accesses of different properties do not contend.
+ *     Names not fitting the table are counted as overflow, and from then on the table is {@link #isOverflowed() overflowed}.
+ *     A name fits the table if a free slot is found within {@value #MAX_PROBE_COUNT} probes;
+ *     once overflowed, no more names are registered.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+final class AccessCounterTable {
+    /**
+     * Maximum number of slots probed for a name.
+     */
+    static final int MAX_PROBE_COUNT=16;
+
+    private final AtomicReferenceArray<String> names;
+    private final AtomicLongArray counts;
+    private final int mask;
+    private final int probeCount;
+    private final LongAdder overflowCount=new LongAdder();
+
+    /**
+     * Indicates if a name has not fitted the table.
+     */
+    private volatile boolean overflowed;
+
+    AccessCounterTable(int capacity) {
+        if (capacity<1 || capacity>1<<30) {
+            throw new IllegalArgumentException("Failure to create counter table; capacity is '%d'!".formatted(capacity));
+        }
+        int size=Integer.highestOneBit(capacity);
+        size=size<capacity?size<<1:size;
+        this.names=new AtomicReferenceArray<>(size);
+        this.counts=new AtomicLongArray(size);
+        this.mask=size-1;
+        this.probeCount=Math.min(MAX_PROBE_COUNT,size);
+    }
+
+    /**
+     * Records an access.
+     * The name is registered even when the access is not counted.
+     * @param name Property name.
+     * @param counted Indicates if the access is counted.
+     */
+    void record(String name,
+                boolean counted) {
+        int index=indexOf(name);
+        if (index<0) {
+            overflowed=true;
+            if (counted) {
+                overflowCount.increment();
+            }
+        } else if (counted) {
+            counts.getAndIncrement(index);
+        }
+    }
+
+    private int indexOf(String name) {
+        int hash=name.hashCode();
+        int index=(hash^(hash>>>16))&mask;
+        for (int probe=0; probe<probeCount; probe++) {
+            String current=names.getAcquire(index);
+            if (current==null) {
+                if (overflowed) {
+                    return -1;  //Note: Names not registered before overflow stay unregistered!
+                }
+                if (names.compareAndSet(index,null,name)) {
+                    return index;
+                }
+                current=names.getAcquire(index);
+            }
+            if (current==name || current.equals(name)) {
+                return index;
+            }
+            index=(index+1)&mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Indicates if a name has been registered.
+     * @param name Property name.
+     * @return Indicates if registered.
+     */
+    boolean contains(String name) {
+        int hash=name.hashCode();
+        int index=(hash^(hash>>>16))&mask;
+        for (int probe=0; probe<probeCount; probe++) {
+            String current=names.getAcquire(index);
+            if (current==null) {
+                return false;
+            }
+            if (current.equals(name)) {
+                return true;
+            }
+            index=(index+1)&mask;
+        }
+        return false;
+    }
+
+    /**
+     * Indicates if a name has not fitted the table.
+     * If so, names not registered may have been accessed.
+     * @return Indicates if overflowed.
+     */
+    boolean isOverflowed() {
+        return overflowed;
+    }
+
+    /**
+     * Drains the counts recorded since the previous drain.
+     * @param consumer Consumer of names and their non-zero counts.
+     * @return Number of overflow accesses since the previous drain.
+     */
+    long drain(ObjLongConsumer<String> consumer) {
+        for (int index=0; index<=mask; index++) {
+            String name=names.getAcquire(index);
+            if (name!=null && counts.get(index)!=0L) {
+                long count=counts.getAndSet(index,0L);
+                if (count!=0L) {
+                    consumer.accept(name,count);
+                }
+            }
+        }
+        return overflowCount.sumThenReset();
+    }
+}
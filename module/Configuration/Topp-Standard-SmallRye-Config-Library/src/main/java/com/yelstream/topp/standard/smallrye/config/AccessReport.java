@@ -0,0 +1,57 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.smallrye.config;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Report of configuration accesses recorded by a {@link ConfigurationSpy}.
+ * @param time Time of the report.
+ * @param hottestProperties Most accessed properties since the previous report, most accessed first.
+ * @param neverReadPropertyNames Names of properties of the configuration never accessed.
+ *                               This is empty once the counter table has overflowed.
+ * @param unknownPropertyNames Names of properties of the configuration not tracked, since the counter table has
+ *                             overflowed; these may or may not have been accessed.
+ * @param sampledCount Number of accesses recorded since the previous report.
+ * @param estimatedCount Estimated number of accesses since the previous report.
+ * @param overflowCount Number of recorded accesses of properties not fitting the counter table.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public record AccessReport(Instant time,
+                           List<PropertyAccess> hottestProperties,
+                           List<String> neverReadPropertyNames,
+                           List<String> unknownPropertyNames,
+                           long sampledCount,
+                           long estimatedCount,
+                           long overflowCount) {
+    /**
+     * Accesses of a single property.
+     * @param propertyName Property name.
+     * @param sampledCount Number of accesses recorded.
+     * @param estimatedCount Estimated number of accesses.
+     */
+    public record PropertyAccess(String propertyName,
+                                 long sampledCount,
+                                 long estimatedCount) {
+    }
+}
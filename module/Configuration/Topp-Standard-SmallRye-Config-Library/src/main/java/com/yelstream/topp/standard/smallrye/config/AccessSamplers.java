@@ -0,0 +1,125 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.smallrye.config;
+
+import lombok.experimental.UtilityClass;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Utility addressing instances of {@link AccessSampler}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@UtilityClass
+public class AccessSamplers {
+    /**
+     * Sampler recording all accesses.
+     */
+    private record AllAccessSampler() implements AccessSampler {
+        @Override
+        public boolean sample() {
+            return true;
+        }
+
+        @Override
+        public int getRate() {
+            return 1;
+        }
+    }
+
+    /**
+     * Sampler recording accesses at random.
+     * @param rate Sampling rate.
+     */
+    private record RandomAccessSampler(int rate) implements AccessSampler {
+        @Override
+        public boolean sample() {
+            return ThreadLocalRandom.current().nextInt(rate)==0;
+        }
+
+        @Override
+        public int getRate() {
+            return rate;
+        }
+    }
+
+    /**
+     * Sampler recording all accesses within one in a number of time buckets.
+     * @param bucketNanos Duration of buckets in nanoseconds.
+     * @param rate Sampling rate.
+     */
+    private record TimeBucketedAccessSampler(long bucketNanos,
+                                             int rate) implements AccessSampler {
+        @Override
+        public boolean sample() {
+            return (System.nanoTime()/bucketNanos)%rate==0L;
+        }
+
+        @Override
+        public int getRate() {
+            return rate;
+        }
+    }
+
+    /**
+     * Creates a sampler recording all accesses.
+     * @return Created sampler.
+     */
+    public static AccessSampler all() {
+        return new AllAccessSampler();
+    }
+
+    /**
+     * Creates a sampler recording one in a number of accesses, chosen at random.
+     * @param rate Sampling rate.
+     * @return Created sampler.
+     */
+    public static AccessSampler oneIn(int rate) {
+        if (rate<1) {
+            throw new IllegalArgumentException("Failure to create sampler; rate is '%d'!".formatted(rate));
+        }
+        return rate==1?all():new RandomAccessSampler(rate);
+    }
+
+    /**
+     * Creates a sampler recording all accesses within one in a number of time buckets.
+     * <p>
+     *     Accesses are recorded in bursts, keeping accesses made together in the same sample.
+     *     This reads the clock on every access, and is costlier per access than random sampling.
+     * </p>
+     * @param bucketDuration Duration of buckets.
+     * @param rate Sampling rate.
+     * @return Created sampler.
+     */
+    public static AccessSampler timeBucketed(Duration bucketDuration,
+                                             int rate) {
+        long bucketNanos=bucketDuration.toNanos();
+        if (bucketNanos<=0L) {
+            throw new IllegalArgumentException("Failure to create sampler; bucket duration is '%s'!".formatted(bucketDuration));
+        }
+        if (rate<1) {
+            throw new IllegalArgumentException("Failure to create sampler; rate is '%d'!".formatted(rate));
+        }
+        return rate==1?all():new TimeBucketedAccessSampler(bucketNanos,rate);
+    }
+}
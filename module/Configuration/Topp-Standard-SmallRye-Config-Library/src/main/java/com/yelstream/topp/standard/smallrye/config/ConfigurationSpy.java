@@ -19,13 +19,232 @@
 
 package com.yelstream.topp.standard.smallrye.config;
 
+import io.smallrye.config.ConfigSourceInterceptor;
 import io.smallrye.config.SmallRyeConfig;
+import lombok.extern.slf4j.Slf4j;
 import org.eclipse.microprofile.config.Config;
 import org.eclipse.microprofile.config.ConfigProvider;
 import org.eclipse.microprofile.config.spi.ConfigSource;
 
-public class ConfigurationSpy {
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+/**
+ * Spy of configuration accesses.
+ * <p>
+ *     Accesses passing through the {@link #getInterceptor() interceptor} of a configuration are sampled by an
+ *     {@link AccessSampler} and counted per property name in a lock-free table.
+ *     All accessed names are registered regardless of sampling, so properties never read are found exactly,
+ *     while access counts are estimates scaled by the sampling rate.
+ *     Once more names are accessed than fit the table, names not registered are reported as unknown instead of
+ *     never read.
+ * </p>
+ * <p>
+ *     Reports of the hottest properties and the properties never read are created on demand by
+ *     {@link #report(Config)}, or exported periodically after {@link #start(Config)}.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class ConfigurationSpy implements AutoCloseable {
+    /**
+     * Holder of the default scheduler, created on first use.
+     */
+    private static final class DefaultScheduler {
+        private static final ScheduledExecutorService INSTANCE=Executors.newSingleThreadScheduledExecutor(runnable->{
+            Thread thread=new Thread(runnable,"configuration-spy-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private final AccessSampler accessSampler;
+    private final AccessCounterTable counterTable;
+    private final int hottestCount;
+    private final Duration exportInterval;
+    private final ScheduledExecutorService scheduler;
+    private final Consumer<AccessReport> reportConsumer;
+
+    /**
+     * Interceptor recording accesses.
+     */
+    private final ConfigSourceInterceptor interceptor;
+
+    /**
+     * Periodic export, if started.
+     */
+    private ScheduledFuture<?> exportFuture;
+
+    private ConfigurationSpy(AccessSampler accessSampler,
+                             AccessCounterTable counterTable,
+                             int hottestCount,
+                             Duration exportInterval,
+                             ScheduledExecutorService scheduler,
+                             Consumer<AccessReport> reportConsumer) {
+        this.accessSampler=accessSampler;
+        this.counterTable=counterTable;
+        this.hottestCount=hottestCount;
+        this.exportInterval=exportInterval;
+        this.scheduler=scheduler;
+        this.reportConsumer=reportConsumer;
+        this.interceptor=(context,name)->{
+            recordAccess(name);
+            return context.proceed(name);
+        };
+    }
+
+    /**
+     * Creates a spy.
+     * @param accessSampler Sampler of accesses to count.
+     *                      The default samples one in 64 accesses at random.
+     * @param capacity Maximum number of property names tracked.
+     *                 The default is 4096.
+     * @param hottestCount Number of hottest properties reported.
+     *                     The default is 10.
+     * @param exportInterval Interval of periodic export.
+     *                       The default is one minute.
+     * @param scheduler Scheduler of periodic export.
+     *                  The default is a shared daemon thread.
+     * @param reportConsumer Consumer of periodically exported reports.
+     *                       The default logs reports.
+     * @return Created spy.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static ConfigurationSpy createByBuilder(AccessSampler accessSampler,
+                                                    Integer capacity,
+                                                    Integer hottestCount,
+                                                    Duration exportInterval,
+                                                    ScheduledExecutorService scheduler,
+                                                    Consumer<AccessReport> reportConsumer) {
+        if (accessSampler==null) {
+            accessSampler=AccessSamplers.oneIn(64);
+        }
+        if (capacity==null) {
+            capacity=4096;
+        }
+        if (hottestCount==null) {
+            hottestCount=10;
+        }
+        if (exportInterval==null) {
+            exportInterval=Duration.ofMinutes(1);
+        }
+        if (exportInterval.isNegative() || exportInterval.isZero()) {
+            throw new IllegalArgumentException("Failure to create spy; export interval is '%s'!".formatted(exportInterval));
+        }
+        if (scheduler==null) {
+            scheduler=DefaultScheduler.INSTANCE;
+        }
+        if (reportConsumer==null) {
+            reportConsumer=ConfigurationSpy::logReport;
+        }
+        return new ConfigurationSpy(accessSampler,new AccessCounterTable(capacity),hottestCount,exportInterval,scheduler,reportConsumer);
+    }
+
+    /**
+     * Gets the interceptor recording accesses.
+     * This is to be registered with the configuration spied upon.
+     * @return Interceptor.
+     */
+    public ConfigSourceInterceptor getInterceptor() {
+        return interceptor;
+    }
+
+    /**
+     * Records an access.
+     * @param propertyName Property name.
+     */
+    public void recordAccess(String propertyName) {
+        counterTable.record(propertyName,accessSampler.sample());
+    }
+
+    /**
+     * Creates a report of the accesses recorded since the previous report.
+     * @param config Configuration whose property names are checked for being read.
+     * @return Created report.
+     */
+    public AccessReport report(Config config) {
+        return report(config.getPropertyNames());
+    }
+
+    /**
+     * Creates a report of the accesses recorded since the previous report.
+     * @param propertyNames Property names checked for being read.
+     * @return Created report.
+     */
+    public AccessReport report(Iterable<String> propertyNames) {
+        int rate=accessSampler.getRate();
+        List<AccessReport.PropertyAccess> accesses=new ArrayList<>();
+        long[] sampledCount={0L};
+        long overflowCount=counterTable.drain((name,count)->{
+            accesses.add(new AccessReport.PropertyAccess(name,count,count*rate));
+            sampledCount[0]+=count;
+        });
+        sampledCount[0]+=overflowCount;
+        List<AccessReport.PropertyAccess> hottestProperties=
+            accesses.stream().sorted(Comparator.comparingLong(AccessReport.PropertyAccess::sampledCount).reversed()).limit(hottestCount).toList();
+        boolean overflowed=counterTable.isOverflowed();
+        List<String> notRegisteredPropertyNames=new ArrayList<>();
+        for (String propertyName: propertyNames) {
+            if (!counterTable.contains(propertyName)) {
+                notRegisteredPropertyNames.add(propertyName);
+            }
+        }
+        notRegisteredPropertyNames.sort(null);
+        List<String> neverReadPropertyNames=overflowed?List.of():List.copyOf(notRegisteredPropertyNames);
+        List<String> unknownPropertyNames=overflowed?List.copyOf(notRegisteredPropertyNames):List.of();  //Yes, names not fitting the table may have been read!
+        return new AccessReport(Instant.now(),hottestProperties,neverReadPropertyNames,unknownPropertyNames,sampledCount[0],sampledCount[0]*rate,overflowCount);
+    }
+
+    /**
+     * Starts the periodic export of reports.
+     * @param config Configuration whose property names are checked for being read.
+     */
+    public synchronized void start(Config config) {
+        Objects.requireNonNull(config,"Failure to start spy; configuration is not set!");
+        if (exportFuture!=null) {
+            throw new IllegalStateException("Failure to start spy; export is already started!");
+        }
+        long intervalNanos=exportInterval.toNanos();
+        exportFuture=scheduler.scheduleAtFixedRate(()->export(config),intervalNanos,intervalNanos,TimeUnit.NANOSECONDS);
+    }
+
+    private void export(Config config) {
+        try {
+            reportConsumer.accept(report(config));
+        } catch (RuntimeException ex) {
+            log.warn("Failure to export configuration access report!",ex);
+        }
+    }
+
+    /**
+     * Stops the periodic export of reports, if started.
+     */
+    @Override
+    public synchronized void close() {
+        if (exportFuture!=null) {
+            exportFuture.cancel(false);
+            exportFuture=null;
+        }
+    }
+
+    private static void logReport(AccessReport report) {
+        log.info("Configuration accesses; estimated count is {}, hottest properties are {}, never read properties are {}, unknown properties are {}.",
+                 report.estimatedCount(),report.hottestProperties(),report.neverReadPropertyNames(),report.unknownPropertyNames());
+    }
 
     public static void bruteForcePrint() {
 
@@ -0,0 +1,421 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.smallrye.config.snapshot;
+
+import io.smallrye.config.ConfigValue;
+import io.smallrye.config.SmallRyeConfig;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import lombok.experimental.UtilityClass;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Utilities addressing binary snapshots of resolved configurations.
+ * <p>
+ *     A snapshot is a single file laid out for memory-mapping:
+ * </p>
+ * <ol>
+ *     <li>A header of {@value #HEADER_SIZE} bytes holding magic, format version, counts, a reference to the active
+ *         profiles and a CRC32C checksum of the header and all following content.</li>
+ *     <li>A source table of {@value #SOURCE_SIZE} bytes per source file holding the path and the CRC32C checksum
+ *         of the content of the file at the time of writing.</li>
+ *     <li>An entry table of {@value #ENTRY_SIZE} bytes per property, sorted by name, holding the hash of the name,
+ *         offsets and lengths of the name and value in the string table, and the ordinal of the configuration-source
+ *         the value is read from.</li>
+ *     <li>A slot table of open-addressed, power-of-two size mapping hashes of names to entries.</li>
+ *     <li>A string table of UTF-8 encoded, de-duplicated strings.</li>
+ * </ol>
+ * <p>
+ *     Values are stored with each {@code $} escaped as {@code $$}, so expanding expressions of the values served
+ *     yields the resolved values once more, and escaped expressions are not expanded a second time.
+ * </p>
+ * <p>
+ *     A snapshot is valid only for the profiles it is written with, and only while the source files recorded are
+ *     unchanged; a snapshot recording no source files is never valid.
+ * </p>
+ * <p>
+ *     Note that values, including secrets, are stored in plaintext.
+ *     Snapshot files are created readable and writable by their owner only on file systems supporting POSIX
+ *     permissions, and must be kept as protected as the source files.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@UtilityClass
+public class ConfigSnapshots {
+    /**
+     * Magic number identifying snapshots.
+     */
+    public static final int MAGIC=0x54435346;  //Note: "TCSF"!
+
+    /**
+     * Version of the format.
+     */
+    public static final int FORMAT_VERSION=3;
+
+    /**
+     * Checksum of source files not existing.
+     */
+    public static final long MISSING_CHECKSUM=-1L;
+
+    static final int HEADER_SIZE=40;
+    static final int SOURCE_SIZE=16;
+    static final int ENTRY_SIZE=24;
+    static final int SLOT_SIZE=4;
+
+    static final int MAGIC_OFFSET=0;
+    static final int FORMAT_VERSION_OFFSET=4;
+    static final int ENTRY_COUNT_OFFSET=8;
+    static final int SOURCE_COUNT_OFFSET=12;
+    static final int SLOT_COUNT_OFFSET=16;
+    static final int STRING_TABLE_LENGTH_OFFSET=20;
+    static final int PROFILES_OFFSET=24;
+    static final int CHECKSUM_OFFSET=32;
+
+    static final int ENTRY_ORDINAL_OFFSET=20;
+
+    /**
+     * Resolved property.
+     * @param value Resolved value.
+     * @param ordinal Ordinal of the configuration-source the value is read from.
+     */
+    public record Property(String value,
+                           int ordinal) { }
+
+    /**
+     * Resolves the properties of configuration-sources, expanding expressions.
+     * @param configSources Configuration-sources.
+     * @param profiles Active profiles.
+     * @return Resolved properties.
+     *         Properties resolving to no value are left out.
+     */
+    public static Map<String,Property> resolve(Iterable<ConfigSource> configSources,
+                                               List<String> profiles) {
+        SmallRyeConfigBuilder builder=new SmallRyeConfigBuilder();
+        configSources.forEach(builder::withSources);
+        if (!profiles.isEmpty()) {
+            builder.withProfiles(profiles);
+        }
+        return resolve(builder.build());
+    }
+
+    /**
+     * Resolves the properties of a configuration, expanding expressions.
+     * @param config Configuration.
+     * @return Resolved properties.
+     *         Properties resolving to no value are left out.
+     */
+    public static Map<String,Property> resolve(SmallRyeConfig config) {
+        Map<String,Property> properties=new HashMap<>();
+        for (String propertyName: config.getPropertyNames()) {
+            ConfigValue configValue=config.getConfigValue(propertyName);
+            if (configValue!=null && configValue.getValue()!=null) {
+                properties.put(propertyName,new Property(configValue.getValue(),configValue.getConfigSourceOrdinal()));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Computes the CRC32C checksum of the content of a file.
+     * @param file File.
+     * @return Checksum.
+     *         This is {@link #MISSING_CHECKSUM} for files not existing.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static long checksum(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return MISSING_CHECKSUM;
+        }
+        try (FileChannel channel=FileChannel.open(file,StandardOpenOption.READ)) {
+            CRC32C crc=new CRC32C();
+            long size=channel.size();
+            if (size>0) {
+                crc.update(channel.map(FileChannel.MapMode.READ_ONLY,0,size));
+            }
+            return crc.getValue();
+        }
+    }
+
+    /**
+     * Computes the CRC32C checksums of the content of files.
+     * @param files Files.
+     * @return Checksums by absolute, normalized path of file.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static Map<Path,Long> checksums(List<Path> files) throws IOException {
+        Map<Path,Long> checksums=new LinkedHashMap<>();
+        for (Path file: files) {
+            Path path=file.toAbsolutePath().normalize();
+            checksums.put(path,checksum(path));
+        }
+        return checksums;
+    }
+
+    /**
+     * Escapes a resolved value, to not have expressions expanded once more.
+     * @param value Resolved value.
+     * @return Escaped value.
+     */
+    static String escape(String value) {
+        return value.indexOf('$')<0?value:value.replace("$","$$");
+    }
+
+    /**
+     * Writes a snapshot of properties of a single ordinal, valid for no profiles.
+     * <p>
+     *     The checksums of the source files are computed while writing.
+     *     Use {@link #write(Path,Map,List,Map)} with checksums computed before reading the source files,
+     *     if these may change.
+     * </p>
+     * @param file Snapshot file.
+     * @param ordinal Ordinal of the configuration-source read from the snapshot.
+     * @param properties Resolved properties.
+     * @param sourceFiles Files the properties are resolved from.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static void write(Path file,
+                             int ordinal,
+                             Map<String,String> properties,
+                             List<Path> sourceFiles) throws IOException {
+        Map<String,Property> ordinalProperties=new HashMap<>();
+        properties.forEach((name,value)->ordinalProperties.put(name,new Property(value,ordinal)));
+        write(file,ordinalProperties,List.of(),checksums(sourceFiles));
+    }
+
+    /**
+     * Writes a snapshot.
+     * <p>
+     *     The snapshot is written to a temporary file which then replaces the snapshot file.
+     * </p>
+     * @param file Snapshot file.
+     * @param properties Resolved properties.
+     * @param profiles Active profiles the properties are resolved with.
+     * @param sourceChecksums Checksums of the files the properties are resolved from,
+     *                        computed before reading the files.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static void write(Path file,
+                             Map<String,Property> properties,
+                             List<String> profiles,
+                             Map<Path,Long> sourceChecksums) throws IOException {
+        StringTable strings=new StringTable();
+        long profilesRef=strings.add(String.join(",",profiles));
+
+        ByteBuffer sources=ByteBuffer.allocate(sourceChecksums.size()*SOURCE_SIZE);
+        for (Map.Entry<Path,Long> sourceChecksum: sourceChecksums.entrySet()) {
+            Path path=sourceChecksum.getKey().toAbsolutePath().normalize();
+            long ref=strings.add(path.toString());
+            sources.putInt((int)(ref>>>32)).putInt((int)ref).putLong(sourceChecksum.getValue());
+        }
+
+        TreeMap<String,Property> sorted=new TreeMap<>(properties);
+        int entryCount=sorted.size();
+        ByteBuffer entries=ByteBuffer.allocate(entryCount*ENTRY_SIZE);
+        int slotCount=Integer.highestOneBit(Math.max(2,entryCount*2-1))<<1;
+        int[] slots=new int[slotCount];
+        int index=0;
+        for (Map.Entry<String,Property> entry: sorted.entrySet()) {
+            int hash=entry.getKey().hashCode();
+            long keyRef=strings.add(entry.getKey());
+            long valueRef=strings.add(escape(entry.getValue().value()));
+            entries.putInt(hash).putInt((int)(keyRef>>>32)).putInt((int)keyRef).putInt((int)(valueRef>>>32)).putInt((int)valueRef).putInt(entry.getValue().ordinal());
+            int slot=hash&(slotCount-1);
+            while (slots[slot]!=0) {
+                slot=(slot+1)&(slotCount-1);
+            }
+            slots[slot]=++index;
+        }
+        ByteBuffer slotTable=ByteBuffer.allocate(slotCount*SLOT_SIZE);
+        slotTable.asIntBuffer().put(slots);
+
+        byte[] stringTable=strings.toByteArray();
+        ByteBuffer[] content={sources.flip(),entries.flip(),slotTable,ByteBuffer.wrap(stringTable)};
+
+        ByteBuffer header=ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC_OFFSET,MAGIC)
+              .putInt(FORMAT_VERSION_OFFSET,FORMAT_VERSION)
+              .putInt(ENTRY_COUNT_OFFSET,entryCount)
+              .putInt(SOURCE_COUNT_OFFSET,sourceChecksums.size())
+              .putInt(SLOT_COUNT_OFFSET,slotCount)
+              .putInt(STRING_TABLE_LENGTH_OFFSET,stringTable.length)
+              .putInt(PROFILES_OFFSET,(int)(profilesRef>>>32))
+              .putInt(PROFILES_OFFSET+4,(int)profilesRef);
+        CRC32C crc=new CRC32C();
+        crc.update(header.slice(0,CHECKSUM_OFFSET));
+        for (ByteBuffer buffer: content) {
+            crc.update(buffer.duplicate());
+        }
+        header.putLong(CHECKSUM_OFFSET,crc.getValue());
+
+        Path directory=file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile=directory.getFileSystem().supportedFileAttributeViews().contains("posix")?
+            Files.createTempFile(directory,file.getFileName().toString(),".tmp",PosixFilePermissions.asFileAttribute(EnumSet.of(PosixFilePermission.OWNER_READ,PosixFilePermission.OWNER_WRITE))):
+            Files.createTempFile(directory,file.getFileName().toString(),".tmp");
+        try {
+            try (FileChannel channel=FileChannel.open(temporaryFile,StandardOpenOption.WRITE,StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer[] buffers={header,content[0],content[1],content[2],content[3]};
+                long remaining=0L;
+                for (ByteBuffer buffer: buffers) {
+                    remaining+=buffer.remaining();
+                }
+                while (remaining>0) {
+                    remaining-=channel.write(buffers);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temporaryFile,file,StandardCopyOption.ATOMIC_MOVE,StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporaryFile,file,StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Maps a snapshot into memory and verifies its integrity.
+     * @param file Snapshot file.
+     * @return Mapped snapshot.
+     * @throws IOException Thrown in case of I/O error or a malformed snapshot.
+     */
+    static MappedByteBuffer map(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel=FileChannel.open(file,StandardOpenOption.READ)) {
+            long size=channel.size();
+            if (size<HEADER_SIZE || size>Integer.MAX_VALUE) {
+                throw new IOException("Failure to read snapshot; size is '%d'!".formatted(size));
+            }
+            buffer=channel.map(FileChannel.MapMode.READ_ONLY,0,size);
+        }
+        if (buffer.getInt(MAGIC_OFFSET)!=MAGIC) {
+            throw new IOException("Failure to read snapshot; file is not a snapshot!");
+        }
+        int formatVersion=buffer.getInt(FORMAT_VERSION_OFFSET);
+        if (formatVersion!=FORMAT_VERSION) {
+            throw new IOException("Failure to read snapshot; format version is '%d'!".formatted(formatVersion));
+        }
+        long expectedSize=(long)HEADER_SIZE+
+                          (long)buffer.getInt(SOURCE_COUNT_OFFSET)*SOURCE_SIZE+
+                          (long)buffer.getInt(ENTRY_COUNT_OFFSET)*ENTRY_SIZE+
+                          (long)buffer.getInt(SLOT_COUNT_OFFSET)*SLOT_SIZE+
+                          buffer.getInt(STRING_TABLE_LENGTH_OFFSET);
+        if (expectedSize!=buffer.capacity()) {
+            throw new IOException("Failure to read snapshot; size is '%d', expected size is '%d'!".formatted(buffer.capacity(),expectedSize));
+        }
+        CRC32C crc=new CRC32C();
+        crc.update(buffer.slice(0,CHECKSUM_OFFSET));
+        crc.update(buffer.slice(HEADER_SIZE,buffer.capacity()-HEADER_SIZE));
+        if (crc.getValue()!=buffer.getLong(CHECKSUM_OFFSET)) {
+            throw new IOException("Failure to read snapshot; checksum mismatch!");
+        }
+        return buffer;
+    }
+
+    /**
+     * Lists the source files recorded in a snapshot together with their recorded checksums.
+     * @param buffer Mapped snapshot.
+     * @return Source files and checksums.
+     */
+    static List<Map.Entry<Path,Long>> getSources(ByteBuffer buffer) {
+        int sourceCount=buffer.getInt(SOURCE_COUNT_OFFSET);
+        int stringTableOffset=getStringTableOffset(buffer);
+        List<Map.Entry<Path,Long>> sources=new ArrayList<>(sourceCount);
+        for (int i=0; i<sourceCount; i++) {
+            int position=HEADER_SIZE+i*SOURCE_SIZE;
+            String path=decode(buffer,stringTableOffset,buffer.getInt(position),buffer.getInt(position+4));
+            sources.add(Map.entry(Path.of(path),buffer.getLong(position+8)));
+        }
+        return sources;
+    }
+
+    /**
+     * Lists the active profiles recorded in a snapshot.
+     * @param buffer Mapped snapshot.
+     * @return Profiles.
+     */
+    static List<String> getProfiles(ByteBuffer buffer) {
+        String profiles=decode(buffer,getStringTableOffset(buffer),buffer.getInt(PROFILES_OFFSET),buffer.getInt(PROFILES_OFFSET+4));
+        return profiles.isEmpty()?List.of():List.of(profiles.split(","));
+    }
+
+    static int getStringTableOffset(ByteBuffer buffer) {
+        return buffer.capacity()-buffer.getInt(STRING_TABLE_LENGTH_OFFSET);
+    }
+
+    static String decode(ByteBuffer buffer,
+                         int stringTableOffset,
+                         int offset,
+                         int length) {
+        byte[] bytes=new byte[length];
+        buffer.get(stringTableOffset+offset,bytes);
+        return new String(bytes,StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Table of de-duplicated, UTF-8 encoded strings.
+     */
+    private static final class StringTable {
+        private final ByteArrayOutputStream bytes=new ByteArrayOutputStream();
+        private final Map<String,Long> refs=new HashMap<>();
+
+        /**
+         * Adds a string.
+         * @param value String.
+         * @return Reference holding offset in the upper and length in the lower 32 bits.
+         */
+        private long add(String value) {
+            return refs.computeIfAbsent(value,v->{
+                byte[] encoded=v.getBytes(StandardCharsets.UTF_8);
+                long ref=((long)bytes.size()<<32)|(encoded.length&0xFFFFFFFFL);
+                bytes.writeBytes(encoded);
+                return ref;
+            });
+        }
+
+        private byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.smallrye.config.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Configuration-source reading properties from a memory-mapped binary snapshot.
+ * <p>
+ *     Opening a snapshot maps the file and verifies its integrity without decoding properties.
+ *     A snapshot is served by one configuration-source per ordinal recorded, each serving the properties of its
+ *     ordinal, so the precedence of the configuration-sources snapshot is kept.
+ *     Values are looked up through the hash table of the snapshot and decoded upon first access.
+ *     Values are served escaped as stored, so expanding expressions yields the resolved values.
+ * </p>
+ * <p>
+ *     This is immutable.
+ * </p>
+ * <p>
+ *     This is thread safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class SnapshotConfigSource implements ConfigSource {
+    /**
+     * Default name of snapshot configuration-sources.
+     */
+    public static final String DEFAULT_NAME="Snapshot Config Source";
+
+    private final String name;
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final int ordinal;
+    private final int entryCount;
+    private final int slotMask;
+    private final int entryTableOffset;
+    private final int slotTableOffset;
+    private final int stringTableOffset;
+
+    /**
+     * Decoded values.
+     */
+    private final ConcurrentMap<String,String> values=new ConcurrentHashMap<>();
+
+    /**
+     * All decoded properties.
+     * This is {@code null} until first access.
+     */
+    private volatile Map<String,String> properties;
+
+    private SnapshotConfigSource(String name,
+                                 Path file,
+                                 ByteBuffer buffer,
+                                 int ordinal) {
+        this.name=name;
+        this.file=file;
+        this.buffer=buffer;
+        this.ordinal=ordinal;
+        this.entryCount=buffer.getInt(ConfigSnapshots.ENTRY_COUNT_OFFSET);
+        this.slotMask=buffer.getInt(ConfigSnapshots.SLOT_COUNT_OFFSET)-1;
+        this.entryTableOffset=ConfigSnapshots.HEADER_SIZE+buffer.getInt(ConfigSnapshots.SOURCE_COUNT_OFFSET)*ConfigSnapshots.SOURCE_SIZE;
+        this.slotTableOffset=entryTableOffset+entryCount*ConfigSnapshots.ENTRY_SIZE;
+        this.stringTableOffset=ConfigSnapshots.getStringTableOffset(buffer);
+    }
+
+    /**
+     * Opens a snapshot without validating it against its profiles and source files.
+     * @param file Snapshot file.
+     * @param name Name of the configuration-sources.
+     * @return Opened configuration-sources, one per ordinal in order of decreasing ordinal.
+     * @throws IOException Thrown in case of I/O error or a malformed snapshot.
+     */
+    public static List<SnapshotConfigSource> of(Path file,
+                                                String name) throws IOException {
+        ByteBuffer buffer=ConfigSnapshots.map(file);
+        int entryCount=buffer.getInt(ConfigSnapshots.ENTRY_COUNT_OFFSET);
+        int entryTableOffset=ConfigSnapshots.HEADER_SIZE+buffer.getInt(ConfigSnapshots.SOURCE_COUNT_OFFSET)*ConfigSnapshots.SOURCE_SIZE;
+        SortedSet<Integer> ordinals=new TreeSet<>(Comparator.reverseOrder());
+        for (int i=0; i<entryCount; i++) {
+            ordinals.add(buffer.getInt(entryTableOffset+i*ConfigSnapshots.ENTRY_SIZE+ConfigSnapshots.ENTRY_ORDINAL_OFFSET));
+        }
+        String configSourceName=name==null?DEFAULT_NAME:name;
+        return ordinals.stream().map(ordinal->new SnapshotConfigSource(configSourceName,file,buffer,ordinal)).toList();
+    }
+
+    /**
+     * Opens a snapshot if it exists, is well-formed, is written with the given profiles and matches the checksums of
+     * its source files.
+     * @param file Snapshot file.
+     * @param name Name of the configuration-sources.
+     * @param profiles Active profiles.
+     * @return Opened configuration-sources, one per ordinal in order of decreasing ordinal.
+     *         This is empty in case of a missing, malformed or stale snapshot.
+     */
+    public static Optional<List<SnapshotConfigSource>> ofValid(Path file,
+                                                               String name,
+                                                               List<String> profiles) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try {
+            List<SnapshotConfigSource> configSources=of(file,name);
+            return configSources.isEmpty() || !configSources.get(0).isValid(profiles)?Optional.empty():Optional.of(configSources);
+        } catch (IOException ex) {
+            log.warn("Failure to open snapshot; snapshot is discarded, file is '{}'!",file,ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Indicates, if the snapshot is written with the given profiles and the source files recorded are unchanged.
+     * <p>
+     *     A snapshot recording no source files is never valid.
+     * </p>
+     * @param profiles Active profiles.
+     * @return Indicates, if the snapshot is valid.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public boolean isValid(List<String> profiles) throws IOException {
+        List<String> snapshotProfiles=ConfigSnapshots.getProfiles(buffer);
+        if (!snapshotProfiles.equals(profiles)) {
+            log.debug("Snapshot is stale; profiles are {}, snapshot profiles are {}, snapshot is '{}'.",profiles,snapshotProfiles,file);
+            return false;
+        }
+        List<Map.Entry<Path,Long>> sources=ConfigSnapshots.getSources(buffer);
+        if (sources.isEmpty()) {
+            log.debug("Snapshot is stale; no source files recorded, snapshot is '{}'.",file);
+            return false;
+        }
+        for (Map.Entry<Path,Long> source: sources) {
+            if (ConfigSnapshots.checksum(source.getKey())!=source.getValue()) {
+                log.debug("Snapshot is stale; source file '{}' changed, snapshot is '{}'.",source.getKey(),file);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    @Override
+    public Set<String> getPropertyNames() {
+        return getProperties().keySet();
+    }
+
+    @Override
+    public String getValue(String propertyName) {
+        String value=values.get(propertyName);
+        if (value==null) {
+            value=lookup(propertyName);
+            if (value!=null) {
+                values.put(propertyName,value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public Map<String,String> getProperties() {
+        Map<String,String> result=properties;
+        if (result==null) {
+            Map<String,String> decoded=new HashMap<>();
+            for (int i=0; i<entryCount; i++) {
+                int position=entryTableOffset+i*ConfigSnapshots.ENTRY_SIZE;
+                if (buffer.getInt(position+ConfigSnapshots.ENTRY_ORDINAL_OFFSET)==ordinal) {
+                    decoded.put(decode(position+4),decode(position+12));
+                }
+            }
+            result=Collections.unmodifiableMap(decoded);
+            properties=result;
+        }
+        return result;
+    }
+
+    private String lookup(String propertyName) {
+        int hash=propertyName.hashCode();
+        int slot=hash&slotMask;
+        while (true) {
+            int index=buffer.getInt(slotTableOffset+slot*ConfigSnapshots.SLOT_SIZE);
+            if (index==0) {
+                return null;
+            }
+            int position=entryTableOffset+(index-1)*ConfigSnapshots.ENTRY_SIZE;
+            if (buffer.getInt(position)==hash && propertyName.equals(decode(position+4))) {
+                return buffer.getInt(position+ConfigSnapshots.ENTRY_ORDINAL_OFFSET)==ordinal?decode(position+12):null;  //Yes, names are unique across ordinals!
+            }
+            slot=(slot+1)&slotMask;
+        }
+    }
+
+    private String decode(int refPosition) {
+        return ConfigSnapshots.decode(buffer,stringTableOffset,buffer.getInt(refPosition),buffer.getInt(refPosition+4));
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.smallrye.config.snapshot;
+
+import io.smallrye.config.ConfigSourceContext;
+import io.smallrye.config.ConfigSourceFactory;
+import lombok.Singular;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Configuration-source factory serving the configuration of another factory from a binary snapshot.
+ * <p>
+ *     When the snapshot exists, is written with the active profiles and matches the checksums of the source files,
+ *     the configuration is served by one {@link SnapshotConfigSource} per ordinal of the wrapped factory.
+ *     Otherwise, the configuration-sources of the wrapped factory are served, and their resolved properties are
+ *     written to the snapshot for the next start.
+ *     Without source files, no snapshot is written or served.
+ * </p>
+ * <p>
+ *     Note that the snapshot holds the properties of all configuration-sources of the wrapped factory resolved
+ *     together, each keeping the ordinal of the configuration-source it is read from;
+ *     expressions must resolve within these configuration-sources.
+ *     Values, including secrets, are written in plaintext; see {@link ConfigSnapshots}.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class SnapshotConfigSourceFactory implements ConfigSourceFactory {
+    private final ConfigSourceFactory configSourceFactory;
+    private final Path snapshotFile;
+    private final List<Path> sourceFiles;
+    private final String name;
+    private final Integer ordinal;
+
+    private SnapshotConfigSourceFactory(ConfigSourceFactory configSourceFactory,
+                                        Path snapshotFile,
+                                        List<Path> sourceFiles,
+                                        String name,
+                                        Integer ordinal) {
+        this.configSourceFactory=configSourceFactory;
+        this.snapshotFile=snapshotFile;
+        this.sourceFiles=sourceFiles;
+        this.name=name;
+        this.ordinal=ordinal;
+    }
+
+    /**
+     * Creates a factory.
+     * @param configSourceFactory Factory of the configuration-sources snapshot.
+     * @param snapshotFile Snapshot file.
+     * @param sourceFiles Files the configuration-sources are read from.
+     *                    Without these, the snapshot can not be validated and is not used.
+     * @param name Name of the snapshot configuration-sources.
+     * @param ordinal Ordinal of a single snapshot configuration-source.
+     *                The default is the ordinals of the configuration-sources.
+     * @return Created factory.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static SnapshotConfigSourceFactory createByBuilder(ConfigSourceFactory configSourceFactory,
+                                                               Path snapshotFile,
+                                                               @Singular List<Path> sourceFiles,
+                                                               String name,
+                                                               Integer ordinal) {
+        Objects.requireNonNull(configSourceFactory,"Failure to create factory; configuration-source factory is not set!");
+        Objects.requireNonNull(snapshotFile,"Failure to create factory; snapshot file is not set!");
+        return new SnapshotConfigSourceFactory(configSourceFactory,snapshotFile,sourceFiles,name,ordinal);
+    }
+
+    @Override
+    public OptionalInt getPriority() {
+        return configSourceFactory.getPriority();
+    }
+
+    @Override
+    public Iterable<ConfigSource> getConfigSources(ConfigSourceContext configSourceContext) {
+        if (sourceFiles.isEmpty()) {
+            log.warn("Snapshot is not used; no source files to validate it against, file is '{}'!",snapshotFile);
+            return configSourceFactory.getConfigSources(configSourceContext);
+        }
+        List<String> profiles=configSourceContext==null?List.of():configSourceContext.getProfiles();
+        Optional<List<SnapshotConfigSource>> snapshotConfigSources=SnapshotConfigSource.ofValid(snapshotFile,name,profiles);
+        if (snapshotConfigSources.isPresent()) {
+            return List.copyOf(snapshotConfigSources.get());
+        }
+        Map<Path,Long> sourceChecksums=getSourceChecksums();  //Note: Computed before reading, so changes while reading leave the snapshot stale!
+        Iterable<ConfigSource> configSources=configSourceFactory.getConfigSources(configSourceContext);
+        if (sourceChecksums!=null) {
+            try {
+                ConfigSnapshots.write(snapshotFile,getProperties(configSources,profiles),profiles,sourceChecksums);
+            } catch (IOException|RuntimeException ex) {
+                log.warn("Failure to write snapshot; file is '{}'!",snapshotFile,ex);
+            }
+        }
+        return configSources;
+    }
+
+    private Map<Path,Long> getSourceChecksums() {
+        try {
+            return ConfigSnapshots.checksums(sourceFiles);
+        } catch (IOException ex) {
+            log.warn("Failure to compute checksums of source files; snapshot is not written, file is '{}'!",snapshotFile,ex);
+            return null;
+        }
+    }
+
+    private Map<String,ConfigSnapshots.Property> getProperties(Iterable<ConfigSource> configSources,
+                                                              List<String> profiles) {
+        Map<String,ConfigSnapshots.Property> properties=ConfigSnapshots.resolve(configSources,profiles);
+        if (ordinal!=null) {
+            properties.replaceAll((propertyName,property)->new ConfigSnapshots.Property(property.value(),ordinal));
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.smallrye.config;
+
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfig;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test of {@link ConfigurationSpy}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class ConfigurationSpyTest {
+    private static final int PROPERTY_COUNT=1000;
+
+    private static SmallRyeConfig createConfig(ConfigurationSpy spy) {
+        Map<String,String> properties=new HashMap<>();
+        for (int i=0; i<PROPERTY_COUNT; i++) {
+            properties.put("property."+i,"value-"+i);
+        }
+        SmallRyeConfigBuilder builder=new SmallRyeConfigBuilder().withSources(new PropertiesConfigSource(properties,"test",100));
+        if (spy!=null) {
+            builder.withInterceptors(spy.getInterceptor());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Tests the hottest properties and the properties never read when recording all accesses.
+     */
+    @Test
+    void reportAllAccesses() {
+        ConfigurationSpy spy=ConfigurationSpy.builder().accessSampler(AccessSamplers.all()).hottestCount(2).build();
+        SmallRyeConfig config=createConfig(spy);
+        for (int i=0; i<PROPERTY_COUNT-2; i++) {
+            config.getValue("property."+i,String.class);
+        }
+        for (int i=0; i<100; i++) {
+            config.getValue("property.7",String.class);
+        }
+        for (int i=0; i<50; i++) {
+            config.getValue("property.3",String.class);
+        }
+
+        AccessReport report=spy.report(config);
+        Assertions.assertEquals(List.of("property.7","property.3"),
+                                report.hottestProperties().stream().map(AccessReport.PropertyAccess::propertyName).toList());
+        Assertions.assertEquals(101L,report.hottestProperties().get(0).sampledCount());
+        Assertions.assertEquals(101L,report.hottestProperties().get(0).estimatedCount());
+        Assertions.assertTrue(report.neverReadPropertyNames().contains("property.998"));
+        Assertions.assertTrue(report.neverReadPropertyNames().contains("property.999"));
+        Assertions.assertFalse(report.neverReadPropertyNames().contains("property.0"));
+        Assertions.assertEquals(List.of(),report.unknownPropertyNames());
+        Assertions.assertEquals(0L,report.overflowCount());
+
+        AccessReport nextReport=spy.report(config);
+        Assertions.assertTrue(nextReport.hottestProperties().isEmpty());
+        Assertions.assertEquals(0L,nextReport.sampledCount());
+        Assertions.assertEquals(report.neverReadPropertyNames(),nextReport.neverReadPropertyNames());
+    }
+
+    /**
+     * Tests that sampled accesses estimate the number of accesses, and that properties read are found exactly.
+     */
+    @Test
+    void reportSampledAccesses() {
+        ConfigurationSpy spy=ConfigurationSpy.builder().accessSampler(AccessSamplers.oneIn(16)).build();
+        SmallRyeConfig config=createConfig(spy);
+        int count=160_000;
+        for (int i=0; i<count; i++) {
+            config.getValue("property.1",String.class);
+        }
+        config.getValue("property.2",String.class);
+
+        AccessReport report=spy.report(config);
+        long estimatedCount=report.hottestProperties().get(0).estimatedCount();
+        Assertions.assertEquals("property.1",report.hottestProperties().get(0).propertyName());
+        Assertions.assertTrue(Math.abs(estimatedCount-count)<count/10,"Estimated count is "+estimatedCount+"!");
+        Assertions.assertFalse(report.neverReadPropertyNames().contains("property.2"));
+        Assertions.assertEquals(PROPERTY_COUNT-2,report.neverReadPropertyNames().stream().filter(name->name.startsWith("property.")).count());
+    }
+
+    /**
+     * Tests that names not fitting the counter table are counted as overflow and reported as unknown.
+     */
+    @Test
+    void overflow() {
+        ConfigurationSpy spy=ConfigurationSpy.builder().accessSampler(AccessSamplers.all()).capacity(4).build();
+        for (int i=0; i<10; i++) {
+            spy.recordAccess("property."+i);
+        }
+        AccessReport report=spy.report(List.of("property.0","property.9","other"));
+        Assertions.assertEquals(6L,report.overflowCount());
+        Assertions.assertEquals(10L,report.sampledCount());
+        Assertions.assertEquals(List.of(),report.neverReadPropertyNames());  //Yes, "property.9" has been read without fitting the table!
+        Assertions.assertEquals(List.of("other","property.9"),report.unknownPropertyNames());
+
+        AccessReport nextReport=spy.report(List.of("property.0","other"));
+        Assertions.assertEquals(0L,nextReport.overflowCount());
+        Assertions.assertEquals(List.of("other"),nextReport.unknownPropertyNames());
+    }
+
+    /**
+     * Tests that probing for a name is bounded, and that no names are registered once overflowed.
+     */
+    @Test
+    void boundedProbing() {
+        ConfigurationSpy spy=ConfigurationSpy.builder().accessSampler(AccessSamplers.all()).capacity(1024).build();
+        List<String> collidingNames=new ArrayList<>();
+        for (int i=0; i<=AccessCounterTable.MAX_PROBE_COUNT; i++) {
+            StringBuilder sb=new StringBuilder();
+            for (int bit=0; bit<5; bit++) {
+                sb.append((i&(1<<bit))==0?"Aa":"BB");  //Yes, "Aa" and "BB" have the same hash code!
+            }
+            collidingNames.add(sb.toString());
+        }
+        collidingNames.forEach(spy::recordAccess);
+        spy.recordAccess("other");
+
+        List<String> propertyNames=new ArrayList<>(collidingNames);
+        propertyNames.add("other");
+        AccessReport report=spy.report(propertyNames);
+        Assertions.assertEquals(2L,report.overflowCount());
+        Assertions.assertEquals(List.of(collidingNames.get(AccessCounterTable.MAX_PROBE_COUNT),"other"),report.unknownPropertyNames());
+    }
+
+    /**
+     * Tests the periodic export of reports.
+     */
+    @Test
+    void export() throws InterruptedException {
+        BlockingQueue<AccessReport> reports=new LinkedBlockingQueue<>();
+        try (ConfigurationSpy spy=ConfigurationSpy.builder()
+                                                  .accessSampler(AccessSamplers.all())
+                                                  .exportInterval(Duration.ofMillis(50))
+                                                  .reportConsumer(reports::add)
+                                                  .build()) {
+            SmallRyeConfig config=createConfig(spy);
+            config.getValue("property.5",String.class);
+            spy.start(config);
+            Assertions.assertThrows(IllegalStateException.class,()->spy.start(config));
+
+            AccessReport report=reports.poll(10,TimeUnit.SECONDS);
+            Assertions.assertNotNull(report);
+            Assertions.assertEquals("property.5",report.hottestProperties().get(0).propertyName());
+        }
+    }
+
+    /**
+     * Tests the overhead of spying compared to no spy.
+     */
+    @Test
+    void overhead() {
+        int count=2_000_000;
+        double baseline=measureThroughput(createConfig(null),count);
+        double all=measureThroughput(createConfig(ConfigurationSpy.builder().accessSampler(AccessSamplers.all()).build()),count);
+        double sampled=measureThroughput(createConfig(ConfigurationSpy.builder().accessSampler(AccessSamplers.oneIn(64)).build()),count);
+        double timeBucketed=measureThroughput(createConfig(ConfigurationSpy.builder().accessSampler(AccessSamplers.timeBucketed(Duration.ofMillis(1),64)).build()),count);
+        log.info("Lookups per second; no spy is {}, all accesses is {}, one in 64 is {}, time-bucketed one in 64 is {}.",
+                 Math.round(baseline),Math.round(all),Math.round(sampled),Math.round(timeBucketed));
+        Assertions.assertTrue(sampled>0.0);
+    }
+
+    private static double measureThroughput(SmallRyeConfig config,
+                                            int count) {
+        String[] names=new String[PROPERTY_COUNT];
+        for (int i=0; i<names.length; i++) {
+            names[i]="property."+i;
+        }
+        for (int i=0; i<count/4; i++) {
+            config.getValue(names[i%names.length],String.class);
+        }
+        long start=System.nanoTime();
+        for (int i=0; i<count; i++) {
+            config.getValue(names[i%names.length],String.class);
+        }
+        long end=System.nanoTime();
+        return count*1.0e9/(end-start);
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.smallrye.config.snapshot;
+
+import io.smallrye.config.ConfigSourceContext;
+import io.smallrye.config.ConfigSourceFactory;
+import io.smallrye.config.PropertiesConfigSource;
+import io.smallrye.config.SmallRyeConfig;
+import io.smallrye.config.SmallRyeConfigBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test of {@link SnapshotConfigSourceFactory} and {@link SnapshotConfigSource}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class SnapshotConfigSourceFactoryTest {
+    @TempDir
+    Path directory;
+
+    private static void writeProperties(Path file,
+                                        int count,
+                                        String host) throws IOException {
+        StringBuilder sb=new StringBuilder();
+        sb.append("service.host=").append(host).append('\n');
+        sb.append("service.url=http://${service.host}:8080\n");
+        for (int i=0; i<count; i++) {
+            sb.append("property.").append(i).append("=value-").append(i).append('\n');
+        }
+        Files.writeString(file,sb);
+    }
+
+    private static SnapshotConfigSourceFactory createFactory(Path propertiesFile,
+                                                             Path snapshotFile) {
+        ConfigSourceFactory configSourceFactory=context->List.of(createPropertiesConfigSource(propertiesFile));  //Yes, parsing is deferred until sources are requested!
+        return SnapshotConfigSourceFactory.builder()
+                                          .configSourceFactory(configSourceFactory)
+                                          .snapshotFile(snapshotFile)
+                                          .sourceFile(propertiesFile)
+                                          .build();
+    }
+
+    private static ConfigSource createPropertiesConfigSource(Path propertiesFile) {
+        return createPropertiesConfigSource(propertiesFile,250);
+    }
+
+    private static ConfigSource createPropertiesConfigSource(Path propertiesFile,
+                                                             int ordinal) {
+        try {
+            return new PropertiesConfigSource(propertiesFile.toUri().toURL(),ordinal);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static ConfigSourceContext createContext(List<String> profiles) {
+        return (ConfigSourceContext)Proxy.newProxyInstance(ConfigSourceContext.class.getClassLoader(),
+                                                           new Class<?>[]{ConfigSourceContext.class},
+                                                           (proxy,method,args)->{
+            if (method.getName().equals("getProfiles")) {
+                return profiles;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private static <T> T single(Iterable<T> elements) {
+        List<T> list=new ArrayList<>();
+        elements.forEach(list::add);
+        Assertions.assertEquals(1,list.size());
+        return list.get(0);
+    }
+
+    @Test
+    void snapshotIsWrittenAndServed() throws IOException {
+        Path propertiesFile=directory.resolve("application.properties");
+        Path snapshotFile=directory.resolve("application.snapshot");
+        writeProperties(propertiesFile,10,"localhost");
+
+        ConfigSource first=single(createFactory(propertiesFile,snapshotFile).getConfigSources(null));
+        Assertions.assertInstanceOf(PropertiesConfigSource.class,first);
+        Assertions.assertTrue(Files.isRegularFile(snapshotFile));
+
+        ConfigSource second=single(createFactory(propertiesFile,snapshotFile).getConfigSources(null));
+        Assertions.assertInstanceOf(SnapshotConfigSource.class,second);
+        Assertions.assertEquals(250,second.getOrdinal());
+        Assertions.assertEquals("http://localhost:8080",second.getValue("service.url"));  //Yes, expressions are resolved!
+        Assertions.assertEquals("value-7",second.getValue("property.7"));
+        Assertions.assertNull(second.getValue("property.10"));
+        Assertions.assertEquals(12,second.getPropertyNames().size());
+    }
+
+    @Test
+    void changedSourceInvalidatesSnapshot() throws IOException {
+        Path propertiesFile=directory.resolve("application.properties");
+        Path snapshotFile=directory.resolve("application.snapshot");
+        writeProperties(propertiesFile,10,"localhost");
+        createFactory(propertiesFile,snapshotFile).getConfigSources(null);
+
+        writeProperties(propertiesFile,10,"remote");
+        ConfigSource configSource=single(createFactory(propertiesFile,snapshotFile).getConfigSources(null));
+        Assertions.assertInstanceOf(PropertiesConfigSource.class,configSource);
+
+        configSource=single(createFactory(propertiesFile,snapshotFile).getConfigSources(null));
+        Assertions.assertInstanceOf(SnapshotConfigSource.class,configSource);
+        Assertions.assertEquals("http://remote:8080",configSource.getValue("service.url"));
+    }
+
+    @Test
+    void changeWhileReadingInvalidatesSnapshot() throws IOException {
+        Path propertiesFile=directory.resolve("application.properties");
+        Path snapshotFile=directory.resolve("application.snapshot");
+        writeProperties(propertiesFile,10,"localhost");
+        ConfigSourceFactory configSourceFactory=context->{
+            ConfigSource configSource=createPropertiesConfigSource(propertiesFile);
+            try {
+                writeProperties(propertiesFile,10,"remote");
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return List.of(configSource);
+        };
+        SnapshotConfigSourceFactory.builder()
+                                   .configSourceFactory(configSourceFactory)
+                                   .snapshotFile(snapshotFile)
+                                   .sourceFile(propertiesFile)
+                                   .build()
+                                   .getConfigSources(null);
+        Assertions.assertTrue(Files.isRegularFile(snapshotFile));
+
+        ConfigSource configSource=single(createFactory(propertiesFile,snapshotFile).getConfigSources(null));
+        Assertions.assertInstanceOf(PropertiesConfigSource.class,configSource);
+        Assertions.assertEquals("remote",configSource.getValue("service.host"));
+    }
+
+    @Test
+    void escapedExpressionIsNotExpandedAgain() throws IOException {
+        Path propertiesFile=directory.resolve("application.properties");
+        Path snapshotFile=directory.resolve("application.snapshot");
+        Files.writeString(propertiesFile,"literal=\\\\${not.an.expression}\nprice=$5\n");
+
+        SmallRyeConfig cold=new SmallRyeConfigBuilder().withSources(single(createFactory(propertiesFile,snapshotFile).getConfigSources(null))).build();
+        Assertions.assertEquals("${not.an.expression}",cold.getRawValue("literal"));
+
+        ConfigSource configSource=single(createFactory(propertiesFile,snapshotFile).getConfigSources(null));
+        Assertions.assertInstanceOf(SnapshotConfigSource.class,configSource);
+        SmallRyeConfig snapshot=new SmallRyeConfigBuilder().withSources(configSource).build();
+        Assertions.assertEquals("${not.an.expression}",snapshot.getRawValue("literal"));
+        Assertions.assertEquals("$5",snapshot.getRawValue("price"));
+    }
+
+    @Test
+    void ordinalsAreKept() throws IOException {
+        Path highFile=directory.resolve("high.properties");
+        Path lowFile=directory.resolve("low.properties");
+        Path snapshotFile=directory.resolve("application.snapshot");
+        Files.writeString(highFile,"high=high\nshared=high\n");
+        Files.writeString(lowFile,"low=low\nshared=low\n");
+        SnapshotConfigSourceFactory factory=SnapshotConfigSourceFactory.builder()
+                                                                       .configSourceFactory(context->List.of(createPropertiesConfigSource(highFile,400),createPropertiesConfigSource(lowFile,100)))
+                                                                       .snapshotFile(snapshotFile)
+                                                                       .sourceFile(highFile)
+                                                                       .sourceFile(lowFile)
+                                                                       .build();
+        factory.getConfigSources(null);
+
+        List<ConfigSource> configSources=new ArrayList<>();
+        factory.getConfigSources(null).forEach(configSources::add);
+        Assertions.assertEquals(2,configSources.size());
+        Assertions.assertInstanceOf(SnapshotConfigSource.class,configSources.get(0));
+        Assertions.assertEquals(400,configSources.get(0).getOrdinal());
+        Assertions.assertEquals(Map.of("high","high","shared","high"),configSources.get(0).getProperties());
+        Assertions.assertEquals(100,configSources.get(1).getOrdinal());
+        Assertions.assertEquals(Map.of("low","low"),configSources.get(1).getProperties());
+        Assertions.assertNull(configSources.get(1).getValue("shared"));
+
+        ConfigSource outside=new PropertiesConfigSource(Map.of("low","outside","shared","outside"),"outside",250);
+        SmallRyeConfig config=new SmallRyeConfigBuilder().withSources(configSources.get(0),configSources.get(1),outside).build();
+        Assertions.assertEquals("outside",config.getRawValue("low"));  //Yes, an outside source ordered between wrapped sources still wins!
+        Assertions.assertEquals("high",config.getRawValue("shared"));
+    }
+
+    @Test
+    void otherProfilesInvalidateSnapshot() throws IOException {
+        Path propertiesFile=directory.resolve("application.properties");
+        Path snapshotFile=directory.resolve("application.snapshot");
+        writeProperties(propertiesFile,10,"localhost");
+        createFactory(propertiesFile,snapshotFile).getConfigSources(createContext(List.of("dev")));
+
+        ConfigSource configSource=single(createFactory(propertiesFile,snapshotFile).getConfigSources(createContext(List.of("dev"))));
+        Assertions.assertInstanceOf(SnapshotConfigSource.class,configSource);
+
+        configSource=single(createFactory(propertiesFile,snapshotFile).getConfigSources(createContext(List.of("prod"))));
+        Assertions.assertInstanceOf(PropertiesConfigSource.class,configSource);
+        configSource=single(createFactory(propertiesFile,snapshotFile).getConfigSources(null));
+        Assertions.assertInstanceOf(PropertiesConfigSource.class,configSource);
+    }
+
+    @Test
+    void snapshotIsNotWrittenWithoutSourceFiles() {
+        Path snapshotFile=directory.resolve("application.snapshot");
+        SnapshotConfigSourceFactory factory=SnapshotConfigSourceFactory.builder()
+                                                                       .configSourceFactory(context->List.of(new PropertiesConfigSource(Map.of("name","value"),"name",250)))
+                                                                       .snapshotFile(snapshotFile)
+                                                                       .build();
+        Assertions.assertInstanceOf(PropertiesConfigSource.class,single(factory.getConfigSources(null)));
+        Assertions.assertFalse(Files.exists(snapshotFile));
+    }
+
+    @Test
+    void snapshotIsReadableByOwnerOnly() throws IOException {
+        Path snapshotFile=directory.resolve("secret.snapshot");
+        ConfigSnapshots.write(snapshotFile,100,Map.of("password","secret"),List.of());
+        if (Files.getFileStore(snapshotFile).supportsFileAttributeView("posix")) {
+            Assertions.assertEquals(EnumSet.of(PosixFilePermission.OWNER_READ,PosixFilePermission.OWNER_WRITE),Files.getPosixFilePermissions(snapshotFile));
+        }
+    }
+
+    @Test
+    void corruptSnapshotIsDiscarded() throws IOException {
+        Path propertiesFile=directory.resolve("application.properties");
+        Path snapshotFile=directory.resolve("corrupt.snapshot");
+        Files.writeString(propertiesFile,"name=value\n");
+        ConfigSnapshots.write(snapshotFile,100,Map.of("name","value"),List.of(propertiesFile));
+        Assertions.assertTrue(SnapshotConfigSource.ofValid(snapshotFile,null,List.of()).isPresent());
+
+        byte[] bytes=Files.readAllBytes(snapshotFile);
+        bytes[bytes.length-1]^=1;
+        Files.write(snapshotFile,bytes);
+        Assertions.assertTrue(SnapshotConfigSource.ofValid(snapshotFile,null,List.of()).isEmpty());
+        Assertions.assertThrows(IOException.class,()->SnapshotConfigSource.of(snapshotFile,null));
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        Map<String,String> properties=new HashMap<>();
+        for (int i=0; i<10_000; i++) {
+            properties.put("property."+i,"value-"+(i%100));
+        }
+        properties.put("name.æøå","value-æøå");
+        Path snapshotFile=directory.resolve("round-trip.snapshot");
+        ConfigSnapshots.write(snapshotFile,100,properties,List.of());
+
+        SnapshotConfigSource configSource=single(SnapshotConfigSource.of(snapshotFile,"name"));
+        properties.forEach((name,value)->Assertions.assertEquals(value,configSource.getValue(name)));
+        Assertions.assertEquals(properties,configSource.getProperties());
+        Assertions.assertEquals("name",configSource.getName());
+    }
+
+    @Test
+    void startupTime() throws IOException {
+        Path propertiesFile=directory.resolve("application.properties");
+        Path snapshotFile=directory.resolve("application.snapshot");
+        writeProperties(propertiesFile,20_000,"localhost");
+
+        long coldStart=System.nanoTime();
+        ConfigSource cold=single(createFactory(propertiesFile,snapshotFile).getConfigSources(null));
+        Assertions.assertEquals("value-19999",cold.getValue("property.19999"));
+        long coldNanos=System.nanoTime()-coldStart;
+
+        long snapshotStart=System.nanoTime();
+        ConfigSource snapshot=single(createFactory(propertiesFile,snapshotFile).getConfigSources(null));
+        Assertions.assertEquals("value-19999",snapshot.getValue("property.19999"));
+        long snapshotNanos=System.nanoTime()-snapshotStart;
+
+        Assertions.assertInstanceOf(SnapshotConfigSource.class,snapshot);
+        log.info("Startup with 20000 properties; parsing, resolving and writing snapshot {} ms, reading snapshot {} ms.",
+                 TimeUnit.NANOSECONDS.toMillis(coldNanos),TimeUnit.NANOSECONDS.toMillis(snapshotNanos));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.io.dual.source;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Input-stream reading the remaining content of a byte-buffer.
+ * <p>
+ *     The buffer is read in place and is not copied.
+ *     Note that the position of the buffer is advanced while reading,
+ *     hence a buffer is expected to be given exclusively, e.g. as a duplicate.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+final class ByteBufferInputStream extends InputStream {
+    /**
+     * Buffer read.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Position marked.
+     */
+    private int markedPosition;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer=buffer;
+        this.markedPosition=buffer.position();
+    }
+
+    @Override
+    public int read() {
+        return buffer.hasRemaining()?buffer.get()&0xFF:-1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        if (length==0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int count=Math.min(length,buffer.remaining());
+        buffer.get(bytes,offset,count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        int count=(int)Math.max(0L,Math.min(n,buffer.remaining()));
+        buffer.position(buffer.position()+count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readLimit) {
+        markedPosition=buffer.position();
+    }
+
+    @Override
+    public synchronized void reset() {
+        buffer.position(markedPosition);
+    }
+}
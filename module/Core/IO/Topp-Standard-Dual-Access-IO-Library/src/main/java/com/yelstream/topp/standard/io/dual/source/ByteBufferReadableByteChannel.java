@@ -0,0 +1,75 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.io.dual.source;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Readable byte-channel reading the remaining content of a byte-buffer.
+ * <p>
+ *     The buffer is read in place and is not copied.
+ *     Note that the position of the buffer is advanced while reading,
+ *     hence a buffer is expected to be given exclusively, e.g. as a duplicate.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+final class ByteBufferReadableByteChannel implements ReadableByteChannel {
+    /**
+     * Buffer read.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Indicates, if this channel is open.
+     */
+    private volatile boolean open=true;
+
+    ByteBufferReadableByteChannel(ByteBuffer buffer) {
+        this.buffer=buffer;
+    }
+
+    @Override
+    public int read(ByteBuffer destination) throws ClosedChannelException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int count=Math.min(destination.remaining(),buffer.remaining());
+        destination.put(buffer.slice(buffer.position(),count));
+        buffer.position(buffer.position()+count);
+        return count;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open=false;
+    }
+}
@@ -27,6 +27,7 @@ import java.io.UncheckedIOException;
 import java.net.Proxy;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
 import java.nio.channels.Pipe;
 import java.nio.channels.ReadableByteChannel;
 import java.util.function.Supplier;
@@ -101,6 +102,19 @@ public class Sources {
         return DefaultChannelSource.of(channelSupplier);
     }
 
+    /**
+     * Creates a source whose content is the remaining content of a byte-buffer.
+     * <p>
+     *     The content is not copied; each stream and channel opened reads from its own duplicate of the buffer.
+     *     Note that the buffer is expected not to change; consider giving a read-only buffer.
+     * </p>
+     * @param buffer Buffer with content.
+     * @return Readable source.
+     */
+    public static Source createSource(ByteBuffer buffer) {
+        return createSource(()->new ByteBufferInputStream(buffer.duplicate()),()->new ByteBufferReadableByteChannel(buffer.duplicate()));
+    }
+
     /**
      * Creates a source whose content can be read through a pipe.
      * @param pipe Pipe.
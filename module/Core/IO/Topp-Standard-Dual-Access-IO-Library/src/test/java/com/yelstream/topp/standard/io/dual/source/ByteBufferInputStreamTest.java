@@ -0,0 +1,110 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.io.dual.source;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Test of {@link ByteBufferInputStream}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+class ByteBufferInputStreamTest {
+
+    private static ByteBuffer createBuffer() {
+        return ByteBuffer.wrap(new byte[]{0,1,2,3,4,5,6,7,8,(byte)0xFF}).position(2).limit(9).slice();
+    }
+
+    @Test
+    void readSingle() {
+        ByteBuffer buffer=ByteBuffer.wrap(new byte[]{1,(byte)0xFF});
+        ByteBufferInputStream in=new ByteBufferInputStream(buffer);
+        Assertions.assertEquals(1,in.read());
+        Assertions.assertEquals(0xFF,in.read());
+        Assertions.assertEquals(-1,in.read());
+        Assertions.assertEquals(-1,in.read());
+    }
+
+    @Test
+    void readBounded() {
+        ByteBufferInputStream in=new ByteBufferInputStream(createBuffer());
+        Assertions.assertEquals(7,in.available());
+
+        byte[] bytes=new byte[10];
+        Assertions.assertEquals(0,in.read(bytes,0,0));
+        Assertions.assertEquals(4,in.read(bytes,1,4));
+        Assertions.assertArrayEquals(new byte[]{0,2,3,4,5,0,0,0,0,0},bytes);
+        Assertions.assertEquals(3,in.read(bytes,0,10));
+        Assertions.assertEquals(8,bytes[2]);
+        Assertions.assertEquals(-1,in.read(bytes,0,10));
+        Assertions.assertEquals(0,in.available());
+    }
+
+    @Test
+    void readAll() throws IOException {
+        ByteBufferInputStream in=new ByteBufferInputStream(createBuffer());
+        Assertions.assertArrayEquals(new byte[]{2,3,4,5,6,7,8},in.readAllBytes());
+    }
+
+    @Test
+    void skip() {
+        ByteBufferInputStream in=new ByteBufferInputStream(createBuffer());
+        Assertions.assertEquals(0,in.skip(-1));
+        Assertions.assertEquals(2,in.skip(2));
+        Assertions.assertEquals(4,in.read());
+        Assertions.assertEquals(4,in.skip(Long.MAX_VALUE));
+        Assertions.assertEquals(-1,in.read());
+    }
+
+    @Test
+    void markAndReset() {
+        ByteBufferInputStream in=new ByteBufferInputStream(createBuffer());
+        Assertions.assertTrue(in.markSupported());
+        Assertions.assertEquals(2,in.read());
+        in.mark(0);
+        Assertions.assertEquals(3,in.read());
+        Assertions.assertEquals(4,in.read());
+        in.reset();
+        Assertions.assertEquals(3,in.read());
+    }
+
+    @Test
+    void sourceDoesNotConsumeBuffer() throws IOException {
+        ByteBuffer buffer=createBuffer();
+        Source source=Sources.createSource(buffer);
+        try (InputStream in=source.openStream()) {
+            Assertions.assertEquals(7,in.readAllBytes().length);
+        }
+        try (ReadableByteChannel channel=source.openChannel()) {
+            ByteBuffer target=ByteBuffer.allocate(16);
+            Assertions.assertEquals(7,channel.read(target));
+            Assertions.assertEquals(-1,channel.read(target));
+        }
+        Assertions.assertEquals(0,buffer.position());
+        Assertions.assertEquals(7,buffer.remaining());
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.net.resource.identification.handler.factory;
+
+import com.yelstream.topp.standard.net.resource.identification.handler.URISchemeHandler;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Chain of factories memoizing the resolution of handlers per scheme.
+ * <p>
+ *     Resolved handlers are cached per scheme name, and so are failures to resolve a handler.
+ *     Reads are lock-free; the chain and its cache are replaced as one immutable snapshot whenever a factory is registered,
+ *     and this invalidates all cached resolutions.
+ * </p>
+ * <p>
+ *     Note that the contained factories are assumed to return handlers which can be shared.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class CachingURISchemeHandlerFactory implements URISchemeHandlerFactory {
+    /**
+     * Chain of factories and the resolutions cached for that chain.
+     */
+    @AllArgsConstructor(access=AccessLevel.PRIVATE)
+    private static final class Snapshot {
+        /**
+         * Chain of factories.
+         */
+        private final ChainURISchemeHandlerFactory factory;
+
+        /**
+         * Resolved handlers indexed by scheme name.
+         * An empty value marks a scheme for which no handler exists.
+         */
+        private final ConcurrentMap<String,Optional<URISchemeHandler>> schemeToHandler=new ConcurrentHashMap<>();
+
+        private URISchemeHandler createURISchemeHandler(String scheme) {
+            return schemeToHandler.computeIfAbsent(scheme,s->Optional.ofNullable(factory.createURISchemeHandler(s))).orElse(null);
+        }
+    }
+
+    /**
+     * Current snapshot.
+     */
+    private final AtomicReference<Snapshot> snapshot;
+
+    private CachingURISchemeHandlerFactory(ChainURISchemeHandlerFactory factory) {
+        this.snapshot=new AtomicReference<>(new Snapshot(factory));
+    }
+
+    @Override
+    public URISchemeHandler createURISchemeHandler(String scheme) {
+        if (scheme==null) {
+            return snapshot.get().factory.createURISchemeHandler(null);
+        }
+        return snapshot.get().createURISchemeHandler(scheme);
+    }
+
+    /**
+     * Registers a factory at the end of the chain.
+     * This invalidates all cached resolutions.
+     * @param factory Factory to register.
+     */
+    public void register(URISchemeHandlerFactory factory) {
+        if (factory!=null) {
+            snapshot.updateAndGet(current->new Snapshot(current.factory.toBuilder().factory(factory).build()));
+        }
+    }
+
+    /**
+     * Invalidates all cached resolutions.
+     */
+    public void invalidate() {
+        snapshot.updateAndGet(current->new Snapshot(current.factory));
+    }
+
+    /**
+     * Invalidates the cached resolution of a single scheme.
+     * @param scheme Scheme name.
+     */
+    public void invalidate(String scheme) {
+        if (scheme!=null) {
+            snapshot.get().schemeToHandler.remove(scheme);
+        }
+    }
+
+    /**
+     * Creates a caching factory.
+     * @param factories Factories to chain.
+     * @return Created factory.
+     */
+    public static CachingURISchemeHandlerFactory of(List<URISchemeHandlerFactory> factories) {
+        return new CachingURISchemeHandlerFactory(ChainURISchemeHandlerFactory.of(List.copyOf(factories)));
+    }
+
+    /**
+     * Creates a caching factory with no initial factories.
+     * @return Created factory.
+     */
+    public static CachingURISchemeHandlerFactory of() {
+        return of(List.of());
+    }
+}
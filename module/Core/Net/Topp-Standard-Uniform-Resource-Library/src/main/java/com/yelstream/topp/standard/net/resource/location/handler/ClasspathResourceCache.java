@@ -0,0 +1,449 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.net.resource.location.handler;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of classpath resource lookups.
+ * <p>
+ *     Lookups are cached per classloader, and classloaders are weakly referenced.
+ *     Both found and missing resources are cached.
+ *     Optionally, the content of small resources is cached too, within a total size budget.
+ * </p>
+ * <p>
+ *     Content cached for a classloader is released from the budget when the classloader is collected.
+ * </p>
+ * <p>
+ *     Note that resources are assumed not to change while cached.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ *     Lookups do not lock; only the first lookup through a classloader does.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@lombok.Builder(builderClassName="Builder")
+public final class ClasspathResourceCache {
+    /**
+     * Statistics of cache usage.
+     * @param hitCount Number of lookups of found resources answered by the cache.
+     * @param negativeHitCount Number of lookups of missing resources answered by the cache.
+     * @param missCount Number of lookups passed on to a classloader.
+     * @param contentHitCount Number of reads answered by cached content.
+     * @param contentByteCount Total size of cached content, in bytes.
+     */
+    public record Statistics(long hitCount,
+                             long negativeHitCount,
+                             long missCount,
+                             long contentHitCount,
+                             long contentByteCount) {
+    }
+
+    /**
+     * Cleaner releasing the content of collected classloaders.
+     */
+    private static final Cleaner CLEANER=Cleaner.create();
+
+    /**
+     * Key of a classloader.
+     * <p>
+     *     Keys compare classloaders by identity.
+     * </p>
+     */
+    private interface Key {
+        /**
+         * Gets the classloader.
+         * @return Classloader, or {@code null} if collected.
+         */
+        ClassLoader classLoader();
+    }
+
+    /**
+     * Key used to look up a classloader.
+     * @param classLoader Classloader.
+     */
+    private record LookupKey(ClassLoader classLoader) implements Key {
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof Key key && classLoader==key.classLoader();
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(classLoader);
+        }
+    }
+
+    /**
+     * Key used to store a classloader.
+     * <p>
+     *     The classloader is weakly referenced.
+     * </p>
+     */
+    private static final class WeakKey extends WeakReference<ClassLoader> implements Key {
+        /**
+         * Identity hash of the classloader.
+         */
+        private final int hash;
+
+        private WeakKey(ClassLoader classLoader) {
+            super(classLoader);
+            hash=System.identityHashCode(classLoader);
+        }
+
+        @Override
+        public ClassLoader classLoader() {
+            return get();
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object==this) {
+                return true;
+            }
+            ClassLoader classLoader=get();
+            return classLoader!=null && object instanceof Key key && classLoader==key.classLoader();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Resolutions of a single classloader.
+     * <p>
+     *     Note that this must not reference the classloader!
+     * </p>
+     */
+    private static final class Entry {
+        /**
+         * Resolutions per path.
+         */
+        private final ConcurrentMap<String,Optional<Resolution>> resolutions=new ConcurrentHashMap<>();
+
+        /**
+         * Size of content reserved through this entry, in bytes.
+         */
+        private long byteCount;
+
+        /**
+         * Indicates, if this entry has been released.
+         */
+        private boolean released;
+
+        /**
+         * Registration of this entry for release.
+         */
+        private Cleaner.Cleanable cleanable;
+
+        /**
+         * Adds to the size of content reserved.
+         * @param length Size added, in bytes.
+         * @return Indicates, if added.
+         *         This is {@code false} if this entry has been released.
+         */
+        private synchronized boolean add(long length) {
+            if (released) {
+                return false;
+            }
+            byteCount+=length;
+            return true;
+        }
+
+        /**
+         * Subtracts from the size of content reserved.
+         * @param length Size subtracted, in bytes.
+         * @return Size subtracted.
+         *         This is zero if this entry has been released.
+         */
+        private synchronized long subtract(long length) {
+            if (released) {
+                return 0L;
+            }
+            byteCount-=length;
+            return length;
+        }
+
+        /**
+         * Releases this entry.
+         * @return Size of content reserved, in bytes.
+         *         This is zero if released already.
+         */
+        private synchronized long release() {
+            if (released) {
+                return 0L;
+            }
+            released=true;
+            long length=byteCount;
+            byteCount=0L;
+            return length;
+        }
+    }
+
+    /**
+     * Action releasing an entry.
+     * <p>
+     *     Note that this must not reference the classloader!
+     * </p>
+     */
+    @AllArgsConstructor(access=AccessLevel.PRIVATE)
+    private static final class Release implements Runnable {
+        private final ConcurrentMap<Key,Entry> entries;
+        private final WeakKey key;
+        private final Entry entry;
+        private final AtomicLong contentByteCount;
+
+        @Override
+        public void run() {
+            entries.remove(key,entry);
+            contentByteCount.addAndGet(-entry.release());
+        }
+    }
+
+    /**
+     * Resolved resource.
+     */
+    @AllArgsConstructor(access=AccessLevel.PRIVATE)
+    private static final class Resolution {
+        /**
+         * Entry holding this.
+         */
+        private final Entry entry;
+
+        /**
+         * Location of resource.
+         */
+        private final URL url;
+
+        /**
+         * Cached content, if any.
+         */
+        private volatile byte[] content;
+
+        /**
+         * Indicates, if caching of content has been attempted.
+         */
+        private volatile boolean contentResolved;
+    }
+
+    /**
+     * Maximum size of a single resource whose content is cached, in bytes.
+     * A value of zero disables caching of content.
+     */
+    @lombok.Builder.Default
+    private final int maxContentSize=0;
+
+    /**
+     * Maximum total size of cached content, in bytes.
+     */
+    @lombok.Builder.Default
+    private final long contentBudget=0L;
+
+    /**
+     * Entries per classloader.
+     */
+    private final ConcurrentMap<Key,Entry> classLoaderToEntry=new ConcurrentHashMap<>();
+
+    /**
+     * Total size of cached content, in bytes.
+     */
+    private final AtomicLong contentByteCount=new AtomicLong();
+
+    private final LongAdder hitCount=new LongAdder();
+    private final LongAdder negativeHitCount=new LongAdder();
+    private final LongAdder missCount=new LongAdder();
+    private final LongAdder contentHitCount=new LongAdder();
+
+    private Entry getEntry(ClassLoader classLoader) {
+        Entry entry=classLoaderToEntry.get(new LookupKey(classLoader));
+        if (entry==null) {
+            WeakKey key=new WeakKey(classLoader);
+            Entry createdEntry=new Entry();
+            createdEntry.cleanable=CLEANER.register(classLoader,new Release(classLoaderToEntry,key,createdEntry,contentByteCount));
+            entry=classLoaderToEntry.putIfAbsent(key,createdEntry);
+            if (entry==null) {
+                entry=createdEntry;
+            } else {
+                createdEntry.cleanable.clean();
+            }
+        }
+        return entry;
+    }
+
+    private Optional<Resolution> resolve(ClassLoader classLoader,
+                                         String path) {
+        Entry entry=getEntry(classLoader);
+        Optional<Resolution> resolution=entry.resolutions.get(path);
+        if (resolution==null) {
+            missCount.increment();
+            resolution=entry.resolutions.computeIfAbsent(path,p->Optional.ofNullable(classLoader.getResource(p)).map(url->new Resolution(entry,url,null,false)));
+        } else {
+            if (resolution.isPresent()) {
+                hitCount.increment();
+            } else {
+                negativeHitCount.increment();
+            }
+        }
+        return resolution;
+    }
+
+    /**
+     * Finds a resource.
+     * @param classLoader Classloader.
+     * @param path Path of resource.
+     * @return Location of resource, or {@code null} if it does not exist.
+     */
+    public URL getResource(ClassLoader classLoader,
+                           String path) {
+        return resolve(classLoader,path).map(resolution->resolution.url).orElse(null);
+    }
+
+    /**
+     * Opens a resource for reading.
+     * @param classLoader Classloader.
+     * @param path Path of resource.
+     * @return Stream to read content, or {@code null} if the resource does not exist.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public InputStream getResourceAsStream(ClassLoader classLoader,
+                                           String path) throws IOException {
+        Resolution resolution=resolve(classLoader,path).orElse(null);
+        if (resolution==null) {
+            return null;
+        }
+        byte[] content=resolution.content;
+        if (content!=null) {
+            contentHitCount.increment();
+            return new ByteArrayInputStream(content);
+        }
+        if (maxContentSize>0 && !resolution.contentResolved) {
+            content=readContent(resolution);
+            if (content!=null) {
+                return new ByteArrayInputStream(content);
+            }
+        }
+        return resolution.url.openStream();
+    }
+
+    private byte[] readContent(Resolution resolution) throws IOException {
+        synchronized (resolution) {
+            if (resolution.contentResolved) {
+                return resolution.content;
+            }
+            URLConnection connection=resolution.url.openConnection();
+            long length=connection.getContentLengthLong();
+            long reservedLength=length<0?maxContentSize:length;
+            if (length>maxContentSize || !reserve(resolution.entry,reservedLength)) {
+                resolution.contentResolved=true;
+                try (InputStream ignored=connection.getInputStream()) {
+                    return null;
+                }
+            }
+            byte[] content;
+            try (InputStream in=connection.getInputStream()) {
+                content=in.readNBytes(maxContentSize+1);  //Note: One byte more than allowed tells an oversized resource apart!
+            } finally {
+                release(resolution.entry,reservedLength);
+            }
+            resolution.contentResolved=true;
+            if (content.length>maxContentSize) {
+                return null;
+            }
+            if (reserve(resolution.entry,content.length)) {
+                resolution.content=content;
+            }
+            return content;
+        }
+    }
+
+    private boolean reserve(Entry entry,
+                            long length) {
+        long current;
+        do {
+            current=contentByteCount.get();
+            if (current+length>contentBudget) {
+                return false;
+            }
+        } while (!contentByteCount.compareAndSet(current,current+length));
+        if (!entry.add(length)) {
+            contentByteCount.addAndGet(-length);
+            return false;
+        }
+        return true;
+    }
+
+    private void release(Entry entry,
+                         long length) {
+        contentByteCount.addAndGet(-entry.subtract(length));
+    }
+
+    /**
+     * Removes all cached lookups and content.
+     */
+    public void clear() {
+        classLoaderToEntry.values().forEach(entry->entry.cleanable.clean());
+    }
+
+    /**
+     * Gets statistics of cache usage.
+     * @return Statistics.
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hitCount.sum(),negativeHitCount.sum(),missCount.sum(),contentHitCount.sum(),contentByteCount.get());
+    }
+
+    /**
+     * Creates a cache of lookups only.
+     * @return Created cache.
+     */
+    public static ClasspathResourceCache of() {
+        return builder().build();
+    }
+
+    /**
+     * Creates a cache of lookups and the content of small resources.
+     * @param maxContentSize Maximum size of a single resource whose content is cached, in bytes.
+     * @param contentBudget Maximum total size of cached content, in bytes.
+     * @return Created cache.
+     */
+    public static ClasspathResourceCache of(int maxContentSize,
+                                            long contentBudget) {
+        return builder().maxContentSize(maxContentSize).contentBudget(contentBudget).build();
+    }
+}
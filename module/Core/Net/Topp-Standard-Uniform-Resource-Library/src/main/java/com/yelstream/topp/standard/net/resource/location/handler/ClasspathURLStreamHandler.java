@@ -28,6 +28,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
@@ -97,6 +98,13 @@ public final class ClasspathURLStreamHandler extends URLStreamHandler {
     @lombok.Builder.Default
     private final ClassLoaderSelector classLoaderSelector=AUTHORITY_CLASSLOADER_SELECTOR;
 
+    /**
+     * Cache of resource lookups.
+     * This is optional and not applied by default.
+     */
+    @lombok.Builder.Default
+    private final ClasspathResourceCache cache=null;
+
     @Override
     protected URLConnection openConnection(URL url) throws IOException {
         protocol.requireMatch(url);
@@ -109,15 +117,29 @@ public final class ClasspathURLStreamHandler extends URLStreamHandler {
         ClassLoader classLoader=classLoaderSupplier.get();
 
         String path=Locations.normalizeNameAsContent(url.getPath());
-        URL resourceURL=classLoader.getResource(path);
+        URL resourceURL=cache==null?classLoader.getResource(path):cache.getResource(classLoader,path);
         if (resourceURL==null) {
             throw new IOException("Failure to open connection; cannot access resource, URL is '%s'!".formatted(url));
         }
 
-        return URLConnections.builder().url(url).inputStreamSupplier(()->classLoader.getResourceAsStream(path)).build();
+        if (cache==null) {
+            return URLConnections.builder().url(url).inputStreamSupplier(()->classLoader.getResourceAsStream(path)).build();
+        } else {
+            return URLConnections.builder().url(url).inputStreamSupplier(()->{
+                try {
+                    return cache.getResourceAsStream(classLoader,path);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }).build();
+        }
     }
 
     public static ClasspathURLStreamHandler of() {
         return builder().build();
     }
+
+    public static ClasspathURLStreamHandler of(ClasspathResourceCache cache) {
+        return builder().cache(cache).build();
+    }
 }
@@ -0,0 +1,84 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.net.resource.identification.handler.factory;
+
+import com.yelstream.topp.standard.net.resource.identification.handler.URISchemeHandler;
+import com.yelstream.topp.standard.net.resource.identification.handler.URISchemeHandlers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests of {@link CachingURISchemeHandlerFactory}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+class CachingURISchemeHandlerFactoryTest {
+
+    private static URISchemeHandlerFactory createCountingFactory(String scheme,
+                                                                 URISchemeHandler handler,
+                                                                 AtomicInteger count) {
+        return s->{
+            count.incrementAndGet();
+            return scheme.equals(s)?handler:null;
+        };
+    }
+
+    @Test
+    void cachedResolution() {
+        URISchemeHandler handler=URISchemeHandlers.createURISchemeHandler();
+        AtomicInteger count=new AtomicInteger();
+        CachingURISchemeHandlerFactory factory=CachingURISchemeHandlerFactory.of(List.of(createCountingFactory("x",handler,count)));
+
+        Assertions.assertSame(handler,factory.createURISchemeHandler("x"));
+        Assertions.assertSame(handler,factory.createURISchemeHandler("x"));
+        Assertions.assertEquals(1,count.get());
+    }
+
+    @Test
+    void negativeResolution() {
+        AtomicInteger count=new AtomicInteger();
+        CachingURISchemeHandlerFactory factory=CachingURISchemeHandlerFactory.of(List.of(createCountingFactory("x",URISchemeHandlers.createURISchemeHandler(),count)));
+
+        Assertions.assertNull(factory.createURISchemeHandler("y"));
+        Assertions.assertNull(factory.createURISchemeHandler("y"));
+        Assertions.assertEquals(1,count.get());
+    }
+
+    @Test
+    void registrationInvalidates() {
+        URISchemeHandler handler=URISchemeHandlers.createURISchemeHandler();
+        AtomicInteger count=new AtomicInteger();
+        CachingURISchemeHandlerFactory factory=CachingURISchemeHandlerFactory.of();
+
+        Assertions.assertNull(factory.createURISchemeHandler("x"));
+        factory.register(createCountingFactory("x",handler,count));
+        Assertions.assertSame(handler,factory.createURISchemeHandler("x"));
+        Assertions.assertSame(handler,factory.createURISchemeHandler("x"));
+        Assertions.assertEquals(1,count.get());
+
+        factory.invalidate("x");
+        Assertions.assertSame(handler,factory.createURISchemeHandler("x"));
+        Assertions.assertEquals(2,count.get());
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.net.resource.location.handler;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test of {@link ClasspathResourceCache}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+class ClasspathResourceCacheTest {
+    /**
+     * Classloader serving a single resource.
+     */
+    private static final class ResourceClassLoader extends ClassLoader {
+        private final String content;
+        private final long contentLength;
+        private final AtomicInteger failureCount;
+
+        private ResourceClassLoader(String content,
+                                    long contentLength,
+                                    int failureCount) {
+            super(null);
+            this.content=content;
+            this.contentLength=contentLength;
+            this.failureCount=new AtomicInteger(failureCount);
+        }
+
+        @Override
+        public URL getResource(String name) {
+            try {
+                return URL.of(URI.create("test:/"+name),createHandler(name,content,contentLength,failureCount));
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    /**
+     * Creates a handler serving content.
+     * <p>
+     *     Note that the handler must not reference the classloader, or the classloader is never collected!
+     * </p>
+     */
+    private static URLStreamHandler createHandler(String name,
+                                                  String content,
+                                                  long contentLength,
+                                                  AtomicInteger failureCount) {
+        return new URLStreamHandler() {
+            @Override
+            protected URLConnection openConnection(URL url) {
+                return new URLConnection(url) {
+                    @Override
+                    public void connect() {
+                    }
+
+                    @Override
+                    public long getContentLengthLong() {
+                        return contentLength;
+                    }
+
+                    @Override
+                    public InputStream getInputStream() throws IOException {
+                        if (failureCount.getAndDecrement()>0) {
+                            throw new IOException("Failure to read; resource is '%s'!".formatted(name));
+                        }
+                        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+                    }
+                };
+            }
+        };
+    }
+
+    private static String getContent(ClasspathResourceCache cache,
+                                     ClassLoader classLoader) throws IOException {
+        try (InputStream in=cache.getResourceAsStream(classLoader,"resource.txt")) {
+            return new String(in.readAllBytes(),StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Tests that a failed read releases its reservation and is retried.
+     */
+    @Test
+    void failedReadIsRetried() throws IOException {
+        ClasspathResourceCache cache=ClasspathResourceCache.of(16,16);
+        ClassLoader classLoader=new ResourceClassLoader("Krampus!",8,1);
+        Assertions.assertThrows(IOException.class,()->getContent(cache,classLoader));
+        Assertions.assertEquals(0,cache.getStatistics().contentByteCount());
+
+        Assertions.assertEquals("Krampus!",getContent(cache,classLoader));
+        Assertions.assertEquals(8,cache.getStatistics().contentByteCount());
+        Assertions.assertEquals("Krampus!",getContent(cache,classLoader));
+        Assertions.assertEquals(1,cache.getStatistics().contentHitCount());
+    }
+
+    /**
+     * Tests that content larger than announced is not cached beyond the maximum size.
+     */
+    @Test
+    void oversizedContentIsNotCached() throws IOException {
+        ClasspathResourceCache cache=ClasspathResourceCache.of(4,16);
+        ClassLoader classLoader=new ResourceClassLoader("Krampus!",2,0);
+        Assertions.assertEquals("Krampus!",getContent(cache,classLoader));
+        Assertions.assertEquals("Krampus!",getContent(cache,classLoader));
+
+        ClasspathResourceCache.Statistics statistics=cache.getStatistics();
+        Assertions.assertEquals(0,statistics.contentHitCount());
+        Assertions.assertEquals(0,statistics.contentByteCount());
+    }
+
+    /**
+     * Tests that content of unknown size is cached within the maximum size.
+     */
+    @Test
+    void contentOfUnknownSizeIsCached() throws IOException {
+        ClasspathResourceCache cache=ClasspathResourceCache.of(16,16);
+        ClassLoader classLoader=new ResourceClassLoader("Krampus!",-1,0);
+        Assertions.assertEquals("Krampus!",getContent(cache,classLoader));
+        Assertions.assertEquals("Krampus!",getContent(cache,classLoader));
+
+        ClasspathResourceCache.Statistics statistics=cache.getStatistics();
+        Assertions.assertEquals(1,statistics.contentHitCount());
+        Assertions.assertEquals(8,statistics.contentByteCount());
+    }
+
+    /**
+     * Tests that content is released from the budget when cleared.
+     */
+    @Test
+    void clearReleasesContent() throws IOException {
+        ClasspathResourceCache cache=ClasspathResourceCache.of(16,16);
+        ClassLoader classLoader=new ResourceClassLoader("Krampus!",8,0);
+        Assertions.assertEquals("Krampus!",getContent(cache,classLoader));
+        Assertions.assertEquals(8,cache.getStatistics().contentByteCount());
+
+        cache.clear();
+        Assertions.assertEquals(0,cache.getStatistics().contentByteCount());
+        Assertions.assertEquals("Krampus!",getContent(cache,classLoader));
+        Assertions.assertEquals(8,cache.getStatistics().contentByteCount());
+    }
+
+    /**
+     * Tests that content is released from the budget when its classloader is collected.
+     */
+    @Test
+    void collectedClassLoaderReleasesContent() throws Exception {
+        ClasspathResourceCache cache=ClasspathResourceCache.of(16,16);
+        Assertions.assertEquals("Krampus!",getContent(cache,new ResourceClassLoader("Krampus!",8,0)));
+        Assertions.assertEquals(8,cache.getStatistics().contentByteCount());
+
+        for (int i=0; i<100 && cache.getStatistics().contentByteCount()>0; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        Assertions.assertEquals(0,cache.getStatistics().contentByteCount());
+    }
+}
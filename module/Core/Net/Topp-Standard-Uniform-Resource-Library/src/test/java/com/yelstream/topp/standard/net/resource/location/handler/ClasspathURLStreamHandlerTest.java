@@ -41,6 +41,34 @@ class ClasspathURLStreamHandlerTest {
         Assertions.assertEquals("Krampus!",content);
     }
 
+    @Test
+    void cachedAccess() throws IOException {
+        ClasspathResourceCache cache=ClasspathResourceCache.of(1024,4096);
+        URI uri=URI.create("classpath:///example/resource.txt");
+        URL url=URL.of(uri,ClasspathURLStreamHandler.of(cache));
+        Assertions.assertEquals("Krampus!",getContent(url));
+        Assertions.assertEquals("Krampus!",getContent(url));
+
+        ClasspathResourceCache.Statistics statistics=cache.getStatistics();
+        Assertions.assertEquals(1,statistics.missCount());
+        Assertions.assertTrue(statistics.hitCount()>0);
+        Assertions.assertTrue(statistics.contentHitCount()>0);
+        Assertions.assertEquals("Krampus!".length(),statistics.contentByteCount());
+    }
+
+    @Test
+    void cachedMissingAccess() {
+        ClasspathResourceCache cache=ClasspathResourceCache.of();
+        URI uri=URI.create("classpath:///example/missing.txt");
+        URL url=Assertions.assertDoesNotThrow(()->URL.of(uri,ClasspathURLStreamHandler.of(cache)));
+        Assertions.assertThrows(IOException.class,()->getContent(url));
+        Assertions.assertThrows(IOException.class,()->getContent(url));
+
+        ClasspathResourceCache.Statistics statistics=cache.getStatistics();
+        Assertions.assertEquals(1,statistics.missCount());
+        Assertions.assertEquals(1,statistics.negativeHitCount());
+    }
+
 /*
     @Test
     void xxxaccessUsingSpecificClassLoader() throws IOException {
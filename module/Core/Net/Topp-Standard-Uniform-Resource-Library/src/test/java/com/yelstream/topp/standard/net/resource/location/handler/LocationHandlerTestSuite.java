@@ -30,6 +30,6 @@ import org.junit.platform.suite.api.Suite;
  * @since 2025-07-13
  */
 @Suite
-@SelectClasses({ClasspathURLStreamHandlerTest.class})
+@SelectClasses({ClasspathResourceCacheTest.class,ClasspathURLStreamHandlerTest.class})
 class LocationHandlerTestSuite {
 }
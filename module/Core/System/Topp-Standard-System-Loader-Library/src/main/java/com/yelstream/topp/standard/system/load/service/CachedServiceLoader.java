@@ -0,0 +1,212 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.system.load.service;
+
+import lombok.Getter;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Service loader caching the discovered providers of a service.
+ * <p>
+ *     Providers are discovered once, without being instantiated.
+ *     Providers can then be selected by type or annotation,
+ *     and only the providers actually used are instantiated.
+ *     Instances created through {@link #getInstance(ServiceLoader.Provider)} and the methods based upon it
+ *     are memoized and shared.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ * @param <S> Type of service.
+ *
+ * @author Morten Sabroe Mortensen
+ * @version 1.0
+ * @since 2026-10-19
+ */
+public final class CachedServiceLoader<S> {
+    /**
+     * Provider holding its memoized instance.
+     * @param <S> Type of service.
+     */
+    private static final class Entry<S> {
+        /**
+         * Provider.
+         */
+        private final ServiceLoader.Provider<S> provider;
+
+        /**
+         * Memoized instance.
+         */
+        private volatile S instance;
+
+        private Entry(ServiceLoader.Provider<S> provider) {
+            this.provider=provider;
+        }
+
+        private S getInstance() {
+            S result=instance;
+            if (result==null) {
+                synchronized (this) {
+                    result=instance;
+                    if (result==null) {
+                        result=provider.get();
+                        instance=result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Service.
+     */
+    @Getter
+    private final Class<S> service;
+
+    /**
+     * Supplier of the underlying service loader.
+     */
+    private final Supplier<ServiceLoader<S>> serviceLoaderSupplier;
+
+    /**
+     * Discovered providers.
+     * This is {@code null} until discovery.
+     */
+    private volatile List<Entry<S>> entries;
+
+    CachedServiceLoader(Class<S> service,
+                        Supplier<ServiceLoader<S>> serviceLoaderSupplier) {
+        this.service=service;
+        this.serviceLoaderSupplier=serviceLoaderSupplier;
+    }
+
+    private List<Entry<S>> getEntries() {
+        List<Entry<S>> result=entries;
+        if (result==null) {
+            synchronized (this) {
+                result=entries;
+                if (result==null) {
+                    try (Stream<ServiceLoader.Provider<S>> stream=serviceLoaderSupplier.get().stream()) {
+                        result=stream.map(Entry::new).toList();
+                    }
+                    entries=result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private Optional<Entry<S>> findEntry(ServiceLoader.Provider<S> provider) {
+        return getEntries().stream().filter(entry->entry.provider==provider).findFirst();
+    }
+
+    /**
+     * Gets the discovered providers.
+     * No providers are instantiated.
+     * @return Stream of providers.
+     */
+    public Stream<ServiceLoader.Provider<S>> providers() {
+        return getEntries().stream().map(entry->entry.provider);
+    }
+
+    /**
+     * Gets the discovered providers whose type is matched.
+     * No providers are instantiated.
+     * @param filter Filter of provider types.
+     * @return Stream of providers.
+     */
+    public Stream<ServiceLoader.Provider<S>> providers(Predicate<Class<? extends S>> filter) {
+        return providers().filter(provider->filter.test(provider.type()));
+    }
+
+    /**
+     * Gets the discovered providers whose type is a specific subtype.
+     * No providers are instantiated.
+     * @param type Subtype of service.
+     * @return Stream of providers.
+     */
+    public Stream<ServiceLoader.Provider<S>> providersByType(Class<? extends S> type) {
+        return providers(type::isAssignableFrom);
+    }
+
+    /**
+     * Gets the discovered providers whose type is annotated.
+     * No providers are instantiated.
+     * @param annotationClass Annotation present on provider types.
+     * @return Stream of providers.
+     */
+    public Stream<ServiceLoader.Provider<S>> providersByAnnotation(Class<? extends Annotation> annotationClass) {
+        return providers(type->type.isAnnotationPresent(annotationClass));
+    }
+
+    /**
+     * Gets the memoized instance of a provider.
+     * @param provider Provider, as discovered by this loader.
+     * @return Shared instance.
+     * @throws IllegalArgumentException Thrown in case of provider not discovered by this loader.
+     */
+    public S getInstance(ServiceLoader.Provider<S> provider) {
+        return findEntry(provider).orElseThrow(()->new IllegalArgumentException("Failure to get instance; provider is unknown, type is '%s'!".formatted(provider.type()))).getInstance();
+    }
+
+    /**
+     * Gets the memoized instances of all providers.
+     * @return Shared instances.
+     */
+    public List<S> getInstances() {
+        return getEntries().stream().map(Entry::getInstance).toList();
+    }
+
+    /**
+     * Gets the memoized instance of the first provider whose type is matched.
+     * Only the matched provider is instantiated.
+     * @param filter Filter of provider types.
+     * @return Shared instance.
+     */
+    public Optional<S> findFirst(Predicate<Class<? extends S>> filter) {
+        return getEntries().stream().filter(entry->filter.test(entry.provider.type())).findFirst().map(Entry::getInstance);
+    }
+
+    /**
+     * Gets the memoized instance of the first provider.
+     * Only the first provider is instantiated.
+     * @return Shared instance.
+     */
+    public Optional<S> findFirst() {
+        return findFirst(type->true);
+    }
+
+    /**
+     * Resets the discovered providers and memoized instances, enabling re-discovery on next access.
+     */
+    public void reload() {
+        synchronized (this) {
+            entries=null;
+        }
+    }
+}
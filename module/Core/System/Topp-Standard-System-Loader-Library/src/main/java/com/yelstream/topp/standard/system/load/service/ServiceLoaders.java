@@ -22,8 +22,15 @@ package com.yelstream.topp.standard.system.load.service;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -38,6 +45,16 @@ import java.util.stream.Stream;
 @Slf4j
 @UtilityClass
 public class ServiceLoaders {
+    /**
+     * Cached service loaders indexed by origin of providers and service.
+     * <p>
+     *     The origin of providers is a classloader or a module-layer, and this is weakly referenced.
+     *     Note that a service or a provider defined by the origin itself keeps the origin reachable while cached;
+     *     use {@link #clearCache()} to release these.
+     * </p>
+     */
+    private static final Map<Object,ConcurrentMap<Class<?>,CachedServiceLoader<?>>> originToLoaders=Collections.synchronizedMap(new WeakHashMap<>());
+
     public static <S> S loadService(Class<S> service) {
         return loadService(()->ServiceLoader.load(service));
     }
@@ -64,6 +81,83 @@ public class ServiceLoaders {
         return serviceLoader==null?null:serviceLoader.stream().map(ServiceLoader.Provider::get).toList();
     }
 
+    /**
+     * Gets a cached service loader for the thread context classloader.
+     * @param service Service.
+     * @return Cached service loader.
+     * @param <S> Type of service.
+     */
+    public static <S> CachedServiceLoader<S> cached(Class<S> service) {
+        return cached(service,Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Gets a cached service loader for a classloader.
+     * @param service Service.
+     * @param classLoader Classloader.
+     * @return Cached service loader.
+     * @param <S> Type of service.
+     */
+    public static <S> CachedServiceLoader<S> cached(Class<S> service,
+                                                    ClassLoader classLoader) {
+        Reference<ClassLoader> classLoaderReference=new WeakReference<>(classLoader);
+        boolean required=classLoader!=null;
+        return cached(service,classLoader,()->ServiceLoader.load(service,requireOrigin(classLoaderReference,required)));
+    }
+
+    /**
+     * Gets a cached service loader for a module-layer.
+     * @param service Service.
+     * @param layer Module-layer.
+     * @return Cached service loader.
+     * @param <S> Type of service.
+     */
+    public static <S> CachedServiceLoader<S> cached(Class<S> service,
+                                                    ModuleLayer layer) {
+        Reference<ModuleLayer> layerReference=new WeakReference<>(layer);
+        return cached(service,layer,()->ServiceLoader.load(requireOrigin(layerReference,true),service));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <S> CachedServiceLoader<S> cached(Class<S> service,
+                                                     Object origin,
+                                                     Supplier<ServiceLoader<S>> serviceLoaderSupplier) {
+        ConcurrentMap<Class<?>,CachedServiceLoader<?>> loaders=originToLoaders.computeIfAbsent(origin,ignore->new ConcurrentHashMap<>());
+        return (CachedServiceLoader<S>)loaders.computeIfAbsent(service,ignore->new CachedServiceLoader<>(service,serviceLoaderSupplier));
+    }
+
+    /**
+     * Gets a weakly referenced origin of providers.
+     * @param reference Reference to origin.
+     * @param required Indicates, if the origin is required to be present.
+     * @return Origin.
+     * @param <T> Type of origin.
+     * @throws IllegalStateException Thrown in case of origin no longer present.
+     */
+    private static <T> T requireOrigin(Reference<T> reference,
+                                       boolean required) {
+        T origin=reference.get();
+        if (origin==null && required) {
+            throw new IllegalStateException("Failure to load services; origin of providers is no longer present!");
+        }
+        return origin;
+    }
+
+    /**
+     * Gets the number of origins of providers having cached service loaders.
+     * @return Number of origins.
+     */
+    static int getCachedOriginCount() {
+        return originToLoaders.size();
+    }
+
+    /**
+     * Clears all cached service loaders.
+     */
+    public static void clearCache() {
+        originToLoaders.clear();
+    }
+
     public static <S> String createDescription(ServiceLoader<S> serviceLoader) {
         StringBuilder sb=new StringBuilder();
         try (Stream<ServiceLoader.Provider<S>> providerStream=serviceLoader.stream() ) {
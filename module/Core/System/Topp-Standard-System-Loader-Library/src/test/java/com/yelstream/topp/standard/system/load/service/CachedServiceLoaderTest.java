@@ -0,0 +1,97 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.system.load.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Test of {@link CachedServiceLoader}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+class CachedServiceLoaderTest {
+
+    private static CachedServiceLoader<Greeting> createLoader(ClassLoader classLoader) {
+        return new CachedServiceLoader<>(Greeting.class,()->ServiceLoader.load(Greeting.class,classLoader));
+    }
+
+    @Test
+    void discoveryDoesNotInstantiate() throws IOException {
+        try (URLClassLoader classLoader=Greeting.createClassLoader(Greeting.English.class,Greeting.FormalEnglish.class)) {
+            CachedServiceLoader<Greeting> loader=createLoader(classLoader);
+            int instanceCount=Greeting.instanceCount.get();
+
+            Assertions.assertEquals(List.of(Greeting.English.class,Greeting.FormalEnglish.class),loader.providers().map(ServiceLoader.Provider::type).toList());
+            Assertions.assertEquals(List.of(Greeting.FormalEnglish.class),loader.providersByAnnotation(Greeting.Formal.class).map(ServiceLoader.Provider::type).toList());
+            Assertions.assertEquals(List.of(Greeting.English.class),loader.providersByType(Greeting.English.class).map(ServiceLoader.Provider::type).toList());
+            Assertions.assertEquals(instanceCount,Greeting.instanceCount.get());
+            Assertions.assertSame(Greeting.class,loader.getService());
+        }
+    }
+
+    @Test
+    void instancesAreMemoized() throws IOException {
+        try (URLClassLoader classLoader=Greeting.createClassLoader(Greeting.English.class,Greeting.FormalEnglish.class)) {
+            CachedServiceLoader<Greeting> loader=createLoader(classLoader);
+            int instanceCount=Greeting.instanceCount.get();
+
+            Greeting formal=loader.findFirst(type->type.isAnnotationPresent(Greeting.Formal.class)).orElseThrow();
+            Assertions.assertEquals("Good day",formal.greet());
+            Assertions.assertEquals(instanceCount+1,Greeting.instanceCount.get());
+
+            List<Greeting> instances=loader.getInstances();
+            Assertions.assertEquals(2,instances.size());
+            Assertions.assertSame(formal,instances.get(1));
+            Assertions.assertSame(instances.get(0),loader.findFirst().orElseThrow());
+            Assertions.assertSame(formal,loader.getInstance(loader.providersByAnnotation(Greeting.Formal.class).findFirst().orElseThrow()));
+            Assertions.assertEquals(instanceCount+2,Greeting.instanceCount.get());
+        }
+    }
+
+    @Test
+    void reload() throws IOException {
+        try (URLClassLoader classLoader=Greeting.createClassLoader(Greeting.English.class)) {
+            CachedServiceLoader<Greeting> loader=createLoader(classLoader);
+            Greeting greeting=loader.findFirst().orElseThrow();
+            ServiceLoader.Provider<Greeting> provider=loader.providers().findFirst().orElseThrow();
+
+            loader.reload();
+            Assertions.assertNotSame(greeting,loader.findFirst().orElseThrow());
+            Assertions.assertThrows(IllegalArgumentException.class,()->loader.getInstance(provider));
+        }
+    }
+
+    @Test
+    void noProviders() throws IOException {
+        try (URLClassLoader classLoader=Greeting.createClassLoader()) {
+            CachedServiceLoader<Greeting> loader=createLoader(classLoader);
+            Assertions.assertEquals(0L,loader.providers().count());
+            Assertions.assertTrue(loader.findFirst().isEmpty());
+            Assertions.assertEquals(List.of(),loader.getInstances());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.system.load.service;
+
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Service used by tests of service loading.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public interface Greeting {
+    /**
+     * Creates a greeting.
+     * @return Greeting.
+     */
+    String greet();
+
+    /**
+     * Marks formal providers.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Formal {
+    }
+
+    /**
+     * Number of instances created of all providers.
+     */
+    AtomicInteger instanceCount=new AtomicInteger();
+
+    /**
+     * English provider.
+     */
+    final class English implements Greeting {
+        public English() {
+            instanceCount.incrementAndGet();
+        }
+
+        @Override
+        public String greet() {
+            return "Hello";
+        }
+    }
+
+    /**
+     * Formal English provider.
+     */
+    @Formal
+    final class FormalEnglish implements Greeting {
+        public FormalEnglish() {
+            instanceCount.incrementAndGet();
+        }
+
+        @Override
+        public String greet() {
+            return "Good day";
+        }
+    }
+
+    /**
+     * Creates a classloader providing services.
+     * <p>
+     *     The providers are listed in a service configuration file within a new, temporary directory.
+     * </p>
+     * @param providers Types of providers.
+     * @return Created classloader.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    static URLClassLoader createClassLoader(Class<?>... providers) throws IOException {
+        Path directory=Files.createTempDirectory("service-loader");
+        Path file=directory.resolve("META-INF/services/"+Greeting.class.getName());
+        Files.createDirectories(file.getParent());
+        Files.writeString(file,Arrays.stream(providers).map(Class::getName).collect(Collectors.joining("\n")));
+        file.toFile().deleteOnExit();
+        file.getParent().toFile().deleteOnExit();
+        file.getParent().getParent().toFile().deleteOnExit();
+        directory.toFile().deleteOnExit();
+        return new URLClassLoader(new URL[]{directory.toUri().toURL()},Greeting.class.getClassLoader());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.system.load.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.net.URLClassLoader;
+
+/**
+ * Test of {@link ServiceLoaders}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+class ServiceLoadersTest {
+
+    @AfterEach
+    void clearCache() {
+        ServiceLoaders.clearCache();
+    }
+
+    @Test
+    void cachedPerOrigin() throws IOException {
+        try (URLClassLoader classLoader=Greeting.createClassLoader(Greeting.English.class);
+             URLClassLoader otherClassLoader=Greeting.createClassLoader(Greeting.FormalEnglish.class)) {
+            CachedServiceLoader<Greeting> loader=ServiceLoaders.cached(Greeting.class,classLoader);
+            Assertions.assertSame(loader,ServiceLoaders.cached(Greeting.class,classLoader));
+            Assertions.assertEquals("Hello",loader.findFirst().orElseThrow().greet());
+
+            CachedServiceLoader<Greeting> otherLoader=ServiceLoaders.cached(Greeting.class,otherClassLoader);
+            Assertions.assertNotSame(loader,otherLoader);
+            Assertions.assertEquals("Good day",otherLoader.findFirst().orElseThrow().greet());
+
+            ServiceLoaders.clearCache();
+            Assertions.assertNotSame(loader,ServiceLoaders.cached(Greeting.class,classLoader));
+        }
+    }
+
+    @Test
+    void cachedPerModuleLayer() {
+        CachedServiceLoader<Greeting> loader=ServiceLoaders.cached(Greeting.class,ModuleLayer.boot());
+        Assertions.assertSame(loader,ServiceLoaders.cached(Greeting.class,ModuleLayer.boot()));
+        Assertions.assertTrue(loader.findFirst().isEmpty());
+    }
+
+    @Test
+    void originIsReleased() throws Exception {
+        ServiceLoaders.clearCache();
+        Reference<ClassLoader> reference=cacheForUnreferencedClassLoader();
+
+        for (int i=0; i<100 && reference.get()!=null; i++) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        Assertions.assertNull(reference.get());
+        Assertions.assertEquals(0,ServiceLoaders.getCachedOriginCount());
+    }
+
+    private static Reference<ClassLoader> cacheForUnreferencedClassLoader() throws IOException {
+        try (URLClassLoader classLoader=Greeting.createClassLoader(Greeting.English.class)) {
+            CachedServiceLoader<Greeting> loader=ServiceLoaders.cached(Greeting.class,classLoader);
+            Assertions.assertEquals(1L,loader.providers().count());
+            Assertions.assertEquals(1,ServiceLoaders.getCachedOriginCount());
+            return new WeakReference<>(classLoader);
+        }
+    }
+}
@@ -20,6 +20,33 @@
 package com.yelstream.topp.standard.resource.index;
 
 import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.module.ModuleReader;
+import java.lang.module.ModuleReference;
+import java.lang.module.ResolvedModule;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Utility addressing instances of {@link ResourceIndex}.
@@ -27,9 +54,304 @@ import lombok.experimental.UtilityClass;
  * @author Morten Sabroe Mortensen
  * @since 2025-07-04
  */
+@Slf4j
 @UtilityClass
 public class ResourceIndexes {
+    /**
+     * Default name of the resource containing a prebuilt index.
+     */
+    public static final String DEFAULT_INDEX_RESOURCE_NAME="META-INF/topp/resource-index.bin";
+
+    /**
+     * Identification of the serialized index format.
+     */
+    private static final int MAGIC=0x54525849;  //"TRXI"
+
+    /**
+     * Version of the serialized index format.
+     */
+    private static final int FORMAT_VERSION=1;
+
+    /**
+     * Creates an index.
+     * @param names Resource names.
+     * @return Created index.
+     */
+    public static SortedResourceIndex createIndex(Collection<String> names) {
+        return SortedResourceIndex.of(names);
+    }
+
+    /**
+     * Creates an index by scanning the entries of the class-path.
+     * <p>
+     *     This addresses the class-path as given by the system property {@code java.class.path}.
+     * </p>
+     * @return Created index.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static SortedResourceIndex scanClassPath() throws IOException {
+        String classPath=System.getProperty("java.class.path","");
+        List<Path> paths=Arrays.stream(classPath.split(File.pathSeparator)).filter(s->!s.isEmpty()).map(Path::of).toList();
+        return createIndex(scanPaths(paths));
+    }
+
+    /**
+     * Creates an index by scanning the class-path of a classloader.
+     * <p>
+     *     This addresses the URLs of the classloader and its parents, as far as these are instances of {@link URLClassLoader}.
+     *     If the system classloader is met, then the class-path as given by the system property {@code java.class.path} is addressed too.
+     *     URLs not referring to local files are ignored.
+     * </p>
+     * @param classLoader Classloader.
+     * @return Created index.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static SortedResourceIndex scanClassLoader(ClassLoader classLoader) throws IOException {
+        return createIndex(scanPaths(getClassPath(classLoader)));
+    }
+
+    /**
+     * Gets the class-path of a classloader.
+     * @param classLoader Classloader.
+     * @return Directories and JAR files.
+     */
+    static List<Path> getClassPath(ClassLoader classLoader) {
+        List<Path> paths=new ArrayList<>();
+        ClassLoader systemClassLoader=ClassLoader.getSystemClassLoader();
+        boolean system=false;
+        for (ClassLoader loader=classLoader; loader!=null; loader=loader.getParent()) {
+            if (loader instanceof URLClassLoader urlClassLoader) {
+                for (URL url: urlClassLoader.getURLs()) {
+                    Path path=toPath(url);
+                    if (path!=null) {
+                        paths.add(path);
+                    }
+                }
+            }
+            if (loader==systemClassLoader) {
+                system=true;
+            }
+        }
+        if (system) {
+            String classPath=System.getProperty("java.class.path","");
+            Arrays.stream(classPath.split(File.pathSeparator)).filter(s->!s.isEmpty()).map(Path::of).filter(path->!paths.contains(path)).forEach(paths::add);
+        }
+        return paths;
+    }
+
+    private static Path toPath(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            log.debug("Skipped scanning of non-file URL; URL is '{}'.",url);
+            return null;
+        }
+        try {
+            return Path.of(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException ex) {
+            log.debug("Skipped scanning of URL not denoting a path; URL is '{}'.",url);
+            return null;
+        }
+    }
+
+    /**
+     * Creates an index by scanning the modules of a module-layer.
+     * @param layer Module-layer.
+     * @return Created index.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static SortedResourceIndex scanModuleLayer(ModuleLayer layer) throws IOException {
+        List<String> names=new ArrayList<>();
+        for (ResolvedModule module: layer.configuration().modules()) {
+            names.addAll(scanModule(module.reference()));
+        }
+        return createIndex(names);
+    }
+
+    /**
+     * Scans directories and JAR files for resource names.
+     * @param paths Directories and JAR files.
+     *              Paths not existing are ignored.
+     * @return Resource names.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static List<String> scanPaths(List<Path> paths) throws IOException {
+        List<String> names=new ArrayList<>();
+        for (Path path: paths) {
+            if (Files.isDirectory(path)) {
+                names.addAll(scanDirectory(path));
+            } else if (Files.isRegularFile(path)) {
+                names.addAll(scanJar(path));
+            } else {
+                log.debug("Skipped scanning of non-existing path; path is '{}'.",path);
+            }
+        }
+        return names;
+    }
+
+    private static List<String> scanDirectory(Path directory) throws IOException {
+        try (Stream<Path> stream=Files.walk(directory)) {
+            return stream.filter(Files::isRegularFile).map(file->directory.relativize(file).toString().replace(File.separatorChar,'/')).toList();
+        }
+    }
+
+    private static List<String> scanJar(Path file) throws IOException {
+        try (JarFile jarFile=new JarFile(file.toFile())) {
+            return jarFile.stream().filter(entry->!entry.isDirectory()).map(JarEntry::getName).toList();
+        }
+    }
+
+    private static List<String> scanModule(ModuleReference reference) throws IOException {
+        try (ModuleReader reader=reference.open();
+             Stream<String> stream=reader.list()) {
+            return stream.filter(name->!name.endsWith("/")).toList();
+        }
+    }
+
+    /**
+     * Writes an index.
+     * <p>
+     *     Names are front-coded; each name is written as the length of the prefix shared with the previous name,
+     *     followed by the remaining suffix.
+     * </p>
+     * @param index Index.
+     * @param out Output stream.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static void write(SortedResourceIndex index,
+                             OutputStream out) throws IOException {
+        DataOutputStream data=new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeInt(index.size());
+        String previous="";
+        for (String name: index.getNames()) {
+            int shared=getSharedPrefixLength(previous,name);
+            data.writeShort(shared);
+            data.writeUTF(name.substring(shared));
+            previous=name;
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads an index.
+     * @param in Input stream.
+     * @return Read index.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static SortedResourceIndex read(InputStream in) throws IOException {
+        DataInputStream data=new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt()!=MAGIC) {
+            throw new IOException("Failure to read resource index; unrecognized format!");
+        }
+        int version=data.readInt();
+        if (version!=FORMAT_VERSION) {
+            throw new IOException("Failure to read resource index; unsupported format version %d!".formatted(version));
+        }
+        int count=data.readInt();
+        String[] names=new String[count];
+        String previous="";
+        for (int i=0; i<count; i++) {
+            int shared=data.readUnsignedShort();
+            String name=previous.substring(0,shared)+data.readUTF();
+            if (i>0 && name.compareTo(previous)<=0) {
+                throw new IOException("Failure to read resource index; names are not sorted!");
+            }
+            names[i]=name;
+            previous=name;
+        }
+        return SortedResourceIndex.ofSorted(names);
+    }
+
+    /**
+     * Writes an index to a file.
+     * @param index Index.
+     * @param file File.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static void write(SortedResourceIndex index,
+                             Path file) throws IOException {
+        try (OutputStream out=Files.newOutputStream(file)) {
+            write(index,out);
+        }
+    }
+
+    /**
+     * Reads an index from a file.
+     * @param file File.
+     * @return Read index.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static SortedResourceIndex read(Path file) throws IOException {
+        try (InputStream in=Files.newInputStream(file)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Loads a prebuilt index from a classloader, or scans the class-path of the classloader if no prebuilt index exists.
+     * @param classLoader Classloader.
+     * @return Loaded index.
+     * @see #scanClassLoader(ClassLoader)
+     */
+    public static SortedResourceIndex load(ClassLoader classLoader) {
+        try (InputStream in=classLoader.getResourceAsStream(DEFAULT_INDEX_RESOURCE_NAME)) {
+            if (in!=null) {
+                return read(in);
+            }
+            log.debug("Prebuilt resource index not found; scanning class-path of classloader.");
+            return scanClassLoader(classLoader);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failure to load resource index!",ex);
+        }
+    }
+
+    private static int getSharedPrefixLength(String a,
+                                             String b) {
+        int n=Math.min(Math.min(a.length(),b.length()),0xFFFF);
+        int i=0;
+        while (i<n && a.charAt(i)==b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
 
-    //WIP!
+    /**
+     * Gets the literal prefix of a glob pattern preceding the first wildcard.
+     * @param glob Glob pattern.
+     * @return Literal prefix.
+     */
+    static String getGlobPrefix(String glob) {
+        int i=0;
+        while (i<glob.length() && "*?".indexOf(glob.charAt(i))<0) {
+            i++;
+        }
+        return glob.substring(0,i);
+    }
 
+    /**
+     * Compiles a glob pattern.
+     * @param glob Glob pattern.
+     * @return Compiled regular expression.
+     */
+    static Pattern compileGlob(String glob) {
+        StringBuilder sb=new StringBuilder();
+        int i=0;
+        while (i<glob.length()) {
+            char c=glob.charAt(i);
+            if (c=='*') {
+                if (i+1<glob.length() && glob.charAt(i+1)=='*') {
+                    sb.append(".*");
+                    i++;
+                } else {
+                    sb.append("[^/]*");
+                }
+            } else if (c=='?') {
+                sb.append("[^/]");
+            } else {
+                sb.append(Pattern.quote(String.valueOf(c)));
+            }
+            i++;
+        }
+        return Pattern.compile(sb.toString());
+    }
 }
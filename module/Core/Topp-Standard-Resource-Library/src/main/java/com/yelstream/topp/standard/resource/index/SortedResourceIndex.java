@@ -0,0 +1,196 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.resource.index;
+
+import com.yelstream.topp.standard.collection.stream.let.out.ListOutlet;
+import com.yelstream.topp.standard.collection.stream.let.out.factory.ListOutlets;
+import com.yelstream.topp.standard.system.load.name.Location;
+import com.yelstream.topp.standard.system.load.name.Locations;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Index of resources held as a sorted table of resource names.
+ * <p>
+ *     Exact lookups and prefix lookups are resolved by binary search, and return ranges of the table without scanning.
+ *     Glob lookups are narrowed to the range matching the literal prefix of the pattern before matching.
+ * </p>
+ * <p>
+ *     Names held are normalized names of content resources.
+ * </p>
+ * <p>
+ *     This is immutable.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class SortedResourceIndex implements ResourceIndex {
+    /**
+     * Sorted, distinct resource names.
+     */
+    private final String[] names;
+
+    private SortedResourceIndex(String[] names) {
+        this.names=names;
+    }
+
+    /**
+     * Gets the number of indexed resources.
+     * @return Number of resources.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Gets the names of all indexed resources.
+     * @return Sorted names.
+     */
+    public List<String> getNames() {
+        return List.of(names);
+    }
+
+    /**
+     * Indicates, if a resource is indexed.
+     * @param name Resource name.
+     * @return Indicates, if the resource is indexed.
+     */
+    public boolean contains(String name) {
+        String normalizedName=Locations.normalizeNameAsContent(name);
+        return normalizedName!=null && Arrays.binarySearch(names,normalizedName)>=0;
+    }
+
+    /**
+     * Gets the index of the first name not less than a key.
+     */
+    private int lowerBound(String key) {
+        int index=Arrays.binarySearch(names,key);
+        return index>=0?index:-index-1;
+    }
+
+    /**
+     * Gets the range of names starting with a prefix.
+     * @param prefix Prefix.
+     * @return Range as start index inclusive and end index exclusive.
+     */
+    private int[] range(String prefix) {
+        if (prefix.isEmpty()) {
+            return new int[]{0,names.length};
+        }
+        int start=lowerBound(prefix);
+        int end=lowerBound(prefix+Character.MAX_VALUE);
+        return new int[]{start,end};
+    }
+
+    /**
+     * Normalizes a prefix of resource names.
+     * <p>
+     *     Leading separators are removed and repeated separators are collapsed, like names given to {@link #contains(String)}.
+     *     A trailing separator is kept.
+     * </p>
+     * @param prefix Prefix.
+     * @return Normalized prefix.
+     */
+    private static String normalizePrefix(String prefix) {
+        return prefix.replaceAll("//+","/").replaceFirst("^/","");
+    }
+
+    private List<String> names(int[] range,
+                               Predicate<String> filter) {
+        return IntStream.range(range[0],range[1]).mapToObj(i->names[i]).filter(filter).toList();
+    }
+
+    /**
+     * Gets the names of resources starting with a prefix.
+     * @param prefix Prefix.
+     *               This is normalized.
+     * @return Sorted names.
+     */
+    public List<String> namesByPrefix(String prefix) {
+        int[] range=range(normalizePrefix(Objects.requireNonNull(prefix)));
+        return List.of(Arrays.copyOfRange(names,range[0],range[1]));
+    }
+
+    /**
+     * Gets the names of resources matching a glob pattern.
+     * <p>
+     *     The pattern supports {@code *} matching within a name element,
+     *     {@code **} matching across name elements and {@code ?} matching a single character.
+     * </p>
+     * @param glob Glob pattern.
+     *             This is normalized.
+     * @return Sorted names.
+     */
+    public List<String> namesByGlob(String glob) {
+        String normalizedGlob=normalizePrefix(Objects.requireNonNull(glob));
+        String prefix=ResourceIndexes.getGlobPrefix(normalizedGlob);
+        if (prefix.length()==normalizedGlob.length()) {
+            return contains(normalizedGlob)?List.of(Locations.normalizeNameAsContent(normalizedGlob)):List.of();
+        }
+        Pattern pattern=ResourceIndexes.compileGlob(normalizedGlob);
+        return names(range(prefix),name->pattern.matcher(name).matches());
+    }
+
+    /**
+     * Gets the locations of resources.
+     * <p>
+     *     If the name refers to a container, then all resources within the container are located.
+     *     If the name refers to content, then the resource itself is located, if indexed.
+     * </p>
+     * @param name Resource name.
+     * @return Resource locations.
+     */
+    @Override
+    public ListOutlet<Location> locations(String name) {
+        if (Locations.isNameForContainer(name)) {
+            String prefix=Locations.normalizeNameAsContainer(name);
+            return ListOutlets.byList(()->namesByPrefix(prefix).stream().map(n->Locations.createLocation(n,false)).toList());
+        } else {
+            return ListOutlets.byList(()->contains(name)?List.of(Locations.createLocation(name,false)):List.of());
+        }
+    }
+
+    /**
+     * Creates an index.
+     * @param names Resource names.
+     *              These are normalized, and names of containers are ignored.
+     * @return Created index.
+     */
+    public static SortedResourceIndex of(Collection<String> names) {
+        String[] sortedNames=names.stream().filter(Locations::isNameForContent).map(Locations::normalizeNameAsContent).filter(Objects::nonNull).distinct().sorted().toArray(String[]::new);
+        return new SortedResourceIndex(sortedNames);
+    }
+
+    /**
+     * Creates an index from names already sorted, distinct and normalized.
+     * @param names Resource names.
+     * @return Created index.
+     */
+    static SortedResourceIndex ofSorted(String[] names) {
+        return new SortedResourceIndex(names);
+    }
+}
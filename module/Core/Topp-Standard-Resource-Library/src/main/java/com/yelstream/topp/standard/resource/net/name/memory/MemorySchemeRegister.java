@@ -19,5 +19,40 @@
 
 package com.yelstream.topp.standard.resource.net.name.memory;
 
+import com.yelstream.topp.standard.net.resource.location.handler.factory.NamedURLStreamHandlerFactory;
+import com.yelstream.topp.standard.net.resource.location.handler.factory.URLStreamHandlerFactories;
+import lombok.Getter;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Register of the URI scheme/URL protocol referring to data stored in memory.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2025-07-07
+ */
+@UtilityClass
 public class MemorySchemeRegister {
+    /**
+     * Default store of content.
+     */
+    @Getter
+    private static final MemoryStore store=MemoryStore.of();
+
+    /**
+     * Creates a factory of handlers for the default protocol, backed by the default store.
+     * @return Created factory.
+     */
+    public static NamedURLStreamHandlerFactory createURLStreamHandlerFactory() {
+        return createURLStreamHandlerFactory(store);
+    }
+
+    /**
+     * Creates a factory of handlers for the default protocol.
+     * @param store Store of content.
+     * @return Created factory.
+     */
+    public static NamedURLStreamHandlerFactory createURLStreamHandlerFactory(MemoryStore store) {
+        MemoryURLStreamHandler handler=MemoryURLStreamHandler.of(store);
+        return URLStreamHandlerFactories.createNamedURLStreamHandlerFactory(MemoryURLStreamHandler.DEFAULT_PROTOCOL.getName(),()->handler);
+    }
 }
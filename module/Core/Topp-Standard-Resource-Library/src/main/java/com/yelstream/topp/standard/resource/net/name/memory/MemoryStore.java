@@ -0,0 +1,267 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.resource.net.name.memory;
+
+import com.yelstream.topp.standard.io.dual.source.Source;
+import com.yelstream.topp.standard.io.dual.source.Sources;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Store of binary content held in memory and addressed by path.
+ * <p>
+ *     Content is held as read-only byte-buffers, optionally allocated off-heap.
+ *     Reading content does not copy it.
+ * </p>
+ * <p>
+ *     Each stored entry carries a version, which allows an entry to be replaced only if it has not been replaced by others.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@lombok.Builder(builderClassName="Builder")
+public final class MemoryStore {
+    /**
+     * Stored content.
+     * <p>
+     *     This is immutable.
+     * </p>
+     */
+    @Getter
+    @AllArgsConstructor(access=AccessLevel.PRIVATE)
+    public static final class Entry {
+        /**
+         * Path of the content.
+         */
+        private final String path;
+
+        /**
+         * Content.
+         * This is read-only.
+         */
+        @Getter(AccessLevel.NONE)
+        private final ByteBuffer content;
+
+        /**
+         * Version of the content.
+         */
+        private final long version;
+
+        /**
+         * Gets the content.
+         * @return Content, as a read-only buffer positioned at the start of the content.
+         */
+        public ByteBuffer getContent() {
+            return content.duplicate();
+        }
+
+        /**
+         * Gets the size of the content.
+         * @return Size of content, in bytes.
+         */
+        public int getSize() {
+            return content.remaining();
+        }
+
+        /**
+         * Creates a source reading the content.
+         * @return Readable source.
+         */
+        public Source createSource() {
+            return Sources.createSource(content);
+        }
+    }
+
+    /**
+     * Indicates, if content is to be stored off-heap.
+     */
+    @Getter
+    private final boolean direct;
+
+    /**
+     * Stored entries indexed by path.
+     */
+    private final ConcurrentMap<String,Entry> pathToEntry=new ConcurrentHashMap<>();
+
+    /**
+     * Source of entry versions.
+     */
+    private final AtomicLong versionCounter=new AtomicLong();
+
+    /**
+     * Total size of stored content, in bytes.
+     */
+    private final AtomicLong byteCount=new AtomicLong();
+
+    /**
+     * Normalizes a path.
+     * Leading slashes are removed.
+     * @param path Path.
+     * @return Normalized path.
+     */
+    private static String normalizePath(String path) {
+        int i=0;
+        while (i<path.length() && path.charAt(i)=='/') {
+            i++;
+        }
+        return path.substring(i);
+    }
+
+    private ByteBuffer createContent(ByteBuffer data) {
+        ByteBuffer source=data.duplicate();
+        ByteBuffer content=direct?ByteBuffer.allocateDirect(source.remaining()):ByteBuffer.allocate(source.remaining());
+        content.put(source).flip();
+        return content.asReadOnlyBuffer();
+    }
+
+    private Entry createEntry(String path,
+                              ByteBuffer data) {
+        return new Entry(path,createContent(data),versionCounter.incrementAndGet());
+    }
+
+    private void account(Entry oldEntry,
+                         Entry newEntry) {
+        long delta=(newEntry==null?0:newEntry.getSize())-(oldEntry==null?0:oldEntry.getSize());
+        if (delta!=0) {
+            byteCount.addAndGet(delta);
+        }
+    }
+
+    /**
+     * Stores content.
+     * The content is copied.
+     * @param path Path of content.
+     * @param data Content.
+     * @return Stored entry.
+     */
+    public Entry put(String path,
+                     byte[] data) {
+        return put(path,ByteBuffer.wrap(data));
+    }
+
+    /**
+     * Stores content.
+     * The remaining content of the buffer is copied; the position of the buffer is not changed.
+     * @param path Path of content.
+     * @param data Content.
+     * @return Stored entry.
+     */
+    public Entry put(String path,
+                     ByteBuffer data) {
+        Entry entry=createEntry(normalizePath(path),data);
+        Entry oldEntry=pathToEntry.put(entry.getPath(),entry);
+        account(oldEntry,entry);
+        return entry;
+    }
+
+    /**
+     * Stores multiple contents.
+     * @param pathToData Contents indexed by path.
+     */
+    public void putAll(Map<String,byte[]> pathToData) {
+        pathToData.forEach(this::put);
+    }
+
+    /**
+     * Replaces content, if the current version matches.
+     * @param path Path of content.
+     * @param expectedVersion Expected version of the current content.
+     * @param data New content.
+     * @return Stored entry, if replaced.
+     */
+    public Optional<Entry> replace(String path,
+                                   long expectedVersion,
+                                   ByteBuffer data) {
+        String normalizedPath=normalizePath(path);
+        Entry oldEntry=pathToEntry.get(normalizedPath);
+        if (oldEntry==null || oldEntry.getVersion()!=expectedVersion) {
+            return Optional.empty();
+        }
+        Entry entry=createEntry(normalizedPath,data);
+        if (!pathToEntry.replace(normalizedPath,oldEntry,entry)) {
+            return Optional.empty();
+        }
+        account(oldEntry,entry);
+        return Optional.of(entry);
+    }
+
+    /**
+     * Removes content.
+     * @param path Path of content.
+     * @return Removed entry, if any.
+     */
+    public Optional<Entry> remove(String path) {
+        Entry oldEntry=pathToEntry.remove(normalizePath(path));
+        account(oldEntry,null);
+        return Optional.ofNullable(oldEntry);
+    }
+
+    /**
+     * Removes all content.
+     */
+    public void clear() {
+        pathToEntry.keySet().forEach(this::remove);
+    }
+
+    /**
+     * Gets content.
+     * @param path Path of content.
+     * @return Stored entry, if any.
+     */
+    public Optional<Entry> get(String path) {
+        return Optional.ofNullable(pathToEntry.get(normalizePath(path)));
+    }
+
+    /**
+     * Gets the number of stored entries.
+     * @return Number of entries.
+     */
+    public int getEntryCount() {
+        return pathToEntry.size();
+    }
+
+    /**
+     * Gets the total size of stored content.
+     * @return Size of content, in bytes.
+     */
+    public long getByteCount() {
+        return byteCount.get();
+    }
+
+    /**
+     * Creates a store holding content on-heap.
+     * @return Created store.
+     */
+    public static MemoryStore of() {
+        return builder().build();
+    }
+}
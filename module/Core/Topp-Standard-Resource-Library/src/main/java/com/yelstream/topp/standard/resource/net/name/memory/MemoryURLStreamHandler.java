@@ -19,57 +19,80 @@
 
 package com.yelstream.topp.standard.resource.net.name.memory;
 
-import java.io.ByteArrayInputStream;
+import com.yelstream.topp.standard.net.resource.location.connection.URLConnections;
+import com.yelstream.topp.standard.net.resource.location.protocol.Protocol;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
-import java.util.HashMap;
-import java.util.Map;
-
-public class MemoryURLStreamHandler extends URLStreamHandler {
 
-    /*
-     * WIP! Compile-time check only.
+/**
+ * URL stream handler for content stored in memory.
+ * <p>
+ *     The path of a URL addresses an entry in a {@link MemoryStore}, e.g. "{@code memory:/schema/order.xsd}".
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2025-07-07
+ */
+@lombok.Builder(builderClassName="Builder")
+@AllArgsConstructor(staticName="of")
+public final class MemoryURLStreamHandler extends URLStreamHandler {
+    /**
+     * Default protocol name.
      */
+    public static final Protocol DEFAULT_PROTOCOL=Protocol.of("memory");
 
-    // In-memory storage (for demonstration; could be replaced with a more robust store)
-    private static final Map<String, byte[]> memoryStore = new HashMap<>();
+    /**
+     * Actual protocol name.
+     */
+    @lombok.Builder.Default
+    @SuppressWarnings("java:S1170")
+    private final Protocol protocol=DEFAULT_PROTOCOL;
 
-    // Add content to the in-memory store (for testing or initialization)
-    public static void put(String path, byte[] data) {
-        memoryStore.put(path, data);
-    }
+    /**
+     * Store of content.
+     */
+    @Getter
+    @lombok.Builder.Default
+    private final MemoryStore store=MemorySchemeRegister.getStore();
 
     @Override
     protected URLConnection openConnection(URL url) throws IOException {
-        return new MemURLConnection(url);
-    }
+        protocol.requireMatch(url);
 
-    private static class MemURLConnection extends URLConnection {
-        private final byte[] data;
+        MemoryStore.Entry entry=store.get(url.getPath()).orElse(null);
+        if (entry==null) {
+            throw new IOException("Failure to open connection; cannot access content, URL is '%s'!".formatted(url));
+        }
 
-        protected MemURLConnection(URL url) throws IOException {
-            super(url);
-            String path = url.getPath();
-            if (path.startsWith("/")) {
-                path = path.substring(1); // Remove leading slash
+        return URLConnections.builder().url(url).inputStreamSupplier(()->{
+            try {
+                return entry.createSource().openStream();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
             }
-            data = memoryStore.get(path);
-            if (data == null) {
-                throw new IOException("No data found for mem:" + path);
-            }
-        }
+        }).build();
+    }
 
-        @Override
-        public void connect() throws IOException {
-            // No-op: data is already in memory
-        }
+    /**
+     * Creates a handler for the default protocol reading the default store.
+     * @return Created handler.
+     */
+    public static MemoryURLStreamHandler of() {
+        return builder().build();
+    }
 
-        @Override
-        public InputStream getInputStream() throws IOException {
-            return new ByteArrayInputStream(data);
-        }
+    /**
+     * Creates a handler for the default protocol reading a specific store.
+     * @param store Store of content.
+     * @return Created handler.
+     */
+    public static MemoryURLStreamHandler of(MemoryStore store) {
+        return builder().store(store).build();
     }
 }
@@ -41,4 +41,5 @@ module com.yelstream.topp.standard.resource {
     exports com.yelstream.topp.standard.resource.resolve;
     exports com.yelstream.topp.standard.resource.clazz.load;
     exports com.yelstream.topp.standard.resource.net.name;
+    exports com.yelstream.topp.standard.resource.net.name.memory;
 }
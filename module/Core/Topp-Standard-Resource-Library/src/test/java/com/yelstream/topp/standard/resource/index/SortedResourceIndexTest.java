@@ -0,0 +1,137 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.resource.index;
+
+import com.yelstream.topp.standard.system.load.name.Location;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Test of {@link SortedResourceIndex}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+class SortedResourceIndexTest {
+
+    private static SortedResourceIndex createIndex() {
+        return ResourceIndexes.createIndex(List.of(
+            "/META-INF/MANIFEST.MF",
+            "com/example/A.class",
+            "com/example/B.class",
+            "com/example/sub/C.class",
+            "com/example/sub/",
+            "template/mail.ftl",
+            "template/mail.ftl"
+        ));
+    }
+
+    @Test
+    void exactLookup() {
+        SortedResourceIndex index=createIndex();
+        Assertions.assertEquals(5,index.size());
+        Assertions.assertTrue(index.contains("META-INF/MANIFEST.MF"));
+        Assertions.assertTrue(index.contains("/template/mail.ftl"));
+        Assertions.assertFalse(index.contains("template/missing.ftl"));
+        Assertions.assertFalse(index.contains("com/example/sub/"));
+    }
+
+    @Test
+    void prefixLookup() {
+        SortedResourceIndex index=createIndex();
+        Assertions.assertEquals(List.of("com/example/A.class","com/example/B.class","com/example/sub/C.class"),index.namesByPrefix("com/example/"));
+        Assertions.assertEquals(List.of(),index.namesByPrefix("org/"));
+        Assertions.assertEquals(5,index.namesByPrefix("").size());
+    }
+
+    @Test
+    void prefixLookupIsNormalized() {
+        SortedResourceIndex index=createIndex();
+        Assertions.assertEquals(List.of("com/example/A.class","com/example/B.class","com/example/sub/C.class"),index.namesByPrefix("/com//example/"));
+        Assertions.assertEquals(List.of("com/example/sub/C.class"),index.namesByPrefix("//com/example/sub/"));
+        Assertions.assertEquals(5,index.namesByPrefix("/").size());
+    }
+
+    @Test
+    void globLookup() {
+        SortedResourceIndex index=createIndex();
+        Assertions.assertEquals(List.of("com/example/A.class","com/example/B.class"),index.namesByGlob("com/example/*.class"));
+        Assertions.assertEquals(List.of("com/example/A.class","com/example/B.class","com/example/sub/C.class"),index.namesByGlob("com/**.class"));
+        Assertions.assertEquals(List.of("com/example/A.class","com/example/B.class"),index.namesByGlob("com/example/?.class"));
+        Assertions.assertEquals(List.of("template/mail.ftl"),index.namesByGlob("template/mail.ftl"));
+    }
+
+    @Test
+    void globLookupIsNormalized() {
+        SortedResourceIndex index=createIndex();
+        Assertions.assertEquals(List.of("com/example/A.class","com/example/B.class"),index.namesByGlob("/com//example/*.class"));
+        Assertions.assertEquals(List.of("template/mail.ftl"),index.namesByGlob("/template/mail.ftl"));
+        Assertions.assertEquals(List.of("META-INF/MANIFEST.MF"),index.namesByGlob("/META-INF/*"));
+    }
+
+    @Test
+    void locations() {
+        SortedResourceIndex index=createIndex();
+        List<String> names=index.locations("com/example/sub/").get().stream().map(Location::getName).toList();
+        Assertions.assertEquals(List.of("com/example/sub/C.class"),names);
+        Assertions.assertEquals(5,index.locations().get().size());
+        Assertions.assertEquals(1,index.locations("template/mail.ftl").get().size());
+    }
+
+    @Test
+    void serialization() throws IOException {
+        SortedResourceIndex index=createIndex();
+        ByteArrayOutputStream out=new ByteArrayOutputStream();
+        ResourceIndexes.write(index,out);
+        SortedResourceIndex readIndex=ResourceIndexes.read(new ByteArrayInputStream(out.toByteArray()));
+        Assertions.assertEquals(index.getNames(),readIndex.getNames());
+    }
+
+    @Test
+    void loadByClassLoader() throws IOException {
+        Path directory=Files.createTempDirectory("resource-index");
+        try {
+            Files.createDirectories(directory.resolve("com/example"));
+            Files.writeString(directory.resolve("com/example/A.class"),"");
+            Files.writeString(directory.resolve("template.ftl"),"");
+
+            try (URLClassLoader classLoader=new URLClassLoader(new URL[]{directory.toUri().toURL()},null)) {
+                SortedResourceIndex index=ResourceIndexes.load(classLoader);
+                Assertions.assertEquals(List.of("com/example/A.class","template.ftl"),index.getNames());
+            }
+        } finally {
+            try (Stream<Path> stream=Files.walk(directory)) {
+                stream.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+}
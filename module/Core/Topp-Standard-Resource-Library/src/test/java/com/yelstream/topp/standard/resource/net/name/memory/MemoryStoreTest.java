@@ -0,0 +1,112 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.resource.net.name.memory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Test of {@link MemoryStore}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+class MemoryStoreTest {
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(MemoryStore.Entry entry) throws IOException {
+        try (InputStream in=entry.createSource().openStream()) {
+            return new String(in.readAllBytes(),StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void putAndGet() throws IOException {
+        MemoryStore store=MemoryStore.of();
+        store.put("/schema/order.xsd",bytes("order"));
+
+        MemoryStore.Entry entry=store.get("schema/order.xsd").orElseThrow();
+        Assertions.assertEquals("schema/order.xsd",entry.getPath());
+        Assertions.assertEquals(5,entry.getSize());
+        Assertions.assertEquals("order",read(entry));
+        Assertions.assertEquals("order",read(entry));
+        Assertions.assertEquals(1,store.getEntryCount());
+        Assertions.assertEquals(5L,store.getByteCount());
+    }
+
+    @Test
+    void contentIsCopied() throws IOException {
+        MemoryStore store=MemoryStore.builder().direct(true).build();
+        byte[] data=bytes("abc");
+        ByteBuffer buffer=ByteBuffer.wrap(data);
+        store.put("a",buffer);
+        data[0]='x';
+
+        Assertions.assertEquals(0,buffer.position());
+        MemoryStore.Entry entry=store.get("a").orElseThrow();
+        Assertions.assertEquals("abc",read(entry));
+        Assertions.assertTrue(entry.getContent().isReadOnly());
+    }
+
+    @Test
+    void missingEntry() {
+        MemoryStore store=MemoryStore.of();
+        Assertions.assertTrue(store.get("missing").isEmpty());
+        Assertions.assertTrue(store.remove("missing").isEmpty());
+        Assertions.assertTrue(store.replace("missing",1L,ByteBuffer.allocate(0)).isEmpty());
+        Assertions.assertEquals(0,store.getEntryCount());
+    }
+
+    @Test
+    void replaceByVersion() throws IOException {
+        MemoryStore store=MemoryStore.of();
+        MemoryStore.Entry entry=store.put("a",bytes("one"));
+
+        MemoryStore.Entry replaced=store.replace("a",entry.getVersion(),ByteBuffer.wrap(bytes("three"))).orElseThrow();
+        Assertions.assertTrue(replaced.getVersion()>entry.getVersion());
+        Assertions.assertTrue(store.replace("a",entry.getVersion(),ByteBuffer.wrap(bytes("four"))).isEmpty());
+        Assertions.assertEquals("three",read(store.get("a").orElseThrow()));
+        Assertions.assertEquals(5L,store.getByteCount());
+    }
+
+    @Test
+    void removeAndClear() {
+        MemoryStore store=MemoryStore.of();
+        store.putAll(Map.of("a",bytes("1"),"b",bytes("22"),"c",bytes("333")));
+        Assertions.assertEquals(6L,store.getByteCount());
+
+        Assertions.assertTrue(store.remove("/b").isPresent());
+        Assertions.assertEquals(2,store.getEntryCount());
+        Assertions.assertEquals(4L,store.getByteCount());
+
+        store.clear();
+        Assertions.assertEquals(0,store.getEntryCount());
+        Assertions.assertEquals(0L,store.getByteCount());
+    }
+}
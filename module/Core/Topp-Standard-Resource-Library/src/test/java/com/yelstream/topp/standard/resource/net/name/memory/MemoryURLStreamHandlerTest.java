@@ -0,0 +1,86 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.resource.net.name.memory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test of {@link MemoryURLStreamHandler}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+class MemoryURLStreamHandlerTest {
+
+    @SuppressWarnings("deprecation")
+    private static URL createURL(String spec,
+                                 MemoryURLStreamHandler handler) throws MalformedURLException {
+        return new URL(null,spec,handler);
+    }
+
+    @Test
+    void readContent() throws IOException {
+        MemoryStore store=MemoryStore.of();
+        store.put("schema/order.xsd","<schema/>".getBytes(StandardCharsets.UTF_8));
+        MemoryURLStreamHandler handler=MemoryURLStreamHandler.of(store);
+
+        URL url=createURL("memory:/schema/order.xsd",handler);
+        try (InputStream in=url.openStream()) {
+            Assertions.assertEquals("<schema/>",new String(in.readAllBytes(),StandardCharsets.UTF_8));
+        }
+        Assertions.assertSame(store,handler.getStore());
+    }
+
+    @Test
+    void readReplacedContent() throws IOException {
+        MemoryStore store=MemoryStore.of();
+        store.put("a","one".getBytes(StandardCharsets.UTF_8));
+        URL url=createURL("memory:/a",MemoryURLStreamHandler.of(store));
+        store.put("a","two".getBytes(StandardCharsets.UTF_8));
+
+        try (InputStream in=url.openStream()) {
+            Assertions.assertEquals("two",new String(in.readAllBytes(),StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void missingContent() throws MalformedURLException {
+        URL url=createURL("memory:/missing",MemoryURLStreamHandler.of(MemoryStore.of()));
+        Assertions.assertThrows(IOException.class,url::openConnection);
+    }
+
+    @Test
+    void wrongProtocol() throws MalformedURLException {
+        URL url=createURL("other:/a",MemoryURLStreamHandler.of(MemoryStore.of()));
+        Assertions.assertThrows(IllegalArgumentException.class,url::openConnection);
+    }
+
+    @Test
+    void defaultStore() {
+        Assertions.assertSame(MemorySchemeRegister.getStore(),MemoryURLStreamHandler.of().getStore());
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.microprofile.health.execution;
+
+import com.yelstream.topp.standard.microprofile.health.FutureHealthCheck;
+import com.yelstream.topp.standard.microprofile.health.HealthCheckResponses;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Health-check caching the results of another health-check.
+ * <p>
+ *     Concurrent evaluations share one call of the wrapped health-check.
+ *     Results are served from the cache while younger than the time-to-live;
+ *     results younger than the time-to-live plus the stale time-to-live are served while a new call is made in
+ *     the background.
+ *     Older results are not served, and evaluations wait for a new call.
+ * </p>
+ * <p>
+ *     Calls not completed within the timeout result in a {@link HealthCheckResponse.Status#DOWN} response.
+ *     A new call is not made while a timed-out call is still running, unless the call is older than the maximum
+ *     call age; then the call is abandoned, and its late result is not cached.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class CachingFutureHealthCheck implements FutureHealthCheck {
+    private static final p.Log log=new p.Log();
+    /**
+     * Data name of the reason of a response created upon failure.
+     */
+    public static final String ERROR_DATA_NAME="error";
+
+    /**
+     * Cached result.
+     * @param response Response.
+     * @param nanoTime Time of completion, as of {@link System#nanoTime()}.
+     */
+    private record Entry(HealthCheckResponse response,
+                         long nanoTime) {
+    }
+
+    /**
+     * Running call.
+     * @param promise Result.
+     * @param nanoTime Time of start, as of {@link System#nanoTime()}.
+     */
+    private record Call(CompletableFuture<HealthCheckResponse> promise,
+                        long nanoTime) {
+    }
+
+    private final FutureHealthCheck healthCheck;
+    private final String name;
+    private final Duration timeout;
+    private final long timeToLiveNanos;
+    private final long staleTimeToLiveNanos;
+    private final long maxCallAgeNanos;
+
+    /**
+     * Name of the latest response of the health-check called.
+     * This is {@code null} until the first response.
+     */
+    private volatile String responseName;
+
+    /**
+     * Latest result.
+     */
+    private volatile Entry entry;
+
+    /**
+     * Running call, if any.
+     */
+    private final AtomicReference<Call> inFlight=new AtomicReference<>();
+
+    private CachingFutureHealthCheck(FutureHealthCheck healthCheck,
+                                     String name,
+                                     Duration timeout,
+                                     Duration timeToLive,
+                                     Duration staleTimeToLive,
+                                     Duration maxCallAge) {
+        this.healthCheck=healthCheck;
+        this.name=name;
+        this.timeout=timeout;
+        this.timeToLiveNanos=timeToLive.toNanos();
+        this.staleTimeToLiveNanos=staleTimeToLive.toNanos();
+        this.maxCallAgeNanos=maxCallAge.toNanos();
+    }
+
+    /**
+     * Creates a health-check.
+     * @param healthCheck Health-check called.
+     * @param name Name of responses created upon failures and timeouts.
+     *             The default is the name of the latest response of the health-check called,
+     *             or the simple class name of the health-check called until the first response.
+     * @param timeout Timeout of calls.
+     *                The default is 5 seconds.
+     * @param timeToLive Time-to-live of results.
+     *                   The default is 1 second.
+     * @param staleTimeToLive Time past the time-to-live, where results are served while being revalidated.
+     *                        The default is 30 seconds.
+     * @param maxCallAge Age of running calls, after which these are abandoned and a new call is made.
+     *                   The default is 10 times the timeout.
+     * @return Created health-check.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static CachingFutureHealthCheck createByBuilder(FutureHealthCheck healthCheck,
+                                                            String name,
+                                                            Duration timeout,
+                                                            Duration timeToLive,
+                                                            Duration staleTimeToLive,
+                                                            Duration maxCallAge) {
+        Objects.requireNonNull(healthCheck,"Failure to create health-check; health-check is not set!");
+        if (timeout==null) {
+            timeout=Duration.ofSeconds(5);
+        }
+        if (timeToLive==null) {
+            timeToLive=Duration.ofSeconds(1);
+        }
+        if (staleTimeToLive==null) {
+            staleTimeToLive=Duration.ofSeconds(30);
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Failure to create health-check; timeout is '%s'!".formatted(timeout));
+        }
+        if (timeToLive.isNegative() || staleTimeToLive.isNegative()) {
+            throw new IllegalArgumentException("Failure to create health-check; time-to-live is '%s', stale time-to-live is '%s'!".formatted(timeToLive,staleTimeToLive));
+        }
+        if (maxCallAge==null) {
+            maxCallAge=timeout.multipliedBy(10);
+        }
+        if (maxCallAge.compareTo(timeout)<0) {
+            throw new IllegalArgumentException("Failure to create health-check; maximum call age is '%s', timeout is '%s'!".formatted(maxCallAge,timeout));
+        }
+        return new CachingFutureHealthCheck(healthCheck,name,timeout,timeToLive,staleTimeToLive,maxCallAge);
+    }
+
+    /**
+     * Gets the name of responses created upon failures and timeouts.
+     * @return Name.
+     */
+    public String getName() {
+        if (name!=null) {
+            return name;
+        }
+        String currentResponseName=responseName;
+        return currentResponseName!=null?currentResponseName:healthCheck.getClass().getSimpleName();
+    }
+
+    @Override
+    public CompletableFuture<HealthCheckResponse> submitCall() {
+        Entry current=entry;
+        if (current!=null) {
+            long age=System.nanoTime()-current.nanoTime();
+            if (age<timeToLiveNanos) {
+                return CompletableFuture.completedFuture(current.response());
+            }
+            if (age-timeToLiveNanos<staleTimeToLiveNanos) {
+                revalidate();
+                return CompletableFuture.completedFuture(current.response());
+            }
+        }
+        return revalidate();
+    }
+
+    /**
+     * Drops the cached result and abandons the running call, if any.
+     * The next evaluation waits for a new call.
+     */
+    public void invalidate() {
+        entry=null;
+        inFlight.set(null);
+    }
+
+    private CompletableFuture<HealthCheckResponse> revalidate() {
+        while (true) {
+            Call current=inFlight.get();
+            if (current!=null) {
+                if (System.nanoTime()-current.nanoTime()<maxCallAgeNanos) {
+                    return current.promise();
+                }
+                if (inFlight.compareAndSet(current,null)) {
+                    log.warn("Health-check call abandoned; name is '{}', maximum call age is '{}'!",getName(),Duration.ofNanos(maxCallAgeNanos));
+                }
+                continue;
+            }
+            Call call=new Call(new CompletableFuture<>(),System.nanoTime());
+            if (inFlight.compareAndSet(null,call)) {
+                call(call);
+                return call.promise();
+            }
+        }
+    }
+
+    private void call(Call call) {
+        CompletableFuture<HealthCheckResponse> promise=call.promise();
+        HealthCheckResponse timeoutResponse=createDownResponse(getName(),"Health-check timed out after %s!".formatted(timeout));
+        promise.completeOnTimeout(timeoutResponse,timeout.toNanos(),TimeUnit.NANOSECONDS);
+        promise.thenAccept(response->{
+            if (response==timeoutResponse && inFlight.get()==call) {
+                log.warn("Health-check timed out; name is '{}', timeout is '{}'!",getName(),timeout);
+                entry=new Entry(response,System.nanoTime());
+            }
+        });
+
+        CompletableFuture<HealthCheckResponse> future;
+        try {
+            future=healthCheck.submitCall();
+        } catch (RuntimeException ex) {
+            future=CompletableFuture.failedFuture(ex);
+        }
+        future.whenComplete((response,ex)->{
+            HealthCheckResponse result;
+            if (ex!=null) {
+                Throwable cause=ex instanceof CompletionException && ex.getCause()!=null?ex.getCause():ex;
+                result=createDownResponse(getName(),"Health-check failed; %s".formatted(cause));
+            } else if (response==null) {
+                result=createDownResponse(getName(),"Health-check failed; response is not set!");
+            } else {
+                responseName=response.getName();
+                result=response;
+            }
+            if (inFlight.get()==call) {  //Yes, results of abandoned calls are not cached!
+                entry=new Entry(result,System.nanoTime());
+                inFlight.compareAndSet(call,null);
+            }
+            promise.complete(result);
+        });
+    }
+
+    /**
+     * Creates a response indicating a failure.
+     * @param name Name of response.
+     * @param message Reason of failure.
+     * @return Created response.
+     */
+    static HealthCheckResponse createDownResponse(String name,
+                                                  String message) {
+        return HealthCheckResponses.builder().name(name).status(HealthCheckResponse.Status.DOWN).data(ERROR_DATA_NAME,message).build();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.microprofile.health.execution;
+
+import com.yelstream.topp.standard.microprofile.health.FutureHealthCheck;
+import lombok.Singular;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor of a set of health-checks.
+ * <p>
+ *     Health-checks are called in parallel, each through a {@link CachingFutureHealthCheck} bounding the time of
+ *     each call, deduplicating concurrent calls and caching results.
+ *     All responses are delivered within a global timeout;
+ *     health-checks not completed within this are reported as {@link HealthCheckResponse.Status#DOWN} while
+ *     their calls continue in the background.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class HealthCheckExecutor {
+    private final List<CachingFutureHealthCheck> healthChecks;
+    private final Duration timeout;
+
+    private HealthCheckExecutor(List<CachingFutureHealthCheck> healthChecks,
+                                Duration timeout) {
+        this.healthChecks=healthChecks;
+        this.timeout=timeout;
+    }
+
+    /**
+     * Creates an executor.
+     * @param healthChecks Health-checks.
+     * @param checkTimeout Timeout of calls of each health-check.
+     *                     The default is 5 seconds.
+     * @param timeout Timeout of all health-checks together.
+     *                The default is the timeout of each health-check.
+     * @param timeToLive Time-to-live of results.
+     *                   The default is 1 second.
+     * @param staleTimeToLive Time past the time-to-live, where results are served while being revalidated.
+     *                        The default is 30 seconds.
+     * @param maxCallAge Age of running calls of each health-check, after which these are abandoned.
+     *                   The default is 10 times the timeout of each health-check.
+     * @return Created executor.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static HealthCheckExecutor createByBuilder(@Singular List<FutureHealthCheck> healthChecks,
+                                                       Duration checkTimeout,
+                                                       Duration timeout,
+                                                       Duration timeToLive,
+                                                       Duration staleTimeToLive,
+                                                       Duration maxCallAge) {
+        if (checkTimeout==null) {
+            checkTimeout=Duration.ofSeconds(5);
+        }
+        if (timeout==null) {
+            timeout=checkTimeout;
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Failure to create executor; timeout is '%s'!".formatted(timeout));
+        }
+        List<CachingFutureHealthCheck> cachingHealthChecks=new ArrayList<>(healthChecks.size());
+        for (FutureHealthCheck healthCheck: healthChecks) {
+            CachingFutureHealthCheck cachingHealthCheck=
+                healthCheck instanceof CachingFutureHealthCheck c?c:CachingFutureHealthCheck.builder()
+                                                                                           .healthCheck(healthCheck)
+                                                                                           .timeout(checkTimeout)
+                                                                                           .timeToLive(timeToLive)
+                                                                                           .staleTimeToLive(staleTimeToLive)
+                                                                                           .maxCallAge(maxCallAge)
+                                                                                           .build();
+            cachingHealthChecks.add(cachingHealthCheck);
+        }
+        return new HealthCheckExecutor(List.copyOf(cachingHealthChecks),timeout);
+    }
+
+    /**
+     * Gets the health-checks.
+     * @return Health-checks.
+     */
+    public List<CachingFutureHealthCheck> getHealthChecks() {
+        return healthChecks;
+    }
+
+    /**
+     * Initiates all health-checks.
+     * @return Handle to the responses, in the order of the health-checks.
+     */
+    public CompletableFuture<List<HealthCheckResponse>> submitCalls() {
+        List<CompletableFuture<HealthCheckResponse>> futures=new ArrayList<>(healthChecks.size());
+        for (CachingFutureHealthCheck healthCheck: healthChecks) {
+            CompletableFuture<HealthCheckResponse> future=healthCheck.submitCall();
+            if (!future.isDone()) {
+                HealthCheckResponse timeoutResponse=CachingFutureHealthCheck.createDownResponse(healthCheck.getName(),"Health-check exceeded deadline of %s!".formatted(timeout));
+                future=future.copy().completeOnTimeout(timeoutResponse,timeout.toNanos(),TimeUnit.NANOSECONDS);  //Yes, copy; the future is shared by concurrent evaluations!
+            }
+            futures.add(future);
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                                .thenApply(ignored->futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Gets the overall status of responses.
+     * @param responses Responses.
+     * @return Status; this is {@link HealthCheckResponse.Status#UP} if all responses are.
+     */
+    public static HealthCheckResponse.Status getStatus(List<HealthCheckResponse> responses) {
+        for (HealthCheckResponse response: responses) {
+            if (response.getStatus()!=HealthCheckResponse.Status.UP) {
+                return HealthCheckResponse.Status.DOWN;
+            }
+        }
+        return HealthCheckResponse.Status.UP;
+    }
+}
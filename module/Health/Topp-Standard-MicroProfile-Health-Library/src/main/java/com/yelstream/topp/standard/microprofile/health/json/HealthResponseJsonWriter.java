@@ -0,0 +1,288 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.microprofile.health.json;
+
+import org.eclipse.microprofile.health.HealthCheckResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Writer of health-check responses as JSON.
+ * <p>
+ *     Responses are written directly as UTF-8 encoded bytes in the format of MicroProfile Health,
+ *     <code>{"status":"UP","checks":[{"name":"...","status":"UP","data":{...}}]}</code>, without intermediate
+ *     value objects.
+ *     Constant parts are pre-encoded.
+ * </p>
+ * <p>
+ *     With pre-rendering, the encoding of each health-check response is kept by name, and reused while the
+ *     health-check responds with the same response instance or a response of the same status and data.
+ *     This pays off when responses are served from a cache, as by
+ *     {@link com.yelstream.topp.standard.microprofile.health.execution.CachingFutureHealthCheck}.
+ * </p>
+ * <p>
+ *     Data values of type {@link Long}, {@link Integer}, {@link Short}, {@link Byte}, finite {@link Double} and
+ *     {@link Float}, and {@link Boolean} are written as JSON numbers and booleans; other values are written as
+ *     strings.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class HealthResponseJsonWriter {
+    private static final byte[] DOCUMENT_UP=ascii("{\"status\":\"UP\",\"checks\":[");
+    private static final byte[] DOCUMENT_DOWN=ascii("{\"status\":\"DOWN\",\"checks\":[");
+    private static final byte[] DOCUMENT_END=ascii("]}");
+    private static final byte[] CHECK_NAME=ascii("{\"name\":");
+    private static final byte[] CHECK_STATUS_UP=ascii(",\"status\":\"UP\"");
+    private static final byte[] CHECK_STATUS_DOWN=ascii(",\"status\":\"DOWN\"");
+    private static final byte[] CHECK_DATA=ascii(",\"data\":{");
+    private static final byte[] NULL=ascii("null");
+    private static final byte[] TRUE=ascii("true");
+    private static final byte[] FALSE=ascii("false");
+
+    /**
+     * Encoding of a health-check response.
+     * @param response Response encoded.
+     * @param bytes Encoding.
+     */
+    private record Rendering(HealthCheckResponse response,
+                             byte[] bytes) {
+    }
+
+    private final boolean preRendering;
+    private final int maxPreRenderedCount;
+    private final int retainedBufferSize;
+
+    /**
+     * Encodings of health-check responses by name.
+     */
+    private final ConcurrentMap<String,Rendering> renderings=new ConcurrentHashMap<>();
+
+    /**
+     * Buffers of the documents being written, by thread.
+     */
+    private final ThreadLocal<JsonBuffer> buffers;
+
+    private HealthResponseJsonWriter(boolean preRendering,
+                                     int maxPreRenderedCount,
+                                     int initialBufferSize,
+                                     int retainedBufferSize) {
+        this.preRendering=preRendering;
+        this.maxPreRenderedCount=maxPreRenderedCount;
+        this.retainedBufferSize=retainedBufferSize;
+        this.buffers=ThreadLocal.withInitial(()->new JsonBuffer(initialBufferSize));
+    }
+
+    /**
+     * Creates a writer.
+     * @param preRendering Indicates if encodings of unchanged health-check responses are reused.
+     *                     The default is {@code true}.
+     * @param maxPreRenderedCount Maximum number of health-check names whose encodings are kept.
+     *                            The default is 1024.
+     * @param initialBufferSize Initial size of the buffer of each thread.
+     *                          The default is 4 KiB.
+     * @param retainedBufferSize Maximum size of the buffer kept by each thread between documents.
+     *                           The default is 256 KiB.
+     * @return Created writer.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static HealthResponseJsonWriter createByBuilder(Boolean preRendering,
+                                                            Integer maxPreRenderedCount,
+                                                            Integer initialBufferSize,
+                                                            Integer retainedBufferSize) {
+        if (preRendering==null) {
+            preRendering=true;
+        }
+        if (maxPreRenderedCount==null) {
+            maxPreRenderedCount=1024;
+        }
+        if (initialBufferSize==null) {
+            initialBufferSize=4*1024;
+        }
+        if (retainedBufferSize==null) {
+            retainedBufferSize=256*1024;
+        }
+        if (initialBufferSize<1) {
+            throw new IllegalArgumentException("Failure to create writer; initial buffer size is '%d'!".formatted(initialBufferSize));
+        }
+        return new HealthResponseJsonWriter(preRendering,maxPreRenderedCount,initialBufferSize,retainedBufferSize);
+    }
+
+    /**
+     * Writes health-check responses as one document.
+     * The overall status is {@link HealthCheckResponse.Status#UP} if all responses are.
+     * @param responses Responses.
+     * @param out Stream written to.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public void write(Collection<HealthCheckResponse> responses,
+                      OutputStream out) throws IOException {
+        JsonBuffer buffer=render(responses);
+        try {
+            buffer.writeTo(out);
+        } finally {
+            release(buffer);
+        }
+    }
+
+    /**
+     * Writes health-check responses as one document.
+     * @param responses Responses.
+     * @return Document.
+     */
+    public byte[] toBytes(Collection<HealthCheckResponse> responses) {
+        JsonBuffer buffer=render(responses);
+        try {
+            return buffer.toByteArray();
+        } finally {
+            release(buffer);
+        }
+    }
+
+    /**
+     * Drops all kept encodings of health-check responses.
+     */
+    public void clear() {
+        renderings.clear();
+    }
+
+    private JsonBuffer render(Collection<HealthCheckResponse> responses) {
+        JsonBuffer buffer=buffers.get();
+        buffer.reset();
+        boolean up=true;
+        for (HealthCheckResponse response: responses) {
+            if (response.getStatus()!=HealthCheckResponse.Status.UP) {
+                up=false;
+                break;
+            }
+        }
+        buffer.append(up?DOCUMENT_UP:DOCUMENT_DOWN);
+        boolean first=true;
+        for (HealthCheckResponse response: responses) {
+            if (!first) {
+                buffer.append((byte)',');
+            }
+            first=false;
+            if (preRendering) {
+                buffer.append(getRendering(response));
+            } else {
+                renderCheck(buffer,response);
+            }
+        }
+        buffer.append(DOCUMENT_END);
+        return buffer;
+    }
+
+    private void release(JsonBuffer buffer) {
+        if (buffer.capacity()>retainedBufferSize) {
+            buffers.remove();
+        }
+    }
+
+    private byte[] getRendering(HealthCheckResponse response) {
+        String name=response.getName();
+        if (name==null) {
+            return renderCheck(response);
+        }
+        Rendering rendering=renderings.get(name);
+        if (rendering!=null) {
+            HealthCheckResponse renderedResponse=rendering.response();
+            if (renderedResponse==response) {
+                return rendering.bytes();
+            }
+            if (renderedResponse.getStatus()==response.getStatus() && Objects.equals(renderedResponse.getData(),response.getData())) {
+                renderings.put(name,new Rendering(response,rendering.bytes()));  //Yes, identity of the latest response is the cheaper check next time!
+                return rendering.bytes();
+            }
+        }
+        byte[] bytes=renderCheck(response);
+        if (rendering!=null || renderings.size()<maxPreRenderedCount) {
+            renderings.put(name,new Rendering(response,bytes));
+        }
+        return bytes;
+    }
+
+    private static byte[] renderCheck(HealthCheckResponse response) {
+        JsonBuffer buffer=new JsonBuffer(128);
+        renderCheck(buffer,response);
+        return buffer.toByteArray();
+    }
+
+    private static void renderCheck(JsonBuffer buffer,
+                                    HealthCheckResponse response) {
+        buffer.append(CHECK_NAME);
+        appendValue(buffer,response.getName());
+        buffer.append(response.getStatus()==HealthCheckResponse.Status.UP?CHECK_STATUS_UP:CHECK_STATUS_DOWN);
+        Optional<Map<String,Object>> data=response.getData();
+        if (data!=null && data.isPresent() && !data.get().isEmpty()) {
+            buffer.append(CHECK_DATA);
+            boolean first=true;
+            for (Map.Entry<String,Object> entry: data.get().entrySet()) {
+                if (!first) {
+                    buffer.append((byte)',');
+                }
+                first=false;
+                buffer.appendString(String.valueOf(entry.getKey()));
+                buffer.append((byte)':');
+                appendValue(buffer,entry.getValue());
+            }
+            buffer.append((byte)'}');
+        }
+        buffer.append((byte)'}');
+    }
+
+    private static void appendValue(JsonBuffer buffer,
+                                    Object value) {
+        if (value==null) {
+            buffer.append(NULL);
+        } else if (value instanceof String s) {
+            buffer.appendString(s);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            buffer.appendAscii(value.toString());
+        } else if (value instanceof Boolean b) {
+            buffer.append(b?TRUE:FALSE);
+        } else if (value instanceof Double || value instanceof Float) {
+            double d=((Number)value).doubleValue();
+            if (Double.isFinite(d)) {
+                buffer.appendAscii(value.toString());
+            } else {
+                buffer.appendString(value.toString());
+            }
+        } else {
+            buffer.appendString(value.toString());
+        }
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
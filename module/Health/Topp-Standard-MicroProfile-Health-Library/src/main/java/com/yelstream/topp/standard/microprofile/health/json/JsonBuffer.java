@@ -0,0 +1,156 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.microprofile.health.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable buffer of UTF-8 encoded JSON.
+ * <p>
+ *     This is not thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+final class JsonBuffer {
+    private static final byte[] HEX_DIGITS="0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] bytes;
+    private int size;
+
+    JsonBuffer(int initialCapacity) {
+        this.bytes=new byte[initialCapacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return bytes.length;
+    }
+
+    void reset() {
+        size=0;
+    }
+
+    private void ensureCapacity(int additional) {
+        int required=size+additional;
+        if (required>bytes.length) {
+            bytes=Arrays.copyOf(bytes,Math.max(required,bytes.length<<1));
+        }
+    }
+
+    void append(byte b) {
+        ensureCapacity(1);
+        bytes[size++]=b;
+    }
+
+    void append(byte[] b) {
+        ensureCapacity(b.length);
+        System.arraycopy(b,0,bytes,size,b.length);
+        size+=b.length;
+    }
+
+    void appendAscii(String s) {
+        int length=s.length();
+        ensureCapacity(length);
+        for (int i=0; i<length; i++) {
+            bytes[size++]=(byte)s.charAt(i);
+        }
+    }
+
+    /**
+     * Appends a quoted and escaped JSON string.
+     * @param s String.
+     */
+    void appendString(String s) {
+        int length=s.length();
+        ensureCapacity(length+2);
+        bytes[size++]='"';
+        for (int i=0; i<length; i++) {
+            char c=s.charAt(i);
+            if (c>=0x20 && c<0x80 && c!='"' && c!='\\') {
+                bytes[size++]=(byte)c;
+            } else {
+                ensureCapacity(6+length-i);  //Yes, room for the longest escape of this and the remaining characters as is, plus the closing quote!
+                if (c=='"' || c=='\\') {
+                    bytes[size++]='\\';
+                    bytes[size++]=(byte)c;
+                } else if (c<0x20) {
+                    appendControl(c);
+                } else if (Character.isHighSurrogate(c) && i+1<length && Character.isLowSurrogate(s.charAt(i+1))) {
+                    appendUtf8(Character.toCodePoint(c,s.charAt(++i)));
+                } else if (Character.isSurrogate(c)) {
+                    appendUtf8('\uFFFD');
+                } else {
+                    appendUtf8(c);
+                }
+            }
+        }
+        bytes[size++]='"';
+    }
+
+    private void appendControl(char c) {
+        bytes[size++]='\\';
+        switch (c) {
+            case '\n' -> bytes[size++]='n';
+            case '\r' -> bytes[size++]='r';
+            case '\t' -> bytes[size++]='t';
+            case '\b' -> bytes[size++]='b';
+            case '\f' -> bytes[size++]='f';
+            default -> {
+                bytes[size++]='u';
+                bytes[size++]='0';
+                bytes[size++]='0';
+                bytes[size++]=HEX_DIGITS[c>>4];
+                bytes[size++]=HEX_DIGITS[c&0xF];
+            }
+        }
+    }
+
+    private void appendUtf8(int codePoint) {
+        if (codePoint<0x800) {
+            bytes[size++]=(byte)(0xC0|(codePoint>>6));
+            bytes[size++]=(byte)(0x80|(codePoint&0x3F));
+        } else if (codePoint<0x10000) {
+            bytes[size++]=(byte)(0xE0|(codePoint>>12));
+            bytes[size++]=(byte)(0x80|((codePoint>>6)&0x3F));
+            bytes[size++]=(byte)(0x80|(codePoint&0x3F));
+        } else {
+            bytes[size++]=(byte)(0xF0|(codePoint>>18));
+            bytes[size++]=(byte)(0x80|((codePoint>>12)&0x3F));
+            bytes[size++]=(byte)(0x80|((codePoint>>6)&0x3F));
+            bytes[size++]=(byte)(0x80|(codePoint&0x3F));
+        }
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes,size);
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes,0,size);
+    }
+}
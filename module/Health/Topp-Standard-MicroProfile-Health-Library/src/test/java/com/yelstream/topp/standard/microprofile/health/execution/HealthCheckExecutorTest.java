@@ -0,0 +1,276 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.microprofile.health.execution;
+
+import com.yelstream.topp.standard.microprofile.health.FutureHealthCheck;
+import com.yelstream.topp.standard.microprofile.health.HealthCheckResponses;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test of {@link HealthCheckExecutor} and {@link CachingFutureHealthCheck}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+class HealthCheckExecutorTest {
+    private final ExecutorService executor=Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Slow fake health-check counting its calls.
+     */
+    private final class SlowHealthCheck implements FutureHealthCheck {
+        private final String name;
+        private final Duration delay;
+        private final AtomicInteger callCount=new AtomicInteger();
+        private volatile HealthCheckResponse.Status status=HealthCheckResponse.Status.UP;
+
+        private SlowHealthCheck(String name,
+                                Duration delay) {
+            this.name=name;
+            this.delay=delay;
+        }
+
+        @Override
+        public CompletableFuture<HealthCheckResponse> submitCall() {
+            int call=callCount.incrementAndGet();
+            HealthCheckResponse.Status currentStatus=status;
+            return CompletableFuture.supplyAsync(()->{
+                try {
+                    Thread.sleep(delay.toMillis());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return HealthCheckResponses.builder().name(name).status(currentStatus).data("call",call).build();
+            },executor);
+        }
+    }
+
+    /**
+     * Tests that concurrent evaluations share one call.
+     */
+    @Test
+    void singleFlight() {
+        SlowHealthCheck slowHealthCheck=new SlowHealthCheck("database",Duration.ofMillis(200));
+        CachingFutureHealthCheck healthCheck=CachingFutureHealthCheck.builder().healthCheck(slowHealthCheck).build();
+
+        List<CompletableFuture<HealthCheckResponse>> futures=new ArrayList<>();
+        for (int i=0; i<20; i++) {
+            futures.add(healthCheck.submitCall());
+        }
+        for (CompletableFuture<HealthCheckResponse> future: futures) {
+            Assertions.assertEquals(HealthCheckResponse.Status.UP,future.join().getStatus());
+        }
+        Assertions.assertEquals(1,slowHealthCheck.callCount.get());
+
+        Assertions.assertEquals(HealthCheckResponse.Status.UP,healthCheck.submitCall().join().getStatus());
+        Assertions.assertEquals(1,slowHealthCheck.callCount.get());  //Yes, cached within the time-to-live!
+    }
+
+    /**
+     * Tests that stale results are served while being revalidated.
+     */
+    @Test
+    void staleWhileRevalidate() throws InterruptedException {
+        SlowHealthCheck slowHealthCheck=new SlowHealthCheck("broker",Duration.ofMillis(200));
+        CachingFutureHealthCheck healthCheck=CachingFutureHealthCheck.builder()
+                                                                     .healthCheck(slowHealthCheck)
+                                                                     .timeToLive(Duration.ofMillis(50))
+                                                                     .staleTimeToLive(Duration.ofSeconds(30))
+                                                                     .build();
+        Assertions.assertEquals(HealthCheckResponse.Status.UP,healthCheck.submitCall().join().getStatus());
+        slowHealthCheck.status=HealthCheckResponse.Status.DOWN;
+        Thread.sleep(100);
+
+        CompletableFuture<HealthCheckResponse> stale=healthCheck.submitCall();
+        Assertions.assertTrue(stale.isDone());
+        Assertions.assertEquals(HealthCheckResponse.Status.UP,stale.join().getStatus());
+        Assertions.assertEquals(2,slowHealthCheck.callCount.get());
+
+        long deadline=System.nanoTime()+TimeUnit.SECONDS.toNanos(5);
+        HealthCheckResponse.Status status=HealthCheckResponse.Status.UP;
+        while (status==HealthCheckResponse.Status.UP && System.nanoTime()<deadline) {
+            Thread.sleep(20);
+            status=healthCheck.submitCall().join().getStatus();
+        }
+        Assertions.assertEquals(HealthCheckResponse.Status.DOWN,status);
+    }
+
+    /**
+     * Tests that results older than the stale time-to-live are not served.
+     */
+    @Test
+    void expired() throws InterruptedException {
+        SlowHealthCheck slowHealthCheck=new SlowHealthCheck("database",Duration.ofMillis(100));
+        CachingFutureHealthCheck healthCheck=CachingFutureHealthCheck.builder()
+                                                                     .healthCheck(slowHealthCheck)
+                                                                     .timeToLive(Duration.ofMillis(20))
+                                                                     .staleTimeToLive(Duration.ofMillis(20))
+                                                                     .build();
+        healthCheck.submitCall().join();
+        Thread.sleep(100);
+        CompletableFuture<HealthCheckResponse> future=healthCheck.submitCall();
+        Assertions.assertFalse(future.isDone());
+        Assertions.assertEquals(2,future.join().getData().orElseThrow().get("call"));
+    }
+
+    /**
+     * Tests that calls exceeding the timeout of a health-check are reported as down, without further calls
+     * while the call runs.
+     */
+    @Test
+    void checkTimeout() {
+        SlowHealthCheck slowHealthCheck=new SlowHealthCheck("database",Duration.ofSeconds(2));
+        CachingFutureHealthCheck healthCheck=CachingFutureHealthCheck.builder()
+                                                                     .healthCheck(slowHealthCheck)
+                                                                     .name("database")
+                                                                     .timeout(Duration.ofMillis(100))
+                                                                     .timeToLive(Duration.ZERO)
+                                                                     .staleTimeToLive(Duration.ZERO)
+                                                                     .build();
+        long start=System.nanoTime();
+        HealthCheckResponse response=healthCheck.submitCall().join();
+        Assertions.assertTrue(System.nanoTime()-start<TimeUnit.SECONDS.toNanos(1));
+        Assertions.assertEquals(HealthCheckResponse.Status.DOWN,response.getStatus());
+        Assertions.assertEquals("database",response.getName());
+        Assertions.assertTrue(response.getData().orElseThrow().containsKey(CachingFutureHealthCheck.ERROR_DATA_NAME));
+
+        healthCheck.submitCall().join();
+        Assertions.assertEquals(1,slowHealthCheck.callCount.get());
+    }
+
+    /**
+     * Tests that calls exceeding the maximum call age are abandoned for a new call.
+     */
+    @Test
+    void abandonedCall() throws InterruptedException {
+        SlowHealthCheck slowHealthCheck=new SlowHealthCheck("database",Duration.ofSeconds(2));
+        CachingFutureHealthCheck healthCheck=CachingFutureHealthCheck.builder()
+                                                                     .healthCheck(slowHealthCheck)
+                                                                     .timeout(Duration.ofMillis(50))
+                                                                     .timeToLive(Duration.ZERO)
+                                                                     .staleTimeToLive(Duration.ZERO)
+                                                                     .maxCallAge(Duration.ofMillis(100))
+                                                                     .build();
+        Assertions.assertEquals(HealthCheckResponse.Status.DOWN,healthCheck.submitCall().join().getStatus());
+        Assertions.assertEquals(1,slowHealthCheck.callCount.get());
+        Thread.sleep(150);
+
+        healthCheck.submitCall();
+        Assertions.assertEquals(2,slowHealthCheck.callCount.get());
+        Assertions.assertThrows(IllegalArgumentException.class,()->CachingFutureHealthCheck.builder().healthCheck(slowHealthCheck).timeout(Duration.ofSeconds(1)).maxCallAge(Duration.ofMillis(100)).build());
+    }
+
+    /**
+     * Tests that invalidation abandons the running call.
+     */
+    @Test
+    void invalidate() {
+        SlowHealthCheck slowHealthCheck=new SlowHealthCheck("database",Duration.ofMillis(500));
+        CachingFutureHealthCheck healthCheck=CachingFutureHealthCheck.builder().healthCheck(slowHealthCheck).build();
+        CompletableFuture<HealthCheckResponse> first=healthCheck.submitCall();
+        healthCheck.invalidate();
+        CompletableFuture<HealthCheckResponse> second=healthCheck.submitCall();
+        Assertions.assertNotSame(first,second);
+        Assertions.assertEquals(2,slowHealthCheck.callCount.get());
+        Assertions.assertEquals(1,first.join().getData().orElseThrow().get("call"));
+        Assertions.assertEquals(2,second.join().getData().orElseThrow().get("call"));
+    }
+
+    /**
+     * Tests that responses created upon failures take the name of the responses of the health-check.
+     */
+    @Test
+    void defaultName() {
+        AtomicInteger callCount=new AtomicInteger();
+        FutureHealthCheck failingHealthCheck=()->callCount.incrementAndGet()==1?
+            CompletableFuture.completedFuture(HealthCheckResponses.builder().name("database").status(HealthCheckResponse.Status.UP).build()):
+            CompletableFuture.failedFuture(new IllegalStateException("Connection refused"));
+        CachingFutureHealthCheck healthCheck=CachingFutureHealthCheck.builder()
+                                                                     .healthCheck(failingHealthCheck)
+                                                                     .timeToLive(Duration.ZERO)
+                                                                     .staleTimeToLive(Duration.ZERO)
+                                                                     .build();
+        Assertions.assertEquals(HealthCheckResponse.Status.UP,healthCheck.submitCall().join().getStatus());
+        HealthCheckResponse response=healthCheck.submitCall().join();
+        Assertions.assertEquals(HealthCheckResponse.Status.DOWN,response.getStatus());
+        Assertions.assertEquals("database",response.getName());
+        Assertions.assertEquals("database",healthCheck.getName());
+    }
+
+    /**
+     * Tests that failing health-checks are reported as down.
+     */
+    @Test
+    void failure() {
+        CachingFutureHealthCheck healthCheck=CachingFutureHealthCheck.builder()
+                                                                     .healthCheck(()->CompletableFuture.failedFuture(new IllegalStateException("Connection refused")))
+                                                                     .name("broker")
+                                                                     .build();
+        HealthCheckResponse response=healthCheck.submitCall().join();
+        Assertions.assertEquals(HealthCheckResponse.Status.DOWN,response.getStatus());
+        Assertions.assertTrue(response.getData().orElseThrow().get(CachingFutureHealthCheck.ERROR_DATA_NAME).toString().contains("Connection refused"));
+    }
+
+    /**
+     * Tests that health-checks run in parallel within the global timeout.
+     */
+    @Test
+    void globalTimeout() {
+        SlowHealthCheck fast1=new SlowHealthCheck("fast-1",Duration.ofMillis(150));
+        SlowHealthCheck fast2=new SlowHealthCheck("fast-2",Duration.ofMillis(150));
+        SlowHealthCheck slow=new SlowHealthCheck("slow",Duration.ofSeconds(3));
+        HealthCheckExecutor healthCheckExecutor=HealthCheckExecutor.builder()
+                                                                   .healthCheck(fast1)
+                                                                   .healthCheck(fast2)
+                                                                   .healthCheck(slow)
+                                                                   .checkTimeout(Duration.ofSeconds(10))
+                                                                   .timeout(Duration.ofMillis(500))
+                                                                   .build();
+        long start=System.nanoTime();
+        List<HealthCheckResponse> responses=healthCheckExecutor.submitCalls().join();
+        long elapsedMillis=TimeUnit.NANOSECONDS.toMillis(System.nanoTime()-start);
+
+        Assertions.assertTrue(elapsedMillis<1500,"Elapsed time is "+elapsedMillis+" ms!");
+        Assertions.assertEquals(List.of(HealthCheckResponse.Status.UP,HealthCheckResponse.Status.UP,HealthCheckResponse.Status.DOWN),
+                                responses.stream().map(HealthCheckResponse::getStatus).toList());
+        Assertions.assertEquals(HealthCheckResponse.Status.DOWN,HealthCheckExecutor.getStatus(responses));
+
+        List<HealthCheckResponse> nextResponses=healthCheckExecutor.submitCalls().join();
+        Assertions.assertEquals(1,slow.callCount.get());
+        Assertions.assertEquals(HealthCheckResponse.Status.UP,nextResponses.get(0).getStatus());
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.microprofile.health.json;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Test of {@link HealthResponseJsonWriter}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class HealthResponseJsonWriterTest {
+    private static HealthCheckResponse createResponse(String name,
+                                                      HealthCheckResponse.Status status,
+                                                      Map<String,Object> data) {
+        return new HealthCheckResponse(name,status,Optional.ofNullable(data));
+    }
+
+    private static List<HealthCheckResponse> createResponses(int count) {
+        List<HealthCheckResponse> responses=new ArrayList<>(count);
+        for (int i=0; i<count; i++) {
+            Map<String,Object> data=new LinkedHashMap<>();
+            data.put("host","server-"+i+".example.com");
+            data.put("latency",i*7L);
+            data.put("pooled",i%2==0);
+            responses.add(createResponse("check-"+i,HealthCheckResponse.Status.UP,data));
+        }
+        return responses;
+    }
+
+    /**
+     * Tests the written document.
+     */
+    @ParameterizedTest
+    @ValueSource(booleans={true,false})
+    void write(boolean preRendering) throws IOException {
+        HealthResponseJsonWriter writer=HealthResponseJsonWriter.builder().preRendering(preRendering).build();
+        Map<String,Object> data=new LinkedHashMap<>();
+        data.put("url","jdbc:h2:mem:\"test\"");
+        data.put("connections",12L);
+        data.put("ratio",0.5);
+        data.put("valid",true);
+        data.put("note","Line\nTab\tØ€😀");
+        List<HealthCheckResponse> responses=List.of(createResponse("database",HealthCheckResponse.Status.UP,data),
+                                                    createResponse("broker",HealthCheckResponse.Status.DOWN,null));
+        ByteArrayOutputStream out=new ByteArrayOutputStream();
+        writer.write(responses,out);
+
+        String expected="{\"status\":\"DOWN\",\"checks\":["+
+                        "{\"name\":\"database\",\"status\":\"UP\",\"data\":{\"url\":\"jdbc:h2:mem:\\\"test\\\"\",\"connections\":12,\"ratio\":0.5,\"valid\":true,\"note\":\"Line\\nTab\\tØ€😀\"}},"+
+                        "{\"name\":\"broker\",\"status\":\"DOWN\"}]}";
+        Assertions.assertEquals(expected,out.toString(StandardCharsets.UTF_8));
+        Assertions.assertEquals(expected,new String(writer.toBytes(responses),StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests the document of no responses.
+     */
+    @Test
+    void writeEmpty() {
+        HealthResponseJsonWriter writer=HealthResponseJsonWriter.builder().build();
+        Assertions.assertEquals("{\"status\":\"UP\",\"checks\":[]}",new String(writer.toBytes(List.of()),StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests that pre-rendered responses are replaced when the responses change.
+     */
+    @Test
+    void preRenderingChange() {
+        HealthResponseJsonWriter writer=HealthResponseJsonWriter.builder().build();
+        HealthCheckResponse up=createResponse("database",HealthCheckResponse.Status.UP,Map.of("connections",1L));
+        Assertions.assertEquals("{\"status\":\"UP\",\"checks\":[{\"name\":\"database\",\"status\":\"UP\",\"data\":{\"connections\":1}}]}",
+                                new String(writer.toBytes(List.of(up)),StandardCharsets.UTF_8));
+
+        HealthCheckResponse sameAsUp=createResponse("database",HealthCheckResponse.Status.UP,Map.of("connections",1L));
+        Assertions.assertEquals("{\"status\":\"UP\",\"checks\":[{\"name\":\"database\",\"status\":\"UP\",\"data\":{\"connections\":1}}]}",
+                                new String(writer.toBytes(List.of(sameAsUp)),StandardCharsets.UTF_8));
+
+        HealthCheckResponse down=createResponse("database",HealthCheckResponse.Status.DOWN,Map.of("connections",0L));
+        Assertions.assertEquals("{\"status\":\"DOWN\",\"checks\":[{\"name\":\"database\",\"status\":\"DOWN\",\"data\":{\"connections\":0}}]}",
+                                new String(writer.toBytes(List.of(down)),StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests the throughput of writing responses of 50 health-checks.
+     */
+    @Test
+    void writeThroughput() throws IOException {
+        List<HealthCheckResponse> responses=createResponses(50);
+        OutputStream out=OutputStream.nullOutputStream();
+        int count=20_000;
+        List<byte[]> documents=new ArrayList<>();
+        for (boolean preRendering: new boolean[]{false,true}) {
+            HealthResponseJsonWriter writer=HealthResponseJsonWriter.builder().preRendering(preRendering).build();
+            for (int i=0; i<count/4; i++) {
+                writer.write(responses,out);
+            }
+            long start=System.nanoTime();
+            for (int i=0; i<count; i++) {
+                writer.write(responses,out);
+            }
+            long end=System.nanoTime();
+            ByteArrayOutputStream document=new ByteArrayOutputStream();
+            writer.write(responses,document);
+            documents.add(document.toByteArray());
+            log.info("Documents of 50 health-checks per second; pre-rendering is {}, rate is {}, size is {} bytes.",
+                     preRendering,Math.round(count*1.0e9/(end-start)),document.size());
+        }
+        Assertions.assertArrayEquals(documents.get(0),documents.get(1));
+        String document=new String(documents.get(0),StandardCharsets.UTF_8);
+        Assertions.assertTrue(document.startsWith("{\"status\":\"UP\",\"checks\":[{\"name\":\"check-0\",\"status\":\"UP\",\"data\":{\"host\":\"server-0.example.com\",\"latency\":0,\"pooled\":true}},"));
+        Assertions.assertTrue(document.endsWith("{\"name\":\"check-49\",\"status\":\"UP\",\"data\":{\"host\":\"server-49.example.com\",\"latency\":343,\"pooled\":false}}]}"));
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.management;
+
+import javax.management.ObjectName;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Index of object-name patterns, each associated with a value, for matching object names against all patterns.
+ * <p>
+ *     Patterns are placed in a trie by the literal prefix of their domain, up to the first wildcard.
+ *     Within each domain, patterns are indexed by one of their key properties with a value not being a pattern,
+ *     the one shared by the fewest patterns at the time of insertion.
+ *     Matching an object name walks the trie along its domain, and looks up its key properties in the
+ *     indexes found; only the patterns found this way are checked by {@link ObjectName#apply(ObjectName)}.
+ *     Patterns without any key property usable for indexing, like {@code domain:*}, are always checked within
+ *     their domain.
+ * </p>
+ * <p>
+ *     Patterns may be added and removed at any time; nodes of the trie left empty by removals are pruned.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ * @param <V> Type of values.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class ObjectNameIndex<V> {
+    /**
+     * Indexed pattern.
+     * @param pattern Pattern.
+     * @param value Value.
+     * @param anchorKey Key of the key property indexing the pattern.
+     *                  This is {@code null} for patterns not indexed by a key property.
+     * @param anchorValue Value of the key property indexing the pattern.
+     * @param <V> Type of value.
+     */
+    private record Entry<V>(ObjectName pattern,
+                            V value,
+                            String anchorKey,
+                            String anchorValue) {
+    }
+
+    /**
+     * Patterns of one domain, indexed by key property.
+     * @param <V> Type of values.
+     */
+    private static final class PropertyIndex<V> {
+        /**
+         * Patterns by key and value of a key property.
+         */
+        private final Map<String,Map<String,List<Entry<V>>>> entriesByProperty=new HashMap<>();
+
+        /**
+         * Patterns not indexed by a key property.
+         */
+        private final List<Entry<V>> unindexedEntries=new ArrayList<>();
+
+        private int size;
+
+        private Entry<V> add(ObjectName pattern,
+                             V value) {
+            String anchorKey=null;
+            String anchorValue=null;
+            int anchorSize=Integer.MAX_VALUE;
+            for (Map.Entry<String,String> property: pattern.getKeyPropertyList().entrySet()) {
+                String key=property.getKey();
+                if (!pattern.isPropertyValuePattern(key)) {
+                    int count=getEntries(key,property.getValue()).size();
+                    if (count<anchorSize) {
+                        anchorKey=key;
+                        anchorValue=property.getValue();
+                        anchorSize=count;
+                    }
+                }
+            }
+            Entry<V> entry=new Entry<>(pattern,value,anchorKey,anchorValue);
+            if (anchorKey==null) {
+                unindexedEntries.add(entry);
+            } else {
+                entriesByProperty.computeIfAbsent(anchorKey,k->new HashMap<>()).computeIfAbsent(anchorValue,v->new ArrayList<>()).add(entry);
+            }
+            size++;
+            return entry;
+        }
+
+        private void remove(Entry<V> entry) {
+            if (entry.anchorKey()==null) {
+                unindexedEntries.remove(entry);
+            } else {
+                Map<String,List<Entry<V>>> entriesByValue=entriesByProperty.get(entry.anchorKey());
+                List<Entry<V>> entries=entriesByValue.get(entry.anchorValue());
+                entries.remove(entry);
+                if (entries.isEmpty()) {
+                    entriesByValue.remove(entry.anchorValue());
+                    if (entriesByValue.isEmpty()) {
+                        entriesByProperty.remove(entry.anchorKey());
+                    }
+                }
+            }
+            size--;
+        }
+
+        private List<Entry<V>> getEntries(String key,
+                                          String value) {
+            Map<String,List<Entry<V>>> entriesByValue=entriesByProperty.get(key);
+            if (entriesByValue==null) {
+                return List.of();
+            }
+            List<Entry<V>> entries=entriesByValue.get(value);
+            return entries==null?List.of():entries;
+        }
+
+        private void match(ObjectName name,
+                           Hashtable<String,String> properties,
+                           BiConsumer<ObjectName,V> consumer) {
+            for (Entry<V> entry: unindexedEntries) {
+                if (entry.pattern().apply(name)) {
+                    consumer.accept(entry.pattern(),entry.value());
+                }
+            }
+            if (!entriesByProperty.isEmpty()) {
+                for (Map.Entry<String,String> property: properties.entrySet()) {
+                    Map<String,List<Entry<V>>> entriesByValue=entriesByProperty.get(property.getKey());
+                    if (entriesByValue!=null) {
+                        List<Entry<V>> entries=entriesByValue.get(property.getValue());
+                        if (entries!=null) {
+                            for (Entry<V> entry: entries) {
+                                if (entry.pattern().apply(name)) {
+                                    consumer.accept(entry.pattern(),entry.value());
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Node of the domain trie.
+     * The path of a node is a literal domain prefix.
+     * @param <V> Type of values.
+     */
+    private static final class DomainNode<V> {
+        private final Map<Character,DomainNode<V>> children=new HashMap<>();
+
+        /**
+         * Patterns whose domain is the path of this node.
+         */
+        private final PropertyIndex<V> literalIndex=new PropertyIndex<>();
+
+        /**
+         * Patterns whose domain is a pattern with the path of this node as literal prefix, by domain.
+         */
+        private final Map<String,PropertyIndex<V>> patternIndexes=new HashMap<>();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && literalIndex.size==0 && patternIndexes.isEmpty();
+        }
+
+        private int getNodeCount() {
+            int count=1;
+            for (DomainNode<V> child: children.values()) {
+                count+=child.getNodeCount();
+            }
+            return count;
+        }
+    }
+
+    private final DomainNode<V> root=new DomainNode<>();
+
+    /**
+     * Indexed patterns by pattern.
+     */
+    private final Map<ObjectName,Entry<V>> entries=new HashMap<>();
+
+    private final Lock readLock;
+    private final Lock writeLock;
+
+    /**
+     * Constructor.
+     */
+    public ObjectNameIndex() {
+        ReadWriteLock lock=new ReentrantReadWriteLock();
+        this.readLock=lock.readLock();
+        this.writeLock=lock.writeLock();
+    }
+
+    private static int getLiteralPrefixLength(String domain) {
+        for (int i=0; i<domain.length(); i++) {
+            char c=domain.charAt(i);
+            if (c=='*' || c=='?') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private PropertyIndex<V> getPropertyIndex(String domain) {
+        int literalPrefixLength=getLiteralPrefixLength(domain);
+        int pathLength=literalPrefixLength<0?domain.length():literalPrefixLength;
+        DomainNode<V> node=root;
+        for (int i=0; i<pathLength; i++) {
+            node=node.children.computeIfAbsent(domain.charAt(i),k->new DomainNode<>());
+        }
+        if (literalPrefixLength<0) {
+            return node.literalIndex;
+        } else {
+            return node.patternIndexes.computeIfAbsent(domain,d->new PropertyIndex<>());
+        }
+    }
+
+    /**
+     * Adds a pattern, replacing the value of an existing pattern.
+     * @param pattern Pattern.
+     *                This may also be an object name not being a pattern.
+     * @param value Value.
+     * @return Value replaced.
+     *         This is {@code null} if the pattern was not present.
+     */
+    public V put(ObjectName pattern,
+                 V value) {
+        Objects.requireNonNull(pattern,"Failure to add pattern; pattern is not set!");
+        writeLock.lock();
+        try {
+            V replaced=removeEntry(pattern);
+            PropertyIndex<V> propertyIndex=getPropertyIndex(pattern.getDomain());
+            entries.put(pattern,propertyIndex.add(pattern,value));
+            return replaced;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a pattern.
+     * @param pattern Pattern.
+     * @return Value removed.
+     *         This is {@code null} if the pattern was not present.
+     */
+    public V remove(ObjectName pattern) {
+        writeLock.lock();
+        try {
+            return removeEntry(pattern);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private V removeEntry(ObjectName pattern) {
+        Entry<V> entry=entries.remove(pattern);
+        if (entry==null) {
+            return null;
+        }
+        String domain=pattern.getDomain();
+        int literalPrefixLength=getLiteralPrefixLength(domain);
+        int pathLength=literalPrefixLength<0?domain.length():literalPrefixLength;
+        List<DomainNode<V>> path=new ArrayList<>(pathLength+1);
+        DomainNode<V> node=root;
+        path.add(node);
+        for (int i=0; i<pathLength; i++) {
+            node=node.children.get(domain.charAt(i));
+            path.add(node);
+        }
+        if (literalPrefixLength<0) {
+            node.literalIndex.remove(entry);
+        } else {
+            PropertyIndex<V> propertyIndex=node.patternIndexes.get(domain);
+            propertyIndex.remove(entry);
+            if (propertyIndex.size==0) {
+                node.patternIndexes.remove(domain);
+            }
+        }
+        for (int i=pathLength; i>0 && path.get(i).isEmpty(); i--) {
+            path.get(i-1).children.remove(domain.charAt(i-1));
+        }
+        return entry.value();
+    }
+
+    /**
+     * Gets the number of nodes of the domain trie, including the root.
+     * @return Number of nodes.
+     */
+    int getDomainNodeCount() {
+        readLock.lock();
+        try {
+            return root.getNodeCount();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of patterns.
+     * @return Number of patterns.
+     */
+    public int size() {
+        readLock.lock();
+        try {
+            return entries.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Finds the patterns matching an object name.
+     * @param name Object name.
+     *             This must not be a pattern.
+     * @param consumer Consumer of matching patterns and their values.
+     *                 This must not modify this index.
+     */
+    public void match(ObjectName name,
+                      BiConsumer<ObjectName,V> consumer) {
+        String domain=name.getDomain();
+        Hashtable<String,String> properties=name.getKeyPropertyList();
+        readLock.lock();
+        try {
+            DomainNode<V> node=root;
+            int i=0;
+            while (true) {
+                for (PropertyIndex<V> propertyIndex: node.patternIndexes.values()) {
+                    propertyIndex.match(name,properties,consumer);
+                }
+                if (i==domain.length()) {
+                    node.literalIndex.match(name,properties,consumer);
+                    break;
+                }
+                node=node.children.get(domain.charAt(i++));
+                if (node==null) {
+                    break;
+                }
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Finds the values of the patterns matching an object name.
+     * @param name Object name.
+     *             This must not be a pattern.
+     * @return Values of matching patterns.
+     */
+    public List<V> match(ObjectName name) {
+        List<V> values=new ArrayList<>();
+        match(name,(pattern,value)->values.add(value));
+        return values;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.management.collect;
+
+import com.yelstream.topp.standard.management.MBeanServerConnections;
+import lombok.Singular;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.Attribute;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Collector of the attributes of the MBeans matching an object name across MBean server connections.
+ * <p>
+ *     Each connection is collected by its own task, in parallel.
+ *     For each connection, the object names are queried once, and the attributes of each MBean are fetched by
+ *     one call; the names of the readable attributes are kept by a {@link MBeanInfoCache} of the connection.
+ *     Over remote connectors this makes one round-trip per MBean, plus one for each MBean not cached.
+ * </p>
+ * <p>
+ *     MBeans unregistered while being collected, or failing to provide their attributes, are left out.
+ *     Failures of connections, including runtime exceptions, are reported per connection.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class MBeanCollector implements AutoCloseable {
+    /**
+     * Holder of the default executor, created on first use.
+     */
+    private static final class DefaultExecutor {
+        private static final ExecutorService INSTANCE=Executors.newCachedThreadPool(runnable->{
+            Thread thread=new Thread(runnable,"mbean-collector");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Attributes of one MBean.
+     * @param objectName Object name of MBean.
+     * @param attributes Attributes.
+     */
+    public record MBeanSample(ObjectName objectName,
+                              List<Attribute> attributes) {
+    }
+
+    /**
+     * Attributes of the MBeans of one connection.
+     * @param connection Connection.
+     * @param samples Attributes of MBeans.
+     *                This is empty upon failure.
+     * @param failure Failure to collect.
+     *                Runtime exceptions are wrapped.
+     *                This is {@code null} upon success.
+     */
+    public record ConnectionSample(MBeanServerConnection connection,
+                                   List<MBeanSample> samples,
+                                   IOException failure) {
+        /**
+         * Indicates if the collection succeeded.
+         * @return Indicates if succeeded.
+         */
+        public boolean isSuccess() {
+            return failure==null;
+        }
+    }
+
+    private final List<MBeanInfoCache> caches;
+    private final Executor executor;
+
+    private MBeanCollector(List<MBeanInfoCache> caches,
+                           Executor executor) {
+        this.caches=caches;
+        this.executor=executor;
+    }
+
+    /**
+     * Creates a collector.
+     * @param connections Connections to MBean servers.
+     * @param executor Executor of the collection of each connection.
+     *                 The default is a shared pool of daemon threads.
+     * @return Created collector.
+     * @throws IOException Thrown in case of failure to listen for registrations of MBeans.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static MBeanCollector createByBuilder(@Singular List<MBeanServerConnection> connections,
+                                                  Executor executor) throws IOException {
+        if (executor==null) {
+            executor=DefaultExecutor.INSTANCE;
+        }
+        List<MBeanInfoCache> caches=new ArrayList<>(connections.size());
+        try {
+            for (MBeanServerConnection connection: connections) {
+                caches.add(MBeanInfoCache.of(connection));
+            }
+        } catch (IOException ex) {
+            caches.forEach(MBeanInfoCache::close);
+            throw ex;
+        }
+        return new MBeanCollector(List.copyOf(caches),executor);
+    }
+
+    /**
+     * Gets the caches of MBean information, one per connection.
+     * @return Caches.
+     */
+    public List<MBeanInfoCache> getCaches() {
+        return caches;
+    }
+
+    /**
+     * Collects the readable attributes of MBeans.
+     * @param objectName Object name, possibly a pattern, of MBeans.
+     * @return Handle to the attributes by connection, in the order of the connections.
+     */
+    public CompletableFuture<List<ConnectionSample>> collect(ObjectName objectName) {
+        return collect(objectName,null);
+    }
+
+    /**
+     * Collects attributes of MBeans.
+     * @param objectName Object name, possibly a pattern, of MBeans.
+     * @param attributeNames Names of attributes.
+     *                       If {@code null}, all readable attributes are collected.
+     * @return Handle to the attributes by connection, in the order of the connections.
+     */
+    public CompletableFuture<List<ConnectionSample>> collect(ObjectName objectName,
+                                                             List<String> attributeNames) {
+        Objects.requireNonNull(objectName,"Failure to collect; object name is not set!");
+        List<CompletableFuture<ConnectionSample>> futures=new ArrayList<>(caches.size());
+        for (MBeanInfoCache cache: caches) {
+            futures.add(CompletableFuture.supplyAsync(()->collect(cache,objectName,attributeNames),executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                                .thenApply(ignored->futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    private static ConnectionSample collect(MBeanInfoCache cache,
+                                            ObjectName objectName,
+                                            List<String> attributeNames) {
+        MBeanServerConnection connection=cache.getConnection();
+        try {
+            List<MBeanSample> samples=new ArrayList<>();
+            for (ObjectName name: connection.queryNames(objectName,null)) {
+                try {
+                    List<String> names=attributeNames!=null?attributeNames:cache.getAttributeNamesReadable(name);
+                    samples.add(new MBeanSample(name,MBeanServerConnections.getAttributes(connection,name,names)));
+                } catch (IOException ex) {
+                    if (!(ex.getCause() instanceof JMException)) {
+                        throw ex;
+                    }
+                    log.debug("Failure to collect MBean; object name is {}!",name,ex);
+                    if (ex.getCause() instanceof InstanceNotFoundException) {
+                        cache.invalidate(name);
+                    }
+                }
+            }
+            return new ConnectionSample(connection,List.copyOf(samples),null);
+        } catch (IOException ex) {
+            cache.invalidateAll();  //Yes, notifications may have been lost!
+            return new ConnectionSample(connection,List.of(),ex);
+        } catch (RuntimeException ex) {
+            cache.invalidateAll();
+            return new ConnectionSample(connection,List.of(),new IOException("Failure to collect; object name is '%s'!".formatted(objectName),ex));
+        }
+    }
+
+    /**
+     * Stops listening for registrations of MBeans.
+     */
+    @Override
+    public void close() {
+        caches.forEach(MBeanInfoCache::close);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.management.collect;
+
+import com.yelstream.topp.standard.management.MBeanServerConnections;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.ListenerNotFoundException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServerConnection;
+import javax.management.MBeanServerDelegate;
+import javax.management.MBeanServerNotification;
+import javax.management.Notification;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
+import javax.management.relation.MBeanServerNotificationFilter;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of MBean information of the MBeans of one MBean server connection.
+ * <p>
+ *     Cached information is dropped when the MBean server notifies that the MBean is registered or unregistered.
+ *     Information declaring itself mutable through the descriptor field {@code immutableInfo} is not cached.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class MBeanInfoCache implements AutoCloseable {
+    /**
+     * Statistics of a cache.
+     * @param hitCount Number of lookups served from the cache.
+     * @param missCount Number of lookups fetching information.
+     * @param invalidationCount Number of cached entries dropped.
+     * @param size Number of cached entries.
+     */
+    public record Statistics(long hitCount,
+                             long missCount,
+                             long invalidationCount,
+                             int size) {
+    }
+
+    /**
+     * Cached information.
+     * @param info MBean information.
+     * @param readableAttributeNames Names of readable attributes.
+     */
+    private record Entry(MBeanInfo info,
+                         List<String> readableAttributeNames) {
+        private static Entry of(MBeanInfo info) {
+            return new Entry(info,MBeanServerConnections.getAttributeNamesReadable(MBeanServerConnections.getAttributeInfos(info)));
+        }
+    }
+
+    private final MBeanServerConnection connection;
+    private final ConcurrentMap<ObjectName,Entry> entries=new ConcurrentHashMap<>();
+    private final NotificationListener listener=this::handleNotification;
+
+    private final LongAdder hitCount=new LongAdder();
+    private final LongAdder missCount=new LongAdder();
+    private final LongAdder invalidationCount=new LongAdder();
+
+    /**
+     * Number of invalidations, detecting invalidations racing with fetching information.
+     */
+    private final AtomicLong generation=new AtomicLong();
+
+    private MBeanInfoCache(MBeanServerConnection connection) {
+        this.connection=connection;
+    }
+
+    /**
+     * Creates a cache listening for registration notifications of an MBean server.
+     * @param connection Connection to MBean server.
+     * @return Created cache.
+     * @throws IOException Thrown in case of failure to communicate with the MBean server.
+     */
+    public static MBeanInfoCache of(MBeanServerConnection connection) throws IOException {
+        MBeanInfoCache cache=new MBeanInfoCache(connection);
+        MBeanServerNotificationFilter filter=new MBeanServerNotificationFilter();
+        filter.enableAllObjectNames();
+        try {
+            connection.addNotificationListener(MBeanServerDelegate.DELEGATE_NAME,cache.listener,filter,null);
+        } catch (InstanceNotFoundException ex) {
+            throw new IOException("Failure to listen for registrations; object name is %s!".formatted(MBeanServerDelegate.DELEGATE_NAME),ex);
+        }
+        return cache;
+    }
+
+    /**
+     * Gets the connection to the MBean server.
+     * @return Connection.
+     */
+    public MBeanServerConnection getConnection() {
+        return connection;
+    }
+
+    private void handleNotification(Notification notification,
+                                    Object handback) {
+        if (notification instanceof MBeanServerNotification mbeanServerNotification) {
+            invalidate(mbeanServerNotification.getMBeanName());
+        }
+    }
+
+    private Entry getEntry(ObjectName objectName) throws IOException {
+        Entry entry=entries.get(objectName);
+        if (entry!=null) {
+            hitCount.increment();
+            return entry;
+        }
+        missCount.increment();
+        long currentGeneration=generation.get();
+        MBeanInfo info=MBeanServerConnections.getInfo(connection,objectName);
+        entry=Entry.of(info);
+        if (isImmutable(info)) {
+            entries.put(objectName,entry);
+            if (generation.get()!=currentGeneration) {
+                entries.remove(objectName,entry);  //Yes, the MBean may have been re-registered while fetching!
+            }
+        }
+        return entry;
+    }
+
+    private static boolean isImmutable(MBeanInfo info) {
+        Object immutableInfo=info.getDescriptor().getFieldValue("immutableInfo");
+        return !"false".equalsIgnoreCase(String.valueOf(immutableInfo));
+    }
+
+    /**
+     * Gets the information of an MBean.
+     * @param objectName Object name of MBean.
+     * @return MBean information.
+     * @throws IOException Thrown in case of failure to get the information.
+     */
+    public MBeanInfo getInfo(ObjectName objectName) throws IOException {
+        return getEntry(objectName).info();
+    }
+
+    /**
+     * Gets the names of the readable attributes of an MBean.
+     * @param objectName Object name of MBean.
+     * @return Attribute names.
+     * @throws IOException Thrown in case of failure to get the information.
+     */
+    public List<String> getAttributeNamesReadable(ObjectName objectName) throws IOException {
+        return getEntry(objectName).readableAttributeNames();
+    }
+
+    /**
+     * Drops the information of an MBean.
+     * @param objectName Object name of MBean.
+     */
+    public void invalidate(ObjectName objectName) {
+        generation.incrementAndGet();
+        if (entries.remove(objectName)!=null) {
+            invalidationCount.increment();
+        }
+    }
+
+    /**
+     * Drops all information.
+     * This is to be used when notifications may have been lost, e.g. upon reconnection.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        int size=entries.size();
+        entries.clear();
+        invalidationCount.add(size);
+    }
+
+    /**
+     * Gets the statistics of this cache.
+     * @return Statistics.
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hitCount.sum(),missCount.sum(),invalidationCount.sum(),entries.size());
+    }
+
+    /**
+     * Stops listening for registration notifications.
+     */
+    @Override
+    public void close() {
+        try {
+            connection.removeNotificationListener(MBeanServerDelegate.DELEGATE_NAME,listener);
+        } catch (InstanceNotFoundException|ListenerNotFoundException|IOException ex) {
+            log.debug("Failure to stop listening for registrations; object name is {}!",MBeanServerDelegate.DELEGATE_NAME,ex);
+        }
+        entries.clear();
+    }
+}
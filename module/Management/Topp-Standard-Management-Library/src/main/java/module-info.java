@@ -28,4 +28,5 @@ module com.yelstream.topp.standard.management {
     requires org.slf4j;
     requires java.management;
     exports com.yelstream.topp.standard.management;
+    exports com.yelstream.topp.standard.management.collect;
 }
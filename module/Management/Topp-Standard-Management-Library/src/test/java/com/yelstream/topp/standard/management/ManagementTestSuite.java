@@ -19,6 +19,7 @@
 
 package com.yelstream.topp.standard.management;
 
+import com.yelstream.topp.standard.management.collect.MBeanCollectorTest;
 import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
 
@@ -30,6 +31,6 @@ import org.junit.platform.suite.api.Suite;
  * @since 2025-02-07
  */
 @Suite
-@SelectClasses({ObjectNamesTest.class})
+@SelectClasses({ObjectNamesTest.class,ObjectNameIndexTest.class,MBeanCollectorTest.class})
 class ManagementTestSuite {
 }
@@ -0,0 +1,219 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.management;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tests {@link ObjectNameIndex}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class ObjectNameIndexTest {
+    private static final String[] DOMAINS={"org.apache.activemq","org.apache.activemq.artemis","java.lang","com.example","com.example.app"};
+    private static final String[] TYPES={"Broker","Queue","Topic","Connection","Memory","Threading"};
+
+    private static List<ObjectName> createNames(int count,
+                                                Random random) throws MalformedObjectNameException {
+        List<ObjectName> names=new ArrayList<>(count);
+        for (int i=0; i<count; i++) {
+            String domain=DOMAINS[random.nextInt(DOMAINS.length)];
+            String type=TYPES[random.nextInt(TYPES.length)];
+            names.add(new ObjectName(domain+":type="+type+",brokerName=broker-"+random.nextInt(10)+",name=mbean-"+i));
+        }
+        return names;
+    }
+
+    private static List<ObjectName> createPatterns(int count,
+                                                   Random random) throws MalformedObjectNameException {
+        List<ObjectName> patterns=new ArrayList<>(count);
+        patterns.add(ObjectName.WILDCARD);
+        patterns.add(new ObjectName("org.apache.*:*"));
+        patterns.add(new ObjectName("java.lang:type=Memory"));
+        patterns.add(new ObjectName("com.example?app:*"));
+        while (patterns.size()<count) {
+            String domain=DOMAINS[random.nextInt(DOMAINS.length)];
+            String type=TYPES[random.nextInt(TYPES.length)];
+            int broker=random.nextInt(10);
+            String pattern=switch (random.nextInt(4)) {
+                case 0 -> domain+":type="+type+",*";
+                case 1 -> domain+":type="+type+",brokerName=broker-"+broker+",*";
+                case 2 -> domain+":type="+type+",brokerName=broker-*,name=*";
+                default -> domain.substring(0,domain.length()/2)+"*:brokerName=broker-"+broker+",*";
+            };
+            patterns.add(new ObjectName(pattern));
+        }
+        return patterns;
+    }
+
+    private static Set<ObjectName> matchLinear(List<ObjectName> patterns,
+                                               ObjectName name) {
+        Set<ObjectName> result=new HashSet<>();
+        for (ObjectName pattern: patterns) {
+            if (pattern.apply(name)) {
+                result.add(pattern);
+            }
+        }
+        return result;
+    }
+
+    private static Set<ObjectName> matchIndex(ObjectNameIndex<ObjectName> index,
+                                              ObjectName name) {
+        Set<ObjectName> result=new HashSet<>();
+        index.match(name,(pattern,value)->Assertions.assertTrue(result.add(pattern)));
+        return result;
+    }
+
+    @Test
+    void matchPatterns() throws MalformedObjectNameException {
+        ObjectNameIndex<String> index=new ObjectNameIndex<>();
+        index.put(ObjectName.WILDCARD,"all");
+        index.put(new ObjectName("org.apache.activemq:type=Broker,*"),"brokers");
+        index.put(new ObjectName("org.apache.activemq:type=Broker,brokerName=b?,*"),"short-brokers");
+        index.put(new ObjectName("org.apache.*:type=Queue,*"),"queues");
+        index.put(new ObjectName("java.lang:type=Memory"),"memory");
+
+        Assertions.assertEquals(Set.of("all","brokers","short-brokers"),
+                                Set.copyOf(index.match(new ObjectName("org.apache.activemq:type=Broker,brokerName=b1"))));
+        Assertions.assertEquals(Set.of("all","brokers"),
+                                Set.copyOf(index.match(new ObjectName("org.apache.activemq:type=Broker,brokerName=broker"))));
+        Assertions.assertEquals(Set.of("all","queues"),
+                                Set.copyOf(index.match(new ObjectName("org.apache.activemq.artemis:type=Queue,name=q"))));
+        Assertions.assertEquals(Set.of("all","memory"),Set.copyOf(index.match(new ObjectName("java.lang:type=Memory"))));
+        Assertions.assertEquals(Set.of("all"),Set.copyOf(index.match(new ObjectName("java.lang:type=Memory,name=x"))));
+        Assertions.assertEquals(Set.of("all"),Set.copyOf(index.match(new ObjectName("org:type=Queue"))));
+    }
+
+    @Test
+    void incrementalUpdates() throws MalformedObjectNameException {
+        ObjectNameIndex<String> index=new ObjectNameIndex<>();
+        ObjectName queues=new ObjectName("org.apache.*:type=Queue,*");
+        ObjectName name=new ObjectName("org.apache.activemq:type=Queue,name=q");
+        Assertions.assertNull(index.put(queues,"queues"));
+        Assertions.assertEquals("queues",index.put(queues,"all-queues"));
+        Assertions.assertEquals(List.of("all-queues"),index.match(name));
+        Assertions.assertEquals(1,index.size());
+
+        Assertions.assertEquals("all-queues",index.remove(queues));
+        Assertions.assertNull(index.remove(queues));
+        Assertions.assertEquals(List.of(),index.match(name));
+        Assertions.assertEquals(0,index.size());
+    }
+
+    /**
+     * Tests that nodes of the domain trie left empty by removals are pruned.
+     */
+    @Test
+    void removalPrunesDomainNodes() throws MalformedObjectNameException {
+        ObjectNameIndex<String> index=new ObjectNameIndex<>();
+        Assertions.assertEquals(1,index.getDomainNodeCount());
+        ObjectName brokers=new ObjectName("org.apache.activemq:type=Broker,*");
+        ObjectName queues=new ObjectName("org.apache.*:type=Queue,*");
+        ObjectName memory=new ObjectName("java.lang:type=Memory");
+        index.put(brokers,"brokers");
+        index.put(queues,"queues");
+        index.put(memory,"memory");
+        Assertions.assertEquals(1+"org.apache.activemq".length()+"java.lang".length(),index.getDomainNodeCount());
+
+        index.remove(brokers);
+        Assertions.assertEquals(1+"org.apache.".length()+"java.lang".length(),index.getDomainNodeCount());
+        Assertions.assertEquals(List.of("queues"),index.match(new ObjectName("org.apache.activemq:type=Queue,name=q")));
+        index.remove(queues);
+        index.remove(memory);
+        Assertions.assertEquals(1,index.getDomainNodeCount());
+        Assertions.assertEquals(0,index.size());
+    }
+
+    /**
+     * Tests that matching by the index agrees with matching every pattern, as patterns are added and removed.
+     */
+    @Test
+    void matchAgreesWithLinear() throws MalformedObjectNameException {
+        Random random=new Random(42L);
+        List<ObjectName> names=createNames(2_000,random);
+        List<ObjectName> patterns=new ArrayList<>(createPatterns(200,random));
+        ObjectNameIndex<ObjectName> index=new ObjectNameIndex<>();
+        patterns.forEach(pattern->index.put(pattern,pattern));
+        patterns=new ArrayList<>(new HashSet<>(patterns));
+        for (ObjectName name: names) {
+            Assertions.assertEquals(matchLinear(patterns,name),matchIndex(index,name),"Name is "+name+"!");
+        }
+
+        for (int i=0; i<patterns.size(); i+=2) {
+            index.remove(patterns.get(i));
+        }
+        List<ObjectName> remaining=new ArrayList<>();
+        for (int i=1; i<patterns.size(); i+=2) {
+            remaining.add(patterns.get(i));
+        }
+        for (ObjectName name: names) {
+            Assertions.assertEquals(matchLinear(remaining,name),matchIndex(index,name),"Name is "+name+"!");
+        }
+    }
+
+    /**
+     * Tests the throughput of matching 10k MBeans against subscribed patterns, compared to checking every pattern.
+     */
+    @Test
+    void matchThroughput() throws MalformedObjectNameException {
+        Random random=new Random(7L);
+        List<ObjectName> names=createNames(10_000,random);
+        for (int patternCount: new int[]{50,500}) {
+            List<ObjectName> patterns=List.copyOf(new LinkedHashSet<>(createPatterns(patternCount,random)));  //Yes, distinct; the index keeps one entry per pattern!
+            ObjectNameIndex<ObjectName> index=new ObjectNameIndex<>();
+            patterns.forEach(pattern->index.put(pattern,pattern));
+
+            int[] counts=new int[2];
+            long start=System.nanoTime();
+            for (ObjectName name: names) {
+                for (ObjectName pattern: patterns) {
+                    if (pattern.apply(name)) {
+                        counts[0]++;
+                    }
+                }
+            }
+            long linearNanos=System.nanoTime()-start;
+
+            start=System.nanoTime();
+            for (ObjectName name: names) {
+                index.match(name,(pattern,value)->counts[1]++);
+            }
+            long indexNanos=System.nanoTime()-start;
+
+            log.info("Matching 10k MBeans against {} patterns; linear is {} ms, index is {} ms, matches are {}.",
+                     patterns.size(),linearNanos/1_000_000,indexNanos/1_000_000,Map.of("linear",counts[0],"index",counts[1]));
+            Assertions.assertEquals(counts[0],counts[1]);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.management.collect;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.Attribute;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXConnectorServer;
+import javax.management.remote.JMXConnectorServerFactory;
+import javax.management.remote.JMXServiceURL;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Test of {@link MBeanCollector} and {@link MBeanInfoCache}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+class MBeanCollectorTest {
+    /**
+     * Management interface of the test MBean.
+     */
+    @SuppressWarnings("unused")
+    public interface CounterMBean {
+        long getCount();
+
+        String getLabel();
+
+        void setThreshold(int threshold);
+    }
+
+    /**
+     * Test MBean.
+     */
+    public static class Counter implements CounterMBean {
+        private final long count;
+
+        public Counter(long count) {
+            this.count=count;
+        }
+
+        @Override
+        public long getCount() {
+            return count;
+        }
+
+        @Override
+        public String getLabel() {
+            return "counter-"+count;
+        }
+
+        @Override
+        public void setThreshold(int threshold) {
+            //Nothing!
+        }
+    }
+
+    private static final int MBEAN_COUNT=20;
+
+    private final MBeanServer server=ManagementFactory.getPlatformMBeanServer();
+    private ObjectName pattern;
+
+    @BeforeEach
+    void registerMBeans() throws JMException {
+        pattern=new ObjectName("com.yelstream.topp.test:type=Counter,*");
+        for (int i=0; i<MBEAN_COUNT; i++) {
+            server.registerMBean(new Counter(i),createName(i));
+        }
+    }
+
+    @AfterEach
+    void unregisterMBeans() throws JMException {
+        for (ObjectName name: server.queryNames(pattern,null)) {
+            server.unregisterMBean(name);
+        }
+    }
+
+    private static ObjectName createName(int index) throws JMException {
+        return new ObjectName("com.yelstream.topp.test:type=Counter,name=counter-"+index);
+    }
+
+    private static Map<ObjectName,Map<String,Object>> toMap(MBeanCollector.ConnectionSample sample) {
+        return sample.samples().stream().collect(Collectors.toMap(MBeanCollector.MBeanSample::objectName,
+                                                                  s->s.attributes().stream().collect(Collectors.toMap(Attribute::getName,Attribute::getValue))));
+    }
+
+    /**
+     * Tests collecting the readable attributes of MBeans of the platform MBean server.
+     */
+    @Test
+    void collectPlatform() throws IOException, JMException {
+        try (MBeanCollector collector=MBeanCollector.builder().connection(server).build()) {
+            List<MBeanCollector.ConnectionSample> samples=collector.collect(pattern).join();
+            Assertions.assertEquals(1,samples.size());
+            Assertions.assertTrue(samples.get(0).isSuccess());
+            Map<ObjectName,Map<String,Object>> values=toMap(samples.get(0));
+            Assertions.assertEquals(MBEAN_COUNT,values.size());
+            Assertions.assertEquals(Map.of("Count",7L,"Label","counter-7"),values.get(createName(7)));
+
+            collector.collect(pattern).join();
+            MBeanInfoCache.Statistics statistics=collector.getCaches().get(0).getStatistics();
+            Assertions.assertEquals(MBEAN_COUNT,statistics.missCount());
+            Assertions.assertEquals(MBEAN_COUNT,statistics.hitCount());
+            Assertions.assertEquals(MBEAN_COUNT,statistics.size());
+
+            server.unregisterMBean(createName(3));
+            Assertions.assertEquals(MBEAN_COUNT-1,collector.getCaches().get(0).getStatistics().size());
+            Assertions.assertEquals(MBEAN_COUNT-1,toMap(collector.collect(pattern).join().get(0)).size());
+        }
+    }
+
+    /**
+     * Tests collecting named attributes.
+     */
+    @Test
+    void collectAttributeNames() throws IOException {
+        try (MBeanCollector collector=MBeanCollector.builder().connection(server).build()) {
+            Map<ObjectName,Map<String,Object>> values=toMap(collector.collect(pattern,List.of("Count")).join().get(0));
+            Assertions.assertEquals(MBEAN_COUNT,values.size());
+            values.values().forEach(attributes->Assertions.assertEquals(List.of("Count"),List.copyOf(attributes.keySet())));
+            Assertions.assertEquals(0,collector.getCaches().get(0).getStatistics().missCount());
+        }
+    }
+
+    /**
+     * Tests that a runtime exception of one connection is reported for that connection only.
+     */
+    @Test
+    void collectFailingConnection() throws IOException {
+        MBeanServerConnection failingConnection=(MBeanServerConnection)Proxy.newProxyInstance(getClass().getClassLoader(),new Class<?>[]{MBeanServerConnection.class},(proxy,method,args)->{
+            if (method.getName().equals("queryNames")) {
+                throw new IllegalStateException("Connection lost");
+            }
+            try {
+                return method.invoke(server,args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        });
+        try (MBeanCollector collector=MBeanCollector.builder().connection(server).connection(failingConnection).build()) {
+            List<MBeanCollector.ConnectionSample> samples=collector.collect(pattern).join();
+            Assertions.assertEquals(2,samples.size());
+            Assertions.assertTrue(samples.get(0).isSuccess());
+            Assertions.assertEquals(MBEAN_COUNT,samples.get(0).samples().size());
+            Assertions.assertFalse(samples.get(1).isSuccess());
+            Assertions.assertTrue(samples.get(1).samples().isEmpty());
+            Assertions.assertInstanceOf(IllegalStateException.class,samples.get(1).failure().getCause());
+        }
+    }
+
+    /**
+     * Tests collecting across the platform MBean server and a connector server on loopback, in parallel.
+     */
+    @Test
+    void collectLoopback() throws IOException, JMException, InterruptedException {
+        JMXConnectorServer connectorServer=JMXConnectorServerFactory.newJMXConnectorServer(new JMXServiceURL("service:jmx:rmi://localhost"),null,server);
+        connectorServer.start();
+        try (JMXConnector connector=JMXConnectorFactory.connect(connectorServer.getAddress())) {
+            MBeanServerConnection remoteConnection=connector.getMBeanServerConnection();
+            try (MBeanCollector collector=MBeanCollector.builder().connection(server).connection(remoteConnection).build()) {
+                List<MBeanCollector.ConnectionSample> samples=collector.collect(pattern).join();
+                Assertions.assertEquals(2,samples.size());
+                Assertions.assertSame(remoteConnection,samples.get(1).connection());
+                Assertions.assertTrue(samples.get(1).isSuccess());
+                Assertions.assertEquals(toMap(samples.get(0)),toMap(samples.get(1)));
+
+                MBeanInfoCache remoteCache=collector.getCaches().get(1);
+                Assertions.assertEquals(MBEAN_COUNT,remoteCache.getStatistics().size());
+                server.unregisterMBean(createName(5));
+                long deadline=System.nanoTime()+TimeUnit.SECONDS.toNanos(10);
+                while (remoteCache.getStatistics().size()!=MBEAN_COUNT-1 && System.nanoTime()<deadline) {
+                    Thread.sleep(20);
+                }
+                Assertions.assertEquals(MBEAN_COUNT-1,remoteCache.getStatistics().size());
+
+                ObjectName threading=new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME);
+                MBeanCollector.ConnectionSample threadingSample=collector.collect(threading).join().get(1);
+                Assertions.assertTrue(threadingSample.isSuccess());
+                Assertions.assertEquals(1,threadingSample.samples().size());
+            }
+        } finally {
+            connectorServer.stop();
+        }
+    }
+}
@@ -19,6 +19,7 @@
 
 package com.yelstream.topp.standard.messaging.apache.activemq.classic;
 
+import com.yelstream.topp.standard.messaging.jakarta.jms.pool.PooledConnectionFactory;
 import lombok.experimental.UtilityClass;
 import org.apache.activemq.ActiveMQConnectionFactory;
 
@@ -64,4 +65,22 @@ public class ActiveMQConnectionFactories {
     public static ActiveMQConnectionFactory of(String brokerURL) {
         return of(URI.create(brokerURL));
     }
+
+    /**
+     * Creates a pooled connection factory with default pool settings.
+     * @param brokerURL Broker URL.
+     * @return Created connection factory.
+     */
+    public static PooledConnectionFactory pooled(URI brokerURL) {
+        return PooledConnectionFactory.of(of(brokerURL));
+    }
+
+    /**
+     * Creates a pooled connection factory with default pool settings.
+     * @param brokerURL Broker URL.
+     * @return Created connection factory.
+     */
+    public static PooledConnectionFactory pooled(String brokerURL) {
+        return pooled(URI.create(brokerURL));
+    }
 }
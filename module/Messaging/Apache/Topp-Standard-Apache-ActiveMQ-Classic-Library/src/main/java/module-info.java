@@ -34,5 +34,6 @@ module com.yelstream.topp.standard.messaging.apache.activemq.classic {
     requires java.naming;
     requires jakarta.messaging;
     requires activemq.client;
+    requires transitive com.yelstream.topp.standard.messaging.jakarta.jms;
     exports com.yelstream.topp.standard.messaging.apache.activemq.classic;
 }
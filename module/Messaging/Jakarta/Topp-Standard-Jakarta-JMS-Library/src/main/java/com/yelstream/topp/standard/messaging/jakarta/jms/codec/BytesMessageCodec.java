@@ -0,0 +1,363 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.jakarta.jms.codec;
+
+import jakarta.jms.BytesMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Codec of payloads carried by bytes messages.
+ * <p>
+ *     Payloads are written directly into a reusable, growable buffer which is copied into the message once,
+ *     avoiding the materialization of payloads as strings.
+ *     Payloads of a size at or above a threshold are compressed, and the compression is flagged by the
+ *     {@value #CONTENT_ENCODING_PROPERTY} property of the message.
+ *     Decoding reads the message body into a reusable buffer and lets the payload reader read it as a stream.
+ * </p>
+ * <p>
+ *     The size of payloads is bounded by a maximum, when encoding as well as when decoding.
+ *     The uncompressed size announced by a message is not trusted beyond the maximum,
+ *     and decompression stops when the maximum is exceeded.
+ * </p>
+ * <p>
+ *     Buffers and compressors are held by a bounded pool of workspaces, each used by one thread at a time.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ * @param <T> Type of payload.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class BytesMessageCodec<T> {
+    /**
+     * Name of the message property holding the compression of the body.
+     * A missing property indicates no compression.
+     */
+    public static final String CONTENT_ENCODING_PROPERTY="Topp_ContentEncoding";
+
+    /**
+     * Name of the message property holding the uncompressed size of a compressed body.
+     */
+    public static final String CONTENT_LENGTH_PROPERTY="Topp_ContentLength";
+
+    private final PayloadWriter<T> writer;
+    private final PayloadReader<T> reader;
+    private final PayloadCompression compression;
+    private final int compressionThreshold;
+    private final int compressionLevel;
+    private final int initialBufferSize;
+    private final int maxRetainedBufferSize;
+    private final int maxContentSize;
+    private final BlockingQueue<Workspace> workspaces;
+
+    private BytesMessageCodec(PayloadWriter<T> writer,
+                              PayloadReader<T> reader,
+                              PayloadCompression compression,
+                              int compressionThreshold,
+                              int compressionLevel,
+                              int initialBufferSize,
+                              int maxRetainedBufferSize,
+                              int maxContentSize,
+                              int maxPooledWorkspaces) {
+        this.writer=writer;
+        this.reader=reader;
+        this.compression=compression;
+        this.compressionThreshold=compressionThreshold;
+        this.compressionLevel=compressionLevel;
+        this.initialBufferSize=initialBufferSize;
+        this.maxRetainedBufferSize=Math.max(initialBufferSize,maxRetainedBufferSize);
+        this.maxContentSize=maxContentSize;
+        this.workspaces=new ArrayBlockingQueue<>(maxPooledWorkspaces);
+    }
+
+    /**
+     * Creates a codec.
+     * @param writer Writer of payloads.
+     *               This may be {@code null} for a codec only decoding.
+     * @param reader Reader of payloads.
+     *               This may be {@code null} for a codec only encoding.
+     * @param compression Compression of payloads at or above the threshold.
+     * @param compressionThreshold Minimum size of payloads to compress.
+     * @param compressionLevel Level of deflate compression.
+     * @param initialBufferSize Initial size of buffers.
+     * @param maxRetainedBufferSize Maximum size of buffers retained between uses.
+     * @param maxContentSize Maximum size of uncompressed payloads.
+     * @param maxPooledWorkspaces Maximum number of pooled workspaces.
+     * @return Created codec.
+     * @param <T> Type of payload.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static <T> BytesMessageCodec<T> createByBuilder(PayloadWriter<T> writer,
+                                                            PayloadReader<T> reader,
+                                                            PayloadCompression compression,
+                                                            Integer compressionThreshold,
+                                                            Integer compressionLevel,
+                                                            Integer initialBufferSize,
+                                                            Integer maxRetainedBufferSize,
+                                                            Integer maxContentSize,
+                                                            Integer maxPooledWorkspaces) {
+        if (writer==null && reader==null) {
+            throw new IllegalArgumentException("Failure to create codec; neither writer nor reader is set!");
+        }
+        if (maxContentSize!=null && (maxContentSize<1 || maxContentSize>Integer.MAX_VALUE-8)) {
+            throw new IllegalArgumentException("Failure to create codec; maximum content size must be within [1..%d], size is '%d'!".formatted(Integer.MAX_VALUE-8,maxContentSize));
+        }
+        if (maxPooledWorkspaces!=null && maxPooledWorkspaces<1) {
+            throw new IllegalArgumentException("Failure to create codec; maximum number of pooled workspaces must be positive, number is '%d'!".formatted(maxPooledWorkspaces));
+        }
+        return new BytesMessageCodec<>(writer,
+                                       reader,
+                                       compression==null?PayloadCompression.Deflate:compression,
+                                       compressionThreshold==null?16*1024:compressionThreshold,
+                                       compressionLevel==null?Deflater.BEST_SPEED:compressionLevel,
+                                       initialBufferSize==null?8*1024:initialBufferSize,
+                                       maxRetainedBufferSize==null?1024*1024:maxRetainedBufferSize,
+                                       maxContentSize==null?64*1024*1024:maxContentSize,
+                                       maxPooledWorkspaces==null?2*Runtime.getRuntime().availableProcessors():maxPooledWorkspaces);
+    }
+
+    /**
+     * Creates a codec with default settings.
+     * @param writer Writer of payloads.
+     * @param reader Reader of payloads.
+     * @return Created codec.
+     * @param <T> Type of payload.
+     */
+    public static <T> BytesMessageCodec<T> of(PayloadWriter<T> writer,
+                                              PayloadReader<T> reader) {
+        return BytesMessageCodec.<T>builder().writer(writer).reader(reader).build();
+    }
+
+    /**
+     * Encodes a payload into a new bytes message.
+     * @param session Session creating the message.
+     * @param payload Payload.
+     * @return Created message.
+     * @throws JMSException Thrown in case of error.
+     */
+    public BytesMessage encode(Session session,
+                               T payload) throws JMSException {
+        BytesMessage message=session.createBytesMessage();
+        encode(payload,message);
+        return message;
+    }
+
+    /**
+     * Encodes a payload into a bytes message in write-only mode.
+     * @param payload Payload.
+     * @param message Message written to.
+     * @throws JMSException Thrown in case of error, including payloads exceeding the maximum size.
+     */
+    public void encode(T payload,
+                       BytesMessage message) throws JMSException {
+        Objects.requireNonNull(writer,"Failure to encode payload; writer is not set!");
+        Workspace workspace=acquire();
+        try {
+            PayloadBuffer content=workspace.content;
+            try {
+                writer.write(payload,content);
+            } catch (IOException ex) {
+                throw createJMSException("Failure to encode payload; writer failed!",ex);
+            }
+            if (content.size()>maxContentSize) {
+                throw new JMSException("Failure to encode payload; size must be at most %d, size is '%d'!".formatted(maxContentSize,content.size()));
+            }
+            if (compression==PayloadCompression.Deflate && content.size()>=compressionThreshold && workspace.deflate()) {
+                PayloadBuffer body=workspace.body;
+                message.setStringProperty(CONTENT_ENCODING_PROPERTY,compression.getEncoding());
+                message.setIntProperty(CONTENT_LENGTH_PROPERTY,content.size());
+                message.writeBytes(body.array(),0,body.size());
+            } else {
+                message.writeBytes(content.array(),0,content.size());
+            }
+        } finally {
+            release(workspace);
+        }
+    }
+
+    /**
+     * Decodes the payload of a bytes message in read-only mode.
+     * @param message Message read from.
+     * @return Payload.
+     * @throws JMSException Thrown in case of error, including payloads exceeding the maximum size.
+     */
+    public T decode(BytesMessage message) throws JMSException {
+        Objects.requireNonNull(reader,"Failure to decode payload; reader is not set!");
+        long bodyLength=message.getBodyLength();
+        if (bodyLength>maxContentSize) {
+            throw new JMSException("Failure to decode payload; body length must be at most %d, length is '%d'!".formatted(maxContentSize,bodyLength));
+        }
+        PayloadCompression bodyCompression;
+        try {
+            bodyCompression=PayloadCompression.ofEncoding(message.getStringProperty(CONTENT_ENCODING_PROPERTY));
+        } catch (IllegalArgumentException ex) {
+            throw createJMSException("Failure to decode payload; compression is not supported!",ex);
+        }
+        Workspace workspace=acquire();
+        try {
+            PayloadBuffer body=workspace.body;
+            int length=(int)bodyLength;
+            body.ensureCapacity(length);
+            int read=length==0?0:message.readBytes(body.array(),length);
+            if (read!=length) {
+                throw new JMSException("Failure to decode payload; read %d of %d bytes!".formatted(read,length));
+            }
+            body.setSize(length);
+            PayloadBuffer content=body;
+            if (bodyCompression==PayloadCompression.Deflate) {
+                int contentLength=message.propertyExists(CONTENT_LENGTH_PROPERTY)?message.getIntProperty(CONTENT_LENGTH_PROPERTY):(int)Math.min(2L*length,maxContentSize);
+                if (contentLength<0 || contentLength>maxContentSize) {
+                    throw new JMSException("Failure to decode payload; content length must be within [0..%d], length is '%d'!".formatted(maxContentSize,contentLength));
+                }
+                workspace.inflate(contentLength);
+                content=workspace.content;
+            }
+            try {
+                return reader.read(content.toInputStream());
+            } catch (IOException ex) {
+                throw createJMSException("Failure to decode payload; reader failed!",ex);
+            }
+        } finally {
+            release(workspace);
+        }
+    }
+
+    private Workspace acquire() {
+        Workspace workspace=workspaces.poll();
+        return workspace!=null?workspace:new Workspace();
+    }
+
+    private void release(Workspace workspace) {
+        workspace.content.reset(maxRetainedBufferSize);
+        workspace.body.reset(maxRetainedBufferSize);
+        if (!workspaces.offer(workspace)) {
+            workspace.end();
+        }
+    }
+
+    private static JMSException createJMSException(String message,
+                                                   Exception cause) {
+        JMSException ex=new JMSException(message);
+        ex.setLinkedException(cause);
+        ex.initCause(cause);
+        return ex;
+    }
+
+    /**
+     * Buffers and compressors used by one thread at a time.
+     */
+    private final class Workspace {
+        /**
+         * Uncompressed payload.
+         */
+        private final PayloadBuffer content=new PayloadBuffer(initialBufferSize);
+
+        /**
+         * Compressed payload.
+         */
+        private final PayloadBuffer body=new PayloadBuffer(initialBufferSize);
+
+        private Deflater deflater;
+        private Inflater inflater;
+
+        /**
+         * Compresses the content into the body.
+         * @return Indicates, if the compressed body is smaller than the content.
+         */
+        private boolean deflate() {
+            if (deflater==null) {
+                deflater=new Deflater(compressionLevel);
+            }
+            deflater.reset();
+            deflater.setInput(content.array(),0,content.size());
+            deflater.finish();
+            body.ensureCapacity(content.size()/2+64);
+            while (!deflater.finished()) {
+                if (body.size()>=content.size()) {
+                    return false;
+                }
+                if (body.size()==body.capacity()) {
+                    body.ensureCapacity(body.size()+1);
+                }
+                int count=deflater.deflate(body.array(),body.size(),body.capacity()-body.size());
+                body.setSize(body.size()+count);
+            }
+            return body.size()<content.size();
+        }
+
+        /**
+         * Decompresses the body into the content.
+         * @param contentLength Expected size of the content.
+         * @throws JMSException Thrown in case of malformed body, or content exceeding the maximum size.
+         */
+        private void inflate(int contentLength) throws JMSException {
+            if (inflater==null) {
+                inflater=new Inflater();
+            }
+            inflater.reset();
+            inflater.setInput(body.array(),0,body.size());
+            content.ensureCapacity(Math.max(contentLength,1));
+            try {
+                while (!inflater.finished()) {
+                    if (content.size()>=maxContentSize) {
+                        if (inflater.inflate(new byte[1])>0) {
+                            throw new JMSException("Failure to decode payload; decompressed size exceeds %d!".formatted(maxContentSize));
+                        }
+                        if (!inflater.finished()) {
+                            throw new JMSException("Failure to decode payload; compressed body is truncated!");
+                        }
+                        break;
+                    }
+                    if (content.size()==content.capacity()) {
+                        content.ensureCapacity(content.size()+1);
+                    }
+                    int limit=Math.min(content.capacity(),maxContentSize);
+                    int count=inflater.inflate(content.array(),content.size(),limit-content.size());
+                    if (count==0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new JMSException("Failure to decode payload; compressed body is truncated!");
+                    }
+                    content.setSize(content.size()+count);
+                }
+            } catch (DataFormatException ex) {
+                throw createJMSException("Failure to decode payload; compressed body is malformed!",ex);
+            }
+        }
+
+        private void end() {
+            if (deflater!=null) {
+                deflater.end();
+            }
+            if (inflater!=null) {
+                inflater.end();
+            }
+        }
+    }
+}
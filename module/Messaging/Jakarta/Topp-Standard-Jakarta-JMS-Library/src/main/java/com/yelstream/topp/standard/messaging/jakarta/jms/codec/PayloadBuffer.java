@@ -0,0 +1,145 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.jakarta.jms.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer written as a stream and retaining its capacity when reset.
+ * <p>
+ *     In contrast to {@link java.io.ByteArrayOutputStream}, the content is exposed without copying and access is
+ *     not synchronized.
+ * </p>
+ * <p>
+ *     This is not thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class PayloadBuffer extends OutputStream {
+    /**
+     * Content.
+     */
+    private byte[] array;
+
+    /**
+     * Number of bytes of content.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     * @param initialCapacity Initial capacity.
+     */
+    public PayloadBuffer(int initialCapacity) {
+        if (initialCapacity<0) {
+            throw new IllegalArgumentException("Failure to create buffer; initial capacity is '%d'!".formatted(initialCapacity));
+        }
+        this.array=new byte[initialCapacity];
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(size+1);
+        array[size++]=(byte)b;
+    }
+
+    @Override
+    public void write(byte[] b,
+                      int off,
+                      int len) {
+        ensureCapacity(size+len);
+        System.arraycopy(b,off,array,size,len);
+        size+=len;
+    }
+
+    /**
+     * Ensures a minimum capacity, growing the buffer at least by doubling.
+     * @param minCapacity Minimum capacity.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity<0) {
+            throw new IllegalStateException("Failure to grow buffer; capacity exceeded!");
+        }
+        if (minCapacity>array.length) {
+            int capacity=Math.max(minCapacity,array.length<<1);
+            array=Arrays.copyOf(array,capacity<0?Integer.MAX_VALUE-8:capacity);
+        }
+    }
+
+    /**
+     * Clears the content, retaining the capacity up to a limit.
+     * @param maxRetainedCapacity Maximum capacity retained.
+     */
+    public void reset(int maxRetainedCapacity) {
+        size=0;
+        if (array.length>maxRetainedCapacity) {
+            array=new byte[maxRetainedCapacity];
+        }
+    }
+
+    /**
+     * Gets the array holding the content.
+     * The content occupies the first {@link #size()} bytes.
+     * @return Array holding the content.
+     */
+    public byte[] array() {
+        return array;
+    }
+
+    /**
+     * Gets the number of bytes of content.
+     * @return Number of bytes of content.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sets the number of bytes of content after the array has been filled directly.
+     * @param size Number of bytes of content.
+     */
+    public void setSize(int size) {
+        if (size<0 || size>array.length) {
+            throw new IllegalArgumentException("Failure to set size; size is '%d'!".formatted(size));
+        }
+        this.size=size;
+    }
+
+    /**
+     * Gets the capacity.
+     * @return Capacity.
+     */
+    public int capacity() {
+        return array.length;
+    }
+
+    /**
+     * Creates a stream reading the content without copying.
+     * @return Created stream.
+     */
+    public InputStream toInputStream() {
+        return new ByteArrayInputStream(array,0,size);
+    }
+}
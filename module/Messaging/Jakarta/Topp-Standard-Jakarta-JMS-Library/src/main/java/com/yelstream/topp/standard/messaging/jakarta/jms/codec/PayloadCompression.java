@@ -0,0 +1,68 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.jakarta.jms.codec;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Compression of encoded payloads.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@AllArgsConstructor
+@SuppressWarnings({"java:S115","LombokGetterMayBeUsed"})
+public enum PayloadCompression {
+    /**
+     * No compression.
+     */
+    Identity("identity"),
+
+    /**
+     * Deflate compression.
+     */
+    Deflate("deflate");
+
+    /**
+     * Encoding as set in the content-encoding property of messages.
+     */
+    @Getter
+    private final String encoding;
+
+    /**
+     * Gets the compression of an encoding.
+     * @param encoding Encoding.
+     *             This may be {@code null} to indicate no compression.
+     * @return Compression.
+     * @throws IllegalArgumentException Thrown in case of an unknown compression.
+     */
+    public static PayloadCompression ofEncoding(String encoding) {
+        if (encoding==null) {
+            return Identity;
+        }
+        return Arrays.stream(values())
+                     .filter(compression->compression.encoding.equals(encoding))
+                     .findFirst()
+                     .orElseThrow(()->new IllegalArgumentException("Failure to resolve compression; encoding is '%s'!".formatted(encoding)));
+    }
+}
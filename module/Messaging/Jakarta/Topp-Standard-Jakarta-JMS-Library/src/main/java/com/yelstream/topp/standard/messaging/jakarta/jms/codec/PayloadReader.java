@@ -0,0 +1,44 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.jakarta.jms.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reader of payloads from a stream.
+ * <p>
+ *     Typical readers are {@code Unmarshaller::unmarshal} of JAXB and {@code ObjectMapper::readValue} of Jackson.
+ * </p>
+ * @param <T> Type of payload.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@FunctionalInterface
+public interface PayloadReader<T> {
+    /**
+     * Reads a payload.
+     * @param in Stream read from.
+     * @return Payload.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    T read(InputStream in) throws IOException;
+}
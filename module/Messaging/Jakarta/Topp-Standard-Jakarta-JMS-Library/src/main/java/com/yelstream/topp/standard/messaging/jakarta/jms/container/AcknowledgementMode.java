@@ -0,0 +1,64 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.jakarta.jms.container;
+
+import jakarta.jms.Session;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Mode of acknowledgement of consumed messages.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@AllArgsConstructor
+@SuppressWarnings({"java:S115","LombokGetterMayBeUsed"})
+public enum AcknowledgementMode {
+    /**
+     * Each message is acknowledged by the session as it is received.
+     * A failure to handle a message loses the message.
+     */
+    Auto(false,Session.AUTO_ACKNOWLEDGE),
+
+    /**
+     * Messages are acknowledged by the client in batches.
+     * A failure to handle a message recovers the session, redelivering the unacknowledged messages.
+     */
+    ClientBatch(false,Session.CLIENT_ACKNOWLEDGE),
+
+    /**
+     * Messages are consumed in transacted batches.
+     * A failure to handle a message rolls back the batch.
+     */
+    TransactedBatch(true,Session.SESSION_TRANSACTED);
+
+    /**
+     * Indicates, if sessions are transacted.
+     */
+    @Getter
+    private final boolean transacted;
+
+    /**
+     * Acknowledgement mode of sessions.
+     */
+    @Getter
+    private final int sessionMode;
+}
@@ -0,0 +1,457 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.jakarta.jms.container;
+
+import com.yelstream.topp.standard.messaging.jakarta.jms.util.ConsumerWithException;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Session;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Container of concurrent consumers of a destination.
+ * <p>
+ *     Each consumer has its own session and runs a receive loop on a thread of the executor,
+ *     by default a virtual thread per consumer.
+ *     Having received a message, a consumer drains up to a batch of messages already prefetched by the provider
+ *     without blocking, and acknowledges or commits the batch as a whole.
+ *     The size of the provider's prefetch window is a setting of the connection factory,
+ *     e.g. the consumer window size of ActiveMQ Artemis.
+ * </p>
+ * <p>
+ *     Concurrency scales between a minimum and a maximum by backlog:
+ *     a consumer receiving a number of messages in a row without finding the destination empty starts another consumer,
+ *     and a consumer finding the destination empty a number of times in a row retires, down to the minimum.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class MessageConsumerContainer implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface DestinationCreator {
+        Destination create(Session session) throws JMSException;
+    }
+
+    public interface MessageHandler extends ConsumerWithException<Message,JMSException> {}
+
+    private final ConnectionFactory connectionFactory;
+    private final DestinationCreator destinationCreator;
+    private final String messageSelector;
+    private final MessageHandler handler;
+
+    /**
+     * Minimum number of consumers.
+     */
+    @Getter
+    private final int minConcurrency;
+
+    /**
+     * Maximum number of consumers.
+     */
+    @Getter
+    private final int maxConcurrency;
+
+    /**
+     * Mode of acknowledgement.
+     */
+    @Getter
+    private final AcknowledgementMode acknowledgementMode;
+
+    /**
+     * Maximum number of messages acknowledged or committed together.
+     */
+    private final int batchSize;
+
+    /**
+     * Timeout of a single receive, in milliseconds.
+     */
+    private final long receiveTimeoutMillis;
+
+    /**
+     * Number of messages received in a row, starting another consumer.
+     */
+    private final int scaleUpThreshold;
+
+    /**
+     * Number of empty receives in a row, retiring a consumer.
+     */
+    private final int idleReceiveLimit;
+
+    /**
+     * Executor running consumers.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Indicates, if the executor is shut down with this container.
+     */
+    private final boolean executorOwned;
+
+    private final AtomicInteger consumerCount=new AtomicInteger();
+    private final AtomicLong handledCount=new AtomicLong();
+    private final AtomicLong failedCount=new AtomicLong();
+    private final Object lock=new Object();
+    private Connection connection;
+    private volatile boolean running;
+
+    private MessageConsumerContainer(ConnectionFactory connectionFactory,
+                                     DestinationCreator destinationCreator,
+                                     String messageSelector,
+                                     MessageHandler handler,
+                                     int minConcurrency,
+                                     int maxConcurrency,
+                                     AcknowledgementMode acknowledgementMode,
+                                     int batchSize,
+                                     Duration receiveTimeout,
+                                     int scaleUpThreshold,
+                                     int idleReceiveLimit,
+                                     ExecutorService executor,
+                                     boolean executorOwned) {
+        this.connectionFactory=connectionFactory;
+        this.destinationCreator=destinationCreator;
+        this.messageSelector=messageSelector;
+        this.handler=handler;
+        this.minConcurrency=minConcurrency;
+        this.maxConcurrency=maxConcurrency;
+        this.acknowledgementMode=acknowledgementMode;
+        this.batchSize=batchSize;
+        this.receiveTimeoutMillis=receiveTimeout.toMillis();
+        this.scaleUpThreshold=scaleUpThreshold;
+        this.idleReceiveLimit=idleReceiveLimit;
+        this.executor=executor;
+        this.executorOwned=executorOwned;
+    }
+
+    /**
+     * Creates a container.
+     * @param connectionFactory Connection factory.
+     * @param destinationCreator Creator of the destination consumed.
+     * @param messageSelector Message selector, if any.
+     * @param handler Handler of messages.
+     * @param minConcurrency Minimum number of consumers.
+     * @param maxConcurrency Maximum number of consumers.
+     * @param acknowledgementMode Mode of acknowledgement.
+     * @param batchSize Maximum number of messages acknowledged or committed together.
+     * @param receiveTimeout Timeout of a single receive.
+     * @param scaleUpThreshold Number of messages received in a row, starting another consumer.
+     * @param idleReceiveLimit Number of empty receives in a row, retiring a consumer.
+     * @param executor Executor running consumers, e.g. a bounded pool of at least the maximum number of consumers.
+     *                 If not set, each consumer runs on its own virtual thread.
+     * @return Created container.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static MessageConsumerContainer createByBuilder(ConnectionFactory connectionFactory,
+                                                            DestinationCreator destinationCreator,
+                                                            String messageSelector,
+                                                            MessageHandler handler,
+                                                            Integer minConcurrency,
+                                                            Integer maxConcurrency,
+                                                            AcknowledgementMode acknowledgementMode,
+                                                            Integer batchSize,
+                                                            Duration receiveTimeout,
+                                                            Integer scaleUpThreshold,
+                                                            Integer idleReceiveLimit,
+                                                            ExecutorService executor) {
+        Objects.requireNonNull(connectionFactory,"Failure to create container; connection factory is not set!");
+        Objects.requireNonNull(destinationCreator,"Failure to create container; destination creator is not set!");
+        Objects.requireNonNull(handler,"Failure to create container; handler is not set!");
+        int min=minConcurrency==null?1:minConcurrency;
+        int max=maxConcurrency==null?Math.max(min,Runtime.getRuntime().availableProcessors()):maxConcurrency;
+        if (min<1 || max<min) {
+            throw new IllegalArgumentException("Failure to create container; concurrency must satisfy 1<=min<=max, min is '%d', max is '%d'!".formatted(min,max));
+        }
+        return new MessageConsumerContainer(connectionFactory,
+                                            destinationCreator,
+                                            messageSelector,
+                                            handler,
+                                            min,
+                                            max,
+                                            acknowledgementMode==null?AcknowledgementMode.ClientBatch:acknowledgementMode,
+                                            batchSize==null?64:Math.max(1,batchSize),
+                                            receiveTimeout==null?Duration.ofSeconds(1):receiveTimeout,
+                                            scaleUpThreshold==null?32:scaleUpThreshold,
+                                            idleReceiveLimit==null?5:idleReceiveLimit,
+                                            executor==null?Executors.newVirtualThreadPerTaskExecutor():executor,
+                                            executor==null);
+    }
+
+    /**
+     * Creates a creator of a queue by name.
+     * @param queueName Name of queue.
+     * @return Created creator.
+     */
+    public static DestinationCreator queue(String queueName) {
+        return session->session.createQueue(queueName);
+    }
+
+    /**
+     * Starts this container with the minimum number of consumers.
+     * @throws JMSException Thrown in case of JMS error.
+     */
+    public void start() throws JMSException {
+        synchronized (lock) {
+            if (running) {
+                return;
+            }
+            connection=connectionFactory.createConnection();
+            connection.start();
+            running=true;
+            for (int i=0; i<minConcurrency; i++) {
+                startConsumer(true);
+            }
+        }
+    }
+
+    /**
+     * Indicates, if this container is running.
+     * @return Indicates, if this container is running.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Gets the current number of consumers.
+     * @return Number of consumers.
+     */
+    public int getConsumerCount() {
+        return consumerCount.get();
+    }
+
+    /**
+     * Gets the number of messages handled successfully.
+     * @return Number of messages handled.
+     */
+    public long getHandledCount() {
+        return handledCount.get();
+    }
+
+    /**
+     * Gets the number of batches failed and recovered or rolled back.
+     * @return Number of batches failed.
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Stops all consumers and closes the connection.
+     * Batches in progress are completed first.
+     * @throws JMSException Thrown in case of JMS error.
+     */
+    @Override
+    public void close() throws JMSException {
+        Connection c;
+        synchronized (lock) {
+            if (!running) {
+                return;
+            }
+            running=false;
+            long deadline=System.nanoTime()+TimeUnit.MILLISECONDS.toNanos(2*receiveTimeoutMillis+1_000);
+            while (consumerCount.get()>0) {
+                long remaining=TimeUnit.NANOSECONDS.toMillis(deadline-System.nanoTime());
+                if (remaining<=0) {
+                    log.warn("Failure to await consumers; consumers still running is '{}'!",consumerCount.get());
+                    break;
+                }
+                try {
+                    lock.wait(remaining);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            c=connection;
+            connection=null;
+        }
+        try {
+            c.close();
+        } finally {
+            if (executorOwned) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private boolean startConsumer(boolean force) {
+        while (true) {
+            int count=consumerCount.get();
+            if (!running || (!force && count>=maxConcurrency)) {
+                return false;
+            }
+            if (consumerCount.compareAndSet(count,count+1)) {
+                break;
+            }
+        }
+        try {
+            executor.execute(this::runConsumer);
+            return true;
+        } catch (RuntimeException ex) {
+            log.error("Failure to start consumer; executor rejected consumer!",ex);
+            consumerStopped();
+            return false;
+        }
+    }
+
+    private boolean retireConsumer() {
+        while (true) {
+            int count=consumerCount.get();
+            if (count<=minConcurrency) {
+                return false;
+            }
+            if (consumerCount.compareAndSet(count,count-1)) {
+                consumerStopped();
+                return true;
+            }
+        }
+    }
+
+    private void consumerStopped() {
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+
+    private void runConsumer() {
+        boolean retired=false;
+        boolean failed=false;
+        try (Session session=connection.createSession(acknowledgementMode.isTransacted(),acknowledgementMode.getSessionMode());
+             MessageConsumer consumer=session.createConsumer(destinationCreator.create(session),messageSelector)) {
+            retired=consume(session,consumer);
+        } catch (JMSException|RuntimeException ex) {
+            if (running) {
+                log.error("Failure to consume; consumer stopped!",ex);
+                failed=true;
+            }
+        } finally {
+            if (!retired) {
+                consumerCount.decrementAndGet();
+                consumerStopped();
+            }
+        }
+        if (failed) {
+            replaceFailedConsumer();
+        }
+    }
+
+    private void replaceFailedConsumer() {
+        try {
+            Thread.sleep(receiveTimeoutMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (consumerCount.get()<minConcurrency) {
+            startConsumer(true);
+        }
+    }
+
+    /**
+     * Runs the receive loop of a consumer.
+     * @param session Session.
+     * @param consumer Consumer.
+     * @return Indicates, if the consumer retired.
+     * @throws JMSException Thrown in case of JMS error.
+     */
+    private boolean consume(Session session,
+                            MessageConsumer consumer) throws JMSException {
+        int idleReceives=0;
+        int receivedInRow=0;
+        while (running) {
+            Message message=consumer.receive(receiveTimeoutMillis);
+            if (message==null) {
+                receivedInRow=0;
+                if (++idleReceives>=idleReceiveLimit && retireConsumer()) {
+                    return true;
+                }
+                continue;
+            }
+            idleReceives=0;
+            int count=handleBatch(session,consumer,message);
+            receivedInRow+=count;
+            if (receivedInRow>=scaleUpThreshold) {
+                receivedInRow=0;
+                startConsumer(false);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Handles a batch of messages, starting with a received message and followed by messages already prefetched.
+     * @param session Session.
+     * @param consumer Consumer.
+     * @param first First message of the batch.
+     * @return Number of messages in the batch.
+     * @throws JMSException Thrown in case of JMS error.
+     */
+    private int handleBatch(Session session,
+                            MessageConsumer consumer,
+                            Message first) throws JMSException {
+        int count=0;
+        Message message=first;
+        Message last=null;
+        try {
+            while (message!=null) {
+                count++;
+                handler.accept(message);
+                last=message;
+                if (count>=batchSize || !running) {
+                    break;
+                }
+                message=consumer.receiveNoWait();
+            }
+            switch (acknowledgementMode) {
+                case ClientBatch -> last.acknowledge();
+                case TransactedBatch -> session.commit();
+                case Auto -> { }
+            }
+            handledCount.addAndGet(count);
+        } catch (JMSException|RuntimeException ex) {
+            failedCount.incrementAndGet();
+            log.warn("Failure to handle batch; batch of {} messages is redelivered!",count,ex);
+            switch (acknowledgementMode) {
+                case ClientBatch -> session.recover();
+                case TransactedBatch -> session.rollback();
+                case Auto -> { }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,728 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.jakarta.jms.pool;
+
+import com.yelstream.topp.standard.time.DurationSummaryStatistics;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Destination;
+import jakarta.jms.ExceptionListener;
+import jakarta.jms.IllegalStateException;
+import jakarta.jms.JMSContext;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+import jakarta.jms.TemporaryQueue;
+import jakarta.jms.TemporaryTopic;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Connection factory pooling the connections of another connection factory.
+ * <p>
+ *     Connections are lent out exclusively, and closing a lent connection returns it to the pool.
+ *     A returned connection is reset to the state of a new connection;
+ *     temporary destinations created through it are deleted, and it is stopped, if started.
+ *     Each pooled connection caches its sessions by session mode; closing a lent session closes the consumers,
+ *     producers and browsers created by it, rolls back or recovers unfinished work, and returns it to the cache.
+ * </p>
+ * <p>
+ *     The number of connections is bounded, and borrowers wait for a connection to be returned up to a timeout.
+ *     Connections failing as reported to their exception listener are discarded.
+ *     Connections idle for longer than the validation interval are validated by creating a session before being
+ *     lent out, and connections idle for longer than the maximum idle time are evicted.
+ * </p>
+ * <p>
+ *     Only connections created with default credentials are pooled;
+ *     connections created with explicit credentials, as well as contexts, are created by the underlying factory.
+ *     A pooled connection is authenticated once, hence lending it to a borrower with other credentials would
+ *     bypass the authorization of the broker.
+ *     Setting the client identifier of a pooled connection is not supported.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class PooledConnectionFactory implements ConnectionFactory, AutoCloseable {
+    /**
+     * Statistics of a pool.
+     * @param poolSize Number of connections, lent out or idle.
+     * @param idleCount Number of idle connections.
+     * @param borrowCount Number of connections lent out.
+     * @param waitCount Number of borrowers having waited for a connection.
+     * @param timeoutCount Number of borrowers having timed out.
+     * @param createdConnectionCount Number of connections created.
+     * @param destroyedConnectionCount Number of connections closed.
+     * @param createdSessionCount Number of sessions created.
+     * @param reusedSessionCount Number of cached sessions lent out.
+     * @param borrowLatency Latency of borrowing connections.
+     */
+    public record Statistics(int poolSize,
+                             int idleCount,
+                             long borrowCount,
+                             long waitCount,
+                             long timeoutCount,
+                             long createdConnectionCount,
+                             long destroyedConnectionCount,
+                             long createdSessionCount,
+                             long reusedSessionCount,
+                             DurationSummaryStatistics borrowLatency) {
+        /**
+         * Gets the number of connections lent out.
+         * @return Number of connections lent out.
+         */
+        public int getActiveCount() {
+            return poolSize-idleCount;
+        }
+    }
+
+    private final ConnectionFactory connectionFactory;
+    private final int maxConnections;
+    private final int minIdleConnections;
+    private final int maxIdleSessions;
+    private final long borrowTimeoutNanos;
+    private final long maxIdleNanos;
+    private final long validationIntervalNanos;
+    private final ScheduledExecutorService evictor;
+
+    private final ReentrantLock lock=new ReentrantLock();
+    private final Condition available=lock.newCondition();
+
+    /**
+     * Idle connections, the most recently returned first.
+     */
+    private final Deque<PooledConnection> idle=new ArrayDeque<>();
+
+    /**
+     * Number of connections, including connections being created.
+     */
+    private int size;
+
+    private long borrowCount;
+    private long waitCount;
+    private long timeoutCount;
+    private long createdConnectionCount;
+    private long destroyedConnectionCount;
+    private long createdSessionCount;
+    private long reusedSessionCount;
+    private final DurationSummaryStatistics borrowLatency=new DurationSummaryStatistics();
+    private boolean closed;
+
+    private PooledConnectionFactory(ConnectionFactory connectionFactory,
+                                    int maxConnections,
+                                    int minIdleConnections,
+                                    int maxIdleSessions,
+                                    Duration borrowTimeout,
+                                    Duration maxIdleTime,
+                                    Duration validationInterval,
+                                    Duration evictionInterval) {
+        this.connectionFactory=connectionFactory;
+        this.maxConnections=maxConnections;
+        this.minIdleConnections=minIdleConnections;
+        this.maxIdleSessions=maxIdleSessions;
+        this.borrowTimeoutNanos=borrowTimeout.toNanos();
+        this.maxIdleNanos=maxIdleTime.toNanos();
+        this.validationIntervalNanos=validationInterval.toNanos();
+        this.evictor=Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("jms-pool-evictor").daemon().factory());
+        long evictionNanos=evictionInterval.toNanos();
+        evictor.scheduleWithFixedDelay(this::evictIdleConnections,evictionNanos,evictionNanos,TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a pooled connection factory.
+     * @param connectionFactory Underlying connection factory.
+     * @param maxConnections Maximum number of connections.
+     * @param minIdleConnections Minimum number of idle connections kept on eviction.
+     * @param maxIdleSessions Maximum number of idle sessions cached per connection and session mode.
+     * @param borrowTimeout Maximum time to wait for a connection.
+     * @param maxIdleTime Idle time after which connections are evicted.
+     * @param validationInterval Idle time after which connections are validated before being lent out.
+     * @param evictionInterval Interval of eviction runs.
+     * @return Created connection factory.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static PooledConnectionFactory createByBuilder(ConnectionFactory connectionFactory,
+                                                           Integer maxConnections,
+                                                           Integer minIdleConnections,
+                                                           Integer maxIdleSessions,
+                                                           Duration borrowTimeout,
+                                                           Duration maxIdleTime,
+                                                           Duration validationInterval,
+                                                           Duration evictionInterval) {
+        Objects.requireNonNull(connectionFactory,"Failure to create pooled connection factory; connection factory is not set!");
+        return new PooledConnectionFactory(connectionFactory,
+                                           maxConnections==null?8:maxConnections,
+                                           minIdleConnections==null?0:minIdleConnections,
+                                           maxIdleSessions==null?16:maxIdleSessions,
+                                           borrowTimeout==null?Duration.ofSeconds(30):borrowTimeout,
+                                           maxIdleTime==null?Duration.ofMinutes(5):maxIdleTime,
+                                           validationInterval==null?Duration.ofSeconds(30):validationInterval,
+                                           evictionInterval==null?Duration.ofSeconds(30):evictionInterval);
+    }
+
+    /**
+     * Creates a pooled connection factory with default settings.
+     * @param connectionFactory Underlying connection factory.
+     * @return Created connection factory.
+     */
+    public static PooledConnectionFactory of(ConnectionFactory connectionFactory) {
+        return builder().connectionFactory(connectionFactory).build();
+    }
+
+    @Override
+    public Connection createConnection() throws JMSException {
+        return borrow();
+    }
+
+    /**
+     * Creates a connection with explicit credentials.
+     * <p>
+     *     The connection is created by the underlying factory and is not pooled,
+     *     since pooled connections are authenticated with default credentials.
+     *     Closing the connection closes it.
+     * </p>
+     * @param userName User name.
+     * @param password Password.
+     * @return Created connection.
+     * @throws JMSException Thrown in case of error.
+     */
+    @Override
+    public Connection createConnection(String userName,
+                                       String password) throws JMSException {
+        return connectionFactory.createConnection(userName,password);
+    }
+
+    @Override
+    public JMSContext createContext() {
+        return connectionFactory.createContext();
+    }
+
+    @Override
+    public JMSContext createContext(String userName,
+                                    String password) {
+        return connectionFactory.createContext(userName,password);
+    }
+
+    @Override
+    public JMSContext createContext(String userName,
+                                    String password,
+                                    int sessionMode) {
+        return connectionFactory.createContext(userName,password,sessionMode);
+    }
+
+    @Override
+    public JMSContext createContext(int sessionMode) {
+        return connectionFactory.createContext(sessionMode);
+    }
+
+    /**
+     * Gets the statistics of this pool.
+     * @return Statistics.
+     */
+    public Statistics getStatistics() {
+        lock.lock();
+        try {
+            DurationSummaryStatistics latency=new DurationSummaryStatistics();
+            latency.combine(borrowLatency);
+            return new Statistics(size,idle.size(),borrowCount,waitCount,timeoutCount,
+                                  createdConnectionCount,destroyedConnectionCount,createdSessionCount,reusedSessionCount,latency);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes this pool.
+     * Idle connections are closed immediately, and lent connections are closed when returned.
+     */
+    @Override
+    public void close() {
+        List<PooledConnection> closing;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed=true;
+            closing=new ArrayList<>(idle);
+            idle.clear();
+            size-=closing.size();
+            destroyedConnectionCount+=closing.size();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        evictor.shutdownNow();
+        closing.forEach(PooledConnection::closeQuietly);
+    }
+
+    private Connection borrow() throws JMSException {
+        long start=System.nanoTime();
+        long deadline=start+borrowTimeoutNanos;
+        boolean waited=false;
+        while (true) {
+            PooledConnection connection=null;
+            lock.lock();
+            try {
+                while (connection==null) {
+                    if (closed) {
+                        throw new IllegalStateException("Failure to borrow connection; pool is closed!");
+                    }
+                    connection=idle.pollFirst();
+                    if (connection==null) {
+                        if (size<maxConnections) {
+                            size++;
+                            break;
+                        }
+                        long remaining=deadline-System.nanoTime();
+                        if (remaining<=0) {
+                            timeoutCount++;
+                            throw new JMSException("Failure to borrow connection; pool of %d connections exhausted!".formatted(maxConnections));
+                        }
+                        if (!waited) {
+                            waited=true;
+                            waitCount++;
+                        }
+                        try {
+                            available.awaitNanos(remaining);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            throw new JMSException("Failure to borrow connection; interrupted!");
+                        }
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (connection==null) {
+                connection=create();
+            } else if (!connection.validate()) {
+                destroy(connection);
+                continue;
+            }
+            lock.lock();
+            try {
+                borrowCount++;
+                borrowLatency.accept(Duration.ofNanos(System.nanoTime()-start));
+            } finally {
+                lock.unlock();
+            }
+            return connection.lend();
+        }
+    }
+
+    private PooledConnection create() throws JMSException {
+        try {
+            PooledConnection connection=new PooledConnection(connectionFactory.createConnection());
+            lock.lock();
+            try {
+                createdConnectionCount++;
+            } finally {
+                lock.unlock();
+            }
+            return connection;
+        } catch (JMSException|RuntimeException ex) {
+            lock.lock();
+            try {
+                size--;
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+            throw ex;
+        }
+    }
+
+    private void release(PooledConnection connection) {
+        lock.lock();
+        try {
+            if (!closed && !connection.broken) {
+                connection.returnedNanos=System.nanoTime();
+                idle.addFirst(connection);
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        destroy(connection);
+    }
+
+    private void destroy(PooledConnection connection) {
+        connection.closeQuietly();
+        lock.lock();
+        try {
+            size--;
+            destroyedConnectionCount++;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictIdleConnections() {
+        List<PooledConnection> evicted=new ArrayList<>();
+        lock.lock();
+        try {
+            long now=System.nanoTime();
+            Iterator<PooledConnection> iterator=idle.descendingIterator();
+            while (iterator.hasNext() && idle.size()>minIdleConnections) {
+                PooledConnection connection=iterator.next();
+                if (connection.broken || now-connection.returnedNanos>=maxIdleNanos) {
+                    iterator.remove();
+                    evicted.add(connection);
+                }
+            }
+            size-=evicted.size();
+            destroyedConnectionCount+=evicted.size();
+        } finally {
+            lock.unlock();
+        }
+        evicted.forEach(PooledConnection::closeQuietly);
+    }
+
+    private void sessionCreated(boolean reused) {
+        lock.lock();
+        try {
+            if (reused) {
+                reusedSessionCount++;
+            } else {
+                createdSessionCount++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Object invoke(Object target,
+                                 Method method,
+                                 Object[] args) throws Throwable {
+        try {
+            return method.invoke(target,args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static Object handleObjectMethod(Object proxy,
+                                             Method method,
+                                             Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy==args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> proxy.getClass().getName()+"@"+Integer.toHexString(System.identityHashCode(proxy));
+        };
+    }
+
+    /**
+     * Connection of the pool.
+     */
+    private final class PooledConnection {
+        private final Connection target;
+        private final Map<Integer,Deque<Session>> idleSessions=new HashMap<>();
+        private final Set<SessionLease> sessionLeases=ConcurrentHashMap.newKeySet();
+        private final Set<Destination> temporaryDestinations=ConcurrentHashMap.newKeySet();
+        private volatile ExceptionListener exceptionListener;
+        private volatile boolean started;
+        private volatile boolean broken;
+        private long returnedNanos=System.nanoTime();
+
+        private PooledConnection(Connection target) throws JMSException {
+            this.target=target;
+            target.setExceptionListener(ex->{
+                broken=true;
+                ExceptionListener listener=exceptionListener;
+                if (listener!=null) {
+                    listener.onException(ex);
+                }
+            });
+        }
+
+        private boolean validate() {
+            if (broken) {
+                return false;
+            }
+            if (System.nanoTime()-returnedNanos<validationIntervalNanos) {
+                return true;
+            }
+            try {
+                Session session=target.createSession(false,Session.AUTO_ACKNOWLEDGE);
+                session.close();
+                return true;
+            } catch (JMSException|RuntimeException ex) {
+                log.debug("Failure to validate connection; connection is discarded!",ex);
+                return false;
+            }
+        }
+
+        private Connection lend() {
+            return (Connection)Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                                                      new Class<?>[]{Connection.class},
+                                                      new ConnectionLease(this));
+        }
+
+        private Session borrowSession(int sessionMode) throws JMSException {
+            Session session;
+            synchronized (this) {
+                Deque<Session> sessions=idleSessions.get(sessionMode);
+                session=sessions==null?null:sessions.pollFirst();
+            }
+            if (session!=null) {
+                sessionCreated(true);
+            } else {
+                session=target.createSession(sessionMode);
+                sessionCreated(false);
+            }
+            SessionLease lease=new SessionLease(this,sessionMode,session);
+            sessionLeases.add(lease);
+            return (Session)Proxy.newProxyInstance(Session.class.getClassLoader(),
+                                                   new Class<?>[]{Session.class},
+                                                   lease);
+        }
+
+        private void returnSession(SessionLease lease) {
+            sessionLeases.remove(lease);
+            if (!broken) {
+                synchronized (this) {
+                    Deque<Session> sessions=idleSessions.computeIfAbsent(lease.sessionMode,m->new ArrayDeque<>());
+                    if (sessions.size()<maxIdleSessions) {
+                        sessions.addFirst(lease.target);
+                        return;
+                    }
+                }
+            }
+            try {
+                lease.target.close();
+            } catch (JMSException|RuntimeException ex) {
+                log.debug("Failure to close session!",ex);
+            }
+        }
+
+        private void start() throws JMSException {
+            target.start();
+            started=true;
+        }
+
+        private void stop() throws JMSException {
+            target.stop();
+            started=false;
+        }
+
+        /**
+         * Resets this connection to the state of a new connection.
+         * Temporary destinations are deleted, and a started connection is stopped.
+         * A connection failing to reset is marked as broken, hence discarded.
+         */
+        private void reset() {
+            try {
+                for (Destination destination: List.copyOf(temporaryDestinations)) {
+                    temporaryDestinations.remove(destination);
+                    if (destination instanceof TemporaryQueue queue) {
+                        queue.delete();
+                    } else if (destination instanceof TemporaryTopic topic) {
+                        topic.delete();
+                    }
+                }
+                if (started) {
+                    stop();
+                }
+            } catch (JMSException|RuntimeException ex) {
+                log.debug("Failure to reset connection; connection is discarded!",ex);
+                broken=true;
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                target.close();
+            } catch (JMSException|RuntimeException ex) {
+                log.debug("Failure to close connection!",ex);
+            }
+        }
+    }
+
+    /**
+     * Connection lent out.
+     */
+    private final class ConnectionLease implements InvocationHandler {
+        private final PooledConnection connection;
+        private boolean closed;
+
+        private ConnectionLease(PooledConnection connection) {
+            this.connection=connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy,
+                             Method method,
+                             Object[] args) throws Throwable {
+            if (method.getDeclaringClass()==Object.class) {
+                return handleObjectMethod(proxy,method,args);
+            }
+            String name=method.getName();
+            synchronized (this) {
+                if (name.equals("close")) {
+                    if (!closed) {
+                        closed=true;
+                        for (SessionLease lease: List.copyOf(connection.sessionLeases)) {
+                            lease.close();
+                        }
+                        connection.reset();
+                        connection.exceptionListener=null;
+                        release(connection);
+                    }
+                    return null;
+                }
+                if (closed) {
+                    throw new IllegalStateException("Failure to use connection; connection is closed!");
+                }
+            }
+            return switch (name) {
+                case "createSession" -> connection.borrowSession(sessionMode(args));
+                case "start" -> {
+                    connection.start();
+                    yield null;
+                }
+                case "stop" -> {
+                    connection.stop();
+                    yield null;
+                }
+                case "setExceptionListener" -> {
+                    connection.exceptionListener=(ExceptionListener)args[0];
+                    yield null;
+                }
+                case "getExceptionListener" -> connection.exceptionListener;
+                case "setClientID" -> throw new IllegalStateException("Failure to set client identifier; connection is pooled!");
+                default -> PooledConnectionFactory.invoke(connection.target,method,args);
+            };
+        }
+
+        private static int sessionMode(Object[] args) {
+            if (args==null || args.length==0) {
+                return Session.AUTO_ACKNOWLEDGE;
+            }
+            if (args.length==1) {
+                return (Integer)args[0];
+            }
+            return (Boolean)args[0]?Session.SESSION_TRANSACTED:(Integer)args[1];
+        }
+    }
+
+    /**
+     * Session lent out.
+     */
+    private final class SessionLease implements InvocationHandler {
+        private final PooledConnection connection;
+        private final int sessionMode;
+        private final Session target;
+        private final List<AutoCloseable> resources=new ArrayList<>();
+        private boolean closed;
+
+        private SessionLease(PooledConnection connection,
+                             int sessionMode,
+                             Session target) {
+            this.connection=connection;
+            this.sessionMode=sessionMode;
+            this.target=target;
+        }
+
+        @Override
+        public Object invoke(Object proxy,
+                             Method method,
+                             Object[] args) throws Throwable {
+            if (method.getDeclaringClass()==Object.class) {
+                return handleObjectMethod(proxy,method,args);
+            }
+            if (method.getName().equals("close")) {
+                close();
+                return null;
+            }
+            synchronized (this) {
+                if (closed) {
+                    throw new IllegalStateException("Failure to use session; session is closed!");
+                }
+            }
+            Object result=PooledConnectionFactory.invoke(target,method,args);
+            if (result instanceof AutoCloseable resource && method.getName().startsWith("create")) {
+                synchronized (this) {
+                    resources.add(resource);
+                }
+            } else if (result instanceof TemporaryQueue || result instanceof TemporaryTopic) {
+                connection.temporaryDestinations.add((Destination)result);
+            }
+            return result;
+        }
+
+        private void close() {
+            List<AutoCloseable> closing;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed=true;
+                closing=List.copyOf(resources);
+                resources.clear();
+            }
+            try {
+                for (AutoCloseable resource: closing) {
+                    resource.close();
+                }
+                if (sessionMode==Session.SESSION_TRANSACTED) {
+                    target.rollback();
+                } else if (sessionMode==Session.CLIENT_ACKNOWLEDGE) {
+                    target.recover();
+                }
+            } catch (Exception ex) {
+                log.debug("Failure to reset session; session is discarded!",ex);
+                connection.sessionLeases.remove(this);
+                try {
+                    target.close();
+                } catch (JMSException|RuntimeException closeEx) {
+                    log.debug("Failure to close session!",closeEx);
+                }
+                return;
+            }
+            connection.returnSession(this);
+        }
+    }
+}
@@ -29,5 +29,8 @@ module com.yelstream.topp.standard.messaging.jakarta.jms {
     requires jakarta.messaging;
     requires com.yelstream.topp.standard.core;
     exports com.yelstream.topp.standard.messaging.jakarta.jms;
+    exports com.yelstream.topp.standard.messaging.jakarta.jms.codec;
+    exports com.yelstream.topp.standard.messaging.jakarta.jms.container;
+    exports com.yelstream.topp.standard.messaging.jakarta.jms.pool;
     exports com.yelstream.topp.standard.messaging.jakarta.jms.util;
 }
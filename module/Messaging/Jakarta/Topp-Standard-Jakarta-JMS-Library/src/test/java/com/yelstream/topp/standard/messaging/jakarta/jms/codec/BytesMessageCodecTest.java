@@ -0,0 +1,224 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.jakarta.jms.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.Connection;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test of {@link BytesMessageCodec} against an embedded ActiveMQ Artemis broker,
+ * including a comparison of the cost of JSON payloads carried as text messages and as encoded bytes messages.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class BytesMessageCodecTest {
+    /**
+     * Item of a document.
+     * @param index Index.
+     * @param name Name.
+     * @param value Value.
+     */
+    record Item(int index, String name, double value) { }
+
+    /**
+     * Document carried as payload.
+     * @param id Identifier.
+     * @param items Items.
+     */
+    record Document(String id, List<Item> items) { }
+
+    private static final ObjectMapper OBJECT_MAPPER=new ObjectMapper();
+
+    private static EmbeddedActiveMQ broker;
+
+    private static ActiveMQConnectionFactory connectionFactory;
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void startBroker() throws Exception {
+        broker=new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl().setPersistenceEnabled(false)
+                                                       .setSecurityEnabled(false)
+                                                       .addAcceptorConfiguration("in-vm","vm://0"));
+        broker.start();
+        connectionFactory=new ActiveMQConnectionFactory("vm://0");
+        connection=connectionFactory.createConnection();
+        connection.start();
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        connection.close();
+        connectionFactory.close();
+        broker.stop();
+    }
+
+    private static Document createDocument(int approximateSize) {
+        List<Item> items=new ArrayList<>();
+        for (int i=0; i*48<approximateSize; i++) {
+            items.add(new Item(i,"item-"+(i%100),i*0.5));
+        }
+        return new Document("document-"+approximateSize,items);
+    }
+
+    private static BytesMessageCodec<Document> createCodec(PayloadCompression compression) {
+        return BytesMessageCodec.<Document>builder()
+                                .writer(OBJECT_MAPPER::writeValue)
+                                .reader(in->OBJECT_MAPPER.readValue(in,Document.class))
+                                .compression(compression)
+                                .build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints={1024,64*1024,1024*1024})
+    void roundTrip(int size) throws JMSException {
+        Document document=createDocument(size);
+        BytesMessageCodec<Document> codec=createCodec(PayloadCompression.Deflate);
+        try (Session session=connection.createSession(false,Session.AUTO_ACKNOWLEDGE)) {
+            Queue queue=session.createQueue("codec-"+size);
+            try (MessageProducer producer=session.createProducer(queue);
+                 MessageConsumer consumer=session.createConsumer(queue)) {
+                producer.send(codec.encode(session,document));
+                BytesMessage message=(BytesMessage)consumer.receive(5_000);
+                Assertions.assertNotNull(message);
+                Assertions.assertEquals(size>=16*1024,message.propertyExists(BytesMessageCodec.CONTENT_ENCODING_PROPERTY));
+                Assertions.assertEquals(document,codec.decode(message));
+            }
+        }
+    }
+
+    @Test
+    void unknownEncodingIsRejected() throws JMSException {
+        BytesMessageCodec<Document> codec=createCodec(PayloadCompression.Deflate);
+        try (Session session=connection.createSession(false,Session.AUTO_ACKNOWLEDGE)) {
+            BytesMessage message=codec.encode(session,createDocument(1024));
+            message.setStringProperty(BytesMessageCodec.CONTENT_ENCODING_PROPERTY,"lz4");
+            message.reset();
+            Assertions.assertThrows(JMSException.class,()->codec.decode(message));
+        }
+    }
+
+    @Test
+    void malformedBodyIsRejected() throws JMSException {
+        BytesMessageCodec<Document> codec=createCodec(PayloadCompression.Deflate);
+        try (Session session=connection.createSession(false,Session.AUTO_ACKNOWLEDGE)) {
+            BytesMessage message=session.createBytesMessage();
+            message.setStringProperty(BytesMessageCodec.CONTENT_ENCODING_PROPERTY,PayloadCompression.Deflate.getEncoding());
+            message.writeBytes(new byte[]{1,2,3,4,5,6,7,8});
+            message.reset();
+            Assertions.assertThrows(JMSException.class,()->codec.decode(message));
+        }
+    }
+
+    @Test
+    void oversizedContentIsRejected() throws JMSException {
+        BytesMessageCodec<Document> codec=createCodec(PayloadCompression.Deflate);
+        BytesMessageCodec<Document> boundedCodec=BytesMessageCodec.<Document>builder()
+                                                                  .writer(OBJECT_MAPPER::writeValue)
+                                                                  .reader(in->OBJECT_MAPPER.readValue(in,Document.class))
+                                                                  .maxContentSize(32*1024)
+                                                                  .build();
+        try (Session session=connection.createSession(false,Session.AUTO_ACKNOWLEDGE)) {
+            BytesMessage message=codec.encode(session,createDocument(1024*1024));
+            message.reset();
+            Assertions.assertThrows(JMSException.class,()->boundedCodec.decode(message));
+
+            message.clearProperties();
+            message.setStringProperty(BytesMessageCodec.CONTENT_ENCODING_PROPERTY,PayloadCompression.Deflate.getEncoding());
+            message.reset();
+            Assertions.assertThrows(JMSException.class,()->boundedCodec.decode(message));
+
+            Assertions.assertThrows(JMSException.class,()->boundedCodec.encode(session,createDocument(1024*1024)));
+        }
+    }
+
+    @Test
+    void invalidSettingsAreRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class,()->BytesMessageCodec.<Document>builder().writer(OBJECT_MAPPER::writeValue).maxPooledWorkspaces(0).build());
+        Assertions.assertThrows(IllegalArgumentException.class,()->BytesMessageCodec.<Document>builder().writer(OBJECT_MAPPER::writeValue).maxContentSize(0).build());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints={1024,16*1024,256*1024,1024*1024})
+    void throughput(int size) throws JMSException, IOException {
+        Document document=createDocument(size);
+        int count=Math.max(20,(int)(64L*1024*1024/size));
+        try (Session session=connection.createSession(false,Session.AUTO_ACKNOWLEDGE)) {
+            long text=timeText(session,document,count);
+            long identity=timeCodec(session,createCodec(PayloadCompression.Identity),document,count);
+            long deflate=timeCodec(session,createCodec(PayloadCompression.Deflate),document,count);
+            log.info("Encode and decode of {} payloads of {} bytes; text {} payloads/s, bytes {} payloads/s, compressed bytes {} payloads/s.",
+                     count,size,rate(count,text),rate(count,identity),rate(count,deflate));
+        }
+    }
+
+    private static long rate(int count,
+                             long nanos) {
+        return count*1_000_000_000L/Math.max(1L,nanos);
+    }
+
+    private static long timeText(Session session,
+                                 Document document,
+                                 int count) throws JMSException, IOException {
+        long start=System.nanoTime();
+        for (int i=0; i<count; i++) {
+            TextMessage message=session.createTextMessage(OBJECT_MAPPER.writeValueAsString(document));
+            Assertions.assertEquals(document.items().size(),OBJECT_MAPPER.readValue(message.getText(),Document.class).items().size());
+        }
+        return System.nanoTime()-start;
+    }
+
+    private static long timeCodec(Session session,
+                                  BytesMessageCodec<Document> codec,
+                                  Document document,
+                                  int count) throws JMSException {
+        long start=System.nanoTime();
+        for (int i=0; i<count; i++) {
+            BytesMessage message=codec.encode(session,document);
+            message.reset();
+            Assertions.assertEquals(document.items().size(),codec.decode(message).items().size());
+        }
+        return System.nanoTime()-start;
+    }
+}
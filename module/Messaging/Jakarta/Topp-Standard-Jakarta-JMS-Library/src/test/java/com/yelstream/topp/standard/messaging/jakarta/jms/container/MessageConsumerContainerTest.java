@@ -0,0 +1,207 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.jakarta.jms.container;
+
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Test of {@link MessageConsumerContainer} against an embedded ActiveMQ Artemis broker,
+ * including a comparison of the drain rate of a single consumer and of concurrent consumers.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class MessageConsumerContainerTest {
+    private static final int MESSAGE_COUNT=5_000;
+
+    private static final long HANDLER_NANOS=TimeUnit.MICROSECONDS.toNanos(200);
+
+    private static EmbeddedActiveMQ broker;
+
+    private static ActiveMQConnectionFactory connectionFactory;
+
+    @BeforeAll
+    static void startBroker() throws Exception {
+        broker=new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl().setPersistenceEnabled(false)
+                                                       .setSecurityEnabled(false)
+                                                       .addAcceptorConfiguration("in-vm","vm://0"));
+        broker.start();
+        connectionFactory=new ActiveMQConnectionFactory("vm://0");
+        connectionFactory.setConsumerWindowSize(256*1024);
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        connectionFactory.close();
+        broker.stop();
+    }
+
+    private static void produce(ConnectionFactory connectionFactory,
+                                String queueName,
+                                int count) throws JMSException {
+        try (var connection=connectionFactory.createConnection();
+             Session session=connection.createSession(true,Session.SESSION_TRANSACTED);
+             MessageProducer producer=session.createProducer(session.createQueue(queueName))) {
+            for (int i=0; i<count; i++) {
+                producer.send(session.createTextMessage(Integer.toString(i)));
+                if (i%500==499) {
+                    session.commit();
+                }
+            }
+            session.commit();
+        }
+    }
+
+    private static long drain(String queueName,
+                              int maxConcurrency,
+                              AcknowledgementMode acknowledgementMode) throws JMSException, InterruptedException {
+        produce(connectionFactory,queueName,MESSAGE_COUNT);
+        CountDownLatch latch=new CountDownLatch(MESSAGE_COUNT);
+        AtomicInteger active=new AtomicInteger();
+        AtomicInteger maxActive=new AtomicInteger();
+        MessageConsumerContainer container=MessageConsumerContainer.builder()
+                                                                   .connectionFactory(connectionFactory)
+                                                                   .destinationCreator(MessageConsumerContainer.queue(queueName))
+                                                                   .handler(message->{
+                                                                       maxActive.accumulateAndGet(active.incrementAndGet(),Math::max);
+                                                                       LockSupport.parkNanos(HANDLER_NANOS);
+                                                                       active.decrementAndGet();
+                                                                       latch.countDown();
+                                                                   })
+                                                                   .minConcurrency(1)
+                                                                   .maxConcurrency(maxConcurrency)
+                                                                   .acknowledgementMode(acknowledgementMode)
+                                                                   .receiveTimeout(Duration.ofMillis(100))
+                                                                   .build();
+        try {
+            long start=System.nanoTime();
+            container.start();
+            Assertions.assertTrue(latch.await(2,TimeUnit.MINUTES));
+            long elapsed=System.nanoTime()-start;
+            Assertions.assertTrue(maxActive.get()<=maxConcurrency);
+            log.info("Drain of {} messages with {} acknowledgement and at most {} consumers: {} messages/s, peak concurrency {}.",
+                     MESSAGE_COUNT,acknowledgementMode,maxConcurrency,MESSAGE_COUNT*1_000_000_000L/Math.max(1L,elapsed),maxActive.get());
+            return elapsed;
+        } finally {
+            container.close();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(AcknowledgementMode.class)
+    void throughput(AcknowledgementMode acknowledgementMode) throws JMSException, InterruptedException {
+        drain("single-"+acknowledgementMode,1,acknowledgementMode);
+        drain("concurrent-"+acknowledgementMode,8,acknowledgementMode);
+    }
+
+    @Test
+    void scaleUpAndDown() throws JMSException, InterruptedException {
+        String queueName="scale";
+        produce(connectionFactory,queueName,MESSAGE_COUNT);
+        AtomicInteger maxConsumerCount=new AtomicInteger();
+        CountDownLatch latch=new CountDownLatch(MESSAGE_COUNT);
+        MessageConsumerContainer[] holder=new MessageConsumerContainer[1];
+        holder[0]=MessageConsumerContainer.builder()
+                                          .connectionFactory(connectionFactory)
+                                          .destinationCreator(MessageConsumerContainer.queue(queueName))
+                                          .handler(message->{
+                                              maxConsumerCount.accumulateAndGet(holder[0].getConsumerCount(),Math::max);
+                                              LockSupport.parkNanos(HANDLER_NANOS);
+                                              latch.countDown();
+                                          })
+                                          .minConcurrency(1)
+                                          .maxConcurrency(4)
+                                          .receiveTimeout(Duration.ofMillis(50))
+                                          .idleReceiveLimit(2)
+                                          .build();
+        try {
+            holder[0].start();
+            Assertions.assertTrue(latch.await(2,TimeUnit.MINUTES));
+            Assertions.assertTrue(maxConsumerCount.get()>1);
+            long deadline=System.nanoTime()+TimeUnit.SECONDS.toNanos(10);
+            while (holder[0].getConsumerCount()>1 && System.nanoTime()<deadline) {
+                Thread.sleep(50);
+            }
+            Assertions.assertEquals(1,holder[0].getConsumerCount());
+        } finally {
+            holder[0].close();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value=AcknowledgementMode.class,names={"ClientBatch","TransactedBatch"})
+    void failedBatchIsRedelivered(AcknowledgementMode acknowledgementMode) throws JMSException, InterruptedException {
+        String queueName="redelivery-"+acknowledgementMode;
+        int count=100;
+        produce(connectionFactory,queueName,count);
+        Set<String> handled=ConcurrentHashMap.newKeySet();
+        AtomicInteger failures=new AtomicInteger();
+        CountDownLatch latch=new CountDownLatch(count);
+        MessageConsumerContainer container=MessageConsumerContainer.builder()
+                                                                   .connectionFactory(connectionFactory)
+                                                                   .destinationCreator(MessageConsumerContainer.queue(queueName))
+                                                                   .handler(message->{
+                                                                       String text=((TextMessage)message).getText();
+                                                                       if (text.equals("42") && failures.getAndIncrement()==0) {
+                                                                           throw new IllegalStateException("Failure to handle message; message is '%s'!".formatted(text));
+                                                                       }
+                                                                       if (handled.add(text)) {
+                                                                           latch.countDown();
+                                                                       }
+                                                                   })
+                                                                   .maxConcurrency(1)
+                                                                   .acknowledgementMode(acknowledgementMode)
+                                                                   .batchSize(16)
+                                                                   .receiveTimeout(Duration.ofMillis(100))
+                                                                   .build();
+        try {
+            container.start();
+            Assertions.assertTrue(latch.await(1,TimeUnit.MINUTES));
+            Assertions.assertEquals(1,container.getFailedCount());
+            Assertions.assertEquals(count,handled.size());
+        } finally {
+            container.close();
+        }
+    }
+}
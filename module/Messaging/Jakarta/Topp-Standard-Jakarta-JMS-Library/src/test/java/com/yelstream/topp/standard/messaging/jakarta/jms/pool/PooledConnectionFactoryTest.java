@@ -0,0 +1,302 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.jakarta.jms.pool;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TemporaryQueue;
+import jakarta.jms.TextMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test of {@link PooledConnectionFactory} against an embedded ActiveMQ Artemis broker,
+ * including a comparison of the cost of sending through pooled and unpooled connections.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class PooledConnectionFactoryTest {
+    private static EmbeddedActiveMQ broker;
+
+    private static ActiveMQConnectionFactory connectionFactory;
+
+    @BeforeAll
+    static void startBroker() throws Exception {
+        broker=new EmbeddedActiveMQ();
+        broker.setConfiguration(new ConfigurationImpl().setPersistenceEnabled(false)
+                                                       .setSecurityEnabled(false)
+                                                       .addAcceptorConfiguration("in-vm","vm://0"));
+        broker.start();
+        connectionFactory=new ActiveMQConnectionFactory("vm://0");
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        connectionFactory.close();
+        broker.stop();
+    }
+
+    private static void send(ConnectionFactory factory,
+                             String queueName,
+                             String text) throws JMSException {
+        try (Connection connection=factory.createConnection();
+             Session session=connection.createSession(false,Session.AUTO_ACKNOWLEDGE)) {
+            MessageProducer producer=session.createProducer(session.createQueue(queueName));
+            producer.send(session.createTextMessage(text));
+        }
+    }
+
+    @Test
+    void connectionsAndSessionsAreReused() throws JMSException {
+        try (PooledConnectionFactory pool=PooledConnectionFactory.of(connectionFactory)) {
+            for (int i=0; i<100; i++) {
+                send(pool,"reuse",Integer.toString(i));
+            }
+            PooledConnectionFactory.Statistics statistics=pool.getStatistics();
+            Assertions.assertEquals(1,statistics.createdConnectionCount());
+            Assertions.assertEquals(1,statistics.createdSessionCount());
+            Assertions.assertEquals(99,statistics.reusedSessionCount());
+            Assertions.assertEquals(100,statistics.borrowCount());
+            Assertions.assertEquals(1,statistics.poolSize());
+            Assertions.assertEquals(1,statistics.idleCount());
+            Assertions.assertEquals(0,statistics.getActiveCount());
+        }
+    }
+
+    @Test
+    void poolIsBounded() throws Exception {
+        try (PooledConnectionFactory pool=PooledConnectionFactory.builder()
+                                                                 .connectionFactory(connectionFactory)
+                                                                 .maxConnections(2)
+                                                                 .borrowTimeout(Duration.ofMillis(200))
+                                                                 .build()) {
+            Connection first=pool.createConnection();
+            Connection second=pool.createConnection();
+            Assertions.assertThrows(JMSException.class,pool::createConnection);
+
+            ExecutorService executor=Executors.newSingleThreadExecutor();
+            try {
+                Future<Connection> third=executor.submit(pool::createConnection);
+                Thread.sleep(50);
+                first.close();
+                third.get(5,TimeUnit.SECONDS).close();
+            } finally {
+                executor.shutdownNow();
+            }
+            second.close();
+
+            PooledConnectionFactory.Statistics statistics=pool.getStatistics();
+            Assertions.assertEquals(2,statistics.createdConnectionCount());
+            Assertions.assertEquals(1,statistics.timeoutCount());
+            Assertions.assertEquals(2,statistics.waitCount());
+            Assertions.assertEquals(3,statistics.borrowCount());
+            Assertions.assertEquals(2,statistics.poolSize());
+            Assertions.assertEquals(2,statistics.idleCount());
+            Assertions.assertTrue(statistics.borrowLatency().getMax().compareTo(Duration.ofMillis(40))>=0);
+        }
+    }
+
+    @Test
+    void closedConnectionCannotBeUsed() throws JMSException {
+        try (PooledConnectionFactory pool=PooledConnectionFactory.of(connectionFactory)) {
+            Connection connection=pool.createConnection();
+            connection.close();
+            Assertions.assertThrows(jakarta.jms.IllegalStateException.class,()->connection.createSession(false,Session.AUTO_ACKNOWLEDGE));
+            Assertions.assertThrows(jakarta.jms.IllegalStateException.class,()->{
+                try (Connection other=pool.createConnection()) {
+                    other.setClientID("client");
+                }
+            });
+        }
+    }
+
+    @Test
+    void abandonedConsumerIsClosedOnReturn() throws JMSException {
+        String queueName="abandoned";
+        try (PooledConnectionFactory pool=PooledConnectionFactory.of(connectionFactory)) {
+            try (Connection connection=pool.createConnection()) {
+                Session session=connection.createSession(false,Session.AUTO_ACKNOWLEDGE);
+                session.createConsumer(session.createQueue(queueName));
+            }
+            send(pool,queueName,"message");
+            try (Connection connection=pool.createConnection();
+                 Session session=connection.createSession(false,Session.AUTO_ACKNOWLEDGE);
+                 MessageConsumer consumer=session.createConsumer(session.createQueue(queueName))) {
+                connection.start();
+                Message message=consumer.receive(5_000);
+                Assertions.assertNotNull(message);
+                Assertions.assertEquals("message",((TextMessage)message).getText());
+            }
+        }
+    }
+
+    @Test
+    void uncommittedWorkIsRolledBackOnReturn() throws JMSException {
+        String queueName="rollback";
+        try (PooledConnectionFactory pool=PooledConnectionFactory.of(connectionFactory)) {
+            try (Connection connection=pool.createConnection();
+                 Session session=connection.createSession(true,Session.SESSION_TRANSACTED)) {
+                Queue queue=session.createQueue(queueName);
+                session.createProducer(queue).send(session.createTextMessage("uncommitted"));
+            }
+            try (Connection connection=pool.createConnection();
+                 Session session=connection.createSession(false,Session.AUTO_ACKNOWLEDGE);
+                 MessageConsumer consumer=session.createConsumer(session.createQueue(queueName))) {
+                connection.start();
+                Assertions.assertNull(consumer.receive(200));
+            }
+        }
+    }
+
+    @Test
+    void temporaryDestinationIsDeletedOnReturn() throws JMSException {
+        try (PooledConnectionFactory pool=PooledConnectionFactory.of(connectionFactory)) {
+            TemporaryQueue queue;
+            try (Connection connection=pool.createConnection()) {
+                Session session=connection.createSession(false,Session.AUTO_ACKNOWLEDGE);
+                queue=session.createTemporaryQueue();
+                Assertions.assertNotNull(broker.getActiveMQServer().locateQueue(queue.getQueueName()));
+            }
+            Assertions.assertNull(broker.getActiveMQServer().locateQueue(queue.getQueueName()));
+            Assertions.assertEquals(1,pool.getStatistics().poolSize());
+        }
+    }
+
+    @Test
+    void connectionIsStoppedOnReturn() throws JMSException {
+        String queueName="stopped";
+        try (PooledConnectionFactory pool=PooledConnectionFactory.of(connectionFactory)) {
+            try (Connection connection=pool.createConnection()) {
+                connection.start();
+            }
+            try (Connection connection=pool.createConnection();
+                 Session session=connection.createSession(false,Session.AUTO_ACKNOWLEDGE);
+                 MessageConsumer consumer=session.createConsumer(session.createQueue(queueName))) {
+                send(pool,queueName,"message");
+                Assertions.assertNull(consumer.receive(200));
+                connection.start();
+                Assertions.assertNotNull(consumer.receive(5_000));
+                connection.stop();
+            }
+            Assertions.assertEquals(2,pool.getStatistics().createdConnectionCount());
+            Assertions.assertEquals(0,pool.getStatistics().destroyedConnectionCount());
+        }
+    }
+
+    @Test
+    void idleConnectionsAreEvicted() throws JMSException, InterruptedException {
+        try (PooledConnectionFactory pool=PooledConnectionFactory.builder()
+                                                                 .connectionFactory(connectionFactory)
+                                                                 .maxIdleTime(Duration.ofMillis(100))
+                                                                 .evictionInterval(Duration.ofMillis(50))
+                                                                 .minIdleConnections(1)
+                                                                 .build()) {
+            Connection first=pool.createConnection();
+            Connection second=pool.createConnection();
+            Connection third=pool.createConnection();
+            first.close();
+            second.close();
+            third.close();
+            Assertions.assertEquals(3,pool.getStatistics().idleCount());
+
+            long deadline=System.nanoTime()+TimeUnit.SECONDS.toNanos(5);
+            while (pool.getStatistics().idleCount()>1 && System.nanoTime()<deadline) {
+                Thread.sleep(25);
+            }
+            PooledConnectionFactory.Statistics statistics=pool.getStatistics();
+            Assertions.assertEquals(1,statistics.poolSize());
+            Assertions.assertEquals(2,statistics.destroyedConnectionCount());
+        }
+    }
+
+    @Test
+    void invalidConnectionIsDiscarded() throws JMSException {
+        List<Connection> created=new ArrayList<>();
+        ConnectionFactory capturingConnectionFactory=(ConnectionFactory)Proxy.newProxyInstance(
+            ConnectionFactory.class.getClassLoader(),
+            new Class<?>[]{ConnectionFactory.class},
+            (proxy,method,args)->{
+                Object result=method.invoke(connectionFactory,args);
+                if (result instanceof Connection connection) {
+                    created.add(connection);
+                }
+                return result;
+            });
+        try (PooledConnectionFactory pool=PooledConnectionFactory.builder()
+                                                                 .connectionFactory(capturingConnectionFactory)
+                                                                 .validationInterval(Duration.ZERO)
+                                                                 .build()) {
+            send(pool,"invalid","first");
+            created.get(0).close();
+            send(pool,"invalid","second");
+            PooledConnectionFactory.Statistics statistics=pool.getStatistics();
+            Assertions.assertEquals(2,statistics.createdConnectionCount());
+            Assertions.assertEquals(1,statistics.destroyedConnectionCount());
+            Assertions.assertEquals(1,statistics.poolSize());
+        }
+    }
+
+    @Test
+    void pooledSendIsCheaperThanUnpooled() throws JMSException {
+        int count=1_000;
+        long unpooled=timeSends(connectionFactory,"unpooled",count);
+        long pooled;
+        try (PooledConnectionFactory pool=PooledConnectionFactory.of(connectionFactory)) {
+            pooled=timeSends(pool,"pooled",count);
+            log.info("Pooled borrow latency: {}.",pool.getStatistics().borrowLatency());
+        }
+        log.info("Send of {} messages; unpooled {} messages/s, pooled {} messages/s.",
+                 count,count*1_000_000_000L/Math.max(1L,unpooled),count*1_000_000_000L/Math.max(1L,pooled));
+        Assertions.assertTrue(pooled<unpooled);
+    }
+
+    private static long timeSends(ConnectionFactory factory,
+                                  String queueName,
+                                  int count) throws JMSException {
+        long start=System.nanoTime();
+        for (int i=0; i<count; i++) {
+            send(factory,queueName,Integer.toString(i));
+        }
+        return System.nanoTime()-start;
+    }
+}
@@ -1,10 +1,62 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
 package com.yelstream.topp.standard.messaging.ladybug;
 
+import com.yelstream.topp.standard.messaging.ladybug.scatter.ScatterPolicy;
+import com.yelstream.topp.standard.messaging.ladybug.scatter.Scatterers;
+
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
-public class Scatterer {
-
-    CompletableFuture<List<Object>> scatter(String topic, Object request);
+/**
+ * Scatter of a request to all responders of a topic, gathering their responses.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public interface Scatterer {
+    /**
+     * Scatters a request and gathers the responses.
+     * <p>
+     *     Responses are published as they arrive.
+     *     The publisher completes as soon as the policy is satisfied,
+     *     e.g. on a quorum of responses or on a deadline with partial results.
+     * </p>
+     * @param topic Topic.
+     * @param request Request.
+     * @param policy Policy of gathering.
+     * @return Publisher of responses.
+     */
+    Flow.Publisher<Object> scatter(String topic,
+                                   Object request,
+                                   ScatterPolicy policy);
 
+    /**
+     * Scatters a request and gathers the responses of all responders.
+     * @param topic Topic.
+     * @param request Request.
+     * @return Responses.
+     */
+    default CompletableFuture<List<Object>> scatter(String topic,
+                                                    Object request) {
+        return Scatterers.collect(scatter(topic,request,ScatterPolicy.all()));
+    }
 }
@@ -0,0 +1,234 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.correlation;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Correlation of responses to pending requests, with per-request deadlines.
+ * <p>
+ *     Each request is assigned a {@code long} correlation identifier and is held in a lock-free table until
+ *     a response arrives, the request fails, or its deadline passes.
+ *     Deadlines are tracked by a hashed timer wheel shared by all requests,
+ *     instead of scheduling one task per request.
+ *     The deadline of a request completed or failed is cancelled.
+ * </p>
+ * <p>
+ *     Transports carry the correlation identifier with requests and responses,
+ *     e.g. as the header {@link #CORRELATION_ID_HEADER},
+ *     and route received responses to {@link #complete(long,Object)}.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ * @param <R> Type of response.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class CorrelationEngine<R> implements AutoCloseable {
+    /**
+     * Name of header carrying the correlation identifier.
+     */
+    public static final String CORRELATION_ID_HEADER="ladybug-correlation-id";
+
+    /**
+     * Pending request.
+     * @param correlationId Correlation identifier.
+     * @param response Future response.
+     * @param <R> Type of response.
+     */
+    public record Pending<R>(long correlationId, CompletableFuture<R> response) { }
+
+    /**
+     * Future response of a pending request, carrying the deadline of the request.
+     * <p>
+     *     Holding the deadline here allows its expiry to be cancelled without allocating additional objects per request.
+     * </p>
+     * @param <R> Type of response.
+     */
+    private static final class PendingResponse<R> extends CompletableFuture<R> {
+        /**
+         * Deadline, relative to {@link System#nanoTime()}.
+         */
+        private final long deadlineNanos;
+
+        private PendingResponse(long deadlineNanos) {
+            this.deadlineNanos=deadlineNanos;
+        }
+
+        @Override
+        public <U> CompletableFuture<U> newIncompleteFuture() {
+            return new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * Source of correlation identifiers.
+     */
+    private final AtomicLong idGenerator=new AtomicLong();
+
+    /**
+     * Pending requests.
+     */
+    private final PendingRequestTable<PendingResponse<R>> pendingRequests;
+
+    /**
+     * Timer wheel of deadlines.
+     */
+    private final HashedTimerWheel timerWheel;
+
+    private CorrelationEngine(int capacity,
+                              Duration tick,
+                              int wheelSize) {
+        this.pendingRequests=new PendingRequestTable<>(capacity);
+        this.timerWheel=new HashedTimerWheel(tick,wheelSize,this::expire);
+    }
+
+    /**
+     * Creates an engine.
+     * @param capacity Capacity of the table of pending requests.
+     *                 Requests pending beyond this are held in a slower overflow map.
+     * @param tick Resolution of deadlines.
+     * @param wheelSize Number of buckets of the timer wheel.
+     * @return Created engine.
+     * @param <R> Type of response.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static <R> CorrelationEngine<R> createByBuilder(Integer capacity,
+                                                            Duration tick,
+                                                            Integer wheelSize) {
+        return new CorrelationEngine<>(capacity==null?65536:capacity,
+                                       tick==null?Duration.ofMillis(10):tick,
+                                       wheelSize==null?512:wheelSize);
+    }
+
+    /**
+     * Opens a pending request.
+     * @param timeout Timeout of the request.
+     * @return Pending request.
+     */
+    public Pending<R> open(Duration timeout) {
+        long id=idGenerator.incrementAndGet();
+        PendingResponse<R> response=new PendingResponse<>(System.nanoTime()+timeout.toNanos());
+        pendingRequests.put(id,response);
+        timerWheel.schedule(id,response.deadlineNanos);
+        return new Pending<>(id,response);
+    }
+
+    /**
+     * Opens a pending request and sends it.
+     * @param timeout Timeout of the request.
+     * @param sender Sender of the request given the correlation identifier.
+     *               A failure to send fails the request.
+     * @return Response.
+     */
+    public CompletionStage<R> request(Duration timeout,
+                                      LongFunction<? extends CompletionStage<?>> sender) {
+        Pending<R> pending=open(timeout);
+        try {
+            sender.apply(pending.correlationId()).whenComplete((ignore,ex)->{
+                if (ex!=null) {
+                    fail(pending.correlationId(),ex);
+                }
+            });
+        } catch (RuntimeException ex) {
+            fail(pending.correlationId(),ex);
+        }
+        return pending.response();
+    }
+
+    /**
+     * Completes a pending request.
+     * @param correlationId Correlation identifier.
+     * @param response Response.
+     * @return Indicates, if a pending request was completed.
+     *         A response to a request already completed, failed or expired is ignored.
+     */
+    public boolean complete(long correlationId,
+                            R response) {
+        PendingResponse<R> future=remove(correlationId);
+        return future!=null && future.complete(response);
+    }
+
+    /**
+     * Fails a pending request.
+     * @param correlationId Correlation identifier.
+     * @param cause Cause of failure.
+     * @return Indicates, if a pending request was failed.
+     */
+    public boolean fail(long correlationId,
+                        Throwable cause) {
+        PendingResponse<R> future=remove(correlationId);
+        return future!=null && future.completeExceptionally(cause);
+    }
+
+    /**
+     * Removes a pending request and cancels its deadline.
+     * @param correlationId Correlation identifier.
+     * @return Future response of removed request, if any.
+     */
+    private PendingResponse<R> remove(long correlationId) {
+        PendingResponse<R> future=pendingRequests.remove(correlationId);
+        if (future!=null) {
+            timerWheel.cancel(correlationId,future.deadlineNanos);
+        }
+        return future;
+    }
+
+    private void expire(long correlationId) {
+        PendingResponse<R> future=pendingRequests.remove(correlationId);
+        if (future!=null) {
+            future.completeExceptionally(new RequestTimeoutException(correlationId));
+        }
+    }
+
+    /**
+     * Gets the number of pending requests.
+     * @return Number of pending requests.
+     */
+    public int getPendingCount() {
+        return pendingRequests.size();
+    }
+
+    /**
+     * Closes this engine.
+     * All pending requests are cancelled.
+     */
+    @Override
+    public void close() {
+        timerWheel.close();
+        pendingRequests.drain(future->future.completeExceptionally(new CancellationException("Request cancelled; correlation engine closed!")));
+    }
+
+    /**
+     * Creates an engine with default settings.
+     * @return Created engine.
+     * @param <R> Type of response.
+     */
+    public static <R> CorrelationEngine<R> of() {
+        return CorrelationEngine.<R>builder().build();
+    }
+}
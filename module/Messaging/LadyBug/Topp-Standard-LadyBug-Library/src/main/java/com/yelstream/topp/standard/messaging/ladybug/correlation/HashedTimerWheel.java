@@ -0,0 +1,259 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.correlation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Hashed timer wheel expiring identifiers at their deadlines.
+ * <p>
+ *     Deadlines are hashed into a fixed number of buckets by tick.
+ *     A single thread advances the wheel tick by tick and expires all due identifiers of a bucket in bulk.
+ *     Identifiers and deadlines are held in primitive arrays,
+ *     hence scheduling allocates no per-entry objects.
+ * </p>
+ * <p>
+ *     Scheduled entries are cancelled by identifier and deadline, which locates the bucket holding the entry.
+ *     An entry scheduled after its deadline has passed may not be found, and expires within the next tick;
+ *     hence the handler of expired identifiers is still expected to ignore identifiers no longer relevant.
+ *     Deadlines are honoured with a resolution of one tick.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+final class HashedTimerWheel implements AutoCloseable {
+    /**
+     * Entries due in a bucket.
+     */
+    private static final class Bucket {
+        private long[] ids=new long[16];
+        private long[] deadlines=new long[16];
+        private int size;
+
+        private void add(long id,
+                         long deadline) {
+            if (size==ids.length) {
+                ids=Arrays.copyOf(ids,size*2);
+                deadlines=Arrays.copyOf(deadlines,size*2);
+            }
+            ids[size]=id;
+            deadlines[size]=deadline;
+            size++;
+        }
+
+        private boolean remove(long id) {
+            for (int i=0; i<size; i++) {
+                if (ids[i]==id) {
+                    size--;
+                    ids[i]=ids[size];
+                    deadlines[i]=deadlines[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void expire(long now,
+                            Expired expired) {
+            int kept=0;
+            for (int i=0; i<size; i++) {
+                if (deadlines[i]-now<=0) {
+                    expired.add(ids[i]);
+                } else {
+                    ids[kept]=ids[i];
+                    deadlines[kept]=deadlines[i];
+                    kept++;
+                }
+            }
+            size=kept;
+        }
+    }
+
+    /**
+     * Identifiers expired in a single tick.
+     * Used by the ticking thread only.
+     */
+    private static final class Expired {
+        private long[] ids=new long[64];
+        private int size;
+
+        private void add(long id) {
+            if (size==ids.length) {
+                ids=Arrays.copyOf(ids,size*2);
+            }
+            ids[size++]=id;
+        }
+    }
+
+    /**
+     * Duration of a tick, in nanoseconds.
+     */
+    private final long tickNanos;
+
+    /**
+     * Buckets.
+     */
+    private final Bucket[] buckets;
+
+    /**
+     * Mask selecting a bucket.
+     */
+    private final int mask;
+
+    /**
+     * Start time of tick zero.
+     */
+    private final long startNanos;
+
+    /**
+     * Handler of expired identifiers.
+     */
+    private final LongConsumer expiryHandler;
+
+    /**
+     * Last tick processed.
+     * This is updated while holding the lock of the bucket of the tick.
+     */
+    private volatile long processedTick=-1L;
+
+    /**
+     * Indicates, if the wheel is running.
+     */
+    private volatile boolean running=true;
+
+    /**
+     * Thread advancing the wheel.
+     */
+    private final Thread thread;
+
+    HashedTimerWheel(Duration tick,
+                     int wheelSize,
+                     LongConsumer expiryHandler) {
+        this.tickNanos=Math.max(1L,tick.toNanos());
+        int size=Integer.highestOneBit(Math.max(2,wheelSize-1)<<1);
+        this.buckets=new Bucket[size];
+        for (int i=0; i<size; i++) {
+            buckets[i]=new Bucket();
+        }
+        this.mask=size-1;
+        this.expiryHandler=expiryHandler;
+        this.startNanos=System.nanoTime();
+        this.thread=Thread.ofPlatform().name("ladybug-timer-wheel").daemon().start(this::run);
+    }
+
+    /**
+     * Schedules the expiry of an identifier.
+     * @param id Identifier.
+     * @param deadlineNanos Deadline, relative to {@link System#nanoTime()}.
+     */
+    void schedule(long id,
+                  long deadlineNanos) {
+        long tick=getTick(deadlineNanos);
+        while (true) {
+            long target=Math.max(tick,processedTick+1);
+            Bucket bucket=buckets[(int)(target&mask)];
+            synchronized (bucket) {
+                if (processedTick<target) {
+                    bucket.add(id,deadlineNanos);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancels the expiry of an identifier.
+     * @param id Identifier.
+     * @param deadlineNanos Deadline, as scheduled.
+     * @return Indicates, if the scheduled entry was found and removed.
+     */
+    boolean cancel(long id,
+                   long deadlineNanos) {
+        Bucket bucket=buckets[(int)(getTick(deadlineNanos)&mask)];
+        synchronized (bucket) {
+            return bucket.remove(id);
+        }
+    }
+
+    /**
+     * Gets the number of scheduled entries.
+     * @return Number of entries.
+     */
+    int size() {
+        int size=0;
+        for (Bucket bucket: buckets) {
+            synchronized (bucket) {
+                size+=bucket.size;
+            }
+        }
+        return size;
+    }
+
+    private long getTick(long deadlineNanos) {
+        return Math.max(0L,(deadlineNanos-startNanos)/tickNanos);
+    }
+
+    private void run() {
+        Expired expired=new Expired();
+        while (running) {
+            long tick=processedTick+1;
+            long tickEnd=startNanos+(tick+1)*tickNanos;
+            long now=System.nanoTime();
+            if (tickEnd-now>0) {
+                LockSupport.parkNanos(this,tickEnd-now);
+                continue;
+            }
+            Bucket bucket=buckets[(int)(tick&mask)];
+            synchronized (bucket) {
+                bucket.expire(now,expired);
+                processedTick=tick;
+            }
+            for (int i=0; i<expired.size; i++) {
+                try {
+                    expiryHandler.accept(expired.ids[i]);
+                } catch (RuntimeException ex) {
+                    log.warn("Failure to handle expiry; identifier is {}!",expired.ids[i],ex);
+                }
+            }
+            expired.size=0;
+        }
+    }
+
+    @Override
+    public void close() {
+        running=false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.yelstream.topp.standard.messaging.ladybug.correlation;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free table of pending requests keyed by correlation identifier.
+ * <p>
+ *     Keys are mapped directly to the slots of a table by their low bits,
+ *     with keys and values held in atomic arrays updated by compare-and-set.
+ *     Entries are not boxed and no node objects are allocated per entry.
+ *     Correlation identifiers allocated in sequence hence occupy distinct slots,
+ *     as long as fewer requests than the capacity of the table are pending at once.
+ * </p>
+ * <p>
+ *     A key whose slot is occupied by another key is held in an overflow map instead,
+ *     e.g. when a request is still pending after the capacity of the table of later requests have been opened.
+ * </p>
+ * <p>
+ *     Note that the key {@code 0} is reserved and cannot be stored,
+ *     that values are compared by identity,
+ *     and that a key is expected not to be put by multiple threads at once.
+ *     Removal may happen concurrently with anything.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ * @param <V> Type of value.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+final class PendingRequestTable<V> {
+    /**
+     * Key marking an empty slot.
+     */
+    private static final long EMPTY=0L;
+
+    /**
+     * Keys of slots.
+     * A slot whose key is set while its value is {@code null} is being filled or being emptied.
+     */
+    private final AtomicLongArray keys;
+
+    /**
+     * Values of slots.
+     */
+    private final AtomicReferenceArray<V> values;
+
+    /**
+     * Mask selecting a slot.
+     */
+    private final int mask;
+
+    /**
+     * Entries whose slots are occupied.
+     */
+    private final ConcurrentMap<Long,V> overflow=new ConcurrentHashMap<>();
+
+    /**
+     * Number of entries.
+     */
+    private final LongAdder size=new LongAdder();
+
+    PendingRequestTable(int capacity) {
+        int length=Integer.highestOneBit(Math.max(2,capacity-1)<<1);
+        keys=new AtomicLongArray(length);
+        values=new AtomicReferenceArray<>(length);
+        mask=length-1;
+    }
+
+    private int slot(long key) {
+        return (int)key&mask;
+    }
+
+    private static void requireKey(long key) {
+        if (key==EMPTY) {
+            throw new IllegalArgumentException("Failure to address pending request; key %d is reserved!".formatted(key));
+        }
+    }
+
+    V get(long key) {
+        requireKey(key);
+        int i=slot(key);
+        if (keys.get(i)==key) {
+            V value=values.get(i);
+            if (keys.get(i)==key) {
+                return value;
+            }
+        }
+        return overflow.get(key);
+    }
+
+    V put(long key,
+          V value) {
+        requireKey(key);
+        int i=slot(key);
+        while (true) {
+            long current=keys.get(i);
+            if (current==key) {
+                V old=values.get(i);
+                if (old!=null && values.compareAndSet(i,old,value)) {
+                    return old;
+                }
+                Thread.onSpinWait();  //Note: Being emptied by a concurrent removal!
+                continue;
+            }
+            V old=overflow.replace(key,value);
+            if (old!=null) {
+                return old;
+            }
+            if (current==EMPTY) {
+                if (keys.compareAndSet(i,EMPTY,key)) {
+                    values.set(i,value);
+                    size.increment();
+                    return null;
+                }
+                continue;
+            }
+            old=overflow.put(key,value);
+            if (old==null) {
+                size.increment();
+            }
+            return old;
+        }
+    }
+
+    V remove(long key) {
+        requireKey(key);
+        int i=slot(key);
+        while (keys.get(i)==key) {
+            V value=values.get(i);
+            if (value==null) {
+                return null;
+            }
+            if (keys.get(i)==key && values.compareAndSet(i,value,null)) {
+                keys.set(i,EMPTY);
+                size.decrement();
+                return value;
+            }
+        }
+        V value=overflow.remove(key);
+        if (value!=null) {
+            size.decrement();
+        }
+        return value;
+    }
+
+    /**
+     * Removes all entries.
+     * @param consumer Consumer of removed values.
+     */
+    void drain(Consumer<V> consumer) {
+        for (int i=0; i<=mask; i++) {
+            long key=keys.get(i);
+            if (key!=EMPTY) {
+                V value=remove(key);
+                if (value!=null) {
+                    consumer.accept(value);
+                }
+            }
+        }
+        for (Long key: overflow.keySet()) {
+            V value=remove(key);
+            if (value!=null) {
+                consumer.accept(value);
+            }
+        }
+    }
+
+    int size() {
+        return size.intValue();
+    }
+}
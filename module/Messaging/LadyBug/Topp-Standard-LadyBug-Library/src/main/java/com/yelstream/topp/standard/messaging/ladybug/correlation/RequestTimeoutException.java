@@ -0,0 +1,56 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.correlation;
+
+import lombok.Getter;
+
+import java.io.Serial;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Exception signalling that a request timed out before a response arrived.
+ * <p>
+ *     Note that this carries no stack trace; timeouts are raised by the timer of the correlation engine,
+ *     hence a stack trace carries no information, and filling it in is expensive when many requests expire at once.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public class RequestTimeoutException extends TimeoutException {
+    @Serial
+    private static final long serialVersionUID=1L;
+
+    /**
+     * Correlation identifier of the request.
+     */
+    @Getter
+    private final long correlationId;
+
+    public RequestTimeoutException(long correlationId) {
+        super("Request timed out; correlation identifier is %d!".formatted(correlationId));
+        this.correlationId=correlationId;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.credit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gate of credits granted by a consumer and acquired by a producer, one per item.
+ * <p>
+ *     Acquiring a credit is a single compare-and-set while credits are available.
+ *     Only producers out of credits take the lock.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class CreditGate {
+    /**
+     * Number of spins before parking.
+     */
+    private static final int SPIN_COUNT=128;
+
+    /**
+     * Maximum duration of a single park, in nanoseconds.
+     */
+    private static final long MAX_PARK_NANOS=TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AtomicLong credits=new AtomicLong();
+    private final AtomicInteger waiterCount=new AtomicInteger();
+    private final ReentrantLock lock=new ReentrantLock();
+    private final Condition granted=lock.newCondition();
+    private volatile boolean closed;
+
+    /**
+     * Grants credits.
+     * @param n Number of credits.
+     */
+    public void grant(long n) {
+        if (n<=0) {
+            throw new IllegalArgumentException("Failure to grant credits; number of credits is '%d'!".formatted(n));
+        }
+        credits.getAndAccumulate(n,(current,add)->current+add<0?Long.MAX_VALUE:current+add);
+        signal();
+    }
+
+    /**
+     * Revokes all credits.
+     * @return Number of credits revoked.
+     */
+    public long revoke() {
+        return credits.getAndSet(0);
+    }
+
+    /**
+     * Gets the number of available credits.
+     * @return Number of available credits.
+     */
+    public long getCredits() {
+        return credits.get();
+    }
+
+    /**
+     * Acquires a credit, if available.
+     * @return Indicates, if a credit was acquired.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long current=credits.get();
+            if (current<=0 || closed) {
+                return false;
+            }
+            if (credits.compareAndSet(current,current-1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Acquires a credit, blocking until a credit is granted or this gate is closed.
+     * @return Indicates, if a credit was acquired.
+     * @throws InterruptedException Thrown in case of interruption.
+     */
+    public boolean acquire() throws InterruptedException {
+        if (tryAcquire()) {
+            return true;
+        }
+        lock.lockInterruptibly();
+        try {
+            waiterCount.incrementAndGet();
+            try {
+                while (!tryAcquire()) {
+                    if (closed) {
+                        return false;
+                    }
+                    granted.await();
+                }
+                return true;
+            } finally {
+                waiterCount.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acquires a credit, spinning and parking until a credit is granted, this gate is closed or the timeout passes.
+     * @param timeoutNanos Timeout, in nanoseconds.
+     * @return Indicates, if a credit was acquired.
+     */
+    public boolean park(long timeoutNanos) {
+        long deadline=System.nanoTime()+timeoutNanos;
+        int spins=0;
+        long parkNanos=1_000;
+        while (!tryAcquire()) {
+            if (closed || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            long remaining=deadline-System.nanoTime();
+            if (remaining<=0) {
+                return false;
+            }
+            if (spins<SPIN_COUNT) {
+                spins++;
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(Math.min(parkNanos,remaining));
+                parkNanos=Math.min(parkNanos*2,MAX_PARK_NANOS);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Closes this gate.
+     * Blocked producers are released without credits.
+     */
+    public void close() {
+        closed=true;
+        signal();
+    }
+
+    private void signal() {
+        if (waiterCount.get()>0) {
+            lock.lock();
+            try {
+                granted.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
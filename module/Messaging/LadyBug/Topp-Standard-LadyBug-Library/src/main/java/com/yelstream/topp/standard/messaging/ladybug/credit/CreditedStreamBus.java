@@ -0,0 +1,378 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.credit;
+
+import com.yelstream.topp.standard.messaging.ladybug.StreamConsumer;
+import com.yelstream.topp.standard.messaging.ladybug.StreamProducer;
+import io.smallrye.mutiny.Multi;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * In-process bus of streams with credit-based flow control.
+ * <p>
+ *     Each stream has at most one consumer at a time.
+ *     The demand of the consumer is granted as credits to producers, and a producer consumes one credit per event.
+ *     Events are handed directly to the consumer and are never queued by the bus,
+ *     hence the number of events in flight is bounded by the credits granted.
+ * </p>
+ * <p>
+ *     Producers out of credits block, park or drop according to the {@link OverflowStrategy}.
+ *     Streams without a consumer have no credits.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class CreditedStreamBus implements StreamProducer, StreamConsumer, AutoCloseable {
+    /**
+     * Strategy of producers out of credits.
+     */
+    private final OverflowStrategy overflowStrategy;
+
+    /**
+     * Maximum time to park, in nanoseconds.
+     */
+    private final long parkTimeoutNanos;
+
+    /**
+     * Number of credits granted by handlers consuming by {@link #consumeStream(String,BiConsumer)}.
+     */
+    private final int handlerWindow;
+
+    /**
+     * Streams by identifier.
+     */
+    private final Map<String,Stream> streams=new ConcurrentHashMap<>();
+
+    private CreditedStreamBus(OverflowStrategy overflowStrategy,
+                              Duration parkTimeout,
+                              int handlerWindow) {
+        this.overflowStrategy=overflowStrategy;
+        this.parkTimeoutNanos=parkTimeout.toNanos();
+        this.handlerWindow=handlerWindow;
+    }
+
+    /**
+     * Creates a bus.
+     * @param overflowStrategy Strategy of producers out of credits.
+     * @param parkTimeout Maximum time to park.
+     * @param handlerWindow Number of credits granted by handlers.
+     * @return Created bus.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static CreditedStreamBus createByBuilder(OverflowStrategy overflowStrategy,
+                                                     Duration parkTimeout,
+                                                     Integer handlerWindow) {
+        return new CreditedStreamBus(overflowStrategy==null?OverflowStrategy.BLOCK:overflowStrategy,
+                                     parkTimeout==null?Duration.ofMillis(10):parkTimeout,
+                                     handlerWindow==null?256:handlerWindow);
+    }
+
+    /**
+     * Streams an event.
+     * <p>
+     *     Events dropped for lack of credits are counted, see {@link #getDroppedCount(String)}.
+     * </p>
+     * @param streamId Stream identifier.
+     * @param event Event.
+     * @param offset Offset of the event within the stream.
+     */
+    @Override
+    public void stream(String streamId,
+                       Object event,
+                       long offset) {
+        offer(streamId,event,offset);
+    }
+
+    /**
+     * Offers an event.
+     * <p>
+     *     Events offered to a stream without a subscriber are dropped immediately, whatever the overflow strategy.
+     *     Producers waiting for credits of a subscriber cancelling are released, and retry with the next subscriber, if any.
+     * </p>
+     * @param streamId Stream identifier.
+     * @param event Event.
+     * @param offset Offset of the event within the stream.
+     * @return Indicates, if the event was delivered.
+     */
+    public boolean offer(String streamId,
+                         Object event,
+                         long offset) {
+        Stream stream=stream(streamId);
+        StreamEvent streamEvent=new StreamEvent(streamId,offset,event);
+        while (true) {
+            StreamSubscription subscription=stream.subscription;
+            if (subscription==null) {
+                break;
+            }
+            if (acquire(subscription.gate())) {
+                if (stream.deliver(subscription,streamEvent)) {
+                    return true;
+                }
+            } else if (stream.subscription==subscription || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            //Note: The credit or the wait belongs to a subscriber replaced in the meantime; retry with the current subscriber!
+        }
+        stream.droppedCount.incrementAndGet();
+        return false;
+    }
+
+    private boolean acquire(CreditGate gate) {
+        return switch (overflowStrategy) {
+            case BLOCK -> {
+                try {
+                    yield gate.acquire();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    yield false;
+                }
+            }
+            case PARK -> gate.park(parkTimeoutNanos);
+            case DROP -> gate.tryAcquire();
+        };
+    }
+
+    /**
+     * Subscribes to a stream.
+     * <p>
+     *     Requests of the subscriber are granted as credits to producers of the stream.
+     *     A stream accepts a single subscriber at a time.
+     * </p>
+     * @param streamId Stream identifier.
+     * @return Events of the stream.
+     */
+    public Multi<StreamEvent> subscribe(String streamId) {
+        Stream stream=stream(streamId);
+        return Multi.createFrom().<StreamEvent>publisher(stream::subscribe);
+    }
+
+    /**
+     * Consumes a stream by a handler.
+     * <p>
+     *     The handler is invoked by the producing thread.
+     *     Credits are granted in batches of half the handler window as events are handled.
+     * </p>
+     * @param streamId Stream identifier.
+     * @param handler Handler of offsets and events.
+     */
+    @Override
+    public void consumeStream(String streamId,
+                              BiConsumer<Long,Object> handler) {
+        int replenish=Math.max(1,handlerWindow/2);
+        stream(streamId).subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+            private int handled;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription=subscription;
+                subscription.request(handlerWindow);
+            }
+
+            @Override
+            public void onNext(StreamEvent item) {
+                handler.accept(item.offset(),item.event());
+                if (++handled==replenish) {
+                    handled=0;
+                    subscription.request(replenish);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                log.error("Failure to consume stream; stream identifier is '{}'!",streamId,throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+    }
+
+    /**
+     * Gets the number of available credits of a stream.
+     * @param streamId Stream identifier.
+     * @return Number of available credits.
+     */
+    public long getCredits(String streamId) {
+        Stream stream=streams.get(streamId);
+        StreamSubscription subscription=stream==null?null:stream.subscription;
+        return subscription==null?0:subscription.gate().getCredits();
+    }
+
+    /**
+     * Gets the number of events dropped from a stream.
+     * @param streamId Stream identifier.
+     * @return Number of events dropped.
+     */
+    public long getDroppedCount(String streamId) {
+        Stream stream=streams.get(streamId);
+        return stream==null?0:stream.droppedCount.get();
+    }
+
+    /**
+     * Closes this bus.
+     * Blocked producers are released, and subscribers are completed.
+     */
+    @Override
+    public void close() {
+        streams.values().forEach(Stream::close);
+    }
+
+    private Stream stream(String streamId) {
+        return streams.computeIfAbsent(streamId,id->new Stream());
+    }
+
+    /**
+     * Stream with at most one subscriber.
+     * <p>
+     *     Signals to subscribers are serialized by the signal lock,
+     *     while the subscription is replaced under the monitor of the stream.
+     *     The monitor is never held while calling a subscriber.
+     * </p>
+     */
+    private static final class Stream {
+        private final AtomicLong droppedCount=new AtomicLong();
+        private final ReentrantLock signalLock=new ReentrantLock();
+        private volatile StreamSubscription subscription;
+        private boolean closed;
+
+        private void subscribe(Flow.Subscriber<? super StreamEvent> candidate) {
+            StreamSubscription created=null;
+            boolean rejectedByClose;
+            synchronized (this) {
+                rejectedByClose=closed;
+                if (!closed && subscription==null) {
+                    created=new StreamSubscription(this,candidate,new CreditGate());
+                    subscription=created;
+                }
+            }
+            if (created==null) {
+                candidate.onSubscribe(StreamSubscription.REJECTED);
+                candidate.onError(new IllegalStateException("Failure to subscribe to stream; stream is %s!".formatted(rejectedByClose?"closed":"already subscribed to")));
+                return;
+            }
+            StreamSubscription accepted=created;
+            signal(()->accepted.subscriber().onSubscribe(accepted));
+        }
+
+        private boolean deliver(StreamSubscription candidate,
+                                StreamEvent event) {
+            signalLock.lock();
+            try {
+                if (subscription!=candidate) {
+                    return false;
+                }
+                candidate.subscriber().onNext(event);
+                return true;
+            } finally {
+                signalLock.unlock();
+            }
+        }
+
+        private void signal(Runnable signal) {
+            signalLock.lock();
+            try {
+                signal.run();
+            } finally {
+                signalLock.unlock();
+            }
+        }
+
+        private boolean unsubscribe(StreamSubscription candidate) {
+            synchronized (this) {
+                if (subscription!=candidate) {
+                    return false;
+                }
+                subscription=null;
+            }
+            candidate.gate().close();
+            return true;
+        }
+
+        private void close() {
+            StreamSubscription s;
+            synchronized (this) {
+                closed=true;
+                s=subscription;
+                subscription=null;
+            }
+            if (s!=null) {
+                s.gate().close();
+                signal(()->s.subscriber().onComplete());
+            }
+        }
+    }
+
+    /**
+     * Subscription granting requests as credits.
+     * <p>
+     *     Each subscription has its own credit gate,
+     *     hence credits granted to a subscriber are never spent on events to another.
+     * </p>
+     * @param stream Stream.
+     * @param subscriber Subscriber.
+     * @param gate Credits granted by the subscriber.
+     */
+    private record StreamSubscription(Stream stream,
+                                      Flow.Subscriber<? super StreamEvent> subscriber,
+                                      CreditGate gate) implements Flow.Subscription {
+        /**
+         * Subscription of rejected subscribers.
+         */
+        private static final StreamSubscription REJECTED=new StreamSubscription(null,null,null);
+
+        @Override
+        public void request(long n) {
+            if (subscriber==null) {
+                return;
+            }
+            if (n<=0) {
+                if (stream.unsubscribe(this)) {
+                    stream.signal(()->subscriber.onError(new IllegalArgumentException("Failure to request events; demand is '%d'!".formatted(n))));
+                }
+                return;
+            }
+            if (stream.subscription==this) {
+                gate.grant(n);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (subscriber!=null) {
+                stream.unsubscribe(this);
+            }
+        }
+    }
+}
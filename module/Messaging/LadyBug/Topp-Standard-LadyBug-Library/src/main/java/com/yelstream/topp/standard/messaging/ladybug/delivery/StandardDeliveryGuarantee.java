@@ -1,4 +1,56 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
 package com.yelstream.topp.standard.messaging.ladybug.delivery;
 
-public class StandardDeliveryGuarantee {
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Standard, named delivery guarantee.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@AllArgsConstructor
+@SuppressWarnings({"java:S115","LombokGetterMayBeUsed"})
+public enum StandardDeliveryGuarantee {
+    /**
+     * Events are delivered at most once, and may be lost.
+     */
+    AtMostOnce(DeliveryGuarantee.of("at-most-once"),false),
+
+    /**
+     * Events are delivered at least once, and may be redelivered.
+     * Outbound events are journaled until acknowledged.
+     */
+    AtLeastOnce(DeliveryGuarantee.of("at-least-once"),true);
+
+    /**
+     * Delivery guarantee.
+     */
+    @Getter
+    private final DeliveryGuarantee deliveryGuarantee;
+
+    /**
+     * Indicates, if outbound events are journaled.
+     */
+    @Getter
+    private final boolean journaled;
 }
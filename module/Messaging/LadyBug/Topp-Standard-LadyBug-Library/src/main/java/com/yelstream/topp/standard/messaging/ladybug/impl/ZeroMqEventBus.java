@@ -3,23 +3,35 @@ package com.yelstream.topp.standard.messaging.ladybug.impl;
 import com.yelstream.topp.standard.messaging.ladybug.Transport;
 import com.yelstream.topp.standard.messaging.ladybug.FluentPublisher;
 import com.yelstream.topp.standard.messaging.ladybug.FluentSubscriber;
+import com.yelstream.topp.standard.messaging.ladybug.impl.zeromq.ZeroMqConfiguration;
+import com.yelstream.topp.standard.messaging.ladybug.impl.zeromq.ZeroMqFrameSender;
+import com.yelstream.topp.standard.messaging.ladybug.impl.zeromq.ZeroMqPublisher;
+import org.zeromq.SocketType;
+import org.zeromq.ZContext;
+import org.zeromq.ZMQ;
 
 public class ZeroMqEventBus implements Transport {
     private ZContext context;
     private ZMQ.Socket pubSocket;
     private ZMQ.Socket subSocket;
+    private ZeroMqFrameSender sender;  //Note: Publishing goes through this, never directly to the socket!
 
     public ZeroMqEventBus(String connectUrl) {
-        context = new ZContext();
-        pubSocket = context.createSocket(SocketType.PUSH);
-        pubSocket.connect(connectUrl);
-        subSocket = context.createSocket(SocketType.PULL);
-        subSocket.bind("tcp://*:5556");  // Or use config
+        this(new ZContext(),ZeroMqConfiguration.connect(connectUrl),ZeroMqConfiguration.bind(ZeroMqConfiguration.DEFAULT_ENDPOINT));
+    }
+
+    public ZeroMqEventBus(ZContext context,
+                          ZeroMqConfiguration pubConfiguration,
+                          ZeroMqConfiguration subConfiguration) {
+        this.context = context;
+        pubSocket = pubConfiguration.attach(context.createSocket(SocketType.PUSH));
+        subSocket = subConfiguration.attach(context.createSocket(SocketType.PULL));
+        sender = ZeroMqFrameSender.of(pubSocket, pubConfiguration);
     }
 
     @Override
     public FluentPublisher publish() {
-        return new ZeroMqPublisher(pubSocket);
+        return new ZeroMqPublisher(sender);
     }
 
     @Override
@@ -0,0 +1,170 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.memory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Ring buffer drained by one or more dedicated worker threads.
+ * <p>
+ *     Idle workers spin briefly and then park.
+ *     Producers unpark workers only when some worker is parked, hence a busy mailbox involves no system calls.
+ *     A producer finding the ring buffer full backs off until space is available.
+ * </p>
+ * <p>
+ *     Elements left when closing are passed to a discarder instead of the handler,
+ *     including elements added by producers racing with the close.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ * @param <E> Type of elements.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+final class Mailbox<E> implements AutoCloseable {
+    /**
+     * Number of spins of an idle worker before parking.
+     */
+    private static final int SPIN_COUNT=256;
+
+    /**
+     * Maximum duration of a single park of an idle worker.
+     */
+    private static final long MAX_PARK_NANOS=TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Maximum number of elements handled per drain.
+     */
+    private static final int DRAIN_LIMIT=256;
+
+    private final RingBuffer<E> ring;
+    private final Consumer<? super E> handler;
+    private final Consumer<? super E> discarder;
+    private final List<Thread> workers;
+    private final AtomicInteger parkedCount=new AtomicInteger();
+    private volatile boolean closed;
+
+    Mailbox(String name,
+            int capacity,
+            int workerCount,
+            Consumer<? super E> handler,
+            Consumer<? super E> discarder) {
+        this.ring=new RingBuffer<>(capacity);
+        this.handler=handler;
+        this.discarder=discarder;
+        this.workers=IntStream.range(0,workerCount)
+                              .mapToObj(i->Thread.ofPlatform().name(name+"-"+i).daemon().unstarted(this::run))
+                              .toList();
+        workers.forEach(Thread::start);
+    }
+
+    /**
+     * Adds an element, waiting while the ring buffer is full.
+     * @param element Element.
+     * @return Indicates, if the element was added.
+     *         This is {@code false}, if this mailbox is closed.
+     *         An element added while closing is passed to the discarder.
+     */
+    boolean put(E element) {
+        int spins=0;
+        while (!ring.offer(element)) {
+            if (closed) {
+                return false;
+            }
+            if (spins<SPIN_COUNT) {
+                spins++;
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(1_000);
+            }
+        }
+        if (closed) {
+            discardRemaining();
+        } else if (parkedCount.get()>0) {
+            workers.forEach(LockSupport::unpark);
+        }
+        return true;
+    }
+
+    int size() {
+        return ring.size();
+    }
+
+    private void run() {
+        int idle=0;
+        while (!closed) {
+            if (ring.drain(this::handle,DRAIN_LIMIT)>0) {
+                idle=0;
+            } else if (idle<SPIN_COUNT) {
+                idle++;
+                Thread.onSpinWait();
+            } else {
+                parkedCount.incrementAndGet();
+                try {
+                    if (ring.isEmpty() && !closed) {
+                        LockSupport.parkNanos(this,MAX_PARK_NANOS);
+                    }
+                } finally {
+                    parkedCount.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void handle(E element) {
+        try {
+            handler.accept(element);
+        } catch (RuntimeException ex) {
+            log.error("Failure to handle element; handler failed!",ex);
+        }
+    }
+
+    private void discardRemaining() {
+        E element;
+        while ((element=ring.poll())!=null) {
+            try {
+                discarder.accept(element);
+            } catch (RuntimeException ex) {
+                log.error("Failure to discard element; discarder failed!",ex);
+            }
+        }
+    }
+
+    /**
+     * Closes this mailbox.
+     * Elements not yet handled are passed to the discarder.
+     */
+    @Override
+    public void close() {
+        closed=true;
+        workers.forEach(LockSupport::unpark);
+        discardRemaining();
+    }
+}
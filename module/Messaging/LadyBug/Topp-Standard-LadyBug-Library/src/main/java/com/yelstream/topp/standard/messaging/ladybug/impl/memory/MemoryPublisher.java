@@ -0,0 +1,61 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.memory;
+
+import com.yelstream.topp.standard.messaging.ladybug.Publisher;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Publisher of messages through a {@link MemoryTransport}.
+ * @param <M> Type of message.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@RequiredArgsConstructor(staticName="of")
+public final class MemoryPublisher<M> implements Publisher<String,M,MemoryPublisher<M>> {
+    private final MemoryTransport transport;
+    private String address;
+    private M message;
+
+    @Override
+    public MemoryPublisher<M> to(String address) {
+        this.address=address;
+        return this;
+    }
+
+    @Override
+    public MemoryPublisher<M> message(M message) {
+        this.message=message;
+        return this;
+    }
+
+    @Override
+    public CompletionStage<Void> send() {
+        if (address==null || message==null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Failure to publish; address and message must be set!"));
+        }
+        transport.publish(address,message);
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.memory;
+
+import com.yelstream.topp.standard.messaging.ladybug.Receiver;
+import io.smallrye.mutiny.Multi;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Consumer;
+
+/**
+ * Receiver of messages through a {@link MemoryTransport}.
+ * @param <M> Type of message.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@RequiredArgsConstructor(staticName="of")
+public final class MemoryReceiver<M> implements Receiver<String,M,MemoryReceiver<M>> {
+    private final MemoryTransport transport;
+    private String address;
+    private Consumer<M> handler;
+
+    @Override
+    public MemoryReceiver<M> from(String address) {
+        this.address=address;
+        return this;
+    }
+
+    @Override
+    public MemoryReceiver<M> handler(Consumer<M> handler) {
+        this.handler=handler;
+        return this;
+    }
+
+    /**
+     * Starts receiving.
+     * <p>
+     *     The subscription to the address lasts as long as the subscription to the returned stream.
+     * </p>
+     * @return Stream of messages received, after having been passed to the handler, if any.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Multi<M> start() {
+        if (address==null) {
+            throw new IllegalStateException("Failure to start receiving; address must be set!");
+        }
+        String a=address;
+        Consumer<M> h=handler;
+        return Multi.createFrom().emitter(emitter->{
+            MemoryTransport.Registration registration=transport.subscribe(a,message->{
+                M m=(M)message;
+                if (h!=null) {
+                    h.accept(m);
+                }
+                emitter.emit(m);
+            });
+            emitter.onTermination(registration::close);
+        });
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.memory;
+
+import com.yelstream.topp.standard.messaging.ladybug.Requester;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Requester of responses through a {@link MemoryTransport}.
+ * @param <M> Type of request message.
+ * @param <N> Type of response message.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@RequiredArgsConstructor(staticName="of")
+public final class MemoryRequester<M,N> implements Requester<String,M,N,MemoryRequester<M,N>> {
+    private final MemoryTransport transport;
+    private String address;
+    private M message;
+
+    @Override
+    public MemoryRequester<M,N> to(String address) {
+        this.address=address;
+        return this;
+    }
+
+    @Override
+    public MemoryRequester<M,N> message(M message) {
+        this.message=message;
+        return this;
+    }
+
+    @Override
+    public CompletionStage<N> send() {
+        return request();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletionStage<N> request() {
+        if (address==null || message==null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Failure to request; address and message must be set!"));
+        }
+        return transport.request(address,message).thenApply(response->(N)response);
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.memory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * In-process transport delivering messages by reference through lock-free ring buffers.
+ * <p>
+ *     Each subscriber of an address has its own ring buffer drained by a dedicated thread,
+ *     written to by any number of publishers.
+ *     Responders of an address share a single ring buffer drained by competing worker threads.
+ *     Messages are neither copied nor encoded, hence this is the baseline of other transports.
+ * </p>
+ * <p>
+ *     Publishers finding a ring buffer full wait until space is available.
+ *     Requests pending when a responder is closed are completed exceptionally.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class MemoryTransport implements AutoCloseable {
+    /**
+     * Registration of a subscriber or responder.
+     */
+    @FunctionalInterface
+    public interface Registration extends AutoCloseable {
+        /**
+         * Cancels this registration.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * Request with its future response.
+     * @param message Request message.
+     * @param response Future response.
+     */
+    private record Request(Object message,
+                           CompletableFuture<Object> response) { }
+
+    /**
+     * Capacity of ring buffers.
+     */
+    private final int capacity;
+
+    /**
+     * Number of worker threads per responder.
+     */
+    private final int responderWorkerCount;
+
+    /**
+     * Subscribers by address.
+     */
+    private final Map<String,List<Mailbox<Object>>> subscribers=new ConcurrentHashMap<>();
+
+    /**
+     * Responders by address.
+     */
+    private final Map<String,Mailbox<Request>> responders=new ConcurrentHashMap<>();
+
+    /**
+     * Source of thread names.
+     */
+    private final AtomicLong mailboxCount=new AtomicLong();
+
+    private MemoryTransport(int capacity,
+                            int responderWorkerCount) {
+        this.capacity=capacity;
+        this.responderWorkerCount=responderWorkerCount;
+    }
+
+    /**
+     * Creates a transport.
+     * @param capacity Capacity of ring buffers.
+     * @param responderWorkerCount Number of worker threads per responder.
+     * @return Created transport.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static MemoryTransport createByBuilder(Integer capacity,
+                                                   Integer responderWorkerCount) {
+        return new MemoryTransport(capacity==null?1024:capacity,
+                                   responderWorkerCount==null?1:responderWorkerCount);
+    }
+
+    /**
+     * Subscribes to messages published to an address.
+     * @param address Address.
+     * @param handler Handler of messages, invoked by a thread dedicated to the subscription.
+     * @return Subscription, to be closed to unsubscribe.
+     */
+    public Registration subscribe(String address,
+                                   Consumer<Object> handler) {
+        Mailbox<Object> mailbox=new Mailbox<>(threadName("sub",address),capacity,1,handler,message->{ });
+        subscribers.compute(address,(a,list)->{
+            List<Mailbox<Object>> mailboxes=list==null?new CopyOnWriteArrayList<>():list;
+            mailboxes.add(mailbox);
+            return mailboxes;
+        });
+        return ()->{
+            subscribers.computeIfPresent(address,(a,list)->{
+                list.remove(mailbox);
+                return list.isEmpty()?null:list;
+            });
+            mailbox.close();
+        };
+    }
+
+    /**
+     * Publishes a message to all subscribers of an address.
+     * @param address Address.
+     * @param message Message, delivered by reference.
+     * @return Number of subscribers delivered to.
+     */
+    public int publish(String address,
+                       Object message) {
+        List<Mailbox<Object>> mailboxes=subscribers.get(address);
+        if (mailboxes==null) {
+            return 0;
+        }
+        int count=0;
+        for (Mailbox<Object> mailbox: mailboxes) {
+            if (mailbox.put(message)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Registers the responder of an address.
+     * @param address Address.
+     * @param responder Responder, invoked by the worker threads of the responder.
+     * @return Registration, to be closed to unregister.
+     */
+    public Registration respond(String address,
+                                 Function<Object,? extends CompletionStage<?>> responder) {
+        Mailbox<Request> mailbox=new Mailbox<>(threadName("rep",address),capacity,responderWorkerCount,request->{
+            try {
+                responder.apply(request.message()).whenComplete((response,ex)->{
+                    if (ex!=null) {
+                        request.response().completeExceptionally(ex);
+                    } else {
+                        request.response().complete(response);
+                    }
+                });
+            } catch (RuntimeException ex) {
+                request.response().completeExceptionally(ex);
+            }
+        },request->request.response().completeExceptionally(new IllegalStateException("Failure to respond to request; responder closed, address is '%s'!".formatted(address))));
+        if (responders.putIfAbsent(address,mailbox)!=null) {
+            mailbox.close();
+            throw new IllegalStateException("Failure to register responder; address already has a responder, address is '%s'!".formatted(address));
+        }
+        return ()->{
+            responders.remove(address,mailbox);
+            mailbox.close();
+        };
+    }
+
+    /**
+     * Sends a request to the responder of an address.
+     * @param address Address.
+     * @param message Message, delivered by reference.
+     * @return Response.
+     */
+    public CompletableFuture<Object> request(String address,
+                                             Object message) {
+        Mailbox<Request> mailbox=responders.get(address);
+        if (mailbox==null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Failure to send request; no responder, address is '%s'!".formatted(address)));
+        }
+        Request request=new Request(message,new CompletableFuture<>());
+        if (!mailbox.put(request)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Failure to send request; responder closed, address is '%s'!".formatted(address)));
+        }
+        return request.response();
+    }
+
+    /**
+     * Closes this transport.
+     * All subscriptions and responders are closed.
+     */
+    @Override
+    public void close() {
+        subscribers.values().forEach(list->list.forEach(Mailbox::close));
+        subscribers.clear();
+        responders.values().forEach(Mailbox::close);
+        responders.clear();
+    }
+
+    private String threadName(String kind,
+                              String address) {
+        return "ladybug-memory-%s-%s-%d".formatted(kind,address,mailboxCount.incrementAndGet());
+    }
+
+    /**
+     * Creates a transport with default settings.
+     * @return Created transport.
+     */
+    public static MemoryTransport of() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.memory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free ring buffer.
+ * <p>
+ *     Each slot carries a sequence number telling producers and consumers whether the slot is free or filled
+ *     for the lap in question.
+ *     Producers and consumers claim positions by compare-and-set, hence any number of producers and consumers
+ *     are supported, including the cases of multiple producers with a single consumer and of a single producer with
+ *     multiple competing consumers.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ * @param <E> Type of elements.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+final class RingBuffer<E> {
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head=new AtomicLong();
+    private final AtomicLong tail=new AtomicLong();
+
+    /**
+     * Creates a ring buffer.
+     * @param capacity Capacity, rounded up to a power of two.
+     */
+    RingBuffer(int capacity) {
+        if (capacity<=0) {
+            throw new IllegalArgumentException("Failure to create ring buffer; capacity is '%d'!".formatted(capacity));
+        }
+        int size=Integer.highestOneBit(capacity-1)<<1;
+        size=Math.max(size,2);
+        this.mask=size-1;
+        this.elements=new AtomicReferenceArray<>(size);
+        this.sequences=new AtomicLongArray(size);
+        for (int i=0; i<size; i++) {
+            sequences.set(i,i);
+        }
+    }
+
+    int capacity() {
+        return mask+1;
+    }
+
+    /**
+     * Offers an element.
+     * @param element Element.
+     * @return Indicates, if the element was added.
+     *         This is {@code false}, if the ring buffer is full.
+     */
+    boolean offer(E element) {
+        long position=tail.get();
+        while (true) {
+            int index=(int)position&mask;
+            long diff=sequences.getAcquire(index)-position;
+            if (diff==0) {
+                if (tail.compareAndSet(position,position+1)) {
+                    elements.setPlain(index,element);
+                    sequences.setRelease(index,position+1);
+                    return true;
+                }
+                position=tail.get();
+            } else if (diff<0) {
+                return false;
+            } else {
+                position=tail.get();
+            }
+        }
+    }
+
+    /**
+     * Polls an element.
+     * @return Element, if any.
+     *         This is {@code null}, if the ring buffer is empty.
+     */
+    E poll() {
+        long position=head.get();
+        while (true) {
+            int index=(int)position&mask;
+            long diff=sequences.getAcquire(index)-(position+1);
+            if (diff==0) {
+                if (head.compareAndSet(position,position+1)) {
+                    E element=elements.getPlain(index);
+                    elements.setPlain(index,null);
+                    sequences.setRelease(index,position+mask+1);
+                    return element;
+                }
+                position=head.get();
+            } else if (diff<0) {
+                return null;
+            } else {
+                position=head.get();
+            }
+        }
+    }
+
+    /**
+     * Drains elements.
+     * @param consumer Consumer of elements.
+     * @param limit Maximum number of elements to drain.
+     * @return Number of elements drained.
+     */
+    int drain(Consumer<? super E> consumer,
+              int limit) {
+        int count=0;
+        E element;
+        while (count<limit && (element=poll())!=null) {
+            consumer.accept(element);
+            count++;
+        }
+        return count;
+    }
+
+    boolean isEmpty() {
+        return size()==0;
+    }
+
+    int size() {
+        return (int)Math.max(0L,Math.min(tail.get()-head.get(),capacity()));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.vertx;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+import lombok.Getter;
+
+import java.util.function.Function;
+
+/**
+ * Message codec passing events by reference to local consumers.
+ * <p>
+ *     Local delivery neither encodes nor copies; the event object itself is handed to consumers,
+ *     hence events are required to be immutable.
+ *     Events are only serialized for clustered delivery, and only if an encoder and decoder are given.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ * @param <T> Type of event.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class LocalMessageCodec<T> implements MessageCodec<T,T> {
+    /**
+     * Prefix of codec names.
+     */
+    public static final String NAME_PREFIX="ladybug-local:";
+
+    /**
+     * Type of event.
+     */
+    @Getter
+    private final Class<T> type;
+
+    /**
+     * Codec name.
+     */
+    private final String name;
+
+    /**
+     * Encoder for clustered delivery.
+     * This may be {@code null}.
+     */
+    private final Function<T,byte[]> encoder;
+
+    /**
+     * Decoder for clustered delivery.
+     * This may be {@code null}.
+     */
+    private final Function<byte[],T> decoder;
+
+    private LocalMessageCodec(Class<T> type,
+                              Function<T,byte[]> encoder,
+                              Function<byte[],T> decoder) {
+        this.type=type;
+        this.name=NAME_PREFIX+type.getName();
+        this.encoder=encoder;
+        this.decoder=decoder;
+    }
+
+    @Override
+    public void encodeToWire(Buffer buffer,
+                             T event) {
+        if (encoder==null) {
+            throw new IllegalStateException("Failure to encode event for clustered delivery; no encoder, type is '%s'!".formatted(type.getName()));
+        }
+        byte[] bytes=encoder.apply(event);
+        buffer.appendInt(bytes.length).appendBytes(bytes);
+    }
+
+    @Override
+    public T decodeFromWire(int pos,
+                            Buffer buffer) {
+        if (decoder==null) {
+            throw new IllegalStateException("Failure to decode event from clustered delivery; no decoder, type is '%s'!".formatted(type.getName()));
+        }
+        int length=buffer.getInt(pos);
+        return decoder.apply(buffer.getBytes(pos+4,pos+4+length));
+    }
+
+    @Override
+    public T transform(T event) {
+        return event;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public byte systemCodecID() {
+        return -1;
+    }
+
+    /**
+     * Creates a codec for local delivery only.
+     * @param type Type of event.
+     * @return Created codec.
+     * @param <T> Type of event.
+     */
+    public static <T> LocalMessageCodec<T> of(Class<T> type) {
+        return new LocalMessageCodec<>(type,null,null);
+    }
+
+    /**
+     * Creates a codec for local and clustered delivery.
+     * @param type Type of event.
+     * @param encoder Encoder for clustered delivery.
+     * @param decoder Decoder for clustered delivery.
+     * @return Created codec.
+     * @param <T> Type of event.
+     */
+    public static <T> LocalMessageCodec<T> of(Class<T> type,
+                                              Function<T,byte[]> encoder,
+                                              Function<byte[],T> decoder) {
+        return new LocalMessageCodec<>(type,encoder,decoder);
+    }
+}
@@ -1,23 +1,47 @@
 package com.yelstream.topp.standard.messaging.ladybug.impl.vertx;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.eventbus.EventBus;
 
 public class VertxEventBus implements EventBus {
     private final EventBus vertxBus;
-
-    public VertxEventBus(Vertx vertx) {
+    private final Mode mode;
+    private final LocalMessageCodec<?> codec;
+    private final DeliveryOptions deliveryOptions;
+
+    public VertxEventBus(Vertx vertx, Mode mode) {
+        this(vertx, mode, null);
+    }
+
+    /**
+     * Creates an event bus.
+     * @param vertx Vert.x instance.
+     * @param mode Mode.
+     * @param codec Codec passing events by reference to local consumers.
+     *              This is registered with the event bus of the Vert.x instance.
+     *              If {@code null}, payloads are wrapped as JSON.
+     */
+    public VertxEventBus(Vertx vertx, Mode mode, LocalMessageCodec<?> codec) {
         this.vertxBus = vertx.eventBus();
+        this.mode = mode;
+        this.codec = codec;
+        if (codec != null) {
+            VertxLocalCodecs.registerCodec(vertxBus, codec);
+            this.deliveryOptions = VertxLocalCodecs.createDeliveryOptions(codec);
+        } else {
+            this.deliveryOptions = null;
+        }
     }
 
     @Override
     public FluentPublisher publish() {
-        return new VertxPublisher(vertxBus);
+        return new VertxPublisher(vertxBus, mode, deliveryOptions);
     }
 
     @Override
     public FluentSubscriber subscribe() {
-        return new VertxSubscriber(vertxBus);
+        return new VertxSubscriber(vertxBus, codec);
     }
 
     @Override
@@ -25,63 +49,3 @@ public class VertxEventBus implements EventBus {
         // Vert.x instance typically managed externally
     }
 }
-
-class VertxPublisher implements FluentPublisher {
-    private final EventBus vertxBus;
-    private String address;
-    private Object payload;
-
-    VertxPublisher(EventBus vertxBus) {
-        this.vertxBus = vertxBus;
-    }
-
-    @Override
-    public FluentPublisher to(String address) {
-        this.address = address;
-        return this;
-    }
-
-    @Override
-    public FluentPublisher message(Object payload) {
-        this.payload = payload;
-        return this;
-    }
-
-    @Override
-    public void send() {
-        if (address == null || payload == null) {
-            throw new IllegalStateException("Address and message must be set");
-        }
-        vertxBus.publish(address, payload instanceof String ? payload : new JsonObject().put("data", payload));
-    }
-}
-
-class VertxSubscriber implements FluentSubscriber {
-    private final EventBus vertxBus;
-    private String address;
-    private Consumer<Object> handler;
-
-    VertxSubscriber(EventBus vertxBus) {
-        this.vertxBus = vertxBus;
-    }
-
-    @Override
-    public FluentSubscriber from(String address) {
-        this.address = address;
-        return this;
-    }
-
-    @Override
-    public FluentSubscriber handler(Consumer<Object> handler) {
-        this.handler = handler;
-        return this;
-    }
-
-    @Override
-    public void start() {
-        if (address == null || handler == null) {
-            throw new IllegalStateException("Address and handler must be set");
-        }
-        vertxBus.consumer(address, msg -> handler.accept(msg.body()));
-    }
-}
@@ -0,0 +1,123 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.vertx;
+
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.MessageConsumer;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Utility addressing instances of {@link LocalMessageCodec}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+@UtilityClass
+public class VertxLocalCodecs {
+    /**
+     * Codec of event batches.
+     * Batches are delivered locally only.
+     */
+    @SuppressWarnings({"unchecked","rawtypes"})
+    private static final LocalMessageCodec<EventBatch<?>> BATCH_CODEC=(LocalMessageCodec)LocalMessageCodec.of(EventBatch.class);
+
+    /**
+     * Registers a codec as the default codec of its event type.
+     * Events of this type are then published and sent by reference to local consumers.
+     * @param eventBus Event bus.
+     * @param codec Codec.
+     * @param <T> Type of event.
+     */
+    public static <T> void registerDefaultCodec(EventBus eventBus,
+                                                LocalMessageCodec<T> codec) {
+        eventBus.registerDefaultCodec(codec.getType(),codec);
+    }
+
+    /**
+     * Registers a codec, unless a codec of the same name is registered already.
+     * <p>
+     *     This allows publishers and subscribers sharing an event bus to register the codec they use independently.
+     * </p>
+     * @param eventBus Event bus.
+     * @param codec Codec.
+     */
+    public static void registerCodec(EventBus eventBus,
+                                     LocalMessageCodec<?> codec) {
+        try {
+            eventBus.registerCodec(codec);
+        } catch (IllegalStateException ex) {
+            log.debug("Codec already registered; name is '{}'.",codec.name());
+        }
+    }
+
+    /**
+     * Registers the codec of event batches.
+     * @param eventBus Event bus.
+     */
+    public static void registerBatchCodec(EventBus eventBus) {
+        eventBus.registerCodec(BATCH_CODEC);
+    }
+
+    /**
+     * Creates delivery options selecting a codec.
+     * @param codec Codec.
+     * @return Created delivery options.
+     */
+    public static DeliveryOptions createDeliveryOptions(LocalMessageCodec<?> codec) {
+        return new DeliveryOptions().setCodecName(codec.name());
+    }
+
+    /**
+     * Publishes multiple events as a single message.
+     * <p>
+     *     Note that the codec of event batches must be registered, see {@link #registerBatchCodec(EventBus)},
+     *     and that consumers must be registered by {@link #batchConsumer(EventBus,String,Consumer)}.
+     * </p>
+     * @param eventBus Event bus.
+     * @param address Address.
+     * @param events Events.
+     * @param <T> Type of event.
+     */
+    public static <T> void publishBatch(EventBus eventBus,
+                                        String address,
+                                        List<T> events) {
+        eventBus.publish(address,new EventBatch<>(events),createDeliveryOptions(BATCH_CODEC));
+    }
+
+    /**
+     * Registers a consumer of event batches, handling each event individually.
+     * @param eventBus Event bus.
+     * @param address Address.
+     * @param handler Handler of events.
+     * @return Consumer registered.
+     * @param <T> Type of event.
+     */
+    public static <T> MessageConsumer<EventBatch<T>> batchConsumer(EventBus eventBus,
+                                                                   String address,
+                                                                   Consumer<T> handler) {
+        return eventBus.<EventBatch<T>>consumer(address,message->message.body().events().forEach(handler));
+    }
+}
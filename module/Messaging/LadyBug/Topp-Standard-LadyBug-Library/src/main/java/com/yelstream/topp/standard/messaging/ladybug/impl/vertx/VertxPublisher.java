@@ -1,14 +1,29 @@
 package com.yelstream.topp.standard.messaging.ladybug.impl.vertx;
 
+import io.vertx.core.eventbus.DeliveryOptions;
+
 class VertxPublisher implements FluentPublisher {
     private final EventBus vertxBus;
     private final Mode mode;
+    private final DeliveryOptions deliveryOptions;
     private String address;
     private Object payload;
 
     VertxPublisher(EventBus vertxBus, Mode mode) {
+        this(vertxBus, mode, null);
+    }
+
+    /**
+     * Creates a publisher.
+     * @param vertxBus Event bus.
+     * @param mode Mode.
+     * @param deliveryOptions Delivery options, e.g. selecting a {@link LocalMessageCodec}.
+     *                        If set, payloads are passed as-is instead of being wrapped as JSON.
+     */
+    VertxPublisher(EventBus vertxBus, Mode mode, DeliveryOptions deliveryOptions) {
         this.vertxBus = vertxBus;
         this.mode = mode;
+        this.deliveryOptions = deliveryOptions;
     }
 
     @Override
@@ -28,11 +43,12 @@ class VertxPublisher implements FluentPublisher {
         if (address == null || payload == null) {
             throw new IllegalStateException("Address and message must be set");
         }
-        Object message = payload instanceof String ? payload : new JsonObject().put("data", payload);
+        Object message = deliveryOptions != null || payload instanceof String ? payload : new JsonObject().put("data", payload);
+        DeliveryOptions options = deliveryOptions != null ? deliveryOptions : new DeliveryOptions();
         if (mode == Mode.SYNC) {
             // Simulate sync by using request-reply with blocking wait
             CompletableFuture<Object> future = new CompletableFuture<>();
-            vertxBus.request(address, message, ar -> {
+            vertxBus.request(address, message, options, ar -> {
                 if (ar.succeeded()) {
                     future.complete(ar.result().body());
                 } else {
@@ -46,7 +62,7 @@ class VertxPublisher implements FluentPublisher {
             }
         } else {
             // Async: fire and forget
-            vertxBus.publish(address, message);
+            vertxBus.publish(address, message, options);
         }
     }
 }
@@ -2,11 +2,23 @@ package com.yelstream.topp.standard.messaging.ladybug.impl.vertx;
 
 class VertxSubscriber implements FluentSubscriber {
     private final EventBus vertxBus;
+    private final LocalMessageCodec<?> codec;
     private String address;
     private Consumer<Object> handler;
 
     VertxSubscriber(EventBus vertxBus) {
+        this(vertxBus, null);
+    }
+
+    /**
+     * Creates a subscriber.
+     * @param vertxBus Event bus.
+     * @param codec Codec of events received, e.g. as used by a matching {@link VertxPublisher}.
+     *              If set, this is registered with the event bus, unless registered already.
+     */
+    VertxSubscriber(EventBus vertxBus, LocalMessageCodec<?> codec) {
         this.vertxBus = vertxBus;
+        this.codec = codec;
     }
 
     @Override
@@ -26,6 +38,9 @@ class VertxSubscriber implements FluentSubscriber {
         if (address == null || handler == null) {
             throw new IllegalStateException("Address and handler must be set");
         }
+        if (codec != null) {
+            VertxLocalCodecs.registerCodec(vertxBus, codec);
+        }
         vertxBus.consumer(address, msg -> handler.accept(msg.body()));
     }
 }
@@ -0,0 +1,151 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.zeromq;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.zeromq.ZMQ;
+
+import java.time.Duration;
+
+/**
+ * Configuration of a ZeroMQ socket.
+ * <p>
+ *     Endpoints may use any ZeroMQ transport, e.g. "{@code tcp://*:5556}", "{@code ipc:///tmp/ladybug}" or "{@code inproc://ladybug}".
+ *     Note that "{@code inproc}" endpoints require that all sockets are created from the same context.
+ * </p>
+ * <p>
+ *     This is immutable.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@lombok.Builder(builderClassName="Builder",toBuilder=true)
+@AllArgsConstructor(staticName="of")
+@Getter
+@ToString
+public final class ZeroMqConfiguration {
+    /**
+     * Default endpoint.
+     */
+    public static final String DEFAULT_ENDPOINT="tcp://*:5556";
+
+    /**
+     * Endpoint.
+     */
+    @lombok.Builder.Default
+    private final String endpoint=DEFAULT_ENDPOINT;
+
+    /**
+     * Indicates, if the endpoint is bound, as opposed to connected.
+     */
+    @lombok.Builder.Default
+    private final boolean bind=true;
+
+    /**
+     * High-water mark for outbound messages.
+     */
+    @lombok.Builder.Default
+    private final int sendHighWaterMark=1000;
+
+    /**
+     * High-water mark for inbound messages.
+     */
+    @lombok.Builder.Default
+    private final int receiveHighWaterMark=1000;
+
+    /**
+     * Linger period for pending messages on close.
+     * A negative value waits indefinitely.
+     */
+    @lombok.Builder.Default
+    private final Duration linger=Duration.ZERO;
+
+    /**
+     * Kernel send-buffer size, in bytes.
+     * A value of zero applies the operating system default.
+     */
+    @lombok.Builder.Default
+    private final int sendBufferSize=0;
+
+    /**
+     * Kernel receive-buffer size, in bytes.
+     * A value of zero applies the operating system default.
+     */
+    @lombok.Builder.Default
+    private final int receiveBufferSize=0;
+
+    /**
+     * Maximum number of events coalesced into a single multipart message.
+     */
+    @lombok.Builder.Default
+    private final int batchSize=64;
+
+    /**
+     * Applies socket options.
+     * @param socket Socket.
+     */
+    public void configure(ZMQ.Socket socket) {
+        socket.setSndHWM(sendHighWaterMark);
+        socket.setRcvHWM(receiveHighWaterMark);
+        socket.setLinger(linger.isNegative()?-1:(int)linger.toMillis());
+        if (sendBufferSize>0) {
+            socket.setSendBufferSize(sendBufferSize);
+        }
+        if (receiveBufferSize>0) {
+            socket.setReceiveBufferSize(receiveBufferSize);
+        }
+    }
+
+    /**
+     * Applies socket options and binds or connects to the endpoint.
+     * @param socket Socket.
+     * @return Socket.
+     */
+    public ZMQ.Socket attach(ZMQ.Socket socket) {
+        configure(socket);
+        if (bind) {
+            socket.bind(endpoint);
+        } else {
+            socket.connect(endpoint);
+        }
+        return socket;
+    }
+
+    /**
+     * Creates a configuration binding to an endpoint.
+     * @param endpoint Endpoint.
+     * @return Created configuration.
+     */
+    public static ZeroMqConfiguration bind(String endpoint) {
+        return builder().endpoint(endpoint).bind(true).build();
+    }
+
+    /**
+     * Creates a configuration connecting to an endpoint.
+     * @param endpoint Endpoint.
+     * @return Created configuration.
+     */
+    public static ZeroMqConfiguration connect(String endpoint) {
+        return builder().endpoint(endpoint).bind(false).build();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.zeromq;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.zeromq.ZMQ;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Receiver of events sent by {@link ZeroMqFrameSender}.
+ * <p>
+ *     Each message is a topic frame followed by one or more payload frames, each payload frame being one event.
+ * </p>
+ * <p>
+ *     This is not thread-safe; ZeroMQ sockets must be used by one thread at a time.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@AllArgsConstructor(staticName="of")
+public final class ZeroMqFrameReceiver {
+    /**
+     * Socket received from.
+     */
+    @Getter
+    private final ZMQ.Socket socket;
+
+    /**
+     * Receives a single message.
+     * @param handler Handler of events, given topic and payload.
+     * @param flags Receive flags, e.g. {@link ZMQ#DONTWAIT}.
+     * @return Number of events received.
+     */
+    public int receive(BiConsumer<byte[],byte[]> handler,
+                       int flags) {
+        byte[] topic=socket.recv(flags);
+        if (topic==null) {
+            return 0;
+        }
+        int count=0;
+        while (socket.hasReceiveMore()) {
+            byte[] payload=socket.recv(0);
+            handler.accept(topic,payload);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Receives a single message, waiting if necessary.
+     * @param handler Handler of events, given topic and payload.
+     * @return Number of events received.
+     */
+    public int receive(BiConsumer<byte[],byte[]> handler) {
+        return receive(handler,0);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.zeromq;
+
+import lombok.Getter;
+import org.zeromq.ZMQ;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sender of events as multipart ZeroMQ messages.
+ * <p>
+ *     A message consists of a topic frame followed by one or more payload frames.
+ *     Topic and payload are never concatenated.
+ *     Small events for the same topic may be coalesced into a single message,
+ *     where each payload frame is one event; see {@link ZeroMqFrameReceiver}.
+ * </p>
+ * <p>
+ *     A message is either not sent at all or sent completely.
+ *     Once the first frame of a message is accepted, the remaining frames are sent even if the socket is temporarily unable to accept them,
+ *     since a partial message left on the socket would have the frames of the next message appended to it.
+ * </p>
+ * <p>
+ *     This is not thread-safe; ZeroMQ sockets must be used by one thread at a time.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class ZeroMqFrameSender {
+    /**
+     * Socket sent to.
+     */
+    @Getter
+    private final ZMQ.Socket socket;
+
+    /**
+     * Maximum number of events coalesced into a single message.
+     */
+    private final int batchSize;
+
+    /**
+     * Topic of pending events.
+     */
+    private byte[] pendingTopic;
+
+    /**
+     * Pending events.
+     */
+    private final List<byte[]> pendingPayloads=new ArrayList<>();
+
+    public ZeroMqFrameSender(ZMQ.Socket socket,
+                             int batchSize) {
+        this.socket=socket;
+        this.batchSize=Math.max(1,batchSize);
+    }
+
+    /**
+     * Sends an event immediately.
+     * Pending events are flushed first to preserve ordering.
+     * @param topic Topic.
+     * @param payload Payload.
+     * @return Indicates, if the event was sent.
+     */
+    public boolean send(byte[] topic,
+                        byte[] payload) {
+        flush();
+        return socket.send(topic,ZMQ.SNDMORE) && sendRemaining(payload,0);
+    }
+
+    /**
+     * Sends an event immediately, reading the payload directly from a buffer.
+     * Pending events are flushed first to preserve ordering.
+     * @param topic Topic.
+     * @param payload Payload; the remaining content is sent.
+     * @return Indicates, if the event was sent.
+     */
+    public boolean send(byte[] topic,
+                        ByteBuffer payload) {
+        flush();
+        if (!socket.send(topic,ZMQ.SNDMORE)) {
+            return false;
+        }
+        while (socket.sendByteBuffer(payload,0)<0) {
+            if (!isRetryable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Queues an event for coalesced sending.
+     * Events are sent when the batch is full, when the topic changes or when flushed explicitly.
+     * @param topic Topic.
+     * @param payload Payload.
+     */
+    public void offer(byte[] topic,
+                      byte[] payload) {
+        if (pendingTopic!=null && !Arrays.equals(pendingTopic,topic)) {
+            flush();
+        }
+        pendingTopic=topic;
+        pendingPayloads.add(payload);
+        if (pendingPayloads.size()>=batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends pending events as a single multipart message.
+     * <p>
+     *     Pending events are discarded, also when not sent.
+     * </p>
+     * @return Indicates, if all pending events were sent.
+     */
+    public boolean flush() {
+        if (pendingPayloads.isEmpty()) {
+            return true;
+        }
+        boolean sent=socket.send(pendingTopic,ZMQ.SNDMORE);
+        int last=pendingPayloads.size()-1;
+        for (int i=0; sent && i<=last; i++) {
+            sent=sendRemaining(pendingPayloads.get(i),i<last?ZMQ.SNDMORE:0);
+        }
+        pendingTopic=null;
+        pendingPayloads.clear();
+        return sent;
+    }
+
+    /**
+     * Sends a frame following the first, accepted frame of a message.
+     * @param frame Frame.
+     * @param flags Flags.
+     * @return Indicates, if the frame was sent.
+     *         If not, then the socket is no longer usable.
+     */
+    private boolean sendRemaining(byte[] frame,
+                                  int flags) {
+        while (!socket.send(frame,flags)) {
+            if (!isRetryable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indicates, if the last failure to send was temporary.
+     * @return Indicates, if sending may be retried.
+     */
+    private boolean isRetryable() {
+        return socket.errno()==ZMQ.Error.EAGAIN.getCode();
+    }
+
+    /**
+     * Creates a sender.
+     * @param socket Socket.
+     * @param configuration Configuration providing the batch size.
+     * @return Created sender.
+     */
+    public static ZeroMqFrameSender of(ZMQ.Socket socket,
+                                       ZeroMqConfiguration configuration) {
+        return new ZeroMqFrameSender(socket,configuration.getBatchSize());
+    }
+}
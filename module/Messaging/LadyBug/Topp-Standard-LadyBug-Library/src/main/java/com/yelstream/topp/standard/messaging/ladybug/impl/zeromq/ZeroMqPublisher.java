@@ -1,16 +1,37 @@
 package com.yelstream.topp.standard.messaging.ladybug.impl.zeromq;
 
-class ZeroMqPublisher implements FluentPublisher {
-    private final ZMQ.Socket socket;
-    private final Mode mode;
+import java.nio.charset.StandardCharsets;
+
+public class ZeroMqPublisher implements FluentPublisher {
+    private final ZeroMqFrameSender sender;
+    private String address;
+    private Object payload;
+
+    public ZeroMqPublisher(ZeroMqFrameSender sender) {
+        this.sender = sender;
+    }
+
+    @Override
+    public FluentPublisher to(String address) {
+        this.address = address;
+        return this;
+    }
+
+    @Override
+    public FluentPublisher message(Object payload) {
+        this.payload = payload;
+        return this;
+    }
 
     @Override
     public void send() {
+        if (address == null || payload == null) {
+            throw new IllegalStateException("Address and message must be set");
+        }
         String json = new JSONObject().put("data", payload).toString();
-        if (mode == Mode.SYNC) {
-            socket.send(json); // Blocks
-        } else {
-            CompletableFuture.runAsync(() -> socket.send(json)); // Non-blocking
+        // Sent on the calling thread; ZeroMQ sockets must not be shared across threads
+        if (!sender.send(address.getBytes(StandardCharsets.UTF_8), json.getBytes(StandardCharsets.UTF_8))) {
+            throw new IllegalStateException("Send failed");
         }
     }
-}
\ No newline at end of file
+}
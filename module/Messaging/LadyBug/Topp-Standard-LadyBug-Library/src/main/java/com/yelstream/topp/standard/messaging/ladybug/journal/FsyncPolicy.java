@@ -0,0 +1,44 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.journal;
+
+/**
+ * Policy of forcing journaled events to storage.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public enum FsyncPolicy {
+    /**
+     * Events are never forced explicitly; the operating system writes them back at its own pace.
+     * Events survive a crash of the process, but not of the host.
+     */
+    NEVER,
+
+    /**
+     * Events appended concurrently are forced together by a single commit.
+     */
+    GROUP,
+
+    /**
+     * Each event is forced individually.
+     */
+    ALWAYS
+}
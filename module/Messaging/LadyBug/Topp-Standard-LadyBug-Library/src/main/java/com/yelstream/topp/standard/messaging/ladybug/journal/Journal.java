@@ -0,0 +1,511 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.journal;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of outbound events of a single destination, for at-least-once delivery.
+ * <p>
+ *     Events are appended to memory-mapped segment files and are assigned consecutive offsets.
+ *     Depending on the {@link FsyncPolicy}, an append completes when the event is forced to storage,
+ *     and with {@link FsyncPolicy#GROUP} concurrent appends share a single force by a commit thread.
+ * </p>
+ * <p>
+ *     Delivered events are acknowledged by offset, in any order.
+ *     With {@link FsyncPolicy#GROUP} the acknowledged offset is forced by the commit thread too,
+ *     also when no events are appended.
+ *     The offset below which all events are acknowledged is persisted,
+ *     and segments holding only acknowledged events are deleted.
+ *     After a restart, unacknowledged events are replayed by {@link #replay(BiConsumer)};
+ *     events acknowledged out of order before the restart may be replayed again.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+public final class Journal implements AutoCloseable {
+    /**
+     * Suffix of segment files.
+     */
+    private static final String SEGMENT_SUFFIX=".log";
+
+    /**
+     * Name of the file of the acknowledged offset.
+     */
+    private static final String ACKNOWLEDGED_FILE_NAME="acknowledged.dat";
+
+    /**
+     * Marker mixed into the checksum of the acknowledged offset.
+     */
+    private static final long ACKNOWLEDGED_MARKER=0x4C61647942756721L;
+
+    /**
+     * Pending append, awaiting a group commit.
+     * @param offset Offset.
+     * @param future Future offset, completed when forced.
+     */
+    private record PendingAppend(long offset, CompletableFuture<Long> future) { }
+
+    /**
+     * Directory of segment files.
+     */
+    @Getter
+    private final Path directory;
+
+    /**
+     * Configuration.
+     */
+    @Getter
+    private final JournalConfiguration configuration;
+
+    private final ReentrantLock lock=new ReentrantLock();
+    private final Condition pendingCondition=lock.newCondition();
+
+    /**
+     * Segments, in order of offset.
+     */
+    private final List<JournalSegment> segments;
+
+    /**
+     * Segments rolled over and not yet forced.
+     */
+    private final List<JournalSegment> unforcedSegments=new ArrayList<>();
+
+    /**
+     * Appends awaiting a group commit.
+     */
+    private List<PendingAppend> pendingAppends=new ArrayList<>();
+
+    /**
+     * Offsets acknowledged above the low-water mark.
+     */
+    private final TreeSet<Long> acknowledgedAbove=new TreeSet<>();
+
+    /**
+     * Offset below which all events are acknowledged.
+     */
+    private long acknowledgedBelow;
+
+    /**
+     * Indicates, if the acknowledged offset is written and not yet forced by a group commit.
+     */
+    private boolean acknowledgedUnforced;
+
+    private final FileChannel acknowledgedChannel;
+    private final MappedByteBuffer acknowledgedBuffer;
+    private final Thread commitThread;
+    private volatile boolean closed;
+
+    private Journal(Path directory,
+                    JournalConfiguration configuration,
+                    List<JournalSegment> segments,
+                    FileChannel acknowledgedChannel,
+                    MappedByteBuffer acknowledgedBuffer) {
+        this.directory=directory;
+        this.configuration=configuration;
+        this.segments=segments;
+        this.acknowledgedChannel=acknowledgedChannel;
+        this.acknowledgedBuffer=acknowledgedBuffer;
+        this.acknowledgedBelow=readAcknowledged(acknowledgedBuffer);
+        this.commitThread=configuration.getFsyncPolicy()==FsyncPolicy.GROUP
+            ?Thread.ofPlatform().name("ladybug-journal-"+directory.getFileName()).daemon().start(this::runCommits)
+            :null;
+    }
+
+    /**
+     * Appends an event.
+     * @param payload Payload of the event.
+     * @return Offset of the event, completed when the event is durable according to the policy of forcing.
+     */
+    public CompletableFuture<Long> append(byte[] payload) {
+        int maxPayloadSize=configuration.getSegmentSize()-JournalSegment.RECORD_HEADER_SIZE;
+        if (payload.length==0 || payload.length>maxPayloadSize) {
+            throw new IllegalArgumentException("Failure to append event; payload size must be within [1..%d], size is '%d'!".formatted(maxPayloadSize,payload.length));
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Failure to append event; journal is closed!"));
+            }
+            JournalSegment segment=tail();
+            if (!segment.append(payload)) {
+                segment=roll();
+                segment.append(payload);
+            }
+            long offset=segment.getNextOffset()-1;
+            return switch (configuration.getFsyncPolicy()) {
+                case NEVER -> CompletableFuture.completedFuture(offset);
+                case ALWAYS -> {
+                    forceUnforcedSegments();
+                    segment.force();
+                    yield CompletableFuture.completedFuture(offset);
+                }
+                case GROUP -> {
+                    CompletableFuture<Long> future=new CompletableFuture<>();
+                    pendingAppends.add(new PendingAppend(offset,future));
+                    if (pendingAppends.size()==1 || pendingAppends.size()>=configuration.getGroupCommitMaxEvents()) {
+                        pendingCondition.signal();
+                    }
+                    yield future;
+                }
+            };
+        } catch (IOException ex) {
+            return CompletableFuture.failedFuture(new UncheckedIOException(ex));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Acknowledges the delivery of an event.
+     * <p>
+     *     Offsets acknowledged already are ignored.
+     * </p>
+     * @param offset Offset of the event.
+     * @throws IllegalArgumentException Thrown in case of an offset of an event not appended.
+     */
+    public void acknowledge(long offset) {
+        lock.lock();
+        try {
+            long nextOffset=tail().getNextOffset();
+            if (offset>=nextOffset) {
+                throw new IllegalArgumentException("Failure to acknowledge event; offset must be below the next offset '%d', offset is '%d'!".formatted(nextOffset,offset));
+            }
+            if (offset<acknowledgedBelow || closed) {
+                return;
+            }
+            acknowledgedAbove.add(offset);
+            long below=acknowledgedBelow;
+            while (!acknowledgedAbove.isEmpty() && acknowledgedAbove.first()==below) {
+                acknowledgedAbove.pollFirst();
+                below++;
+            }
+            if (below!=acknowledgedBelow) {
+                acknowledgedBelow=below;
+                writeAcknowledged(below);
+                deleteAcknowledgedSegments();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replays unacknowledged events, in order of offset.
+     * @param consumer Consumer of offsets and payloads.
+     */
+    public void replay(BiConsumer<Long,byte[]> consumer) {
+        lock.lock();
+        try {
+            for (JournalSegment segment: segments) {
+                segment.read(acknowledgedBelow,(offset,payload)->{
+                    if (!acknowledgedAbove.contains(offset)) {
+                        consumer.accept(offset,payload);
+                    }
+                });
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the offset below which all events are acknowledged.
+     * @return Offset below which all events are acknowledged.
+     */
+    public long getAcknowledgedOffset() {
+        lock.lock();
+        try {
+            return acknowledgedBelow;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the offset of the next event appended.
+     * @return Offset of the next event.
+     */
+    public long getNextOffset() {
+        lock.lock();
+        try {
+            return tail().getNextOffset();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of unacknowledged events.
+     * @return Number of unacknowledged events.
+     */
+    public long getUnacknowledgedCount() {
+        lock.lock();
+        try {
+            return tail().getNextOffset()-acknowledgedBelow-acknowledgedAbove.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of segment files.
+     * @return Number of segment files.
+     */
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes this journal.
+     * Pending appends are committed and all segments are forced, unless the policy is {@link FsyncPolicy#NEVER}.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed=true;
+            pendingCondition.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (commitThread!=null) {
+            try {
+                commitThread.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (configuration.getFsyncPolicy()!=FsyncPolicy.NEVER) {
+            forceUnforcedSegments();
+            tail().force();
+            acknowledgedBuffer.force();
+        }
+        for (JournalSegment segment: segments) {
+            segment.close();
+        }
+        acknowledgedChannel.close();
+    }
+
+    private JournalSegment tail() {
+        return segments.getLast();
+    }
+
+    private JournalSegment roll() throws IOException {
+        JournalSegment previous=tail();
+        JournalSegment segment=JournalSegment.open(segmentPath(directory,previous.getNextOffset()),previous.getNextOffset(),configuration.getSegmentSize(),true);
+        segments.add(segment);
+        unforcedSegments.add(previous);
+        return segment;
+    }
+
+    private void forceUnforcedSegments() {
+        unforcedSegments.forEach(JournalSegment::force);
+        unforcedSegments.clear();
+    }
+
+    private void deleteAcknowledgedSegments() {
+        while (segments.size()>1 && segments.getFirst().getNextOffset()<=acknowledgedBelow) {
+            JournalSegment segment=segments.removeFirst();
+            unforcedSegments.remove(segment);
+            try {
+                segment.close();
+                Files.deleteIfExists(segment.getPath());
+            } catch (IOException ex) {
+                log.warn("Failure to delete acknowledged segment; path is '{}'!",segment.getPath(),ex);
+            }
+        }
+    }
+
+    private void writeAcknowledged(long offset) {
+        acknowledgedBuffer.putLong(0,offset);
+        acknowledgedBuffer.putLong(Long.BYTES,offset^ACKNOWLEDGED_MARKER);
+        switch (configuration.getFsyncPolicy()) {
+            case ALWAYS -> acknowledgedBuffer.force();
+            case GROUP -> {
+                if (!acknowledgedUnforced) {
+                    acknowledgedUnforced=true;
+                    pendingCondition.signal();
+                }
+            }
+            case NEVER -> { }
+        }
+    }
+
+    /**
+     * Indicates, if the acknowledged offset is written and not yet forced by a group commit.
+     * @return Indicates, if the acknowledged offset is not yet forced.
+     */
+    boolean isAcknowledgedUnforced() {
+        lock.lock();
+        try {
+            return acknowledgedUnforced;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long readAcknowledged(MappedByteBuffer buffer) {
+        long offset=buffer.getLong(0);
+        return (offset^ACKNOWLEDGED_MARKER)==buffer.getLong(Long.BYTES)?offset:0L;
+    }
+
+    /**
+     * Runs group commits until closed.
+     */
+    private void runCommits() {
+        long intervalNanos=configuration.getGroupCommitInterval().toNanos();
+        while (true) {
+            List<PendingAppend> committed;
+            List<JournalSegment> forced;
+            JournalSegment segment;
+            lock.lock();
+            try {
+                while (pendingAppends.isEmpty() && !acknowledgedUnforced && !closed) {
+                    pendingCondition.awaitUninterruptibly();
+                }
+                if (intervalNanos>0) {
+                    long remaining=intervalNanos;
+                    while (pendingAppends.size()<configuration.getGroupCommitMaxEvents() && remaining>0 && !closed) {
+                        remaining=awaitNanos(remaining);
+                    }
+                }
+                if (pendingAppends.isEmpty() && !acknowledgedUnforced && closed) {
+                    return;
+                }
+                acknowledgedUnforced=false;
+                committed=pendingAppends;
+                pendingAppends=new ArrayList<>();
+                forced=List.copyOf(unforcedSegments);
+                unforcedSegments.clear();
+                segment=tail();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                forced.forEach(JournalSegment::force);
+                if (!committed.isEmpty()) {
+                    segment.force();
+                }
+                acknowledgedBuffer.force();
+                committed.forEach(append->append.future().complete(append.offset()));
+            } catch (RuntimeException ex) {
+                log.error("Failure to commit journal; directory is '{}'!",directory,ex);
+                committed.forEach(append->append.future().completeExceptionally(ex));
+            }
+        }
+    }
+
+    private long awaitNanos(long nanos) {
+        try {
+            return pendingCondition.awaitNanos(nanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 0L;
+        }
+    }
+
+    private static Path segmentPath(Path directory,
+                                    long baseOffset) {
+        return directory.resolve("%020d%s".formatted(baseOffset,SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Opens a journal, recovering events journaled before.
+     * @param directory Directory of segment files, created if it does not exist.
+     * @param configuration Configuration.
+     * @return Opened journal.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static Journal open(Path directory,
+                               JournalConfiguration configuration) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> paths;
+        try (Stream<Path> stream=Files.list(directory)) {
+            paths=stream.filter(path->path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+        List<JournalSegment> segments=new ArrayList<>();
+        FileChannel acknowledgedChannel=null;
+        try {
+            for (int i=0; i<paths.size(); i++) {
+                Path path=paths.get(i);
+                String name=path.getFileName().toString();
+                long baseOffset=Long.parseLong(name.substring(0,name.length()-SEGMENT_SUFFIX.length()));
+                segments.add(JournalSegment.open(path,baseOffset,configuration.getSegmentSize(),i==paths.size()-1));
+            }
+            if (segments.isEmpty()) {
+                segments.add(JournalSegment.open(segmentPath(directory,0L),0L,configuration.getSegmentSize(),true));
+            }
+            acknowledgedChannel=FileChannel.open(directory.resolve(ACKNOWLEDGED_FILE_NAME),StandardOpenOption.CREATE,StandardOpenOption.READ,StandardOpenOption.WRITE);
+            MappedByteBuffer acknowledgedBuffer=acknowledgedChannel.map(FileChannel.MapMode.READ_WRITE,0,2L*Long.BYTES);
+            return new Journal(directory,configuration,segments,acknowledgedChannel,acknowledgedBuffer);
+        } catch (IOException|RuntimeException ex) {
+            for (JournalSegment segment: segments) {
+                segment.close();
+            }
+            if (acknowledgedChannel!=null) {
+                acknowledgedChannel.close();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens a journal with default settings.
+     * @param directory Directory of segment files, created if it does not exist.
+     * @return Opened journal.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    public static Journal open(Path directory) throws IOException {
+        return open(directory,JournalConfiguration.of());
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Configuration of a journal.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@lombok.Builder(builderClassName="Builder",toBuilder=true)
+@AllArgsConstructor(staticName="of")
+@Getter
+@ToString
+public final class JournalConfiguration {
+    /**
+     * Size of segment files, in bytes.
+     */
+    @lombok.Builder.Default
+    private final int segmentSize=64*1024*1024;
+
+    /**
+     * Policy of forcing events to storage.
+     */
+    @lombok.Builder.Default
+    private final FsyncPolicy fsyncPolicy=FsyncPolicy.GROUP;
+
+    /**
+     * Maximum time to wait for more events before a group commit.
+     * A value of zero commits as soon as events are pending.
+     */
+    @lombok.Builder.Default
+    private final Duration groupCommitInterval=Duration.ZERO;
+
+    /**
+     * Number of pending events triggering a group commit without waiting for the interval.
+     */
+    @lombok.Builder.Default
+    private final int groupCommitMaxEvents=1024;
+
+    /**
+     * Creates a configuration with default settings.
+     * @return Created configuration.
+     */
+    public static JournalConfiguration of() {
+        return builder().build();
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.journal;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Memory-mapped segment file of a journal.
+ * <p>
+ *     Records are laid out as a length, a CRC-32C checksum of the payload, and the payload.
+ *     The mapped file is zero-filled beyond the last record, and a zero length marks the end.
+ *     On opening, records are validated and the segment is truncated after the last intact record,
+ *     hence a record torn by a crash is discarded.
+ * </p>
+ * <p>
+ *     This is not thread-safe; the journal serializes appends.
+ *     Forcing may run concurrently with appends.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+final class JournalSegment implements AutoCloseable {
+    /**
+     * Size of the header of a record, in bytes.
+     */
+    static final int RECORD_HEADER_SIZE=8;
+
+    /**
+     * Path of the segment file.
+     */
+    @Getter
+    private final Path path;
+
+    /**
+     * Offset of the first record.
+     */
+    @Getter
+    private final long baseOffset;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Positions of records.
+     */
+    private int[] positions=new int[1024];
+
+    /**
+     * Number of records.
+     */
+    @Getter
+    private int count;
+
+    /**
+     * Write position.
+     */
+    private volatile int position;
+
+    /**
+     * Position up to which content has been forced.
+     */
+    private int forcedPosition;
+
+    private JournalSegment(Path path,
+                           long baseOffset,
+                           FileChannel channel,
+                           MappedByteBuffer buffer) {
+        this.path=path;
+        this.baseOffset=baseOffset;
+        this.channel=channel;
+        this.buffer=buffer;
+    }
+
+    /**
+     * Gets the offset following the last record.
+     * @return Offset following the last record.
+     */
+    long getNextOffset() {
+        return baseOffset+count;
+    }
+
+    /**
+     * Appends a record.
+     * @param payload Payload.
+     * @return Indicates, if the record was appended.
+     *         This is {@code false}, if the segment is full.
+     */
+    boolean append(byte[] payload) {
+        int start=position;
+        int end=start+RECORD_HEADER_SIZE+payload.length;
+        if (end>buffer.capacity()) {
+            return false;
+        }
+        CRC32C crc=new CRC32C();
+        crc.update(payload);
+        buffer.put(start+RECORD_HEADER_SIZE,payload);
+        buffer.putInt(start+4,(int)crc.getValue());
+        buffer.putInt(start,payload.length);
+        if (count==positions.length) {
+            positions=Arrays.copyOf(positions,count*2);
+        }
+        positions[count++]=start;
+        position=end;
+        return true;
+    }
+
+    /**
+     * Reads records.
+     * @param fromOffset Offset of the first record read.
+     * @param consumer Consumer of offsets and payloads.
+     */
+    void read(long fromOffset,
+              BiConsumer<Long,byte[]> consumer) {
+        for (int i=(int)Math.max(0L,fromOffset-baseOffset); i<count; i++) {
+            int start=positions[i];
+            byte[] payload=new byte[buffer.getInt(start)];
+            buffer.get(start+RECORD_HEADER_SIZE,payload);
+            consumer.accept(baseOffset+i,payload);
+        }
+    }
+
+    /**
+     * Forces appended records to storage.
+     */
+    synchronized void force() {
+        int end=position;
+        if (end>forcedPosition) {
+            buffer.force(forcedPosition,end-forcedPosition);
+            forcedPosition=end;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Recovers records, truncating after the last intact record.
+     * @param tail Indicates, if this is the last segment to be appended to.
+     *             Any residue after the last intact record is then cleared,
+     *             so that it cannot be taken for records appended later.
+     */
+    private void recover(boolean tail) {
+        int capacity=buffer.capacity();
+        int start=0;
+        CRC32C crc=new CRC32C();
+        while (start+RECORD_HEADER_SIZE<=capacity) {
+            int length=buffer.getInt(start);
+            if (length<=0 || start+RECORD_HEADER_SIZE+length>capacity) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(start+RECORD_HEADER_SIZE,length));
+            if ((int)crc.getValue()!=buffer.getInt(start+4)) {
+                break;
+            }
+            if (count==positions.length) {
+                positions=Arrays.copyOf(positions,count*2);
+            }
+            positions[count++]=start;
+            start+=RECORD_HEADER_SIZE+length;
+        }
+        position=start;
+        forcedPosition=start;
+        if (tail && hasResidue(start)) {
+            ByteBuffer zeros=ByteBuffer.allocate(Math.min(64*1024,capacity-start));
+            for (int p=start; p<capacity; p+=zeros.capacity()) {
+                buffer.put(p,zeros,0,Math.min(zeros.capacity(),capacity-p));
+            }
+            buffer.force(start,capacity-start);
+        }
+    }
+
+    private boolean hasResidue(int start) {
+        int capacity=buffer.capacity();
+        int p=start;
+        for (; p+Long.BYTES<=capacity; p+=Long.BYTES) {
+            if (buffer.getLong(p)!=0L) {
+                return true;
+            }
+        }
+        for (; p<capacity; p++) {
+            if (buffer.get(p)!=0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Opens a segment, creating the segment file if it does not exist.
+     * @param path Path of the segment file.
+     * @param baseOffset Offset of the first record.
+     * @param size Size of the segment file, in bytes.
+     * @param tail Indicates, if this is the last segment to be appended to.
+     * @return Opened segment.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    static JournalSegment open(Path path,
+                               long baseOffset,
+                               int size,
+                               boolean tail) throws IOException {
+        FileChannel channel=FileChannel.open(path,StandardOpenOption.CREATE,StandardOpenOption.READ,StandardOpenOption.WRITE);
+        try {
+            long existingSize=channel.size();
+            MappedByteBuffer buffer=channel.map(FileChannel.MapMode.READ_WRITE,0,Math.max(size,existingSize));
+            JournalSegment segment=new JournalSegment(path,baseOffset,channel,buffer);
+            if (existingSize>0) {
+                segment.recover(tail);
+            }
+            return segment;
+        } catch (IOException|RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+}
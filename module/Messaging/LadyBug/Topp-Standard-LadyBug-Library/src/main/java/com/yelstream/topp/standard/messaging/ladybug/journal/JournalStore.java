@@ -0,0 +1,144 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.journal;
+
+import lombok.Getter;
+import lombok.Singular;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Store of journals by destination, each in its own directory and with its own configuration.
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class JournalStore implements AutoCloseable {
+    /**
+     * Pattern of valid destination names.
+     */
+    private static final Pattern DESTINATION_PATTERN=Pattern.compile("[A-Za-z0-9._-]+");
+
+    /**
+     * Root directory.
+     */
+    @Getter
+    private final Path directory;
+
+    /**
+     * Configuration of destinations not configured explicitly.
+     */
+    @Getter
+    private final JournalConfiguration defaultConfiguration;
+
+    /**
+     * Configurations by destination.
+     */
+    private final Map<String,JournalConfiguration> configurations;
+
+    /**
+     * Open journals by destination.
+     */
+    private final Map<String,Journal> journals=new ConcurrentHashMap<>();
+
+    private JournalStore(Path directory,
+                         JournalConfiguration defaultConfiguration,
+                         Map<String,JournalConfiguration> configurations) {
+        this.directory=directory;
+        this.defaultConfiguration=defaultConfiguration;
+        this.configurations=configurations;
+    }
+
+    /**
+     * Creates a store.
+     * @param directory Root directory.
+     * @param defaultConfiguration Configuration of destinations not configured explicitly.
+     * @param configurations Configurations by destination.
+     * @return Created store.
+     */
+    @lombok.Builder(builderClassName="Builder")
+    private static JournalStore createByBuilder(Path directory,
+                                                JournalConfiguration defaultConfiguration,
+                                                @Singular Map<String,JournalConfiguration> configurations) {
+        return new JournalStore(directory,
+                                defaultConfiguration==null?JournalConfiguration.of():defaultConfiguration,
+                                Map.copyOf(configurations));
+    }
+
+    /**
+     * Gets the configuration of a destination.
+     * @param destination Destination.
+     * @return Configuration.
+     */
+    public JournalConfiguration getConfiguration(String destination) {
+        return configurations.getOrDefault(destination,defaultConfiguration);
+    }
+
+    /**
+     * Gets the journal of a destination, opening and recovering it on first use.
+     * @param destination Destination.
+     * @return Journal.
+     * @throws UncheckedIOException Thrown in case of I/O error.
+     */
+    public Journal journal(String destination) {
+        if (!DESTINATION_PATTERN.matcher(destination).matches()) {
+            throw new IllegalArgumentException("Failure to open journal; destination must match '%s', destination is '%s'!".formatted(DESTINATION_PATTERN.pattern(),destination));
+        }
+        return journals.computeIfAbsent(destination,d->{
+            try {
+                return Journal.open(directory.resolve(d),getConfiguration(d));
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failure to open journal; destination is '%s'!".formatted(d),ex);
+            }
+        });
+    }
+
+    /**
+     * Closes all journals.
+     * @throws IOException Thrown in case of I/O error.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure=null;
+        for (Journal journal: journals.values()) {
+            try {
+                journal.close();
+            } catch (IOException ex) {
+                if (failure==null) {
+                    failure=ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        journals.clear();
+        if (failure!=null) {
+            throw failure;
+        }
+    }
+}
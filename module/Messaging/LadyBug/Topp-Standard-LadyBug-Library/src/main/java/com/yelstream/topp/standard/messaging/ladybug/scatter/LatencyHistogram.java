@@ -0,0 +1,136 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.scatter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of latencies with log-linear buckets.
+ * <p>
+ *     Each power of two is divided into eight buckets, hence percentiles are estimated within 12.5%.
+ *     Counts are halved when the number of samples exceeds the window,
+ *     so that percentiles follow changes of latency.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+final class LatencyHistogram {
+    /**
+     * Number of bits of sub-buckets per power of two.
+     */
+    private static final int SUB_BITS=3;
+
+    /**
+     * Number of sub-buckets per power of two.
+     */
+    private static final int SUB_COUNT=1<<SUB_BITS;
+
+    /**
+     * Counts by bucket.
+     */
+    private final AtomicLongArray counts=new AtomicLongArray(64*SUB_COUNT);
+
+    /**
+     * Total count.
+     */
+    private final AtomicLong total=new AtomicLong();
+
+    /**
+     * Number of samples after which counts are halved.
+     */
+    private final long window;
+
+    LatencyHistogram(long window) {
+        this.window=window;
+    }
+
+    void record(long nanos) {
+        counts.incrementAndGet(index(Math.max(1L,nanos)));
+        if (total.incrementAndGet()==window) {
+            decay();
+        }
+    }
+
+    long getCount() {
+        return total.get();
+    }
+
+    /**
+     * Estimates a percentile.
+     * @param percentile Percentile in the range {@code (0,1]}.
+     * @return Upper bound of the bucket holding the percentile, in nanoseconds.
+     *         This is {@code -1}, if no samples have been recorded.
+     */
+    long percentile(double percentile) {
+        long[] snapshot=new long[counts.length()];
+        long sum=0;
+        for (int i=0; i<snapshot.length; i++) {
+            snapshot[i]=counts.get(i);
+            sum+=snapshot[i];
+        }
+        if (sum==0) {
+            return -1;
+        }
+        long rank=Math.max(1L,(long)Math.ceil(percentile*sum));
+        long seen=0;
+        for (int i=0; i<snapshot.length; i++) {
+            seen+=snapshot[i];
+            if (seen>=rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(snapshot.length-1);
+    }
+
+    private void decay() {
+        long sum=0;
+        for (int i=0; i<counts.length(); i++) {
+            long count=counts.get(i);
+            long halved=count/2;
+            counts.addAndGet(i,halved-count);
+            sum+=halved;
+        }
+        total.set(sum);
+    }
+
+    private static int index(long value) {
+        int exponent=63-Long.numberOfLeadingZeros(value);
+        if (exponent<SUB_BITS) {
+            return (int)value;
+        }
+        int sub=(int)(value>>>(exponent-SUB_BITS))&(SUB_COUNT-1);
+        return exponent*SUB_COUNT+sub;
+    }
+
+    private static long upperBound(int index) {
+        int exponent=index/SUB_COUNT;
+        if (exponent<SUB_BITS) {
+            return index;
+        }
+        int sub=index%SUB_COUNT;
+        long lower=(1L<<exponent)|((long)sub<<(exponent-SUB_BITS));
+        return lower+(1L<<(exponent-SUB_BITS))-1;
+    }
+}
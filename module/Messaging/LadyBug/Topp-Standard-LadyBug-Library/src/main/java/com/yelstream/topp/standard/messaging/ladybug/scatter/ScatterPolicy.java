@@ -0,0 +1,122 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.scatter;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Policy of gathering responses to a scattered request.
+ * <p>
+ *     A scatter completes on the first of,
+ * </p>
+ * <ul>
+ *     <li>a quorum of responses,</li>
+ *     <li>the deadline, with the partial results gathered so far,</li>
+ *     <li>all responders having responded or failed.</li>
+ * </ul>
+ * <p>
+ *     A scatter requiring a quorum fails as soon as so many responders have failed that the quorum can no longer be
+ *     reached.
+ * </p>
+ * <p>
+ *     Requests to responders not having responded within the hedge percentile of their observed latency are sent
+ *     again, and the first response of either attempt is used.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Getter
+@lombok.Builder(builderClassName="Builder",toBuilder=true)
+public final class ScatterPolicy {
+    /**
+     * Number of responses to complete on.
+     * A value of zero implies all responders, but without failing on failures of some of them.
+     */
+    @lombok.Builder.Default
+    private final int quorum=0;
+
+    /**
+     * Deadline relative to the start of the scatter.
+     * A value of {@code null} implies no deadline.
+     */
+    private final Duration deadline;
+
+    /**
+     * Percentile of observed latency, in the range {@code (0,1)}, after which requests are hedged.
+     * A value of zero implies no hedging.
+     */
+    @lombok.Builder.Default
+    private final double hedgePercentile=0.0;
+
+    /**
+     * Maximum number of hedged requests per responder.
+     */
+    @lombok.Builder.Default
+    private final int maxHedges=1;
+
+    /**
+     * Minimum delay before hedging.
+     */
+    @lombok.Builder.Default
+    private final Duration minHedgeDelay=Duration.ZERO;
+
+    /**
+     * Minimum number of latency samples of a responder before its requests are hedged.
+     */
+    @lombok.Builder.Default
+    private final int minHedgeSamples=32;
+
+    /**
+     * Indicates, if requests are hedged.
+     * @return Indicates, if requests are hedged.
+     */
+    public boolean isHedging() {
+        return hedgePercentile>0.0 && maxHedges>0;
+    }
+
+    /**
+     * Creates a policy gathering the responses of all responders.
+     * @return Created policy.
+     */
+    public static ScatterPolicy all() {
+        return builder().build();
+    }
+
+    /**
+     * Creates a policy completing on a quorum of responses.
+     * @param quorum Number of responses.
+     * @return Created policy.
+     */
+    public static ScatterPolicy quorum(int quorum) {
+        return builder().quorum(quorum).build();
+    }
+
+    /**
+     * Creates a policy completing on a deadline with partial results.
+     * @param deadline Deadline.
+     * @return Created policy.
+     */
+    public static ScatterPolicy deadline(Duration deadline) {
+        return builder().deadline(deadline).build();
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.scatter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * Publisher of the responses to a single scatter.
+ * <p>
+ *     The scatter starts on subscription, and only a single subscriber is accepted.
+ *     Responses are emitted in order of arrival and with respect to the demand of the subscriber.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+final class ScatterPublisher implements Flow.Publisher<Object> {
+    /**
+     * Responder of a topic.
+     * @param handler Handler of requests.
+     * @param latencies Observed latencies.
+     */
+    record Responder(Function<Object,? extends CompletionStage<?>> handler,
+                     LatencyHistogram latencies) { }
+
+    private final List<Responder> responders;
+    private final Object request;
+    private final ScatterPolicy policy;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean subscribed=new AtomicBoolean();
+
+    ScatterPublisher(List<Responder> responders,
+                     Object request,
+                     ScatterPolicy policy,
+                     ScheduledExecutorService scheduler) {
+        this.responders=responders;
+        this.request=request;
+        this.policy=policy;
+        this.scheduler=scheduler;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Object> subscriber) {
+        if (!subscribed.compareAndSet(false,true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Failure to subscribe; scatter already subscribed to!"));
+            return;
+        }
+        ScatterSubscription subscription=new ScatterSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    /**
+     * Request to a single responder, possibly hedged.
+     */
+    private final class Call {
+        private final Responder responder;
+        private final ConcurrentLinkedQueue<CompletableFuture<?>> attempts=new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean finished=new AtomicBoolean();
+        private final AtomicInteger outstanding=new AtomicInteger();
+        private final AtomicInteger hedges=new AtomicInteger();
+        private volatile ScheduledFuture<?> hedge;
+
+        private Call(Responder responder) {
+            this.responder=responder;
+        }
+
+        private void cancel() {
+            ScheduledFuture<?> h=hedge;
+            if (h!=null) {
+                h.cancel(false);
+            }
+            attempts.forEach(attempt->attempt.cancel(false));
+        }
+    }
+
+    /**
+     * Subscription driving a single scatter.
+     */
+    private final class ScatterSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super Object> subscriber;
+        private final ConcurrentLinkedQueue<Object> responses=new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested=new AtomicLong();
+        private final AtomicInteger wip=new AtomicInteger();
+        private final AtomicBoolean terminated=new AtomicBoolean();
+        private final AtomicInteger responseCount=new AtomicInteger();
+        private final AtomicInteger finishedCount=new AtomicInteger();
+        private final AtomicInteger failureCount=new AtomicInteger();
+        private final List<Call> calls;
+        private final int quorum;
+        private final boolean quorumRequired;
+        private volatile Throwable firstFailure;
+        private volatile Throwable error;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile ScheduledFuture<?> deadline;
+
+        private ScatterSubscription(Flow.Subscriber<? super Object> subscriber) {
+            this.subscriber=subscriber;
+            this.calls=responders.stream().map(Call::new).toList();
+            int q=policy.getQuorum();
+            this.quorum=q<=0 || q>calls.size()?calls.size():q;
+            this.quorumRequired=q>0;
+        }
+
+        private void start() {
+            if (calls.isEmpty()) {
+                terminate(null);
+                return;
+            }
+            if (policy.getDeadline()!=null) {
+                deadline=scheduler.schedule(()->terminate(null),policy.getDeadline().toNanos(),TimeUnit.NANOSECONDS);
+            }
+            for (Call call: calls) {
+                send(call);
+                scheduleHedge(call);
+            }
+        }
+
+        private void send(Call call) {
+            if (terminated.get() || call.finished.get()) {
+                return;
+            }
+            call.outstanding.incrementAndGet();
+            long start=System.nanoTime();
+            CompletableFuture<?> attempt;
+            try {
+                attempt=call.responder.handler().apply(request).toCompletableFuture();
+            } catch (RuntimeException ex) {
+                attempt=CompletableFuture.failedFuture(ex);
+            }
+            call.attempts.add(attempt);
+            attempt.whenComplete((response,ex)->{
+                if (ex!=null) {
+                    onFailure(call,ex);
+                } else if (response==null) {
+                    onFailure(call,new NullPointerException("Failure to gather response; response is null!"));
+                } else {
+                    onResponse(call,response,System.nanoTime()-start);
+                }
+            });
+        }
+
+        private void scheduleHedge(Call call) {
+            if (!policy.isHedging() || call.hedges.get()>=policy.getMaxHedges()) {
+                return;
+            }
+            LatencyHistogram latencies=call.responder.latencies();
+            if (latencies.getCount()<policy.getMinHedgeSamples()) {
+                return;
+            }
+            long delay=Math.max(latencies.percentile(policy.getHedgePercentile()),policy.getMinHedgeDelay().toNanos());
+            call.hedge=scheduler.schedule(()->{
+                if (!terminated.get() && !call.finished.get()) {
+                    call.hedges.incrementAndGet();
+                    send(call);
+                    scheduleHedge(call);
+                }
+            },delay,TimeUnit.NANOSECONDS);
+        }
+
+        private void onResponse(Call call,
+                                Object response,
+                                long latency) {
+            call.responder.latencies().record(latency);
+            if (!call.finished.compareAndSet(false,true)) {
+                return;
+            }
+            call.cancel();
+            if (terminated.get()) {
+                return;
+            }
+            responses.offer(response);
+            int count=responseCount.incrementAndGet();
+            int finished=finishedCount.incrementAndGet();
+            if (count>=quorum || finished==calls.size()) {
+                terminate(null);
+            } else {
+                drain();
+            }
+        }
+
+        private void onFailure(Call call,
+                               Throwable ex) {
+            if (call.outstanding.decrementAndGet()>0 || !call.finished.compareAndSet(false,true)) {
+                return;
+            }
+            call.cancel();
+            if (firstFailure==null) {
+                firstFailure=ex;
+            }
+            int failures=failureCount.incrementAndGet();
+            int finished=finishedCount.incrementAndGet();
+            if (quorumRequired && failures>calls.size()-quorum) {
+                terminate(firstFailure);  //Note: The quorum can no longer be reached!
+            } else if (finished==calls.size()) {
+                terminate(responseCount.get()==0?firstFailure:null);
+            }
+        }
+
+        private void terminate(Throwable failure) {
+            if (!terminated.compareAndSet(false,true)) {
+                return;
+            }
+            ScheduledFuture<?> d=deadline;
+            if (d!=null) {
+                d.cancel(false);
+            }
+            calls.forEach(Call::cancel);
+            if (failure!=null) {
+                error=failure;
+            }
+            done=true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement()!=0) {
+                return;
+            }
+            int missed=1;
+            do {
+                long emitted=0;
+                long limit=requested.get();
+                while (!cancelled) {
+                    boolean d=done;
+                    Object response=emitted==limit?null:responses.poll();
+                    if (response==null) {
+                        if (d && responses.isEmpty()) {
+                            cancelled=true;
+                            Throwable e=error;
+                            if (e==null) {
+                                subscriber.onComplete();
+                            } else {
+                                subscriber.onError(e);
+                            }
+                        }
+                        break;
+                    }
+                    subscriber.onNext(response);
+                    emitted++;
+                }
+                if (emitted>0 && limit!=Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed=wip.addAndGet(-missed);
+            } while (missed!=0);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n<=0) {
+                Throwable failure=new IllegalArgumentException("Failure to request responses; demand is '%d'!".formatted(n));
+                error=failure;
+                responses.clear();
+                terminate(failure);
+                drain();  //Yes, the error is delivered by the drain loop, also if terminated already!
+                return;
+            }
+            requested.getAndAccumulate(n,(current,add)->current+add<0?Long.MAX_VALUE:current+add);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled=true;
+            terminate(null);
+        }
+    }
+}
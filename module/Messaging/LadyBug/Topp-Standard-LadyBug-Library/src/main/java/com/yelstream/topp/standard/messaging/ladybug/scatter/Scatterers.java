@@ -0,0 +1,93 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.scatter;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Utility addressing instances of {@link com.yelstream.topp.standard.messaging.ladybug.Scatterer}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@UtilityClass
+public class Scatterers {
+    /**
+     * Holder of the default scheduler, created on first use.
+     */
+    private static final class DefaultScheduler {
+        private static final ScheduledExecutorService INSTANCE=Executors.newSingleThreadScheduledExecutor(runnable->{
+            Thread thread=new Thread(runnable,"ladybug-scatter-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the default scheduler of deadlines and hedged requests.
+     * @return Default scheduler.
+     */
+    public static ScheduledExecutorService getDefaultScheduler() {
+        return DefaultScheduler.INSTANCE;
+    }
+
+    /**
+     * Collects all published items.
+     * @param publisher Publisher.
+     * @return Collected items.
+     * @param <T> Type of items.
+     */
+    public static <T> CompletableFuture<List<T>> collect(Flow.Publisher<T> publisher) {
+        CompletableFuture<List<T>> result=new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<T>() {
+            private final List<T> items=Collections.synchronizedList(new ArrayList<>());
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                result.whenComplete((ignore,ex)->subscription.cancel());
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(List.copyOf(items));
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.scatter;
+
+import com.yelstream.topp.standard.messaging.ladybug.Scatterer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * Scatterer of requests to responders registered in-process.
+ * <p>
+ *     The latency of each responder is tracked and used for hedging of requests.
+ * </p>
+ * <p>
+ *     This is thread-safe.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+public final class StandardScatterer implements Scatterer {
+    /**
+     * Number of latency samples after which observed latencies decay.
+     */
+    private static final long LATENCY_WINDOW=1L<<14;
+
+    /**
+     * Responders by topic.
+     */
+    private final Map<String,List<ScatterPublisher.Responder>> responders=new ConcurrentHashMap<>();
+
+    /**
+     * Scheduler of deadlines and hedged requests.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    private StandardScatterer(ScheduledExecutorService scheduler) {
+        this.scheduler=scheduler;
+    }
+
+    /**
+     * Registers a responder.
+     * @param topic Topic.
+     * @param handler Handler of requests.
+     */
+    public void register(String topic,
+                         Function<Object,? extends CompletionStage<?>> handler) {
+        responders.computeIfAbsent(topic,t->new CopyOnWriteArrayList<>()).add(new ScatterPublisher.Responder(handler,new LatencyHistogram(LATENCY_WINDOW)));
+    }
+
+    @Override
+    public Flow.Publisher<Object> scatter(String topic,
+                                          Object request,
+                                          ScatterPolicy policy) {
+        return new ScatterPublisher(List.copyOf(responders.getOrDefault(topic,List.of())),request,policy,scheduler);
+    }
+
+    /**
+     * Creates a scatterer.
+     * @param scheduler Scheduler of deadlines and hedged requests.
+     * @return Created scatterer.
+     */
+    public static StandardScatterer of(ScheduledExecutorService scheduler) {
+        return new StandardScatterer(scheduler);
+    }
+
+    /**
+     * Creates a scatterer using a shared scheduler.
+     * @return Created scatterer.
+     */
+    public static StandardScatterer of() {
+        return of(Scatterers.getDefaultScheduler());
+    }
+}
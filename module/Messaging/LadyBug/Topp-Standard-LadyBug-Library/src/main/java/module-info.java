@@ -29,4 +29,9 @@ module com.yelstream.topp.standard.messaging.ladybug {
     requires io.smallrye.mutiny;
     exports com.yelstream.topp.standard.messaging.ladybug;
     exports com.yelstream.topp.standard.messaging.ladybug.delivery;
+    exports com.yelstream.topp.standard.messaging.ladybug.correlation;
+    exports com.yelstream.topp.standard.messaging.ladybug.scatter;
+    exports com.yelstream.topp.standard.messaging.ladybug.credit;
+    exports com.yelstream.topp.standard.messaging.ladybug.impl.memory;
+    exports com.yelstream.topp.standard.messaging.ladybug.journal;
 }
@@ -0,0 +1,195 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.correlation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Test of {@link CorrelationEngine}, {@link PendingRequestTable} and {@link HashedTimerWheel}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+class CorrelationEngineTest {
+
+    @Test
+    void tableMatchesReference() {
+        PendingRequestTable<Long> table=new PendingRequestTable<>(1024);
+        Map<Long,Long> reference=new HashMap<>();
+        Random random=new Random(1);
+        for (int i=0; i<100_000; i++) {
+            long key=1+random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                Assertions.assertEquals(reference.put(key,key*2),table.put(key,key*2));
+            } else {
+                Assertions.assertEquals(reference.remove(key),table.remove(key));
+            }
+        }
+        for (long key=1; key<=5_000; key++) {
+            Assertions.assertTrue(Objects.equals(reference.get(key),table.get(key)));
+        }
+        Assertions.assertEquals(reference.size(),table.size());
+    }
+
+    @Test
+    void tableUnderConcurrentRemoval() throws InterruptedException {
+        PendingRequestTable<Long> table=new PendingRequestTable<>(256);
+        int keyCount=200_000;
+        LongAdder removed=new LongAdder();
+        AtomicLong removedSum=new AtomicLong();
+        AtomicLong nextKey=new AtomicLong();
+        Thread producer=Thread.ofPlatform().start(()->{
+            for (long key=1; key<=keyCount; key++) {
+                table.put(key,key);
+                nextKey.set(key);
+            }
+        });
+        List<Thread> removers=new ArrayList<>();
+        for (int n=0; n<4; n++) {
+            removers.add(Thread.ofPlatform().start(()->{
+                long key=1;
+                while (key<=keyCount) {
+                    if (key<=nextKey.get()) {
+                        Long value=table.remove(key);
+                        if (value!=null) {
+                            Assertions.assertEquals(key,value.longValue());
+                            removed.increment();
+                            removedSum.addAndGet(value);
+                        }
+                        key++;
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                }
+            }));
+        }
+        producer.join();
+        for (Thread remover: removers) {
+            remover.join();
+        }
+        Assertions.assertEquals(keyCount,removed.intValue());
+        Assertions.assertEquals((long)keyCount*(keyCount+1)/2,removedSum.get());
+        Assertions.assertEquals(0,table.size());
+    }
+
+    @Test
+    void tableOverflow() {
+        PendingRequestTable<Long> table=new PendingRequestTable<>(4);
+        for (long key=1; key<=16; key++) {
+            Assertions.assertNull(table.put(key,key));
+        }
+        Assertions.assertEquals(16,table.size());
+        Assertions.assertEquals(1L,table.remove(1L));
+        Assertions.assertNull(table.put(17L,17L));
+        for (long key=2; key<=17; key++) {
+            Assertions.assertEquals(key,table.get(key));
+        }
+        List<Long> drained=new ArrayList<>();
+        table.drain(drained::add);
+        Assertions.assertEquals(16,drained.size());
+        Assertions.assertEquals(0,table.size());
+        Assertions.assertNull(table.get(17L));
+    }
+
+    @Test
+    void timerCancellation() throws InterruptedException {
+        List<Long> expired=new CopyOnWriteArrayList<>();
+        try (HashedTimerWheel timerWheel=new HashedTimerWheel(Duration.ofMillis(1),64,expired::add)) {
+            long deadline=System.nanoTime()+TimeUnit.MILLISECONDS.toNanos(20);
+            timerWheel.schedule(1L,deadline);
+            timerWheel.schedule(2L,deadline);
+            Assertions.assertEquals(2,timerWheel.size());
+            Assertions.assertTrue(timerWheel.cancel(1L,deadline));
+            Assertions.assertFalse(timerWheel.cancel(1L,deadline));
+            Assertions.assertEquals(1,timerWheel.size());
+
+            long end=System.nanoTime()+TimeUnit.SECONDS.toNanos(10);
+            while (expired.isEmpty() && System.nanoTime()-end<0) {
+                Thread.sleep(5L);
+            }
+            Assertions.assertEquals(List.of(2L),expired);
+            Assertions.assertEquals(0,timerWheel.size());
+        }
+    }
+
+    @Test
+    void completion() {
+        try (CorrelationEngine<String> engine=CorrelationEngine.of()) {
+            CorrelationEngine.Pending<String> pending=engine.open(Duration.ofSeconds(10));
+            Assertions.assertTrue(engine.complete(pending.correlationId(),"pong"));
+            Assertions.assertFalse(engine.complete(pending.correlationId(),"late"));
+            Assertions.assertEquals("pong",pending.response().join());
+            Assertions.assertEquals(0,engine.getPendingCount());
+        }
+    }
+
+    @Test
+    void request() {
+        try (CorrelationEngine<String> engine=CorrelationEngine.of()) {
+            CompletableFuture<String> response=engine.request(Duration.ofSeconds(10),id->{
+                engine.complete(id,"reply-"+id);
+                return CompletableFuture.completedFuture(null);
+            }).toCompletableFuture();
+            Assertions.assertTrue(response.join().startsWith("reply-"));
+
+            CompletableFuture<String> failed=engine.request(Duration.ofSeconds(10),id->CompletableFuture.failedFuture(new IllegalStateException())).toCompletableFuture();
+            CompletionException ex=Assertions.assertThrows(CompletionException.class,failed::join);
+            Assertions.assertInstanceOf(IllegalStateException.class,ex.getCause());
+        }
+    }
+
+    @Test
+    void bulkExpiry() {
+        try (CorrelationEngine<String> engine=CorrelationEngine.<String>builder().tick(Duration.ofMillis(5)).build()) {
+            List<CompletableFuture<String>> responses=new ArrayList<>();
+            for (int i=0; i<50_000; i++) {
+                responses.add(engine.open(Duration.ofMillis(50+i%50)).response());
+            }
+            CompletableFuture<Void> all=CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new));
+            CompletionException ex=Assertions.assertThrows(CompletionException.class,()->all.orTimeout(10,TimeUnit.SECONDS).join());
+            Assertions.assertInstanceOf(RequestTimeoutException.class,ex.getCause());
+            Assertions.assertTrue(responses.stream().allMatch(CompletableFuture::isCompletedExceptionally));
+            Assertions.assertEquals(0,engine.getPendingCount());
+        }
+    }
+
+    @Test
+    void closeCancelsPending() {
+        CorrelationEngine<String> engine=CorrelationEngine.of();
+        CompletableFuture<String> response=engine.open(Duration.ofMinutes(1)).response();
+        engine.close();
+        Assertions.assertTrue(response.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.credit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Test of {@link CreditedStreamBus} under sustained overload by a slow consumer.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class CreditedStreamBusTest {
+    /**
+     * Number of events produced.
+     */
+    private static final int EVENT_COUNT=20_000;
+
+    /**
+     * Processing time of the slow consumer per event, in nanoseconds.
+     */
+    private static final long CONSUMER_NANOS=TimeUnit.MICROSECONDS.toNanos(20);
+
+    /**
+     * Maximum number of events in flight accepted.
+     */
+    private static final long MAX_IN_FLIGHT=1_024;
+
+    /**
+     * Tracker of events in flight between producer and consumer.
+     */
+    private static final class InFlight {
+        private final AtomicLong produced=new AtomicLong();
+        private final AtomicLong consumed=new AtomicLong();
+        private final AtomicLong max=new AtomicLong();
+
+        private void produced() {
+            long inFlight=produced.incrementAndGet()-consumed.get();
+            max.accumulateAndGet(inFlight,Math::max);
+        }
+
+        private void consumed() {
+            consumed.incrementAndGet();
+            LockSupport.parkNanos(CONSUMER_NANOS);
+        }
+    }
+
+    /**
+     * Subscriber requesting nothing by itself.
+     */
+    private static class IdleSubscriber implements Flow.Subscriber<StreamEvent> {
+        private final AtomicLong received=new AtomicLong();
+        private volatile Flow.Subscription subscription;
+        private volatile boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription=subscription;
+        }
+
+        @Override
+        public void onNext(StreamEvent item) {
+            received.incrementAndGet();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+            completed=true;
+        }
+    }
+
+    @Test
+    void blockWithSlowMultiConsumer() throws InterruptedException {
+        ExecutorService executor=Executors.newSingleThreadExecutor();
+        try (CreditedStreamBus bus=CreditedStreamBus.builder().overflowStrategy(OverflowStrategy.BLOCK).build()) {
+            InFlight inFlight=new InFlight();
+            CountDownLatch done=new CountDownLatch(EVENT_COUNT);
+            bus.subscribe("stream")
+               .emitOn(executor)
+               .subscribe().with(event->{
+                   inFlight.consumed();
+                   done.countDown();
+               });
+
+            long start=System.nanoTime();
+            for (long offset=0; offset<EVENT_COUNT; offset++) {
+                inFlight.produced();
+                Assertions.assertTrue(bus.offer("stream",offset,offset));
+            }
+            Assertions.assertTrue(done.await(1,TimeUnit.MINUTES));
+            long elapsed=System.nanoTime()-start;
+
+            log.info("Blocking producer; events is {}, maximum in flight is {}, elapsed is {} ms.",
+                     EVENT_COUNT,inFlight.max.get(),TimeUnit.NANOSECONDS.toMillis(elapsed));
+            Assertions.assertTrue(inFlight.max.get()<=MAX_IN_FLIGHT);
+            Assertions.assertEquals(0,bus.getDroppedCount("stream"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void dropWithSlowMultiConsumer() throws InterruptedException {
+        ExecutorService executor=Executors.newSingleThreadExecutor();
+        try (CreditedStreamBus bus=CreditedStreamBus.builder().overflowStrategy(OverflowStrategy.DROP).build()) {
+            AtomicLong consumed=new AtomicLong();
+            bus.subscribe("stream")
+               .emitOn(executor)
+               .subscribe().with(event->{
+                   consumed.incrementAndGet();
+                   LockSupport.parkNanos(CONSUMER_NANOS);
+               });
+
+            long delivered=0;
+            for (long offset=0; offset<EVENT_COUNT; offset++) {
+                if (bus.offer("stream",offset,offset)) {
+                    delivered++;
+                }
+                Assertions.assertTrue(delivered-consumed.get()<=MAX_IN_FLIGHT);
+            }
+            long dropped=bus.getDroppedCount("stream");
+
+            log.info("Dropping producer; events is {}, delivered is {}, dropped is {}.",EVENT_COUNT,delivered,dropped);
+            Assertions.assertTrue(dropped>0);
+            Assertions.assertEquals(EVENT_COUNT,delivered+dropped);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void dropWithoutConsumer() {
+        for (OverflowStrategy overflowStrategy: OverflowStrategy.values()) {
+            try (CreditedStreamBus bus=CreditedStreamBus.builder().overflowStrategy(overflowStrategy).parkTimeout(Duration.ofSeconds(10)).build()) {
+                long start=System.nanoTime();
+                Assertions.assertFalse(bus.offer("stream","event",0));
+                Assertions.assertTrue(System.nanoTime()-start<TimeUnit.SECONDS.toNanos(5));
+                Assertions.assertEquals(1,bus.getDroppedCount("stream"));
+            }
+        }
+    }
+
+    @Test
+    void parkWithoutCredits() {
+        try (CreditedStreamBus bus=CreditedStreamBus.builder().overflowStrategy(OverflowStrategy.PARK).parkTimeout(Duration.ofMillis(5)).build()) {
+            bus.subscribe("stream").subscribe().withSubscriber(new IdleSubscriber());
+            long start=System.nanoTime();
+            Assertions.assertFalse(bus.offer("stream","event",0));
+            Assertions.assertTrue(System.nanoTime()-start>=TimeUnit.MILLISECONDS.toNanos(5));
+            Assertions.assertEquals(1,bus.getDroppedCount("stream"));
+        }
+    }
+
+    @Test
+    void creditsResetOnResubscription() {
+        try (CreditedStreamBus bus=CreditedStreamBus.builder().overflowStrategy(OverflowStrategy.DROP).build()) {
+            IdleSubscriber first=new IdleSubscriber();
+            bus.subscribe("stream").subscribe().withSubscriber(first);
+            first.subscription.request(10);
+            Assertions.assertEquals(10,bus.getCredits("stream"));
+            first.subscription.cancel();
+
+            IdleSubscriber second=new IdleSubscriber();
+            bus.subscribe("stream").subscribe().withSubscriber(second);
+            Assertions.assertEquals(0,bus.getCredits("stream"));
+            Assertions.assertFalse(bus.offer("stream","event",0));
+            Assertions.assertEquals(0,second.received.get());
+        }
+    }
+
+    @Test
+    void requestAndCancelDuringDelivery() throws InterruptedException {
+        try (CreditedStreamBus bus=CreditedStreamBus.builder().overflowStrategy(OverflowStrategy.DROP).build()) {
+            CountDownLatch delivering=new CountDownLatch(1);
+            CountDownLatch release=new CountDownLatch(1);
+            IdleSubscriber subscriber=new IdleSubscriber() {
+                @Override
+                public void onNext(StreamEvent item) {
+                    super.onNext(item);
+                    delivering.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            bus.subscribe("stream").subscribe().withSubscriber(subscriber);
+            subscriber.subscription.request(1);
+            Thread producer=Thread.ofPlatform().start(()->bus.offer("stream","event",0));
+            Assertions.assertTrue(delivering.await(5,TimeUnit.SECONDS));
+
+            subscriber.subscription.request(1);
+            Assertions.assertEquals(1,bus.getCredits("stream"));
+            subscriber.subscription.cancel();
+            Assertions.assertEquals(0,bus.getCredits("stream"));
+
+            release.countDown();
+            producer.join();
+            Assertions.assertEquals(1,subscriber.received.get());
+        }
+    }
+
+    @Test
+    void handlerWindow() {
+        try (CreditedStreamBus bus=CreditedStreamBus.builder().overflowStrategy(OverflowStrategy.DROP).handlerWindow(16).build()) {
+            AtomicLong sum=new AtomicLong();
+            bus.consumeStream("stream",(offset,event)->sum.addAndGet(offset));
+            for (long offset=0; offset<1_000; offset++) {
+                bus.stream("stream","event",offset);
+            }
+            Assertions.assertEquals(999L*1_000/2,sum.get());
+            Assertions.assertEquals(0,bus.getDroppedCount("stream"));
+            Assertions.assertEquals(16,bus.getCredits("stream"));
+        }
+    }
+
+    @Test
+    void closeReleasesBlockedProducer() throws InterruptedException {
+        CreditedStreamBus bus=CreditedStreamBus.builder().overflowStrategy(OverflowStrategy.BLOCK).build();
+        IdleSubscriber subscriber=new IdleSubscriber();
+        bus.subscribe("stream").subscribe().withSubscriber(subscriber);
+        CountDownLatch released=new CountDownLatch(1);
+        Thread producer=Thread.ofPlatform().start(()->{
+            bus.offer("stream","event",0);
+            released.countDown();
+        });
+        Assertions.assertFalse(released.await(50,TimeUnit.MILLISECONDS));
+        bus.close();
+        Assertions.assertTrue(released.await(5,TimeUnit.SECONDS));
+        producer.join();
+        Assertions.assertEquals(1,bus.getDroppedCount("stream"));
+        Assertions.assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void cancelReleasesBlockedProducer() throws InterruptedException {
+        try (CreditedStreamBus bus=CreditedStreamBus.builder().overflowStrategy(OverflowStrategy.BLOCK).build()) {
+            IdleSubscriber subscriber=new IdleSubscriber();
+            bus.subscribe("stream").subscribe().withSubscriber(subscriber);
+            CountDownLatch released=new CountDownLatch(1);
+            Thread producer=Thread.ofPlatform().start(()->{
+                bus.offer("stream","event",0);
+                released.countDown();
+            });
+            Assertions.assertFalse(released.await(50,TimeUnit.MILLISECONDS));
+            subscriber.subscription.cancel();
+            Assertions.assertTrue(released.await(5,TimeUnit.SECONDS));
+            producer.join();
+            Assertions.assertEquals(1,bus.getDroppedCount("stream"));
+        }
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl;
+
+import com.yelstream.topp.standard.messaging.ladybug.impl.memory.MemoryTransport;
+import com.yelstream.topp.standard.messaging.ladybug.impl.vertx.LocalMessageCodec;
+import com.yelstream.topp.standard.messaging.ladybug.impl.vertx.VertxLocalCodecs;
+import com.yelstream.topp.standard.messaging.ladybug.impl.zeromq.ZeroMqConfiguration;
+import com.yelstream.topp.standard.messaging.ladybug.impl.zeromq.ZeroMqFrameReceiver;
+import com.yelstream.topp.standard.messaging.ladybug.impl.zeromq.ZeroMqFrameSender;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.zeromq.SocketType;
+import org.zeromq.ZContext;
+import org.zeromq.ZMQ;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Benchmark of transports, running the same publish-subscribe and request-reply scenarios across all transports.
+ * <p>
+ *     Results are logged; the in-process {@link MemoryTransport} is the baseline.
+ * </p>
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class TransportBenchmarkTest {
+    private static final int EVENT_COUNT=100_000;
+
+    private static final int WARMUP_COUNT=2_000;
+
+    private static final int ROUND_TRIP_COUNT=10_000;
+
+    private static final String ADDRESS="benchmark";
+
+    /**
+     * Message of scenarios.
+     * @param bytes Content.
+     */
+    record Payload(byte[] bytes) { }
+
+    private static final Payload PAYLOAD=new Payload(new byte[64]);
+
+    /**
+     * Transport under test.
+     */
+    interface Subject extends AutoCloseable {
+        void subscribe(Consumer<Payload> handler);
+
+        void publish(Payload payload);
+
+        default void flush() {
+        }
+
+        void respond(UnaryOperator<Payload> responder);
+
+        Payload request(Payload payload);
+
+        @Override
+        void close();
+    }
+
+    private static final class MemorySubject implements Subject {
+        private final MemoryTransport transport=MemoryTransport.of();
+
+        @Override
+        public void subscribe(Consumer<Payload> handler) {
+            transport.subscribe(ADDRESS,message->handler.accept((Payload)message));
+        }
+
+        @Override
+        public void publish(Payload payload) {
+            transport.publish(ADDRESS,payload);
+        }
+
+        @Override
+        public void respond(UnaryOperator<Payload> responder) {
+            transport.respond(ADDRESS,request->CompletableFuture.completedFuture(responder.apply((Payload)request)));
+        }
+
+        @Override
+        public Payload request(Payload payload) {
+            return (Payload)transport.request(ADDRESS,payload).join();
+        }
+
+        @Override
+        public void close() {
+            transport.close();
+        }
+    }
+
+    private static final class VertxSubject implements Subject {
+        private final Vertx vertx=Vertx.vertx();
+        private final LocalMessageCodec<Payload> codec=LocalMessageCodec.of(Payload.class);
+        private final DeliveryOptions options=VertxLocalCodecs.createDeliveryOptions(codec);
+
+        private VertxSubject() {
+            vertx.eventBus().registerCodec(codec);
+        }
+
+        @Override
+        public void subscribe(Consumer<Payload> handler) {
+            vertx.eventBus().<Payload>consumer(ADDRESS,message->handler.accept(message.body()))
+                 .completion().toCompletionStage().toCompletableFuture().join();
+        }
+
+        @Override
+        public void publish(Payload payload) {
+            vertx.eventBus().publish(ADDRESS,payload,options);
+        }
+
+        @Override
+        public void respond(UnaryOperator<Payload> responder) {
+            vertx.eventBus().<Payload>consumer(ADDRESS,message->message.reply(responder.apply(message.body()),options))
+                 .completion().toCompletionStage().toCompletableFuture().join();
+        }
+
+        @Override
+        public Payload request(Payload payload) {
+            return vertx.eventBus().<Payload>request(ADDRESS,payload,options).toCompletionStage().toCompletableFuture().join().body();
+        }
+
+        @Override
+        public void close() {
+            vertx.close().toCompletionStage().toCompletableFuture().join();
+        }
+    }
+
+    private static final class ZeroMqSubject implements Subject {
+        private static final byte[] TOPIC=ADDRESS.getBytes(StandardCharsets.UTF_8);
+
+        private final ZContext context=new ZContext();
+        private final ZeroMqConfiguration publication=ZeroMqConfiguration.bind("inproc://ladybug-benchmark-pub").toBuilder().sendHighWaterMark(0).build();
+        private final ZeroMqConfiguration request=ZeroMqConfiguration.bind("inproc://ladybug-benchmark-req");
+        private final List<Thread> threads=new ArrayList<>();
+        private volatile boolean closed;
+        private ZeroMqFrameSender publisher;
+        private ZeroMqFrameSender requester;
+        private ZeroMqFrameReceiver replies;
+
+        @Override
+        public void subscribe(Consumer<Payload> handler) {
+            if (publisher==null) {
+                publisher=ZeroMqFrameSender.of(publication.attach(context.createSocket(SocketType.PUB)),publication);
+            }
+            ZeroMqConfiguration subscription=ZeroMqConfiguration.connect(publication.getEndpoint()).toBuilder().receiveHighWaterMark(0).build();
+            ZMQ.Socket socket=subscription.attach(context.createSocket(SocketType.SUB));
+            socket.subscribe(TOPIC);
+            socket.setReceiveTimeOut(100);
+            start(()->{
+                ZeroMqFrameReceiver receiver=ZeroMqFrameReceiver.of(socket);
+                while (!closed) {
+                    receiver.receive((topic,bytes)->handler.accept(new Payload(bytes)));
+                }
+                socket.close();
+            });
+            awaitSlowJoiner();
+        }
+
+        @Override
+        public void publish(Payload payload) {
+            publisher.offer(TOPIC,payload.bytes());
+        }
+
+        @Override
+        public void flush() {
+            publisher.flush();
+        }
+
+        @Override
+        public void respond(UnaryOperator<Payload> responder) {
+            ZMQ.Socket socket=request.attach(context.createSocket(SocketType.PAIR));
+            socket.setReceiveTimeOut(100);
+            start(()->{
+                ZeroMqFrameReceiver receiver=ZeroMqFrameReceiver.of(socket);
+                ZeroMqFrameSender sender=ZeroMqFrameSender.of(socket,request);
+                while (!closed) {
+                    receiver.receive((topic,bytes)->sender.send(topic,responder.apply(new Payload(bytes)).bytes()));
+                }
+                socket.close();
+            });
+            ZeroMqConfiguration connection=ZeroMqConfiguration.connect(request.getEndpoint());
+            ZMQ.Socket requesterSocket=connection.attach(context.createSocket(SocketType.PAIR));
+            requester=ZeroMqFrameSender.of(requesterSocket,connection);
+            replies=ZeroMqFrameReceiver.of(requesterSocket);
+        }
+
+        @Override
+        public Payload request(Payload payload) {
+            Payload[] reply=new Payload[1];
+            requester.send(TOPIC,payload.bytes());
+            replies.receive((topic,bytes)->reply[0]=new Payload(bytes));
+            return reply[0];
+        }
+
+        @Override
+        public void close() {
+            closed=true;
+            threads.forEach(thread->Assertions.assertDoesNotThrow(()->thread.join()));
+            context.close();
+        }
+
+        private void start(Runnable runnable) {
+            threads.add(Thread.ofPlatform().daemon().start(runnable));
+        }
+
+        private static void awaitSlowJoiner() {
+            Assertions.assertDoesNotThrow(()->Thread.sleep(200));
+        }
+    }
+
+    private static Subject create(String transport) {
+        return switch (transport) {
+            case "memory" -> new MemorySubject();
+            case "vertx" -> new VertxSubject();
+            case "zeromq" -> new ZeroMqSubject();
+            default -> throw new IllegalArgumentException("Failure to create transport; transport is '%s'!".formatted(transport));
+        };
+    }
+
+    private static long publishSubscribe(Subject subject,
+                                         int subscriberCount,
+                                         int eventCount) throws InterruptedException {
+        CountDownLatch latch=new CountDownLatch(eventCount*subscriberCount);
+        for (int i=0; i<subscriberCount; i++) {
+            subject.subscribe(payload->latch.countDown());
+        }
+        long start=System.nanoTime();
+        for (int i=0; i<eventCount; i++) {
+            subject.publish(PAYLOAD);
+        }
+        subject.flush();
+        Assertions.assertTrue(latch.await(60,TimeUnit.SECONDS));
+        return System.nanoTime()-start;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings={"memory","vertx","zeromq"})
+    void publishSubscribeThroughput(String transport) throws InterruptedException {
+        for (int subscriberCount: new int[]{1,4}) {
+            try (Subject subject=create(transport)) {
+                long elapsed=publishSubscribe(subject,subscriberCount,EVENT_COUNT);
+                log.info("Publish-subscribe over {} with {} subscribers: {} events/s.",
+                         transport,subscriberCount,EVENT_COUNT*1_000_000_000L/Math.max(1L,elapsed));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings={"memory","vertx","zeromq"})
+    void requestReplyLatency(String transport) {
+        try (Subject subject=create(transport)) {
+            subject.respond(UnaryOperator.identity());
+            for (int i=0; i<WARMUP_COUNT; i++) {
+                Assertions.assertNotNull(subject.request(PAYLOAD));
+            }
+            long[] latencies=new long[ROUND_TRIP_COUNT];
+            for (int i=0; i<ROUND_TRIP_COUNT; i++) {
+                long start=System.nanoTime();
+                Assertions.assertNotNull(subject.request(PAYLOAD));
+                latencies[i]=System.nanoTime()-start;
+            }
+            Arrays.sort(latencies);
+            log.info("Request-reply over {}: mean {} ns, p50 {} ns, p99 {} ns.",
+                     transport,
+                     Arrays.stream(latencies).sum()/latencies.length,
+                     latencies[latencies.length/2],
+                     latencies[latencies.length*99/100]);
+        }
+    }
+}
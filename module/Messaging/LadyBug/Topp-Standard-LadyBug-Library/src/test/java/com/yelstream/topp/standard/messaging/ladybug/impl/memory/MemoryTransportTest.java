@@ -0,0 +1,196 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.memory;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Test of {@link MemoryTransport} and {@link RingBuffer}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+class MemoryTransportTest {
+
+    @Test
+    void ringBufferConcurrent() throws InterruptedException {
+        RingBuffer<Long> ring=new RingBuffer<>(64);
+        Assertions.assertEquals(64,ring.capacity());
+        int producerCount=4;
+        int perProducer=100_000;
+        AtomicLong sum=new AtomicLong();
+        AtomicLong count=new AtomicLong();
+        List<Thread> consumers=IntStream.range(0,2).mapToObj(i->Thread.ofPlatform().start(()->{
+            while (count.get()<(long)producerCount*perProducer) {
+                Long value=ring.poll();
+                if (value!=null) {
+                    sum.addAndGet(value);
+                    count.incrementAndGet();
+                } else {
+                    Thread.yield();
+                }
+            }
+        })).toList();
+        List<Thread> producers=IntStream.range(0,producerCount).mapToObj(i->Thread.ofPlatform().start(()->{
+            for (long value=1; value<=perProducer; value++) {
+                while (!ring.offer(value)) {
+                    Thread.yield();
+                }
+            }
+        })).toList();
+        for (Thread thread: producers) {
+            thread.join();
+        }
+        for (Thread thread: consumers) {
+            thread.join();
+        }
+        Assertions.assertEquals((long)producerCount*perProducer*(perProducer+1)/2,sum.get());
+        Assertions.assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    void publishByReference() throws InterruptedException {
+        try (MemoryTransport transport=MemoryTransport.of()) {
+            Object message=new Object();
+            CountDownLatch latch=new CountDownLatch(2);
+            transport.subscribe("address",received->{
+                Assertions.assertSame(message,received);
+                latch.countDown();
+            });
+            transport.subscribe("address",received->latch.countDown());
+            Assertions.assertEquals(2,transport.publish("address",message));
+            Assertions.assertEquals(0,transport.publish("other",message));
+            Assertions.assertTrue(latch.await(10,TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void unsubscribe() {
+        try (MemoryTransport transport=MemoryTransport.of()) {
+            MemoryTransport.Registration registration=transport.subscribe("address",received->{ });
+            Assertions.assertEquals(1,transport.publish("address","message"));
+            registration.close();
+            Assertions.assertEquals(0,transport.publish("address","message"));
+        }
+    }
+
+    @Test
+    void concurrentSubscription() throws InterruptedException {
+        try (MemoryTransport transport=MemoryTransport.of()) {
+            int threadCount=4;
+            List<Thread> threads=IntStream.range(0,threadCount).mapToObj(i->Thread.ofPlatform().start(()->{
+                for (int j=0; j<200; j++) {
+                    transport.subscribe("address",received->{ }).close();
+                }
+                transport.subscribe("address",received->{ });
+            })).toList();
+            for (Thread thread: threads) {
+                thread.join();
+            }
+            Assertions.assertEquals(threadCount,transport.publish("address","message"));
+        }
+    }
+
+    @Test
+    void closeCompletesPendingRequests() throws InterruptedException {
+        try (MemoryTransport transport=MemoryTransport.of()) {
+            CountDownLatch started=new CountDownLatch(1);
+            CountDownLatch release=new CountDownLatch(1);
+            MemoryTransport.Registration registration=transport.respond("slow",request->{
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return CompletableFuture.completedFuture(request);
+            });
+            CompletableFuture<Object> handled=transport.request("slow","first");
+            Assertions.assertTrue(started.await(10,TimeUnit.SECONDS));
+            List<CompletableFuture<Object>> pending=IntStream.range(0,3).mapToObj(i->transport.request("slow","pending")).toList();
+
+            registration.close();
+            for (CompletableFuture<Object> response: pending) {
+                Assertions.assertTrue(response.isCompletedExceptionally());
+            }
+            release.countDown();
+            Assertions.assertEquals("first",handled.join());
+            Assertions.assertTrue(transport.request("slow","late").isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    void transportCloseCompletesPendingRequests() throws InterruptedException {
+        MemoryTransport transport=MemoryTransport.of();
+        CountDownLatch started=new CountDownLatch(1);
+        CountDownLatch release=new CountDownLatch(1);
+        transport.respond("slow",request->{
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return CompletableFuture.completedFuture(request);
+        });
+        transport.request("slow","first");
+        Assertions.assertTrue(started.await(10,TimeUnit.SECONDS));
+        CompletableFuture<Object> pending=transport.request("slow","pending");
+
+        transport.close();
+        release.countDown();
+        Assertions.assertTrue(pending.isCompletedExceptionally());
+    }
+
+    @Test
+    void requestReply() {
+        try (MemoryTransport transport=MemoryTransport.builder().responderWorkerCount(2).build()) {
+            transport.respond("echo",request->CompletableFuture.completedFuture("re: "+request));
+            Assertions.assertEquals("re: hello",transport.request("echo","hello").join());
+            Assertions.assertEquals("re: hello",MemoryRequester.<String,String>of(transport).to("echo").message("hello").request().toCompletableFuture().join());
+            Assertions.assertThrows(IllegalStateException.class,()->transport.respond("echo",request->CompletableFuture.completedFuture(request)));
+            Assertions.assertTrue(transport.request("none","hello").isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    void receiver() {
+        try (MemoryTransport transport=MemoryTransport.of()) {
+            CompletableFuture<List<String>> received=MemoryReceiver.<String>of(transport).from("address").start()
+                                                                   .select().first(3)
+                                                                   .collect().asList()
+                                                                   .subscribeAsCompletionStage();
+            MemoryPublisher<String> publisher=MemoryPublisher.of(transport);
+            publisher.to("address");
+            for (String message: List.of("a","b","c")) {
+                publisher.message(message).send().toCompletableFuture().join();
+            }
+            Assertions.assertEquals(List.of("a","b","c"),received.join());
+        }
+    }
+}
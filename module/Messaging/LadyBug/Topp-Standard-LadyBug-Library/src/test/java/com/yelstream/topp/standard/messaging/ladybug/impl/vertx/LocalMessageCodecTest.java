@@ -0,0 +1,145 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.vertx;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonObject;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Test of {@link LocalMessageCodec},
+ * including a comparison of throughput of local delivery with default codecs and with the local codec.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class LocalMessageCodecTest {
+    private static final int EVENT_COUNT=20_000;
+
+    record Quote(String symbol, double price) { }
+
+    private static long measure(int subscriberCount,
+                                BiConsumer<EventBus,String> registration,
+                                BiConsumer<EventBus,Quote> publication) throws InterruptedException {
+        Vertx vertx=Vertx.vertx();
+        try {
+            EventBus eventBus=vertx.eventBus();
+            CountDownLatch latch=new CountDownLatch(EVENT_COUNT*subscriberCount);
+            registration.accept(eventBus,"quotes");
+            for (int i=0; i<subscriberCount; i++) {
+                eventBus.consumer("quotes",message->latch.countDown());
+            }
+            long start=System.nanoTime();
+            Quote quote=new Quote("XYZ",42.0);
+            for (int i=0; i<EVENT_COUNT; i++) {
+                publication.accept(eventBus,quote);
+            }
+            Assertions.assertTrue(latch.await(60,TimeUnit.SECONDS));
+            return System.nanoTime()-start;
+        } finally {
+            vertx.close().toCompletionStage().toCompletableFuture().join();
+        }
+    }
+
+    @Test
+    void deliveryByReference() throws InterruptedException {
+        Vertx vertx=Vertx.vertx();
+        try {
+            LocalMessageCodec<Quote> codec=LocalMessageCodec.of(Quote.class);
+            VertxLocalCodecs.registerDefaultCodec(vertx.eventBus(),codec);
+            Quote quote=new Quote("XYZ",42.0);
+            CountDownLatch latch=new CountDownLatch(1);
+            vertx.eventBus().<Quote>consumer("quotes",message->{
+                Assertions.assertSame(quote,message.body());
+                latch.countDown();
+            });
+            vertx.eventBus().publish("quotes",quote);
+            Assertions.assertTrue(latch.await(10,TimeUnit.SECONDS));
+        } finally {
+            vertx.close().toCompletionStage().toCompletableFuture().join();
+        }
+    }
+
+    @Test
+    void registrationByPublisherAndSubscriber() throws InterruptedException {
+        Vertx vertx=Vertx.vertx();
+        try {
+            LocalMessageCodec<Quote> codec=LocalMessageCodec.of(Quote.class);
+            VertxLocalCodecs.registerCodec(vertx.eventBus(),codec);
+            Assertions.assertDoesNotThrow(()->VertxLocalCodecs.registerCodec(vertx.eventBus(),codec));
+
+            Quote quote=new Quote("XYZ",42.0);
+            CountDownLatch latch=new CountDownLatch(1);
+            vertx.eventBus().<Quote>consumer("quotes",message->{
+                Assertions.assertSame(quote,message.body());
+                latch.countDown();
+            });
+            vertx.eventBus().publish("quotes",quote,VertxLocalCodecs.createDeliveryOptions(codec));
+            Assertions.assertTrue(latch.await(10,TimeUnit.SECONDS));
+        } finally {
+            vertx.close().toCompletionStage().toCompletableFuture().join();
+        }
+    }
+
+    @Test
+    void batchedPublish() throws InterruptedException {
+        Vertx vertx=Vertx.vertx();
+        try {
+            VertxLocalCodecs.registerBatchCodec(vertx.eventBus());
+            CountDownLatch latch=new CountDownLatch(3);
+            VertxLocalCodecs.<String>batchConsumer(vertx.eventBus(),"batches",event->latch.countDown());
+            VertxLocalCodecs.publishBatch(vertx.eventBus(),"batches",List.of("a","b","c"));
+            Assertions.assertTrue(latch.await(10,TimeUnit.SECONDS));
+        } finally {
+            vertx.close().toCompletionStage().toCompletableFuture().join();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints={1,8,64})
+    void throughput(int subscriberCount) throws InterruptedException {
+        long defaultElapsed=measure(subscriberCount,
+                                    (eventBus,address)->{ },
+                                    (eventBus,quote)->eventBus.publish("quotes",new JsonObject().put("symbol",quote.symbol()).put("price",quote.price())));
+
+        LocalMessageCodec<Quote> codec=LocalMessageCodec.of(Quote.class);
+        DeliveryOptions options=VertxLocalCodecs.createDeliveryOptions(codec);
+        long localElapsed=measure(subscriberCount,
+                                  (eventBus,address)->eventBus.registerCodec(codec),
+                                  (eventBus,quote)->eventBus.publish("quotes",quote,options));
+
+        log.info("Throughput with {} subscribers; default codec: {} events/s, local codec: {} events/s.",
+                 subscriberCount,
+                 EVENT_COUNT*1_000_000_000L/Math.max(1L,defaultElapsed),
+                 EVENT_COUNT*1_000_000_000L/Math.max(1L,localElapsed));
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.impl.zeromq;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.zeromq.SocketType;
+import org.zeromq.ZContext;
+import org.zeromq.ZMQ;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test of {@link ZeroMqFrameSender} and {@link ZeroMqFrameReceiver},
+ * including throughput and latency over "{@code inproc}" and loopback "{@code tcp}" endpoints.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class ZeroMqFrameSenderTest {
+    private static final int EVENT_COUNT=100_000;
+
+    private static final byte[] TOPIC="topic".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] PAYLOAD=new byte[64];
+
+    /**
+     * Loopback endpoint bound to an ephemeral port.
+     */
+    private static final String LOOPBACK_ENDPOINT="tcp://127.0.0.1:*";
+
+    private static void verifyThroughput(String name,
+                                         ZeroMqConfiguration pullConfiguration,
+                                         Function<String,ZeroMqConfiguration> pushConfigurationFactory) {
+        try (ZContext context=new ZContext()) {
+            ZMQ.Socket pull=pullConfiguration.attach(context.createSocket(SocketType.PULL));
+            ZeroMqConfiguration pushConfiguration=pushConfigurationFactory.apply(pull.getLastEndpoint());
+            ZMQ.Socket push=pushConfiguration.attach(context.createSocket(SocketType.PUSH));
+            ZeroMqFrameSender sender=ZeroMqFrameSender.of(push,pushConfiguration);
+            ZeroMqFrameReceiver receiver=ZeroMqFrameReceiver.of(pull);
+
+            AtomicInteger count=new AtomicInteger();
+            Thread consumer=Thread.ofPlatform().start(()->{
+                while (count.get()<EVENT_COUNT) {
+                    receiver.receive((topic,payload)->{
+                        Assertions.assertArrayEquals(TOPIC,topic);
+                        count.incrementAndGet();
+                    });
+                }
+            });
+
+            long start=System.nanoTime();
+            for (int i=0; i<EVENT_COUNT; i++) {
+                sender.offer(TOPIC,PAYLOAD);
+            }
+            Assertions.assertTrue(sender.flush());
+            Assertions.assertDoesNotThrow(()->consumer.join(TimeUnit.SECONDS.toMillis(30)));
+            long elapsed=System.nanoTime()-start;
+
+            Assertions.assertEquals(EVENT_COUNT,count.get());
+            log.info("Throughput over {}: {} events/s.",name,EVENT_COUNT*1_000_000_000L/Math.max(1L,elapsed));
+        }
+    }
+
+    private static void verifyLatency(String name,
+                                      ZeroMqConfiguration pullConfiguration,
+                                      Function<String,ZeroMqConfiguration> pushConfigurationFactory) {
+        try (ZContext context=new ZContext()) {
+            ZMQ.Socket pull=pullConfiguration.attach(context.createSocket(SocketType.PULL));
+            ZeroMqConfiguration pushConfiguration=pushConfigurationFactory.apply(pull.getLastEndpoint());
+            ZMQ.Socket push=pushConfiguration.attach(context.createSocket(SocketType.PUSH));
+            ZeroMqFrameSender sender=ZeroMqFrameSender.of(push,pushConfiguration);
+            ZeroMqFrameReceiver receiver=ZeroMqFrameReceiver.of(pull);
+
+            int rounds=1_000;
+            long total=0L;
+            for (int i=0; i<rounds; i++) {
+                long start=System.nanoTime();
+                Assertions.assertTrue(sender.send(TOPIC,ByteBuffer.wrap(PAYLOAD)));
+                Assertions.assertEquals(1,receiver.receive((topic,payload)->Assertions.assertEquals(PAYLOAD.length,payload.length)));
+                total+=System.nanoTime()-start;
+            }
+            log.info("Mean one-way latency over {}: {} ns.",name,total/rounds);
+        }
+    }
+
+    @Test
+    void inproc() {
+        ZeroMqConfiguration pull=ZeroMqConfiguration.bind("inproc://ladybug-test");
+        verifyThroughput("inproc",pull,endpoint->ZeroMqConfiguration.connect(endpoint).toBuilder().sendHighWaterMark(0).build());
+    }
+
+    @Test
+    void inprocLatency() {
+        ZeroMqConfiguration pull=ZeroMqConfiguration.bind("inproc://ladybug-latency-test");
+        verifyLatency("inproc",pull,ZeroMqConfiguration::connect);
+    }
+
+    @Test
+    void loopback() {
+        ZeroMqConfiguration pull=ZeroMqConfiguration.bind(LOOPBACK_ENDPOINT);
+        verifyThroughput("loopback",pull,endpoint->ZeroMqConfiguration.connect(endpoint).toBuilder().sendHighWaterMark(0).build());
+    }
+
+    @Test
+    void loopbackLatency() {
+        ZeroMqConfiguration pull=ZeroMqConfiguration.bind(LOOPBACK_ENDPOINT);
+        verifyLatency("loopback",pull,ZeroMqConfiguration::connect);
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Test of {@link Journal}, including recovery after a crash and throughput by policy of forcing.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class JournalTest {
+    private static final int PAYLOAD_SIZE=32;
+
+    private static byte[] payload(long offset) {
+        byte[] payload=new byte[PAYLOAD_SIZE];
+        byte[] text=Long.toString(offset).getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(text,0,payload,0,text.length);
+        return payload;
+    }
+
+    private static List<Long> replay(Journal journal) {
+        List<Long> offsets=new ArrayList<>();
+        journal.replay((offset,payload)->{
+            Assertions.assertArrayEquals(payload(offset),payload);
+            offsets.add(offset);
+        });
+        return offsets;
+    }
+
+    private static List<Long> range(long from,
+                                    long to) {
+        return IntStream.range((int)from,(int)to).mapToObj(i->(long)i).toList();
+    }
+
+    @Test
+    void appendAcknowledgeReplay(@TempDir Path directory) throws IOException {
+        try (Journal journal=Journal.open(directory)) {
+            for (long offset=0; offset<10; offset++) {
+                Assertions.assertEquals(offset,journal.append(payload(offset)).join());
+            }
+            for (long offset: new long[]{0,1,2,5}) {
+                journal.acknowledge(offset);
+            }
+            Assertions.assertEquals(3,journal.getAcknowledgedOffset());
+            Assertions.assertEquals(6,journal.getUnacknowledgedCount());
+            Assertions.assertEquals(List.of(3L,4L,6L,7L,8L,9L),replay(journal));
+        }
+        try (Journal journal=Journal.open(directory)) {
+            Assertions.assertEquals(3,journal.getAcknowledgedOffset());
+            Assertions.assertEquals(10,journal.getNextOffset());
+            Assertions.assertEquals(range(3,10),replay(journal));
+        }
+    }
+
+    @Test
+    void acknowledgeBeyondNextOffset(@TempDir Path directory) throws IOException {
+        try (Journal journal=Journal.open(directory)) {
+            Assertions.assertThrows(IllegalArgumentException.class,()->journal.acknowledge(0));
+            journal.append(payload(0)).join();
+            Assertions.assertThrows(IllegalArgumentException.class,()->journal.acknowledge(1));
+            journal.acknowledge(0);
+            journal.acknowledge(0);
+            Assertions.assertEquals(1,journal.getAcknowledgedOffset());
+            Assertions.assertEquals(0,journal.getUnacknowledgedCount());
+        }
+    }
+
+    @Test
+    void groupCommitOfAcknowledgements(@TempDir Path directory) throws IOException, InterruptedException {
+        JournalConfiguration configuration=JournalConfiguration.builder().fsyncPolicy(FsyncPolicy.GROUP).build();
+        try (Journal journal=Journal.open(directory,configuration)) {
+            for (long offset=0; offset<3; offset++) {
+                journal.append(payload(offset)).join();
+            }
+            journal.acknowledge(0);
+            long deadline=System.nanoTime()+TimeUnit.SECONDS.toNanos(10);
+            while (journal.isAcknowledgedUnforced() && System.nanoTime()<deadline) {
+                Thread.sleep(1);
+            }
+            Assertions.assertFalse(journal.isAcknowledgedUnforced());
+        }
+    }
+
+    @Test
+    void recoveryAfterCrashWithTornRecord(@TempDir Path directory) throws IOException {
+        JournalConfiguration configuration=JournalConfiguration.builder().fsyncPolicy(FsyncPolicy.NEVER).segmentSize(64*1024).build();
+
+        Journal crashed=Journal.open(directory,configuration);
+        for (long offset=0; offset<100; offset++) {
+            crashed.append(payload(offset));
+        }
+        crashed.acknowledge(9);
+        for (long offset=0; offset<9; offset++) {
+            crashed.acknowledge(offset);
+        }
+
+        try (FileChannel channel=FileChannel.open(directory.resolve("%020d.log".formatted(0)),StandardOpenOption.WRITE)) {
+            long lastRecord=99L*(JournalSegment.RECORD_HEADER_SIZE+PAYLOAD_SIZE);
+            channel.write(ByteBuffer.wrap(new byte[]{(byte)0xFF}),lastRecord+JournalSegment.RECORD_HEADER_SIZE+PAYLOAD_SIZE-1);
+            channel.write(ByteBuffer.wrap(new byte[]{0,0,0,16,1,2,3,4}),lastRecord+JournalSegment.RECORD_HEADER_SIZE+PAYLOAD_SIZE+64);
+        }
+
+        Journal recovered=Journal.open(directory,configuration);
+        Assertions.assertEquals(10,recovered.getAcknowledgedOffset());
+        Assertions.assertEquals(99,recovered.getNextOffset());
+        Assertions.assertEquals(range(10,99),replay(recovered));
+        Assertions.assertEquals(99,recovered.append(payload(99)).join());
+
+        try (Journal journal=Journal.open(directory,configuration)) {
+            Assertions.assertEquals(100,journal.getNextOffset());
+            Assertions.assertEquals(range(10,100),replay(journal));
+        }
+        crashed.close();
+        recovered.close();
+    }
+
+    @Test
+    void segmentRollAndRetention(@TempDir Path directory) throws IOException {
+        JournalConfiguration configuration=JournalConfiguration.builder().segmentSize(1024).build();
+        try (Journal journal=Journal.open(directory,configuration)) {
+            for (long offset=0; offset<100; offset++) {
+                journal.append(payload(offset)).join();
+            }
+            Assertions.assertTrue(journal.getSegmentCount()>1);
+            for (long offset=0; offset<95; offset++) {
+                journal.acknowledge(offset);
+            }
+            Assertions.assertEquals(1,journal.getSegmentCount());
+        }
+        try (Journal journal=Journal.open(directory,configuration)) {
+            Assertions.assertEquals(100,journal.getNextOffset());
+            Assertions.assertEquals(range(95,100),replay(journal));
+        }
+    }
+
+    @Test
+    void storeByDestination(@TempDir Path directory) throws IOException {
+        try (JournalStore store=JournalStore.builder()
+                                            .directory(directory)
+                                            .configuration("orders",JournalConfiguration.builder().fsyncPolicy(FsyncPolicy.ALWAYS).build())
+                                            .build()) {
+            Assertions.assertEquals(FsyncPolicy.ALWAYS,store.journal("orders").getConfiguration().getFsyncPolicy());
+            Assertions.assertEquals(FsyncPolicy.GROUP,store.journal("quotes").getConfiguration().getFsyncPolicy());
+            Assertions.assertSame(store.journal("orders"),store.journal("orders"));
+            Assertions.assertThrows(IllegalArgumentException.class,()->store.journal("../escape"));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(FsyncPolicy.class)
+    void throughput(FsyncPolicy fsyncPolicy,
+                    @TempDir Path directory) throws IOException {
+        int eventCount=switch (fsyncPolicy) {
+            case NEVER -> 200_000;
+            case GROUP -> 20_000;
+            case ALWAYS -> 1_000;
+        };
+        int threadCount=4;
+        JournalConfiguration configuration=JournalConfiguration.builder().fsyncPolicy(fsyncPolicy).build();
+        try (Journal journal=Journal.open(directory,configuration)) {
+            byte[] payload=new byte[64];
+            long start=System.nanoTime();
+            List<CompletableFuture<Void>> appenders=IntStream.range(0,threadCount).mapToObj(i->CompletableFuture.runAsync(()->{
+                for (int j=0; j<eventCount/threadCount; j++) {
+                    journal.append(payload).join();
+                }
+            })).toList();
+            appenders.forEach(CompletableFuture::join);
+            long elapsed=System.nanoTime()-start;
+            Assertions.assertEquals(eventCount,journal.getNextOffset());
+            log.info("Journal throughput with fsync policy {}: {} events/s.",fsyncPolicy,eventCount*1_000_000_000L/Math.max(1L,elapsed));
+        }
+    }
+}
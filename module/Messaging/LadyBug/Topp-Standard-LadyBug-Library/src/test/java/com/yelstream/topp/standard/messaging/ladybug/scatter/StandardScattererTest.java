@@ -0,0 +1,169 @@
+/*
+ * Project: Topp Standard
+ * GitHub: https://github.com/sabroe/Topp-Standard
+ *
+ * Copyright 2024-2026 Morten Sabroe Mortensen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.yelstream.topp.standard.messaging.ladybug.scatter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test of {@link StandardScatterer}.
+ *
+ * @author Morten Sabroe Mortensen
+ * @since 2026-10-19
+ */
+@Slf4j
+class StandardScattererTest {
+
+    private static CompletableFuture<Object> respond(Object response,
+                                                     long delayMillis) {
+        Executor executor=CompletableFuture.delayedExecutor(delayMillis,TimeUnit.MILLISECONDS);
+        return CompletableFuture.supplyAsync(()->response,executor);
+    }
+
+    @Test
+    void all() {
+        StandardScatterer scatterer=StandardScatterer.of();
+        scatterer.register("topic",request->respond("a",10));
+        scatterer.register("topic",request->respond("b",20));
+        scatterer.register("topic",request->CompletableFuture.failedFuture(new IllegalStateException()));
+
+        List<Object> responses=scatterer.scatter("topic","request").join();
+        Assertions.assertEquals(List.of("a","b"),responses);
+
+        Assertions.assertEquals(List.of(),scatterer.scatter("none","request").join());
+    }
+
+    @Test
+    void allFailed() {
+        StandardScatterer scatterer=StandardScatterer.of();
+        scatterer.register("topic",request->CompletableFuture.failedFuture(new IllegalStateException()));
+
+        CompletionException ex=Assertions.assertThrows(CompletionException.class,()->scatterer.scatter("topic","request").join());
+        Assertions.assertInstanceOf(IllegalStateException.class,ex.getCause());
+    }
+
+    @Test
+    void quorum() {
+        StandardScatterer scatterer=StandardScatterer.of();
+        scatterer.register("topic",request->respond("a",5));
+        scatterer.register("topic",request->respond("b",10));
+        scatterer.register("topic",request->respond("c",10_000));
+
+        long start=System.nanoTime();
+        List<Object> responses=Scatterers.collect(scatterer.scatter("topic","request",ScatterPolicy.quorum(2))).join();
+        Duration elapsed=Duration.ofNanos(System.nanoTime()-start);
+        Assertions.assertEquals(List.of("a","b"),responses);
+        Assertions.assertTrue(elapsed.compareTo(Duration.ofSeconds(5))<0);
+    }
+
+    @Test
+    void quorumUnreachable() {
+        StandardScatterer scatterer=StandardScatterer.of();
+        scatterer.register("topic",request->respond("a",5));
+        scatterer.register("topic",request->CompletableFuture.failedFuture(new IllegalStateException()));
+        scatterer.register("topic",request->CompletableFuture.failedFuture(new IllegalStateException()));
+        scatterer.register("topic",request->respond("d",10_000));
+
+        long start=System.nanoTime();
+        CompletableFuture<List<Object>> responses=Scatterers.collect(scatterer.scatter("topic","request",ScatterPolicy.quorum(3)));
+        CompletionException ex=Assertions.assertThrows(CompletionException.class,responses::join);
+        Duration elapsed=Duration.ofNanos(System.nanoTime()-start);
+        Assertions.assertInstanceOf(IllegalStateException.class,ex.getCause());
+        Assertions.assertTrue(elapsed.compareTo(Duration.ofSeconds(5))<0);
+    }
+
+    @Test
+    void illegalDemand() {
+        StandardScatterer scatterer=StandardScatterer.of();
+        scatterer.register("topic",request->respond("a",10_000));
+
+        CompletableFuture<Throwable> error=new CompletableFuture<>();
+        AtomicInteger signalCount=new AtomicInteger();
+        scatterer.scatter("topic","request",ScatterPolicy.all()).subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(0);
+            }
+
+            @Override
+            public void onNext(Object item) {
+                signalCount.incrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signalCount.incrementAndGet();
+                error.complete(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                signalCount.incrementAndGet();
+            }
+        });
+        Assertions.assertInstanceOf(IllegalArgumentException.class,error.orTimeout(5,TimeUnit.SECONDS).join());
+        Assertions.assertEquals(1,signalCount.get());
+    }
+
+    @Test
+    void deadline() {
+        StandardScatterer scatterer=StandardScatterer.of();
+        scatterer.register("topic",request->respond("a",5));
+        scatterer.register("topic",request->respond("b",10_000));
+
+        long start=System.nanoTime();
+        List<Object> responses=Scatterers.collect(scatterer.scatter("topic","request",ScatterPolicy.deadline(Duration.ofMillis(200)))).join();
+        Duration elapsed=Duration.ofNanos(System.nanoTime()-start);
+        Assertions.assertEquals(List.of("a"),responses);
+        Assertions.assertTrue(elapsed.compareTo(Duration.ofSeconds(5))<0);
+    }
+
+    @Test
+    void hedging() {
+        AtomicInteger counter=new AtomicInteger();
+        StandardScatterer scatterer=StandardScatterer.of();
+        scatterer.register("topic",request->respond("a",counter.incrementAndGet()%10==0?1_000:5));
+
+        ScatterPolicy policy=ScatterPolicy.builder().hedgePercentile(0.8).minHedgeSamples(16).build();
+        for (int i=0; i<100; i++) {
+            Scatterers.collect(scatterer.scatter("topic","request",policy)).join();
+        }
+
+        long maxMillis=0;
+        for (int i=0; i<50; i++) {
+            long start=System.nanoTime();
+            List<Object> responses=Scatterers.collect(scatterer.scatter("topic","request",policy)).join();
+            maxMillis=Math.max(maxMillis,TimeUnit.NANOSECONDS.toMillis(System.nanoTime()-start));
+            Assertions.assertEquals(List.of("a"),responses);
+        }
+        log.info("Hedged scatter; maximum latency is {} ms.",maxMillis);
+        Assertions.assertTrue(maxMillis<500);
+    }
+}